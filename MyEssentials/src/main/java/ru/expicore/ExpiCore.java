@@ -1,20 +1,47 @@
 package ru.expicore;
 
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import ru.expicore.commands.*;
 import ru.expicore.listeners.GodListener;
+import ru.expicore.listeners.HomeLimitListener;
 import ru.expicore.listeners.KitEditorListener;
+import ru.expicore.listeners.LocationBrowserListener;
+import ru.expicore.listeners.MailListener;
+import ru.expicore.listeners.PlaytimeListener;
 import ru.expicore.listeners.PlayerChatListener;
+import ru.expicore.listeners.PlayerLocaleListener;
 import ru.expicore.listeners.PlayerLoginListener;
 import ru.expicore.listeners.PlayerMoveListener;
+import ru.expicore.listeners.PlayerNameListener;
 import ru.expicore.listeners.SignChangeListener;
 import ru.expicore.listeners.SpawnListener;
+import ru.expicore.listeners.TeleportListener;
+import ru.expicore.listeners.WorldListener;
 import ru.expicore.managers.AFKManager;
+import ru.expicore.managers.ActivityTracker;
+import ru.expicore.managers.AuditLogger;
+import ru.expicore.managers.BackManager;
+import ru.expicore.managers.ChatChannelManager;
 import ru.expicore.managers.DataManager;
+import ru.expicore.managers.EssentialsImporter;
+import ru.expicore.managers.HomeLimitManager;
 import ru.expicore.managers.IgnoreManager;
 import ru.expicore.managers.KitManager;
+import ru.expicore.managers.LocationBrowser;
+import ru.expicore.managers.MailManager;
 import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.NameIndex;
+import ru.expicore.managers.PlaytimeManager;
 import ru.expicore.managers.PunishmentManager;
+import ru.expicore.managers.RandomTeleportManager;
+import ru.expicore.managers.SafeLocationResolver;
+import ru.expicore.managers.SocialSpyManager;
+import ru.expicore.managers.TeleportRequestManager;
+import ru.expicore.managers.TeleportService;
+import ru.expicore.managers.TeleportWarmupManager;
+import ru.expicore.managers.WorldRegistry;
 
 /**
  * Главный класс плагина ExpiCore.
@@ -29,9 +56,18 @@ public class ExpiCore extends JavaPlugin {
     /** Менеджер сообщений (русская локализация) */
     private MessageManager messageManager;
 
+    /** Реестр миров сохранённых точек */
+    private WorldRegistry worldRegistry;
+
     /** Менеджер данных (JSON-хранилище домов, варпов, китов, спавна) */
     private DataManager dataManager;
 
+    /** Лимиты домов по правам */
+    private HomeLimitManager homeLimitManager;
+
+    /** GUI-список варпов и домов */
+    private LocationBrowser locationBrowser;
+
     /** Менеджер китов (Base64 сериализация, GUI) */
     private KitManager kitManager;
 
@@ -44,6 +80,48 @@ public class ExpiCore extends JavaPlugin {
     /** Менеджер AFK (автоматическое определение бездействия) */
     private AFKManager afkManager;
 
+    /** Учёт активности по движению (грубые часы, слоты игроков) */
+    private ActivityTracker activityTracker;
+
+    /** Журнал аудита (чат, ЛС, команды модерации) */
+    private AuditLogger auditLogger;
+
+    /** Менеджер подписок SocialSpy */
+    private SocialSpyManager socialSpyManager;
+
+    /** Менеджер почты для игроков не в сети */
+    private MailManager mailManager;
+
+    /** Менеджер игрового времени */
+    private PlaytimeManager playtimeManager;
+
+    /** Менеджер запросов на телепортацию */
+    private TeleportRequestManager teleportRequestManager;
+
+    /** Служба телепортации с асинхронной загрузкой чанков */
+    private TeleportService teleportService;
+
+    /** Менеджер задержек и перезарядок телепортации */
+    private TeleportWarmupManager teleportWarmupManager;
+
+    /** История позиций для /back */
+    private BackManager backManager;
+
+    /** Поиск безопасных точек телепортации */
+    private SafeLocationResolver safeLocationResolver;
+
+    /** Пулы случайных точек для /rtp */
+    private RandomTeleportManager randomTeleportManager;
+
+    /** Импорт данных из EssentialsX */
+    private EssentialsImporter essentialsImporter;
+
+    /** Менеджер каналов чата (локальный, общий, персонал) */
+    private ChatChannelManager chatChannelManager;
+
+    /** Ники игроков в сети для автодополнения команд */
+    private final NameIndex onlinePlayerNames = new NameIndex();
+
     /** Обработчик команд личных сообщений (для очистки при выходе и socialspy) */
     private MessageCommands messageCommands;
 
@@ -51,24 +129,47 @@ public class ExpiCore extends JavaPlugin {
     public void onEnable() {
         instance = this;
 
+        // Создаём config.yml при первом запуске
+        saveDefaultConfig();
+
         // Инициализируем менеджеры
-        this.messageManager = new MessageManager();
+        this.messageManager = new MessageManager(this);
+        this.worldRegistry = new WorldRegistry();
         this.dataManager = new DataManager(this);
+        this.homeLimitManager = new HomeLimitManager(this);
+        this.locationBrowser = new LocationBrowser(this);
         this.kitManager = new KitManager(this, dataManager);
         this.ignoreManager = new IgnoreManager(this);
         this.punishmentManager = new PunishmentManager(this);
         this.afkManager = new AFKManager(this);
+        this.activityTracker = new ActivityTracker(this);
+        this.chatChannelManager = new ChatChannelManager(this);
+        this.auditLogger = new AuditLogger(this);
+        this.socialSpyManager = new SocialSpyManager(this);
+        this.mailManager = new MailManager(this);
+        this.playtimeManager = new PlaytimeManager(this);
+        this.teleportRequestManager = new TeleportRequestManager(this);
+        this.teleportService = new TeleportService(this);
+        this.teleportWarmupManager = new TeleportWarmupManager(this);
+        this.backManager = new BackManager(this);
+        this.safeLocationResolver = new SafeLocationResolver(this);
+        this.randomTeleportManager = new RandomTeleportManager(this);
+        this.essentialsImporter = new EssentialsImporter(this);
 
         // Регистрируем команды телепортации
         TeleportCommands teleportCommands = new TeleportCommands(this);
         getCommand("tpa").setExecutor(teleportCommands);
+        getCommand("tpahere").setExecutor(teleportCommands);
         getCommand("tpaccept").setExecutor(teleportCommands);
+        getCommand("tpdeny").setExecutor(teleportCommands);
+        getCommand("tpacancel").setExecutor(teleportCommands);
 
         // Регистрируем команды домов
         HomeCommands homeCommands = new HomeCommands(this);
         getCommand("sethome").setExecutor(homeCommands);
         getCommand("home").setExecutor(homeCommands);
         getCommand("delhome").setExecutor(homeCommands);
+        getCommand("homes").setExecutor(homeCommands);
 
         // Регистрируем команды варпов
         WarpCommands warpCommands = new WarpCommands(this);
@@ -110,6 +211,12 @@ public class ExpiCore extends JavaPlugin {
         getCommand("spawn").setExecutor(spawnCommands);
         getCommand("setspawn").setExecutor(spawnCommands);
 
+        // Регистрируем команду возврата
+        getCommand("back").setExecutor(new BackCommands(this));
+
+        // Регистрируем команду случайной телепортации
+        getCommand("rtp").setExecutor(new RtpCommands(this));
+
         // Регистрируем команды личных сообщений, /ignore и /socialspy
         this.messageCommands = new MessageCommands(this);
         getCommand("msg").setExecutor(messageCommands);
@@ -117,6 +224,14 @@ public class ExpiCore extends JavaPlugin {
         getCommand("ignore").setExecutor(messageCommands);
         getCommand("socialspy").setExecutor(messageCommands);
 
+        // Регистрируем команду почты
+        MailCommands mailCommands = new MailCommands(this);
+        getCommand("mail").setExecutor(mailCommands);
+
+        // Регистрируем команду игрового времени
+        PlaytimeCommands playtimeCommands = new PlaytimeCommands(this);
+        getCommand("playtime").setExecutor(playtimeCommands);
+
         // Регистрируем команды наказаний (kick, mute, unmute, ban, unban, tempban)
         PunishmentCommands punishmentCommands = new PunishmentCommands(this);
         getCommand("kick").setExecutor(punishmentCommands);
@@ -130,12 +245,29 @@ public class ExpiCore extends JavaPlugin {
         AFKCommands afkCommands = new AFKCommands(this);
         getCommand("afk").setExecutor(afkCommands);
 
+        // Регистрируем служебную команду плагина (/expicore reload)
+        CoreCommands coreCommands = new CoreCommands(this);
+        getCommand("expicore").setExecutor(coreCommands);
+
         // Регистрируем команды мониторинга (gc, near)
         MonitoringCommands monitoringCommands = new MonitoringCommands(this);
         getCommand("gc").setExecutor(monitoringCommands);
         getCommand("near").setExecutor(monitoringCommands);
 
+        // Автодополнение для всех команд плагина
+        for (Player online : getServer().getOnlinePlayers()) {
+            onlinePlayerNames.add(online.getName());
+        }
+        CommandTabCompleter tabCompleter = new CommandTabCompleter(this);
+        for (String name : getDescription().getCommands().keySet()) {
+            PluginCommand pluginCommand = getCommand(name);
+            if (pluginCommand != null) {
+                pluginCommand.setTabCompleter(tabCompleter);
+            }
+        }
+
         // Регистрируем слушателей событий
+        getServer().getPluginManager().registerEvents(new PlayerLocaleListener(this), this);
         getServer().getPluginManager().registerEvents(new GodListener(this), this);
         getServer().getPluginManager().registerEvents(new KitEditorListener(this), this);
         getServer().getPluginManager().registerEvents(new SpawnListener(this), this);
@@ -143,12 +275,24 @@ public class ExpiCore extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new PlayerLoginListener(this), this);
         getServer().getPluginManager().registerEvents(new PlayerMoveListener(this), this);
         getServer().getPluginManager().registerEvents(new SignChangeListener(), this);
+        getServer().getPluginManager().registerEvents(new MailListener(this), this);
+        getServer().getPluginManager().registerEvents(new PlaytimeListener(this), this);
+        getServer().getPluginManager().registerEvents(new TeleportListener(this), this);
+        getServer().getPluginManager().registerEvents(new WorldListener(this), this);
+        getServer().getPluginManager().registerEvents(new PlayerNameListener(this), this);
+        getServer().getPluginManager().registerEvents(new HomeLimitListener(this), this);
+        getServer().getPluginManager().registerEvents(new LocationBrowserListener(this), this);
 
         getLogger().info("ExpiCore успешно запущен!");
     }
 
     @Override
     public void onDisable() {
+        // Прерываем импорт — уже перенесённое сохранится ниже
+        if (essentialsImporter != null) {
+            essentialsImporter.shutdown();
+        }
+
         // Сохраняем все данные перед выключением
         if (dataManager != null) {
             dataManager.saveAll();
@@ -159,9 +303,36 @@ public class ExpiCore extends JavaPlugin {
         if (punishmentManager != null) {
             punishmentManager.savePunishments();
         }
+        if (playtimeManager != null) {
+            playtimeManager.shutdown();
+        }
+        if (homeLimitManager != null) {
+            homeLimitManager.shutdown();
+        }
+        if (teleportRequestManager != null) {
+            teleportRequestManager.shutdown();
+        }
+        if (teleportWarmupManager != null) {
+            teleportWarmupManager.shutdown();
+        }
+        if (randomTeleportManager != null) {
+            randomTeleportManager.shutdown();
+        }
+        if (teleportService != null) {
+            teleportService.shutdown();
+        }
         if (afkManager != null) {
             afkManager.shutdown();
         }
+        if (activityTracker != null) {
+            activityTracker.shutdown();
+        }
+        if (mailManager != null) {
+            mailManager.shutdown();
+        }
+        if (auditLogger != null) {
+            auditLogger.shutdown();
+        }
         getLogger().info("ExpiCore выключен.");
     }
 
@@ -228,4 +399,140 @@ public class ExpiCore extends JavaPlugin {
     public AFKManager getAFKManager() {
         return afkManager;
     }
+
+    /**
+     * Получить учёт активности по движению.
+     * @return трекер активности
+     */
+    public ActivityTracker getActivityTracker() {
+        return activityTracker;
+    }
+
+    /**
+     * Получить менеджер каналов чата.
+     * @return менеджер каналов чата
+     */
+    public ChatChannelManager getChatChannelManager() {
+        return chatChannelManager;
+    }
+
+    /**
+     * Получить журнал аудита.
+     * @return журнал аудита
+     */
+    public AuditLogger getAuditLogger() {
+        return auditLogger;
+    }
+
+    /**
+     * Получить менеджер подписок SocialSpy.
+     * @return менеджер SocialSpy
+     */
+    public SocialSpyManager getSocialSpyManager() {
+        return socialSpyManager;
+    }
+
+    /**
+     * Получить менеджер почты.
+     * @return менеджер почты
+     */
+    public MailManager getMailManager() {
+        return mailManager;
+    }
+
+    /**
+     * Получить менеджер игрового времени.
+     * @return менеджер игрового времени
+     */
+    public PlaytimeManager getPlaytimeManager() {
+        return playtimeManager;
+    }
+
+    /**
+     * Получить менеджер запросов на телепортацию.
+     * @return менеджер запросов
+     */
+    public TeleportRequestManager getTeleportRequestManager() {
+        return teleportRequestManager;
+    }
+
+    /**
+     * Получить службу телепортации.
+     * @return служба телепортации
+     */
+    public TeleportService getTeleportService() {
+        return teleportService;
+    }
+
+    /**
+     * Получить менеджер задержек и перезарядок телепортации.
+     * @return менеджер задержек
+     */
+    public TeleportWarmupManager getTeleportWarmupManager() {
+        return teleportWarmupManager;
+    }
+
+    /**
+     * Получить историю позиций для /back.
+     * @return менеджер истории
+     */
+    public BackManager getBackManager() {
+        return backManager;
+    }
+
+    /**
+     * Получить поиск безопасных точек телепортации.
+     * @return поиск безопасных точек
+     */
+    public SafeLocationResolver getSafeLocationResolver() {
+        return safeLocationResolver;
+    }
+
+    /**
+     * Получить пулы случайных точек для /rtp.
+     * @return менеджер случайной телепортации
+     */
+    public RandomTeleportManager getRandomTeleportManager() {
+        return randomTeleportManager;
+    }
+
+    /**
+     * Получить реестр миров сохранённых точек.
+     * @return реестр миров
+     */
+    public WorldRegistry getWorldRegistry() {
+        return worldRegistry;
+    }
+
+    /**
+     * Получить ники игроков в сети для автодополнения.
+     * @return набор ников
+     */
+    public NameIndex getOnlinePlayerNames() {
+        return onlinePlayerNames;
+    }
+
+    /**
+     * Получить лимиты домов по правам.
+     * @return менеджер лимитов домов
+     */
+    public HomeLimitManager getHomeLimitManager() {
+        return homeLimitManager;
+    }
+
+    /**
+     * Получить GUI-список варпов и домов.
+     * @return GUI-список точек
+     */
+    public LocationBrowser getLocationBrowser() {
+        return locationBrowser;
+    }
+
+    /**
+     * Получить импорт данных из EssentialsX.
+     * @return импортёр
+     */
+    public EssentialsImporter getEssentialsImporter() {
+        return essentialsImporter;
+    }
 }
@@ -6,6 +6,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.AFKManager;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 /**
@@ -17,6 +18,9 @@ public class AFKCommands implements CommandExecutor {
     /** Ссылка на главный плагин */
     private final ExpiCore plugin;
 
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
     /** Менеджер AFK */
     private final AFKManager afkManager;
 
@@ -26,20 +30,21 @@ public class AFKCommands implements CommandExecutor {
      */
     public AFKCommands(ExpiCore plugin) {
         this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
         this.afkManager = plugin.getAFKManager();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
         Player player = (Player) sender;
 
         if (!player.hasPermission("expicore.afk")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -6,6 +6,7 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 import java.util.*;
@@ -41,7 +42,7 @@ public class AdminCommands implements CommandExecutor {
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         // Только игроки могут использовать эти команды
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
@@ -75,23 +76,23 @@ public class AdminCommands implements CommandExecutor {
      */
     private boolean handleGamemode(Player player, String[] args) {
         if (!player.hasPermission("expicore.gamemode")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /gamemode <survival|creative|adventure|spectator>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_GAMEMODE));
             return true;
         }
 
         GameMode mode = parseGameMode(args[0]);
         if (mode == null) {
-            player.sendMessage(MessageManager.GAMEMODE_INVALID);
+            player.sendMessage(msg.get(player, MessageKey.GAMEMODE_INVALID));
             return true;
         }
 
         player.setGameMode(mode);
-        player.sendMessage(msg.gamemodeChanged(getGameModeName(mode)));
+        player.sendMessage(msg.gamemodeChanged(player, getGameModeName(player, mode)));
         return true;
     }
 
@@ -103,12 +104,12 @@ public class AdminCommands implements CommandExecutor {
      */
     private boolean handleGamemodeShortcut(Player player, GameMode mode) {
         if (!player.hasPermission("expicore.gamemode")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         player.setGameMode(mode);
-        player.sendMessage(msg.gamemodeChanged(getGameModeName(mode)));
+        player.sendMessage(msg.gamemodeChanged(player, getGameModeName(player, mode)));
         return true;
     }
 
@@ -120,7 +121,7 @@ public class AdminCommands implements CommandExecutor {
      */
     private boolean handleGod(Player player) {
         if (!player.hasPermission("expicore.god")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -129,12 +130,12 @@ public class AdminCommands implements CommandExecutor {
             // Выключаем режим бога
             godPlayers.remove(uuid);
             player.setInvulnerable(false);
-            player.sendMessage(MessageManager.GOD_DISABLED);
+            player.sendMessage(msg.get(player, MessageKey.GOD_DISABLED));
         } else {
             // Включаем режим бога
             godPlayers.add(uuid);
             player.setInvulnerable(true);
-            player.sendMessage(MessageManager.GOD_ENABLED);
+            player.sendMessage(msg.get(player, MessageKey.GOD_ENABLED));
         }
         return true;
     }
@@ -147,7 +148,7 @@ public class AdminCommands implements CommandExecutor {
      */
     private boolean handleFly(Player player) {
         if (!player.hasPermission("expicore.fly")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -155,11 +156,11 @@ public class AdminCommands implements CommandExecutor {
             // Выключаем полёт
             player.setAllowFlight(false);
             player.setFlying(false);
-            player.sendMessage(MessageManager.FLY_DISABLED);
+            player.sendMessage(msg.get(player, MessageKey.FLY_DISABLED));
         } else {
             // Включаем полёт
             player.setAllowFlight(true);
-            player.sendMessage(MessageManager.FLY_ENABLED);
+            player.sendMessage(msg.get(player, MessageKey.FLY_ENABLED));
         }
         return true;
     }
@@ -211,20 +212,21 @@ public class AdminCommands implements CommandExecutor {
     }
 
     /**
-     * Получить русское название игрового режима.
+     * Получить название игрового режима на языке игрока.
+     * @param player игрок
      * @param mode игровой режим
-     * @return русское название
+     * @return название режима
      */
-    private String getGameModeName(GameMode mode) {
+    private String getGameModeName(Player player, GameMode mode) {
         switch (mode) {
             case SURVIVAL:
-                return "Выживание";
+                return msg.get(player, MessageKey.GAMEMODE_SURVIVAL);
             case CREATIVE:
-                return "Творческий";
+                return msg.get(player, MessageKey.GAMEMODE_CREATIVE);
             case ADVENTURE:
-                return "Приключение";
+                return msg.get(player, MessageKey.GAMEMODE_ADVENTURE);
             case SPECTATOR:
-                return "Наблюдатель";
+                return msg.get(player, MessageKey.GAMEMODE_SPECTATOR);
             default:
                 return mode.name();
         }
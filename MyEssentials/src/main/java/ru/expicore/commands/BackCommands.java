@@ -0,0 +1,103 @@
+package ru.expicore.commands;
+
+import org.bukkit.Location;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.BackManager;
+import ru.expicore.managers.MessageKey;
+import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.TeleportWarmupManager.Kind;
+
+/**
+ * Обработчик команды /back [номер].
+ * Возвращает игрока на предыдущую позицию из истории {@link BackManager}:
+ * без аргумента — на последнюю, с номером — на n-ю с конца.
+ */
+public class BackCommands implements CommandExecutor {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
+    /** История позиций */
+    private final BackManager back;
+
+    /**
+     * Создать обработчик команды /back.
+     * @param plugin экземпляр главного плагина
+     */
+    public BackCommands(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
+        this.back = plugin.getBackManager();
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
+            return true;
+        }
+
+        Player player = (Player) sender;
+        String cmd = command.getName().toLowerCase();
+
+        switch (cmd) {
+            case "back":
+                return handleBack(player, args);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Обработать команду /back [номер].
+     * @param player игрок
+     * @param args аргументы команды
+     * @return true
+     */
+    private boolean handleBack(Player player, String[] args) {
+        if (!player.hasPermission("expicore.back")) {
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        int size = back.size(player.getUniqueId());
+        if (size == 0) {
+            player.sendMessage(msg.get(player, MessageKey.BACK_EMPTY));
+            return true;
+        }
+
+        int n = 1;
+        if (args.length > 0) {
+            try {
+                n = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                n = -1;
+            }
+            if (n < 1 || n > size) {
+                player.sendMessage(msg.format(player, MessageKey.BACK_INVALID, String.valueOf(size)));
+                return true;
+            }
+        }
+
+        Location target = back.get(player.getUniqueId(), n);
+        if (target == null) {
+            player.sendMessage(msg.get(player, MessageKey.BACK_UNAVAILABLE));
+            return true;
+        }
+
+        // Сам возврат тоже записывается в историю, поэтому /back дважды возвращает обратно
+        plugin.getTeleportWarmupManager().start(player, Kind.BACK, () ->
+                plugin.getTeleportService().teleport(player, target).thenApply(ok -> {
+                    if (ok) player.sendMessage(msg.get(player, MessageKey.BACK_TELEPORTED));
+                    return ok;
+                }));
+        return true;
+    }
+}
@@ -0,0 +1,243 @@
+package ru.expicore.commands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.BackManager;
+import ru.expicore.managers.DataManager;
+import ru.expicore.managers.RandomTeleportManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Автодополнение аргументов для всех команд ExpiCore.
+ * Названия домов, варпов и китов берутся из отсортированных наборов
+ * DataManager, ники — из набора игроков в сети; оба обновляются
+ * по одному имени при изменениях, так что дополнение не перебирает
+ * все названия и не сортирует их при каждом нажатии Tab.
+ */
+public class CommandTabCompleter implements TabCompleter {
+
+    /** Максимум вариантов в одном ответе */
+    private static final int MAX_RESULTS = 100;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Менеджер данных */
+    private final DataManager data;
+
+    /**
+     * Создать автодополнение команд.
+     * @param plugin экземпляр главного плагина
+     */
+    public CommandTabCompleter(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.data = plugin.getDataManager();
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 0) return Collections.emptyList();
+
+        String cmd = command.getName().toLowerCase();
+        int index = args.length - 1;
+        String prefix = args[index];
+
+        switch (cmd) {
+            // Первый аргумент — игрок в сети
+            case "tpa":
+            case "tpahere":
+            case "tpaccept":
+            case "tpdeny":
+            case "tpacancel":
+            case "feed":
+            case "heal":
+            case "clear":
+            case "invsee":
+            case "ignore":
+            case "kick":
+            case "mute":
+            case "unmute":
+            case "ban":
+            case "tempban":
+                return index == 0 ? players(sender, prefix) : Collections.emptyList();
+
+            // Свободный текст: ники для упоминаний
+            case "msg":
+            case "r":
+            case "broadcast":
+                return players(sender, prefix);
+
+            case "home":
+            case "delhome":
+                if (index != 0 || !(sender instanceof Player)) return Collections.emptyList();
+                return data.completeHomes(((Player) sender).getUniqueId().toString(), prefix, MAX_RESULTS);
+
+            case "homes":
+                return completeHomes(sender, args, prefix);
+
+            case "warp":
+                if (index != 0) return Collections.emptyList();
+                return withOptions(data.completeWarps(prefix, MAX_RESULTS), prefix, "nearest");
+
+            case "delwarp":
+                return index == 0 ? data.completeWarps(prefix, MAX_RESULTS) : Collections.emptyList();
+
+            case "kit":
+                return completeKit(sender, args, prefix);
+
+            case "gamemode":
+                return index == 0
+                        ? options(prefix, "survival", "creative", "adventure", "spectator")
+                        : Collections.emptyList();
+
+            case "repair":
+                return index == 0 ? options(prefix, "all") : Collections.emptyList();
+
+            case "back":
+                return index == 0 ? completeBack(sender, prefix) : Collections.emptyList();
+
+            case "rtp":
+                return index == 0 ? completeRtpWorlds(prefix) : Collections.emptyList();
+
+            case "socialspy":
+                if (index == 0) return options(prefix, "player", "keyword", "list", "off");
+                return index == 1 && args[0].equalsIgnoreCase("player") ? players(sender, prefix) : Collections.emptyList();
+
+            case "mail":
+                if (index == 0) return options(prefix, "send", "read", "clear");
+                return args[0].equalsIgnoreCase("send") ? players(sender, prefix) : Collections.emptyList();
+
+            case "playtime":
+                if (index != 0) return Collections.emptyList();
+                List<String> subcommands = new ArrayList<>();
+                subcommands.add("top");
+                if (sender.hasPermission("expicore.playtime.export")) subcommands.add("export");
+                return withOptions(players(sender, prefix), prefix, subcommands.toArray(new String[0]));
+
+            case "expicore":
+                if (index == 0) return options(prefix, "reload", "import");
+                return index == 1 && args[0].equalsIgnoreCase("import")
+                        ? options(prefix, "essentials")
+                        : Collections.emptyList();
+
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * /homes [near|purge] <радиус> [confirm], /homes limits [trim [confirm]]
+     */
+    private List<String> completeHomes(CommandSender sender, String[] args, String prefix) {
+        if (args.length == 1) {
+            List<String> result = new ArrayList<>();
+            for (String action : new String[] {"near", "purge", "limits"}) {
+                if (sender.hasPermission("expicore.homes." + action) && action.startsWith(prefix.toLowerCase())) {
+                    result.add(action);
+                }
+            }
+            return result;
+        }
+        boolean limits = args[0].equalsIgnoreCase("limits");
+        if (args.length == 2 && limits) {
+            return options(prefix, "trim");
+        }
+        if (args.length == 3 && (args[0].equalsIgnoreCase("purge") || limits && args[1].equalsIgnoreCase("trim"))) {
+            return options(prefix, "confirm");
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * /kit <название|create|delete|editor> [название]
+     */
+    private List<String> completeKit(CommandSender sender, String[] args, String prefix) {
+        boolean admin = sender.hasPermission("expicore.kit.admin");
+        if (args.length == 1) {
+            List<String> kits = data.completeKits(prefix, MAX_RESULTS);
+            return admin ? withOptions(kits, prefix, "create", "delete", "editor") : kits;
+        }
+        if (args.length == 2 && admin
+                && (args[0].equalsIgnoreCase("delete") || args[0].equalsIgnoreCase("editor"))) {
+            return data.completeKits(prefix, MAX_RESULTS);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * /back [номер] — номера сохранённых точек игрока.
+     */
+    private List<String> completeBack(CommandSender sender, String prefix) {
+        BackManager backManager = plugin.getBackManager();
+        if (backManager == null || !(sender instanceof Player)) return Collections.emptyList();
+
+        List<String> result = new ArrayList<>();
+        int size = backManager.size(((Player) sender).getUniqueId());
+        for (int i = 1; i <= size; i++) {
+            String number = String.valueOf(i);
+            if (number.startsWith(prefix)) result.add(number);
+        }
+        return result;
+    }
+
+    /**
+     * /rtp [мир] — миры, в которых включён /rtp.
+     */
+    private List<String> completeRtpWorlds(String prefix) {
+        RandomTeleportManager rtp = plugin.getRandomTeleportManager();
+        if (rtp == null) return Collections.emptyList();
+
+        List<String> result = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) {
+            if (rtp.isEnabled(world) && world.getName().toLowerCase().startsWith(prefix.toLowerCase())) {
+                result.add(world.getName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ники игроков в сети, начинающиеся с префикса.
+     * Игроку предлагаются только те, кого он видит (скрытые плагинами невидимости не раскрываются).
+     */
+    private List<String> players(CommandSender sender, String prefix) {
+        if (!(sender instanceof Player)) {
+            return plugin.getOnlinePlayerNames().complete(prefix, MAX_RESULTS);
+        }
+        Player viewer = (Player) sender;
+        return plugin.getOnlinePlayerNames().complete(prefix, MAX_RESULTS, name -> {
+            Player other = Bukkit.getPlayerExact(name);
+            return other != null && viewer.canSee(other);
+        });
+    }
+
+    /**
+     * Подходящие под префикс варианты из фиксированного списка.
+     */
+    private static List<String> options(String prefix, String... options) {
+        return withOptions(new ArrayList<>(), prefix, options);
+    }
+
+    /**
+     * Добавить к найденным именам подходящие под префикс варианты.
+     * @param names найденные имена (список может быть неизменяемым)
+     * @return новый список
+     */
+    private static List<String> withOptions(List<String> names, String prefix, String... options) {
+        List<String> result = new ArrayList<>(names.size() + options.length);
+        String lower = prefix.toLowerCase();
+        for (String option : options) {
+            if (option.startsWith(lower)) result.add(option);
+        }
+        result.addAll(names);
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package ru.expicore.commands;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageKey;
+import ru.expicore.managers.MessageManager;
+
+/**
+ * Обработчик служебной команды плагина: /expicore reload, /expicore import essentials.
+ * Позволяет перечитать config.yml и языковые файлы без перезапуска сервера
+ * и перенести данные игроков из EssentialsX.
+ */
+public class CoreCommands implements CommandExecutor {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
+    /**
+     * Создать обработчик служебной команды.
+     * @param plugin экземпляр плагина
+     */
+    public CoreCommands(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("expicore.admin")) {
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        if (args.length < 1) {
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_EXPICORE));
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "reload":
+                return handleReload(sender);
+            case "import":
+                return handleImport(sender, args);
+            default:
+                sender.sendMessage(msg.usage(sender, MessageKey.USAGE_EXPICORE));
+                return true;
+        }
+    }
+
+    /**
+     * Обработать /expicore reload.
+     * Шаблоны перекомпилируются и подменяются атомарно — текущие отправки не страдают.
+     * Языки игроков определяются заново.
+     * @param sender отправитель команды
+     * @return true
+     */
+    private boolean handleReload(CommandSender sender) {
+        plugin.reloadConfig();
+        msg.reload();
+        if (plugin.getLocationBrowser() != null) {
+            plugin.getLocationBrowser().reload();
+        }
+        if (plugin.getHomeLimitManager() != null) {
+            plugin.getHomeLimitManager().reload();
+        }
+        if (plugin.getChatChannelManager() != null) {
+            plugin.getChatChannelManager().reload();
+        }
+        if (plugin.getAFKManager() != null) {
+            plugin.getAFKManager().reload();
+        }
+        if (plugin.getActivityTracker() != null) {
+            plugin.getActivityTracker().reload();
+        }
+        if (plugin.getTeleportRequestManager() != null) {
+            plugin.getTeleportRequestManager().reload();
+        }
+        if (plugin.getTeleportService() != null) {
+            plugin.getTeleportService().reload();
+        }
+        if (plugin.getTeleportWarmupManager() != null) {
+            plugin.getTeleportWarmupManager().reload();
+        }
+        if (plugin.getSafeLocationResolver() != null) {
+            plugin.getSafeLocationResolver().reload();
+        }
+        if (plugin.getRandomTeleportManager() != null) {
+            plugin.getRandomTeleportManager().reload();
+        }
+        sender.sendMessage(msg.get(sender, MessageKey.RELOADED));
+        return true;
+    }
+
+    /**
+     * Обработать /expicore import essentials.
+     * Импорт идёт в фоне, о ходе и итоге сообщается отправителю.
+     * @param sender отправитель команды
+     * @param args аргументы команды
+     * @return true
+     */
+    private boolean handleImport(CommandSender sender, String[] args) {
+        if (args.length < 2 || !args[1].equalsIgnoreCase("essentials")) {
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_EXPICORE_IMPORT));
+            return true;
+        }
+        if (!plugin.getEssentialsImporter().start(sender)) {
+            sender.sendMessage(msg.get(sender, MessageKey.IMPORT_ALREADY_RUNNING));
+        }
+        return true;
+    }
+}
@@ -1,23 +1,38 @@
 package ru.expicore.commands;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.AuditLogger;
 import ru.expicore.managers.DataManager;
+import ru.expicore.managers.HomeLimitManager;
+import ru.expicore.managers.LocationIndex;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.TeleportWarmupManager.Kind;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 /**
- * Обработчик команд домов: /sethome, /home, /delhome.
+ * Обработчик команд домов: /sethome, /home, /delhome, /homes.
+ * Число домов ограничено лимитом из {@link HomeLimitManager}.
  * Позволяет игрокам устанавливать, использовать и удалять точки дома.
  * Данные сохраняются в JSON-файле.
  */
 public class HomeCommands implements CommandExecutor {
 
+    /** Сколько строк показывать в /homes near и /homes limits */
+    private static final int NEAR_LIST_LIMIT = 20;
+
     /** Ссылка на главный плагин */
     private final ExpiCore plugin;
 
@@ -39,9 +54,16 @@ public class HomeCommands implements CommandExecutor {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        String cmd = command.getName().toLowerCase();
+
+        // /homes limits — административная, доступна и из консоли
+        if (cmd.equals("homes") && args.length > 0 && args[0].equalsIgnoreCase("limits")) {
+            return handleHomeLimits(sender, args);
+        }
+
         // Только игроки могут использовать эти команды
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
@@ -49,12 +71,10 @@ public class HomeCommands implements CommandExecutor {
 
         // Проверка прав
         if (!player.hasPermission("expicore.home")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
-        String cmd = command.getName().toLowerCase();
-
         switch (cmd) {
             case "sethome":
                 return handleSetHome(player, args);
@@ -62,6 +82,8 @@ public class HomeCommands implements CommandExecutor {
                 return handleHome(player, args);
             case "delhome":
                 return handleDelHome(player, args);
+            case "homes":
+                return handleHomes(player, args);
             default:
                 return false;
         }
@@ -70,6 +92,7 @@ public class HomeCommands implements CommandExecutor {
     /**
      * Обработать команду /sethome [название].
      * Устанавливает точку дома. Если название не указано, используется "home".
+     * Новый дом сверх лимита игрока не создаётся, существующий можно переставить.
      * @param player игрок
      * @param args аргументы (необязательное название)
      * @return true если команда обработана
@@ -79,8 +102,23 @@ public class HomeCommands implements CommandExecutor {
         String name = args.length > 0 ? args[0] : "home";
         String uuid = player.getUniqueId().toString();
 
+        Set<String> existing = data.getHomeNames(uuid);
+        if (!existing.contains(name.toLowerCase())) {
+            HomeLimitManager limits = plugin.getHomeLimitManager();
+            int limit = limits.getLimit(player);
+            if (limit != HomeLimitManager.UNLIMITED && existing.size() >= limit) {
+                // Права могли измениться после входа — перед отказом пересчитываем лимит
+                limits.refresh(player);
+                limit = limits.getLimit(player);
+            }
+            if (limit != HomeLimitManager.UNLIMITED && existing.size() >= limit) {
+                player.sendMessage(msg.format(player, MessageKey.HOME_LIMIT_REACHED, String.valueOf(limit)));
+                return true;
+            }
+        }
+
         data.setHome(uuid, name, player.getLocation());
-        player.sendMessage(msg.homeSet(name));
+        player.sendMessage(msg.homeSet(player, name));
         return true;
     }
 
@@ -99,19 +137,30 @@ public class HomeCommands implements CommandExecutor {
 
         Location loc = data.getHome(uuid, name);
         if (loc == null) {
+            // Дом есть, но его мир не загружен
+            String world = data.getHomeWorld(uuid, name);
+            if (world != null) {
+                player.sendMessage(msg.format(player, MessageKey.WORLD_NOT_LOADED, world));
+                return true;
+            }
+
             // Если запрошен "home" без аргументов и не существует — показать список
             Set<String> homeNames = data.getHomeNames(uuid);
             if (homeNames.isEmpty()) {
-                player.sendMessage(MessageManager.NO_HOMES);
+                player.sendMessage(msg.get(player, MessageKey.NO_HOMES));
             } else {
-                player.sendMessage(msg.homeNotFound(name));
-                player.sendMessage(MessageManager.PREFIX + "§eВаши дома: §f" + String.join(", ", homeNames));
+                player.sendMessage(msg.homeNotFound(player, name));
+                player.sendMessage(msg.format(player, MessageKey.HOME_LIST, String.join(", ", homeNames)));
             }
             return true;
         }
 
-        player.teleport(loc);
-        player.sendMessage(msg.homeTeleported(name));
+        // Задержка и перезарядка, затем загрузка чанка без остановки основного потока
+        plugin.getTeleportWarmupManager().start(player, Kind.HOME, () ->
+                plugin.getTeleportService().teleport(player, loc).thenApply(ok -> {
+                    if (ok) player.sendMessage(msg.homeTeleported(player, name));
+                    return ok;
+                }));
         return true;
     }
 
@@ -127,10 +176,207 @@ public class HomeCommands implements CommandExecutor {
         String name = args.length > 0 ? args[0] : "home";
 
         if (data.deleteHome(uuid, name)) {
-            player.sendMessage(msg.homeDeleted(name));
+            player.sendMessage(msg.homeDeleted(player, name));
         } else {
-            player.sendMessage(msg.homeNotFound(name));
+            player.sendMessage(msg.homeNotFound(player, name));
+        }
+        return true;
+    }
+
+    /**
+     * Обработать команду /homes [near|purge] <радиус> [confirm].
+     * Без аргументов — GUI-список своих домов (или список в чате).
+     * near — дома всех игроков в радиусе (для персонала),
+     * purge — удалить дома в радиусе (сначала показывает число, удаляет с confirm).
+     * @param player игрок
+     * @param args аргументы команды
+     * @return true если команда обработана
+     */
+    private boolean handleHomes(Player player, String[] args) {
+        if (args.length == 0) {
+            if (plugin.getConfig().getBoolean("gui.location-browser", true)
+                    && plugin.getLocationBrowser().openHomes(player, 0)) {
+                return true;
+            }
+            Set<String> homeNames = data.getHomeNames(player.getUniqueId().toString());
+            if (homeNames.isEmpty()) {
+                player.sendMessage(msg.get(player, MessageKey.NO_HOMES));
+            } else {
+                player.sendMessage(msg.format(player, MessageKey.HOME_LIST, String.join(", ", homeNames)));
+            }
+            return true;
+        }
+
+        String action = args[0].toLowerCase();
+        if (args.length < 2 || !(action.equals("near") || action.equals("purge"))) {
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_HOMES));
+            return true;
+        }
+        if (!player.hasPermission("expicore.homes." + action)) {
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        int maxRadius = plugin.getConfig().getInt("location-index.max-query-radius", 2000);
+        int radius;
+        try {
+            radius = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            radius = -1;
+        }
+        if (radius <= 0 || radius > maxRadius) {
+            player.sendMessage(msg.format(player, MessageKey.HOMES_RADIUS_INVALID, String.valueOf(maxRadius)));
+            return true;
+        }
+
+        Location center = player.getLocation();
+        List<LocationIndex.Entry> found = data.getLocationIndex().within(center.getWorld().getName(),
+                center.getX(), center.getZ(), radius, LocationIndex.Type.HOME);
+        if (found.isEmpty()) {
+            player.sendMessage(msg.format(player, MessageKey.HOMES_NEAR_NONE, String.valueOf(radius)));
+            return true;
+        }
+
+        if (action.equals("near")) {
+            player.sendMessage(msg.format(player, MessageKey.HOMES_NEAR_HEADER,
+                    String.valueOf(found.size()), String.valueOf(radius)));
+            for (int i = 0; i < found.size() && i < NEAR_LIST_LIMIT; i++) {
+                LocationIndex.Entry entry = found.get(i);
+                int distance = (int) Math.sqrt(entry.distanceSq(center.getX(), center.getZ()));
+                player.sendMessage(msg.format(player, MessageKey.HOMES_NEAR_ENTRY,
+                        ownerName(entry.getOwner()), entry.getName(), String.valueOf(distance)));
+            }
+            if (found.size() > NEAR_LIST_LIMIT) {
+                player.sendMessage(msg.format(player, MessageKey.HOMES_NEAR_MORE,
+                        String.valueOf(found.size() - NEAR_LIST_LIMIT)));
+            }
+            return true;
+        }
+
+        // purge: без подтверждения только показываем, сколько домов будет удалено
+        if (args.length < 3 || !args[2].equalsIgnoreCase("confirm")) {
+            player.sendMessage(msg.format(player, MessageKey.HOMES_PURGE_CONFIRM,
+                    String.valueOf(found.size()), String.valueOf(radius)));
+            return true;
+        }
+        int removed = data.deleteHomes(found);
+        player.sendMessage(msg.format(player, MessageKey.HOMES_PURGED, String.valueOf(removed)));
+
+        AuditLogger auditLogger = plugin.getAuditLogger();
+        if (auditLogger != null) {
+            auditLogger.logCommand(player, "homes", args);
         }
         return true;
     }
+
+    /**
+     * Обработать команду /homes limits [trim [confirm]].
+     * Показывает игроков, у которых домов больше лимита, и удаляет лишние дома.
+     * Для игроков не в сети берётся последний вычисленный лимит; владельцы,
+     * чей лимит ни разу не вычислялся, выводятся отдельно и не очищаются.
+     * @param sender отправитель команды
+     * @param args аргументы команды
+     * @return true
+     */
+    private boolean handleHomeLimits(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("expicore.homes.limits")) {
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        HomeLimitManager limits = plugin.getHomeLimitManager();
+        Map<String, Integer> over = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        int excess = 0;
+        for (String owner : data.getHomeOwners()) {
+            int limit = limits.getKnownLimit(owner);
+            if (limit == HomeLimitManager.UNLIMITED) continue;
+            if (limit == HomeLimitManager.UNKNOWN) {
+                unknown.add(owner);
+                continue;
+            }
+            int count = data.getHomeNames(owner).size();
+            if (count > limit) {
+                over.put(owner, limit);
+                excess += count - limit;
+            }
+        }
+        if (over.isEmpty()) {
+            sender.sendMessage(msg.get(sender, MessageKey.HOMELIMITS_NONE));
+            sendUnknownOwners(sender, unknown);
+            return true;
+        }
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("trim")) {
+            if (args.length < 3 || !args[2].equalsIgnoreCase("confirm")) {
+                sender.sendMessage(msg.format(sender, MessageKey.HOMELIMITS_TRIM_CONFIRM,
+                        String.valueOf(excess), String.valueOf(over.size())));
+                sendUnknownOwners(sender, unknown);
+                return true;
+            }
+            int removed = data.trimHomes(over);
+            sender.sendMessage(msg.format(sender, MessageKey.HOMELIMITS_TRIMMED,
+                    String.valueOf(removed), String.valueOf(over.size())));
+            sendUnknownOwners(sender, unknown);
+
+            AuditLogger auditLogger = plugin.getAuditLogger();
+            if (auditLogger != null) {
+                auditLogger.logCommand(sender, "homes", args);
+            }
+            return true;
+        }
+
+        // Отчёт: сначала игроки с наибольшим превышением
+        List<String> owners = new ArrayList<>(over.keySet());
+        owners.sort((a, b) -> Integer.compare(
+                data.getHomeNames(b).size() - over.get(b), data.getHomeNames(a).size() - over.get(a)));
+        sender.sendMessage(msg.format(sender, MessageKey.HOMELIMITS_HEADER,
+                String.valueOf(over.size()), String.valueOf(excess)));
+        for (int i = 0; i < owners.size() && i < NEAR_LIST_LIMIT; i++) {
+            String owner = owners.get(i);
+            sender.sendMessage(msg.format(sender, MessageKey.HOMELIMITS_ENTRY, ownerName(owner),
+                    String.valueOf(data.getHomeNames(owner).size()), String.valueOf(over.get(owner))));
+        }
+        if (owners.size() > NEAR_LIST_LIMIT) {
+            sender.sendMessage(msg.format(sender, MessageKey.HOMES_NEAR_MORE,
+                    String.valueOf(owners.size() - NEAR_LIST_LIMIT)));
+        }
+        sendUnknownOwners(sender, unknown);
+        return true;
+    }
+
+    /**
+     * Вывести владельцев домов, чей лимит неизвестен: сначала с наибольшим числом домов.
+     * @param sender отправитель команды
+     * @param unknown UUID владельцев строкой
+     */
+    private void sendUnknownOwners(CommandSender sender, List<String> unknown) {
+        if (unknown.isEmpty()) return;
+
+        unknown.sort((a, b) -> Integer.compare(data.getHomeNames(b).size(), data.getHomeNames(a).size()));
+        sender.sendMessage(msg.format(sender, MessageKey.HOMELIMITS_UNKNOWN, String.valueOf(unknown.size())));
+        for (int i = 0; i < unknown.size() && i < NEAR_LIST_LIMIT; i++) {
+            String owner = unknown.get(i);
+            sender.sendMessage(msg.format(sender, MessageKey.HOMELIMITS_UNKNOWN_ENTRY, ownerName(owner),
+                    String.valueOf(data.getHomeNames(owner).size())));
+        }
+        if (unknown.size() > NEAR_LIST_LIMIT) {
+            sender.sendMessage(msg.format(sender, MessageKey.HOMES_NEAR_MORE,
+                    String.valueOf(unknown.size() - NEAR_LIST_LIMIT)));
+        }
+    }
+
+    /**
+     * Имя владельца дома для вывода.
+     * @param owner UUID владельца строкой
+     * @return ник или UUID, если игрок неизвестен серверу
+     */
+    private String ownerName(String owner) {
+        try {
+            String name = Bukkit.getOfflinePlayer(UUID.fromString(owner)).getName();
+            return name != null ? name : owner;
+        } catch (IllegalArgumentException e) {
+            return owner;
+        }
+    }
 }
@@ -1,12 +1,12 @@
 package ru.expicore.commands;
 
-import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.KitManager;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 import java.util.Set;
@@ -40,7 +40,7 @@ public class KitCommands implements CommandExecutor {
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         // Только игроки могут использовать эти команды
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
@@ -48,7 +48,7 @@ public class KitCommands implements CommandExecutor {
 
         // Базовая проверка прав на использование китов
         if (!player.hasPermission("expicore.kit")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -80,10 +80,9 @@ public class KitCommands implements CommandExecutor {
     private boolean handleListKits(Player player) {
         Set<String> kitNames = plugin.getDataManager().getKitNames();
         if (kitNames.isEmpty()) {
-            player.sendMessage(MessageManager.KIT_NO_KITS);
+            player.sendMessage(msg.get(player, MessageKey.KIT_NO_KITS));
         } else {
-            player.sendMessage(MessageManager.PREFIX + ChatColor.YELLOW + "Доступные киты: "
-                    + ChatColor.WHITE + String.join(", ", kitNames));
+            player.sendMessage(msg.format(player, MessageKey.KIT_LIST, String.join(", ", kitNames)));
         }
         return true;
     }
@@ -96,9 +95,9 @@ public class KitCommands implements CommandExecutor {
      */
     private boolean handleGiveKit(Player player, String name) {
         if (kitManager.giveKit(player, name)) {
-            player.sendMessage(msg.kitGiven(name));
+            player.sendMessage(msg.kitGiven(player, name));
         } else {
-            player.sendMessage(msg.kitNotFound(name));
+            player.sendMessage(msg.kitNotFound(player, name));
         }
         return true;
     }
@@ -113,21 +112,21 @@ public class KitCommands implements CommandExecutor {
     private boolean handleCreateKit(Player player, String[] args) {
         // Проверка административных прав
         if (!player.hasPermission("expicore.kit.admin")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 2) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /kit create <название>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_KIT_CREATE));
             return true;
         }
 
         String name = args[1];
 
         if (kitManager.createKitFromInventory(player, name)) {
-            player.sendMessage(msg.kitCreated(name));
+            player.sendMessage(msg.kitCreated(player, name));
         } else {
-            player.sendMessage(MessageManager.KIT_EMPTY_INVENTORY);
+            player.sendMessage(msg.get(player, MessageKey.KIT_EMPTY_INVENTORY));
         }
         return true;
     }
@@ -142,21 +141,21 @@ public class KitCommands implements CommandExecutor {
     private boolean handleDeleteKit(Player player, String[] args) {
         // Проверка административных прав
         if (!player.hasPermission("expicore.kit.admin")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 2) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /kit delete <название>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_KIT_DELETE));
             return true;
         }
 
         String name = args[1];
 
         if (plugin.getDataManager().deleteKit(name)) {
-            player.sendMessage(msg.kitDeleted(name));
+            player.sendMessage(msg.kitDeleted(player, name));
         } else {
-            player.sendMessage(msg.kitNotFound(name));
+            player.sendMessage(msg.kitNotFound(player, name));
         }
         return true;
     }
@@ -169,7 +168,7 @@ public class KitCommands implements CommandExecutor {
      */
     private boolean handleEditor(Player player) {
         if (!player.hasPermission("expicore.kit.admin")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -0,0 +1,129 @@
+package ru.expicore.commands;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.MailManager;
+import ru.expicore.managers.MessageKey;
+import ru.expicore.managers.MessageManager;
+
+import java.util.Arrays;
+
+/**
+ * Обработчик команды почты: /mail send|read|clear.
+ * Письма доставляются и читаются асинхронно через {@link MailManager}.
+ */
+public class MailCommands implements CommandExecutor {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
+    /** Менеджер почты */
+    private final MailManager mailManager;
+
+    /**
+     * Создать обработчик команды почты.
+     * @param plugin экземпляр плагина
+     */
+    public MailCommands(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
+        this.mailManager = plugin.getMailManager();
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("expicore.mail")) {
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        if (args.length < 1) {
+            return handleStatus(sender);
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "send":
+                return handleSend(sender, args);
+            case "read":
+                return handleRead(sender);
+            case "clear":
+                return handleClear(sender);
+            default:
+                sender.sendMessage(msg.usage(sender, MessageKey.USAGE_MAIL));
+                return true;
+        }
+    }
+
+    /**
+     * Обработать /mail без аргументов — показать число непрочитанных писем.
+     * @param sender отправитель команды
+     * @return true
+     */
+    private boolean handleStatus(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_MAIL_SEND));
+            return true;
+        }
+        Player player = (Player) sender;
+
+        int count = mailManager.getUnread(player.getUniqueId());
+        if (count > 0) {
+            player.sendMessage(msg.format(player, MessageKey.MAIL_NOTIFY, String.valueOf(count)));
+        } else {
+            player.sendMessage(msg.get(player, MessageKey.MAIL_NONE));
+        }
+        return true;
+    }
+
+    /**
+     * Обработать /mail send <игрок> <текст>.
+     * Получатель может быть не в сети, но должен хотя бы раз заходить на сервер.
+     * @param sender отправитель команды
+     * @param args аргументы
+     * @return true
+     */
+    private boolean handleSend(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_MAIL_SEND));
+            return true;
+        }
+
+        String text = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
+        mailManager.send(sender, args[1], text, MessageKey.MAIL_SENT);
+        return true;
+    }
+
+    /**
+     * Обработать /mail read — показать непрочитанные письма.
+     * @param sender отправитель команды
+     * @return true
+     */
+    private boolean handleRead(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
+            return true;
+        }
+        mailManager.readUnread((Player) sender);
+        return true;
+    }
+
+    /**
+     * Обработать /mail clear — удалить все письма.
+     * @param sender отправитель команды
+     * @return true
+     */
+    private boolean handleClear(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
+            return true;
+        }
+        mailManager.clear((Player) sender);
+        return true;
+    }
+}
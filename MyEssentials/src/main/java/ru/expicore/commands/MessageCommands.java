@@ -6,11 +6,17 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.AuditLogger;
 import ru.expicore.managers.IgnoreManager;
+import ru.expicore.managers.MailManager;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.SocialSpyManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -31,17 +37,17 @@ public class MessageCommands implements CommandExecutor {
     /** Менеджер игнорирования */
     private final IgnoreManager ignoreManager;
 
+    /** Журнал аудита */
+    private final AuditLogger auditLogger;
+
     /**
      * Хранилище последних собеседников для /r.
      * Ключ — UUID получателя, значение — UUID последнего отправителя.
      */
     private final Map<UUID, UUID> lastMessenger = new ConcurrentHashMap<>();
 
-    /**
-     * Множество UUID игроков с включённым SocialSpy.
-     * Эти игроки видят чужие личные сообщения.
-     */
-    private final Set<UUID> socialSpies = ConcurrentHashMap.newKeySet();
+    /** Менеджер подписок SocialSpy */
+    private final SocialSpyManager socialSpyManager;
 
     /**
      * Создать обработчик команд личных сообщений.
@@ -51,6 +57,8 @@ public class MessageCommands implements CommandExecutor {
         this.plugin = plugin;
         this.msg = plugin.getMessageManager();
         this.ignoreManager = plugin.getIgnoreManager();
+        this.auditLogger = plugin.getAuditLogger();
+        this.socialSpyManager = plugin.getSocialSpyManager();
     }
 
     @Override
@@ -65,7 +73,7 @@ public class MessageCommands implements CommandExecutor {
             case "ignore":
                 return handleIgnore(sender, args);
             case "socialspy":
-                return handleSocialSpy(sender);
+                return handleSocialSpy(sender, args);
             default:
                 return false;
         }
@@ -77,42 +85,50 @@ public class MessageCommands implements CommandExecutor {
      * Обработать команду /msg <игрок> <текст>.
      * Отправляет приватное сообщение указанному игроку.
      * Проверяет список игнорирования и рассылает SocialSpy.
+     * Если получатель не в сети, сообщение уходит ему в почту.
      * @param sender отправитель
      * @param args аргументы (имя игрока + текст)
      * @return true
      */
     private boolean handleMsg(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
 
         if (!player.hasPermission("expicore.msg")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 2) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /msg <игрок> <текст>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_MSG));
             return true;
         }
 
         Player target = Bukkit.getPlayerExact(args[0]);
         if (target == null) {
-            player.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+            // Игрок не в сети — доставляем сообщение в почту
+            MailManager mailManager = plugin.getMailManager();
+            if (mailManager != null && player.hasPermission("expicore.mail")) {
+                String text = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+                mailManager.send(player, args[0], text, MessageKey.MAIL_SENT_OFFLINE);
+            } else {
+                player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
+            }
             return true;
         }
 
         // Нельзя написать самому себе
         if (target.getUniqueId().equals(player.getUniqueId())) {
-            player.sendMessage(MessageManager.MSG_SELF);
+            player.sendMessage(msg.get(player, MessageKey.MSG_SELF));
             return true;
         }
 
         // Проверка: получатель игнорирует отправителя
         if (ignoreManager.isIgnoring(target.getUniqueId(), player.getUniqueId())) {
-            player.sendMessage(MessageManager.IGNORE_BLOCKED);
+            player.sendMessage(msg.get(player, MessageKey.IGNORE_BLOCKED));
             return true;
         }
 
@@ -125,8 +141,8 @@ public class MessageCommands implements CommandExecutor {
         String message = messageBuilder.toString();
 
         // Отправляем сообщения обоим игрокам
-        player.sendMessage(msg.msgTo(target.getName(), message));
-        target.sendMessage(msg.msgFrom(player.getName(), message));
+        player.sendMessage(msg.msgTo(player, target.getName(), message));
+        target.sendMessage(msg.msgFrom(target, player.getName(), message));
 
         // Сохраняем отправителя как последнего собеседника для получателя
         lastMessenger.put(target.getUniqueId(), player.getUniqueId());
@@ -150,31 +166,31 @@ public class MessageCommands implements CommandExecutor {
      */
     private boolean handleReply(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
 
         if (!player.hasPermission("expicore.msg")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /r <текст>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_REPLY));
             return true;
         }
 
         // Ищем последнего собеседника
         UUID targetUUID = lastMessenger.get(player.getUniqueId());
         if (targetUUID == null) {
-            player.sendMessage(MessageManager.MSG_NO_REPLY);
+            player.sendMessage(msg.get(player, MessageKey.MSG_NO_REPLY));
             return true;
         }
 
         Player target = Bukkit.getPlayer(targetUUID);
         if (target == null || !target.isOnline()) {
-            player.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+            player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
             // Убираем устаревшую запись
             lastMessenger.remove(player.getUniqueId());
             return true;
@@ -182,7 +198,7 @@ public class MessageCommands implements CommandExecutor {
 
         // Проверка: получатель игнорирует отправителя
         if (ignoreManager.isIgnoring(target.getUniqueId(), player.getUniqueId())) {
-            player.sendMessage(MessageManager.IGNORE_BLOCKED);
+            player.sendMessage(msg.get(player, MessageKey.IGNORE_BLOCKED));
             return true;
         }
 
@@ -190,8 +206,8 @@ public class MessageCommands implements CommandExecutor {
         String message = String.join(" ", args);
 
         // Отправляем сообщения обоим игрокам
-        player.sendMessage(msg.msgTo(target.getName(), message));
-        target.sendMessage(msg.msgFrom(player.getName(), message));
+        player.sendMessage(msg.msgTo(player, target.getName(), message));
+        target.sendMessage(msg.msgFrom(target, player.getName(), message));
 
         // Обновляем последнего собеседника
         lastMessenger.put(target.getUniqueId(), player.getUniqueId());
@@ -215,36 +231,36 @@ public class MessageCommands implements CommandExecutor {
      */
     private boolean handleIgnore(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
 
         if (!player.hasPermission("expicore.ignore")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /ignore <игрок>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_IGNORE));
             return true;
         }
 
         Player target = Bukkit.getPlayerExact(args[0]);
         if (target == null) {
-            player.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+            player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
             return true;
         }
 
         // Нельзя заигнорить себя
         if (target.getUniqueId().equals(player.getUniqueId())) {
-            player.sendMessage(MessageManager.IGNORE_SELF);
+            player.sendMessage(msg.get(player, MessageKey.IGNORE_SELF));
             return true;
         }
 
         // Проверка: цель имеет защиту от игнорирования
         if (target.hasPermission("expicore.ignore.exempt")) {
-            player.sendMessage(MessageManager.IGNORE_EXEMPT);
+            player.sendMessage(msg.get(player, MessageKey.IGNORE_EXEMPT));
             return true;
         }
 
@@ -252,9 +268,9 @@ public class MessageCommands implements CommandExecutor {
         boolean nowIgnoring = ignoreManager.toggleIgnore(player.getUniqueId(), target.getUniqueId());
 
         if (nowIgnoring) {
-            player.sendMessage(msg.ignoreAdded(target.getName()));
+            player.sendMessage(msg.ignoreAdded(player, target.getName()));
         } else {
-            player.sendMessage(msg.ignoreRemoved(target.getName()));
+            player.sendMessage(msg.ignoreRemoved(player, target.getName()));
         }
 
         return true;
@@ -263,59 +279,115 @@ public class MessageCommands implements CommandExecutor {
     // ==================== /socialspy ====================
 
     /**
-     * Обработать команду /socialspy.
-     * Переключает режим просмотра чужих личных сообщений.
+     * Обработать команду /socialspy [player <игрок>|keyword <слово>|list|off].
+     * Без аргументов переключает подписку на все личные сообщения.
+     * player — следить за сообщениями игрока, keyword — за сообщениями со словом.
      * @param sender отправитель
+     * @param args аргументы
      * @return true
      */
-    private boolean handleSocialSpy(CommandSender sender) {
+    private boolean handleSocialSpy(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
 
         if (!player.hasPermission("expicore.socialspy")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
-        UUID uuid = player.getUniqueId();
+        if (args.length == 0) {
+            boolean enabled = socialSpyManager.toggleAll(player);
+            player.sendMessage(msg.get(player, enabled ? MessageKey.SOCIALSPY_ENABLED : MessageKey.SOCIALSPY_DISABLED));
+            return true;
+        }
 
-        if (socialSpies.contains(uuid)) {
-            socialSpies.remove(uuid);
-            player.sendMessage(MessageManager.SOCIALSPY_DISABLED);
-        } else {
-            socialSpies.add(uuid);
-            player.sendMessage(MessageManager.SOCIALSPY_ENABLED);
+        switch (args[0].toLowerCase()) {
+            case "player": {
+                if (args.length < 2) break;
+                Player target = Bukkit.getPlayerExact(args[1]);
+                if (target == null) {
+                    player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
+                    return true;
+                }
+                boolean watching = socialSpyManager.toggleWatch(player, target.getUniqueId());
+                player.sendMessage(msg.format(player, watching
+                        ? MessageKey.SOCIALSPY_WATCH_ADDED : MessageKey.SOCIALSPY_WATCH_REMOVED, target.getName()));
+                return true;
+            }
+            case "keyword": {
+                if (args.length < 2) break;
+                String keyword = args[1].toLowerCase();
+                if (!SocialSpyManager.isValidKeyword(keyword)) {
+                    player.sendMessage(msg.get(player, MessageKey.SOCIALSPY_KEYWORD_INVALID));
+                    return true;
+                }
+                boolean subscribed = socialSpyManager.toggleKeyword(player, keyword);
+                player.sendMessage(msg.format(player, subscribed
+                        ? MessageKey.SOCIALSPY_KEYWORD_ADDED : MessageKey.SOCIALSPY_KEYWORD_REMOVED, keyword));
+                return true;
+            }
+            case "list":
+                return handleSocialSpyList(player);
+            case "off":
+                socialSpyManager.unsubscribe(player.getUniqueId());
+                player.sendMessage(msg.get(player, MessageKey.SOCIALSPY_CLEARED));
+                return true;
+            default:
+                break;
         }
 
+        player.sendMessage(msg.usage(player, MessageKey.USAGE_SOCIALSPY));
+        return true;
+    }
+
+    /**
+     * Показать подписки SocialSpy игрока.
+     * @param player игрок
+     * @return true
+     */
+    private boolean handleSocialSpyList(Player player) {
+        SocialSpyManager.Subscription sub = socialSpyManager.getSubscription(player.getUniqueId());
+        if (sub == null) {
+            player.sendMessage(msg.get(player, MessageKey.SOCIALSPY_LIST_EMPTY));
+            return true;
+        }
+
+        if (sub.isAll()) {
+            player.sendMessage(msg.get(player, MessageKey.SOCIALSPY_LIST_ALL));
+        }
+
+        List<String> names = new ArrayList<>();
+        for (UUID uuid : sub.getPlayers()) {
+            Player watched = Bukkit.getPlayer(uuid);
+            names.add(watched != null ? watched.getName() : uuid.toString());
+        }
+        String players = names.isEmpty() ? "-" : String.join(", ", names);
+        String keywords = sub.getKeywords().isEmpty() ? "-" : String.join(", ", sub.getKeywords());
+        player.sendMessage(msg.format(player, MessageKey.SOCIALSPY_LIST, players, keywords));
         return true;
     }
 
     // ==================== ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ====================
 
     /**
-     * Разослать перехваченное сообщение всем игрокам с включённым SocialSpy.
-     * Отправитель и получатель сообщения не получают дублирование.
+     * Передать перехваченное сообщение подписчикам SocialSpy.
+     * Менеджер сам выбирает подходящих подписчиков по индексам;
+     * отправитель и получатель сообщения не получают дублирование.
+     * Каждое личное сообщение также записывается в журнал аудита.
      * @param sender отправитель ЛС
      * @param target получатель ЛС
      * @param message текст сообщения
      */
     private void broadcastSocialSpy(Player sender, Player target, String message) {
-        if (socialSpies.isEmpty()) return;
-
-        String spyMessage = msg.socialSpyFormat(sender.getName(), target.getName(), message);
+        if (auditLogger != null) {
+            auditLogger.log(AuditLogger.MSG, sender.getName(), "-> " + target.getName() + ": " + message);
+        }
 
-        for (UUID spyUUID : socialSpies) {
-            // Не дублируем сообщение отправителю и получателю
-            if (spyUUID.equals(sender.getUniqueId()) || spyUUID.equals(target.getUniqueId())) {
-                continue;
-            }
-            Player spy = Bukkit.getPlayer(spyUUID);
-            if (spy != null && spy.isOnline()) {
-                spy.sendMessage(spyMessage);
-            }
+        if (socialSpyManager != null) {
+            socialSpyManager.publish(sender, target, message);
         }
     }
 
@@ -326,6 +398,8 @@ public class MessageCommands implements CommandExecutor {
      */
     public void clearLastMessenger(UUID uuid) {
         lastMessenger.remove(uuid);
-        socialSpies.remove(uuid);
+        if (socialSpyManager != null) {
+            socialSpyManager.unsubscribe(uuid);
+        }
     }
 }
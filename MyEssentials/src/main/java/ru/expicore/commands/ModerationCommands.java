@@ -7,6 +7,8 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.AuditLogger;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 /**
@@ -21,6 +23,9 @@ public class ModerationCommands implements CommandExecutor {
     /** Менеджер сообщений */
     private final MessageManager msg;
 
+    /** Журнал аудита */
+    private final AuditLogger auditLogger;
+
     /**
      * Создать обработчик команд модерирования.
      * @param plugin экземпляр главного плагина
@@ -28,12 +33,18 @@ public class ModerationCommands implements CommandExecutor {
     public ModerationCommands(ExpiCore plugin) {
         this.plugin = plugin;
         this.msg = plugin.getMessageManager();
+        this.auditLogger = plugin.getAuditLogger();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         String cmd = command.getName().toLowerCase();
 
+        // Все команды модерирования попадают в журнал аудита
+        if (auditLogger != null) {
+            auditLogger.logCommand(sender, cmd, args);
+        }
+
         switch (cmd) {
             case "invsee":
                 return handleInvsee(sender, args);
@@ -58,29 +69,29 @@ public class ModerationCommands implements CommandExecutor {
      */
     private boolean handleInvsee(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.invsee")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /invsee <игрок>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_INVSEE));
             return true;
         }
 
         Player target = Bukkit.getPlayerExact(args[0]);
         if (target == null) {
-            player.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+            player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
             return true;
         }
 
         // Открываем инвентарь целевого игрока — изменения синхронизируются автоматически
         player.openInventory(target.getInventory());
-        player.sendMessage(msg.invseeOpened(target.getName()));
+        player.sendMessage(msg.invseeOpened(player, target.getName()));
         return true;
     }
 
@@ -96,12 +107,12 @@ public class ModerationCommands implements CommandExecutor {
      */
     private boolean handleBroadcast(CommandSender sender, String[] args) {
         if (!sender.hasPermission("expicore.broadcast")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            sender.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /broadcast <сообщение>");
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_BROADCAST));
             return true;
         }
 
@@ -111,11 +122,8 @@ public class ModerationCommands implements CommandExecutor {
         // Переводим цветовые коды (&c, &a и т.д.) в настоящие ChatColor
         String coloredMessage = ChatColor.translateAlternateColorCodes('&', message);
 
-        // Формируем итоговое объявление
-        String broadcast = MessageManager.BROADCAST_PREFIX + coloredMessage;
-
-        // Отправляем всем игрокам
-        Bukkit.broadcastMessage(broadcast);
+        // Отправляем всем игрокам — каждому в формате его языка
+        msg.broadcast(MessageKey.BROADCAST, coloredMessage);
         return true;
     }
 
@@ -133,32 +141,32 @@ public class ModerationCommands implements CommandExecutor {
         if (args.length > 0) {
             // Очищаем инвентарь другого игрока
             if (!sender.hasPermission("expicore.clear.others")) {
-                sender.sendMessage(MessageManager.NO_PERMISSION);
+                sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
                 return true;
             }
             Player target = Bukkit.getPlayerExact(args[0]);
             if (target == null) {
-                sender.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+                sender.sendMessage(msg.get(sender, MessageKey.PLAYER_NOT_FOUND));
                 return true;
             }
             target.getInventory().clear();
-            target.sendMessage(MessageManager.CLEAR_BY_OTHER);
-            sender.sendMessage(msg.clearOther(target.getName()));
+            target.sendMessage(msg.get(target, MessageKey.CLEAR_BY_OTHER));
+            sender.sendMessage(msg.clearOther(sender, target.getName()));
             return true;
         }
 
         // Очищаем свой инвентарь
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.clear")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
         player.getInventory().clear();
-        player.sendMessage(MessageManager.CLEAR_SELF);
+        player.sendMessage(msg.get(player, MessageKey.CLEAR_SELF));
         return true;
     }
 }
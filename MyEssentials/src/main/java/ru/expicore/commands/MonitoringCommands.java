@@ -8,6 +8,10 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.AFKManager;
+import ru.expicore.managers.AfkResourceSaver;
+import ru.expicore.managers.AuditLogger;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 import java.util.ArrayList;
@@ -23,12 +27,16 @@ public class MonitoringCommands implements CommandExecutor {
     /** Ссылка на главный плагин */
     private final ExpiCore plugin;
 
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
     /**
      * Создать обработчик команд мониторинга.
      * @param plugin экземпляр плагина
      */
     public MonitoringCommands(ExpiCore plugin) {
         this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
     }
 
     @Override
@@ -56,7 +64,7 @@ public class MonitoringCommands implements CommandExecutor {
      */
     private boolean handleGC(CommandSender sender) {
         if (!sender.hasPermission("expicore.gc")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -107,6 +115,48 @@ public class MonitoringCommands implements CommandExecutor {
                 + ChatColor.WHITE + Bukkit.getOnlinePlayers().size()
                 + ChatColor.GRAY + " / " + ChatColor.WHITE + Bukkit.getMaxPlayers());
 
+        // Экономия ресурсов на AFK-игроках
+        AFKManager afkManager = plugin.getAFKManager();
+        if (afkManager != null && afkManager.getResourceSaver().isEnabled()) {
+            AfkResourceSaver saver = afkManager.getResourceSaver();
+            sender.sendMessage(ChatColor.YELLOW + "AFK-экономия: "
+                    + (saver.isSupported()
+                        ? ChatColor.WHITE + "" + saver.getActiveCount() + ChatColor.GRAY + " игроков, "
+                            + ChatColor.GREEN + saver.getChunksSaved() + ChatColor.GRAY + " чанков, ~"
+                            + ChatColor.GREEN + saver.getEntitiesSaved() + ChatColor.GRAY + " трекеров сущностей, "
+                        : ChatColor.RED + "нет API Paper" + ChatColor.GRAY + ", ")
+                    + ChatColor.WHITE + saver.getKickedTotal() + ChatColor.GRAY + " кикнуто");
+        }
+
+        // Телепорты
+        if (plugin.getTeleportService() != null) {
+            sender.sendMessage(ChatColor.YELLOW + "Телепорты: "
+                    + ChatColor.WHITE + plugin.getTeleportService().getStatsLine());
+        }
+        if (plugin.getSafeLocationResolver() != null) {
+            sender.sendMessage(ChatColor.YELLOW + "Безопасные точки: "
+                    + ChatColor.WHITE + plugin.getSafeLocationResolver().getStatsLine());
+        }
+        if (plugin.getRandomTeleportManager() != null) {
+            sender.sendMessage(ChatColor.YELLOW + "Пулы /rtp: "
+                    + ChatColor.WHITE + plugin.getRandomTeleportManager().getStatsLine());
+        }
+
+        // Киты
+        if (plugin.getKitManager() != null) {
+            sender.sendMessage(ChatColor.YELLOW + "Киты: "
+                    + ChatColor.WHITE + plugin.getKitManager().getStatsLine());
+        }
+
+        // Журнал аудита
+        AuditLogger auditLogger = plugin.getAuditLogger();
+        if (auditLogger != null && auditLogger.isEnabled()) {
+            sender.sendMessage(ChatColor.YELLOW + "Журнал аудита: "
+                    + ChatColor.WHITE + auditLogger.getBacklog() + ChatColor.GRAY + " в очереди, "
+                    + (auditLogger.getDroppedTotal() > 0 ? ChatColor.RED : ChatColor.GREEN)
+                    + auditLogger.getDroppedTotal() + ChatColor.GRAY + " отброшено");
+        }
+
         return true;
     }
 
@@ -157,14 +207,14 @@ public class MonitoringCommands implements CommandExecutor {
      */
     private boolean handleNear(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
         Player player = (Player) sender;
 
         if (!player.hasPermission("expicore.near")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
@@ -174,11 +224,11 @@ public class MonitoringCommands implements CommandExecutor {
             try {
                 radius = Integer.parseInt(args[0]);
                 if (radius <= 0 || radius > 10000) {
-                    player.sendMessage(MessageManager.PREFIX + ChatColor.RED + "Радиус должен быть от 1 до 10000.");
+                    player.sendMessage(msg.get(player, MessageKey.NEAR_INVALID_RADIUS));
                     return true;
                 }
             } catch (NumberFormatException e) {
-                player.sendMessage(MessageManager.PREFIX + ChatColor.RED + "Неверный формат радиуса!");
+                player.sendMessage(msg.get(player, MessageKey.NEAR_INVALID_FORMAT));
                 return true;
             }
         }
@@ -194,16 +244,14 @@ public class MonitoringCommands implements CommandExecutor {
             double distSquared = player.getLocation().distanceSquared(other.getLocation());
             if (distSquared <= radiusSquared) {
                 int dist = (int) Math.sqrt(distSquared);
-                nearbyPlayers.add(ChatColor.YELLOW + other.getName() + ChatColor.GRAY + " (" + dist + "м)");
+                nearbyPlayers.add(msg.format(player, MessageKey.NEAR_ENTRY, other.getName(), String.valueOf(dist)));
             }
         }
 
         if (nearbyPlayers.isEmpty()) {
-            player.sendMessage(MessageManager.PREFIX + ChatColor.YELLOW
-                    + "Нет игроков поблизости (радиус: " + radius + " блоков).");
+            player.sendMessage(msg.format(player, MessageKey.NEAR_NONE, String.valueOf(radius)));
         } else {
-            player.sendMessage(MessageManager.PREFIX + ChatColor.GREEN
-                    + "Игроки поблизости (" + radius + " блоков): ");
+            player.sendMessage(msg.format(player, MessageKey.NEAR_HEADER, String.valueOf(radius)));
             player.sendMessage(ChatColor.GRAY + String.join(ChatColor.GRAY + ", ", nearbyPlayers));
         }
 
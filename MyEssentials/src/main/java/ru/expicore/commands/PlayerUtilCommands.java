@@ -11,6 +11,7 @@ import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 /**
@@ -73,34 +74,34 @@ public class PlayerUtilCommands implements CommandExecutor {
         if (args.length > 0) {
             // Кормим другого игрока
             if (!sender.hasPermission("expicore.feed.others")) {
-                sender.sendMessage(MessageManager.NO_PERMISSION);
+                sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
                 return true;
             }
             Player target = Bukkit.getPlayerExact(args[0]);
             if (target == null) {
-                sender.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+                sender.sendMessage(msg.get(sender, MessageKey.PLAYER_NOT_FOUND));
                 return true;
             }
             target.setFoodLevel(20);
             target.setSaturation(20f);
-            target.sendMessage(MessageManager.FEED_BY_OTHER);
-            sender.sendMessage(msg.feedOther(target.getName()));
+            target.sendMessage(msg.get(target, MessageKey.FEED_BY_OTHER));
+            sender.sendMessage(msg.feedOther(sender, target.getName()));
             return true;
         }
 
         // Кормим себя
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.feed")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
         player.setFoodLevel(20);
         player.setSaturation(20f);
-        player.sendMessage(MessageManager.FEED_SELF);
+        player.sendMessage(msg.get(player, MessageKey.FEED_SELF));
         return true;
     }
 
@@ -118,32 +119,32 @@ public class PlayerUtilCommands implements CommandExecutor {
         if (args.length > 0) {
             // Лечим другого игрока
             if (!sender.hasPermission("expicore.heal.others")) {
-                sender.sendMessage(MessageManager.NO_PERMISSION);
+                sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
                 return true;
             }
             Player target = Bukkit.getPlayerExact(args[0]);
             if (target == null) {
-                sender.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+                sender.sendMessage(msg.get(sender, MessageKey.PLAYER_NOT_FOUND));
                 return true;
             }
             healPlayer(target);
-            target.sendMessage(MessageManager.HEAL_BY_OTHER);
-            sender.sendMessage(msg.healOther(target.getName()));
+            target.sendMessage(msg.get(target, MessageKey.HEAL_BY_OTHER));
+            sender.sendMessage(msg.healOther(sender, target.getName()));
             return true;
         }
 
         // Лечим себя
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.heal")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
         healPlayer(player);
-        player.sendMessage(MessageManager.HEAL_SELF);
+        player.sendMessage(msg.get(player, MessageKey.HEAL_SELF));
         return true;
     }
 
@@ -175,7 +176,7 @@ public class PlayerUtilCommands implements CommandExecutor {
      */
     private boolean handleRepair(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
@@ -183,7 +184,7 @@ public class PlayerUtilCommands implements CommandExecutor {
         if (args.length > 0 && args[0].equalsIgnoreCase("all")) {
             // Проверка права на починку всего инвентаря
             if (!player.hasPermission("expicore.repair.all")) {
-                player.sendMessage(MessageManager.NO_PERMISSION);
+                player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
                 return true;
             }
             // Чиним все предметы в инвентаре
@@ -194,20 +195,20 @@ public class PlayerUtilCommands implements CommandExecutor {
             for (ItemStack item : player.getInventory().getArmorContents()) {
                 repairItem(item);
             }
-            player.sendMessage(MessageManager.REPAIR_ALL);
+            player.sendMessage(msg.get(player, MessageKey.REPAIR_ALL));
         } else {
             // Проверка права на починку предмета в руке
             if (!player.hasPermission("expicore.repair.hand")) {
-                player.sendMessage(MessageManager.NO_PERMISSION);
+                player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
                 return true;
             }
             // Чиним только предмет в руке
             ItemStack hand = player.getInventory().getItemInMainHand();
             if (hand.getType() == Material.AIR || !repairItem(hand)) {
-                player.sendMessage(MessageManager.REPAIR_NOTHING);
+                player.sendMessage(msg.get(player, MessageKey.REPAIR_NOTHING));
                 return true;
             }
-            player.sendMessage(MessageManager.REPAIR_HAND);
+            player.sendMessage(msg.get(player, MessageKey.REPAIR_HAND));
         }
         return true;
     }
@@ -242,18 +243,18 @@ public class PlayerUtilCommands implements CommandExecutor {
      */
     private boolean handleHat(CommandSender sender) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.hat")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         ItemStack hand = player.getInventory().getItemInMainHand();
         if (hand.getType() == Material.AIR) {
-            player.sendMessage(MessageManager.HAT_EMPTY);
+            player.sendMessage(msg.get(player, MessageKey.HAT_EMPTY));
             return true;
         }
 
@@ -261,7 +262,7 @@ public class PlayerUtilCommands implements CommandExecutor {
         ItemStack currentHelmet = player.getInventory().getHelmet();
         player.getInventory().setHelmet(hand);
         player.getInventory().setItemInMainHand(currentHelmet);
-        player.sendMessage(MessageManager.HAT_SET);
+        player.sendMessage(msg.get(player, MessageKey.HAT_SET));
         return true;
     }
 
@@ -275,16 +276,16 @@ public class PlayerUtilCommands implements CommandExecutor {
      */
     private boolean handleSuicide(CommandSender sender) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.suicide")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
-        player.sendMessage(MessageManager.SUICIDE);
+        player.sendMessage(msg.get(player, MessageKey.SUICIDE));
         player.setHealth(0.0);
         return true;
     }
@@ -299,17 +300,17 @@ public class PlayerUtilCommands implements CommandExecutor {
      */
     private boolean handleWorkbench(CommandSender sender) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.workbench")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         player.openWorkbench(null, true);
-        player.sendMessage(MessageManager.WORKBENCH_OPENED);
+        player.sendMessage(msg.get(player, MessageKey.WORKBENCH_OPENED));
         return true;
     }
 
@@ -323,17 +324,17 @@ public class PlayerUtilCommands implements CommandExecutor {
      */
     private boolean handleEnderchest(CommandSender sender) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
         Player player = (Player) sender;
         if (!player.hasPermission("expicore.enderchest")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         player.openInventory(player.getEnderChest());
-        player.sendMessage(MessageManager.ENDERCHEST_OPENED);
+        player.sendMessage(msg.get(player, MessageKey.ENDERCHEST_OPENED));
         return true;
     }
 }
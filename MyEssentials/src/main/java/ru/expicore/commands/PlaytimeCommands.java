@@ -0,0 +1,172 @@
+package ru.expicore.commands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageKey;
+import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.PlaytimeManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Обработчик команды игрового времени: /playtime [игрок|top|export].
+ */
+public class PlaytimeCommands implements CommandExecutor {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
+    /** Менеджер игрового времени */
+    private final PlaytimeManager playtimeManager;
+
+    /**
+     * Создать обработчик команды игрового времени.
+     * @param plugin экземпляр плагина
+     */
+    public PlaytimeCommands(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
+        this.playtimeManager = plugin.getPlaytimeManager();
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("expicore.playtime")) {
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        if (args.length < 1) {
+            return handleSelf(sender);
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "top":
+                return handleTop(sender);
+            case "export":
+                return handleExport(sender);
+            default:
+                return handleOther(sender, args[0]);
+        }
+    }
+
+    /**
+     * Обработать /playtime — своё время.
+     * @param sender отправитель команды
+     * @return true
+     */
+    private boolean handleSelf(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_PLAYTIME));
+            return true;
+        }
+        Player player = (Player) sender;
+
+        // Досчитываем текущую сессию, чтобы цифры были свежими
+        playtimeManager.account(player);
+        showStats(sender, player.getUniqueId(), player.getName());
+        return true;
+    }
+
+    /**
+     * Обработать /playtime <игрок> — время другого игрока.
+     * @param sender отправитель команды
+     * @param name имя игрока
+     * @return true
+     */
+    private boolean handleOther(CommandSender sender, String name) {
+        if (!sender.hasPermission("expicore.playtime.others")) {
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        playtimeManager.lookup(name, uuid -> {
+            if (sender instanceof Player && !((Player) sender).isOnline()) return;
+            if (uuid == null) {
+                sender.sendMessage(msg.get(sender, MessageKey.PUNISHMENT_PLAYER_NOT_FOUND));
+                return;
+            }
+            Player online = Bukkit.getPlayer(uuid);
+            if (online != null) {
+                playtimeManager.account(online);
+            }
+            showStats(sender, uuid, online != null ? online.getName() : name);
+        });
+        return true;
+    }
+
+    /**
+     * Обработать /playtime top — таблица лидеров по активному времени.
+     * @param sender отправитель команды
+     * @return true
+     */
+    private boolean handleTop(CommandSender sender) {
+        List<Map.Entry<UUID, Integer>> top = playtimeManager.getTop();
+        if (top.isEmpty()) {
+            sender.sendMessage(msg.get(sender, MessageKey.PLAYTIME_TOP_EMPTY));
+            return true;
+        }
+
+        sender.sendMessage(msg.get(sender, MessageKey.PLAYTIME_TOP_HEADER));
+        int place = 1;
+        for (Map.Entry<UUID, Integer> entry : top) {
+            String name = Bukkit.getOfflinePlayer(entry.getKey()).getName();
+            sender.sendMessage(msg.format(sender, MessageKey.PLAYTIME_TOP_ENTRY, String.valueOf(place++),
+                    name != null ? name : entry.getKey().toString(), formatDuration(entry.getValue())));
+        }
+        return true;
+    }
+
+    /**
+     * Обработать /playtime export — выгрузка CSV для аналитики.
+     * @param sender отправитель команды
+     * @return true
+     */
+    private boolean handleExport(CommandSender sender) {
+        if (!sender.hasPermission("expicore.playtime.export")) {
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
+            return true;
+        }
+        playtimeManager.export(sender);
+        return true;
+    }
+
+    /**
+     * Показать суммарное и сегодняшнее время игрока.
+     * @param sender кому показать
+     * @param uuid UUID игрока
+     * @param name имя игрока
+     */
+    private void showStats(CommandSender sender, UUID uuid, String name) {
+        int[] stats = playtimeManager.getStats(uuid);
+        if (stats == null) {
+            sender.sendMessage(msg.format(sender, MessageKey.PLAYTIME_NONE, name));
+            return;
+        }
+
+        sender.sendMessage(msg.format(sender, MessageKey.PLAYTIME_HEADER, name));
+        sender.sendMessage(msg.format(sender, MessageKey.PLAYTIME_TOTAL,
+                formatDuration(stats[0]), formatDuration(stats[1])));
+        sender.sendMessage(msg.format(sender, MessageKey.PLAYTIME_TODAY,
+                formatDuration(stats[2]), formatDuration(stats[3])));
+    }
+
+    /**
+     * Отформатировать секунды как часы:минуты.
+     * @param seconds количество секунд
+     * @return строка вида "12:05"
+     */
+    private static String formatDuration(int seconds) {
+        int minutes = seconds / 60;
+        return String.format("%d:%02d", minutes / 60, minutes % 60);
+    }
+}
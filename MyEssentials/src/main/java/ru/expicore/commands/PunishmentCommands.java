@@ -1,12 +1,13 @@
 package ru.expicore.commands;
 
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.AuditLogger;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 import ru.expicore.managers.PunishmentManager;
 
@@ -20,22 +21,35 @@ public class PunishmentCommands implements CommandExecutor {
     /** Ссылка на главный плагин */
     private final ExpiCore plugin;
 
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
     /** Менеджер наказаний */
     private final PunishmentManager punishmentManager;
 
+    /** Журнал аудита */
+    private final AuditLogger auditLogger;
+
     /**
      * Создать обработчик команд наказаний.
      * @param plugin экземпляр плагина
      */
     public PunishmentCommands(ExpiCore plugin) {
         this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
         this.punishmentManager = plugin.getPunishmentManager();
+        this.auditLogger = plugin.getAuditLogger();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         String cmd = command.getName().toLowerCase();
 
+        // Все команды наказаний попадают в журнал аудита
+        if (auditLogger != null) {
+            auditLogger.logCommand(sender, cmd, args);
+        }
+
         switch (cmd) {
             case "kick":
                 return handleKick(sender, args);
@@ -65,34 +79,29 @@ public class PunishmentCommands implements CommandExecutor {
      */
     private boolean handleKick(CommandSender sender, String[] args) {
         if (!sender.hasPermission("expicore.kick")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            sender.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /kick <игрок> [причина]");
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_KICK));
             return true;
         }
 
         Player target = Bukkit.getPlayerExact(args[0]);
         if (target == null) {
-            sender.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+            sender.sendMessage(msg.get(sender, MessageKey.PLAYER_NOT_FOUND));
             return true;
         }
 
         // Собираем причину из оставшихся аргументов
-        String reason = args.length > 1 ? joinArgs(args, 1) : "Нарушение правил сервера";
+        String reason = args.length > 1 ? joinArgs(args, 1) : msg.get(target, MessageKey.PUNISH_DEFAULT_REASON);
 
-        // Формируем экран кика с причиной
-        String kickScreen = ChatColor.RED + "Вы были кикнуты с сервера!\n\n"
-                + ChatColor.YELLOW + "Причина: " + ChatColor.WHITE + reason;
-
-        target.kickPlayer(kickScreen);
+        // Экран кика с причиной — на языке цели
+        target.kickPlayer(msg.format(target, MessageKey.PUNISH_KICK_SCREEN, reason));
 
         // Уведомляем отправителя
-        sender.sendMessage(MessageManager.PREFIX + ChatColor.GREEN + "Игрок "
-                + ChatColor.YELLOW + target.getName() + ChatColor.GREEN + " кикнут. Причина: "
-                + ChatColor.WHITE + reason);
+        sender.sendMessage(msg.format(sender, MessageKey.KICK_SUCCESS, target.getName(), reason));
 
         return true;
     }
@@ -108,23 +117,23 @@ public class PunishmentCommands implements CommandExecutor {
      */
     private boolean handleMute(CommandSender sender, String[] args) {
         if (!sender.hasPermission("expicore.mute")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            sender.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /mute <игрок> [минуты] [причина]");
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_MUTE));
             return true;
         }
 
         Player target = Bukkit.getPlayerExact(args[0]);
         if (target == null) {
-            sender.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+            sender.sendMessage(msg.get(sender, MessageKey.PLAYER_NOT_FOUND));
             return true;
         }
 
         long expireTime = -1; // Перманентный по умолчанию
-        String reason = "Нарушение правил чата";
+        String reason = msg.get(target, MessageKey.PUNISH_DEFAULT_CHAT_REASON);
         int reasonStartIdx = 1;
 
         // Пробуем разобрать время (второй аргумент)
@@ -149,15 +158,11 @@ public class PunishmentCommands implements CommandExecutor {
         // Применяем мут
         punishmentManager.mute(target.getUniqueId(), target.getName(), reason, expireTime);
 
-        // Уведомляем цель
-        String timeStr = expireTime == -1 ? "навсегда" : PunishmentManager.formatTime(expireTime - System.currentTimeMillis());
-        target.sendMessage(MessageManager.PREFIX + ChatColor.RED + "Вы замучены! Причина: "
-                + ChatColor.WHITE + reason + ChatColor.RED + ". Длительность: " + ChatColor.WHITE + timeStr);
-
-        // Уведомляем отправителя
-        sender.sendMessage(MessageManager.PREFIX + ChatColor.GREEN + "Игрок "
-                + ChatColor.YELLOW + target.getName() + ChatColor.GREEN + " замучен на "
-                + ChatColor.WHITE + timeStr + ChatColor.GREEN + ". Причина: " + ChatColor.WHITE + reason);
+        // Уведомляем цель и отправителя, каждого на его языке
+        long remaining = expireTime - System.currentTimeMillis();
+        target.sendMessage(msg.format(target, MessageKey.PUNISH_MUTED_NOTICE, reason, muteDuration(target, expireTime, remaining)));
+        sender.sendMessage(msg.format(sender, MessageKey.MUTE_SUCCESS, target.getName(),
+                muteDuration(sender, expireTime, remaining), reason));
 
         return true;
     }
@@ -173,12 +178,12 @@ public class PunishmentCommands implements CommandExecutor {
      */
     private boolean handleUnmute(CommandSender sender, String[] args) {
         if (!sender.hasPermission("expicore.unmute")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            sender.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /unmute <игрок>");
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_UNMUTE));
             return true;
         }
 
@@ -189,7 +194,7 @@ public class PunishmentCommands implements CommandExecutor {
         if (target != null) {
             success = punishmentManager.unmute(target.getUniqueId());
             if (success) {
-                target.sendMessage(MessageManager.PREFIX + ChatColor.GREEN + "Ваш мут был снят.");
+                target.sendMessage(msg.get(target, MessageKey.PUNISH_UNMUTED_NOTICE));
             }
         } else {
             // Офлайн-игрок — ищем по имени
@@ -197,11 +202,9 @@ public class PunishmentCommands implements CommandExecutor {
         }
 
         if (success) {
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.GREEN + "Мут с игрока "
-                    + ChatColor.YELLOW + args[0] + ChatColor.GREEN + " снят.");
+            sender.sendMessage(msg.format(sender, MessageKey.UNMUTE_SUCCESS, args[0]));
         } else {
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.RED + "Игрок "
-                    + ChatColor.YELLOW + args[0] + ChatColor.RED + " не замучен.");
+            sender.sendMessage(msg.format(sender, MessageKey.NOT_MUTED, args[0]));
         }
 
         return true;
@@ -218,35 +221,29 @@ public class PunishmentCommands implements CommandExecutor {
      */
     private boolean handleBan(CommandSender sender, String[] args) {
         if (!sender.hasPermission("expicore.ban")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            sender.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /ban <игрок> [причина]");
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_BAN));
             return true;
         }
 
         Player target = Bukkit.getPlayerExact(args[0]);
-        String reason = args.length > 1 ? joinArgs(args, 1) : "Нарушение правил сервера";
 
         if (target != null) {
             // Игрок онлайн — баним и кикаем
+            String reason = args.length > 1 ? joinArgs(args, 1) : msg.get(target, MessageKey.PUNISH_DEFAULT_REASON);
             punishmentManager.ban(target.getUniqueId(), target.getName(), reason, -1);
 
-            String banScreen = ChatColor.RED + "Вы забанены на сервере!\n\n"
-                    + ChatColor.YELLOW + "Причина: " + ChatColor.WHITE + reason + "\n"
-                    + ChatColor.YELLOW + "Срок: " + ChatColor.WHITE + "навсегда";
+            target.kickPlayer(msg.format(target, MessageKey.PUNISH_BAN_SCREEN, reason,
+                    msg.get(target, MessageKey.PUNISH_FOREVER)));
 
-            target.kickPlayer(banScreen);
-
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.GREEN + "Игрок "
-                    + ChatColor.YELLOW + target.getName() + ChatColor.GREEN
-                    + " забанен навсегда. Причина: " + ChatColor.WHITE + reason);
+            sender.sendMessage(msg.format(sender, MessageKey.BAN_SUCCESS, target.getName(), reason));
         } else {
             // Офлайн-бан — нужен UUID: пробуем из кэша имён
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.RED
-                    + "Игрок не в сети. Для офлайн-бана необходимо, чтобы игрок заходил ранее.");
+            sender.sendMessage(msg.get(sender, MessageKey.PUNISH_OFFLINE_BAN));
         }
 
         return true;
@@ -263,23 +260,21 @@ public class PunishmentCommands implements CommandExecutor {
      */
     private boolean handleUnban(CommandSender sender, String[] args) {
         if (!sender.hasPermission("expicore.unban")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            sender.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /unban <игрок>");
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_UNBAN));
             return true;
         }
 
         boolean success = punishmentManager.unbanByName(args[0]);
 
         if (success) {
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.GREEN + "Бан с игрока "
-                    + ChatColor.YELLOW + args[0] + ChatColor.GREEN + " снят.");
+            sender.sendMessage(msg.format(sender, MessageKey.UNBAN_SUCCESS, args[0]));
         } else {
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.RED + "Игрок "
-                    + ChatColor.YELLOW + args[0] + ChatColor.RED + " не забанен.");
+            sender.sendMessage(msg.format(sender, MessageKey.NOT_BANNED, args[0]));
         }
 
         return true;
@@ -296,12 +291,12 @@ public class PunishmentCommands implements CommandExecutor {
      */
     private boolean handleTempban(CommandSender sender, String[] args) {
         if (!sender.hasPermission("expicore.tempban")) {
-            sender.sendMessage(MessageManager.NO_PERMISSION);
+            sender.sendMessage(msg.get(sender, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 2) {
-            sender.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /tempban <игрок> <время> [причина]");
+            sender.sendMessage(msg.usage(sender, MessageKey.USAGE_TEMPBAN));
             return true;
         }
 
@@ -310,31 +305,24 @@ public class PunishmentCommands implements CommandExecutor {
         // Разбираем время
         long durationMs = PunishmentManager.parseTime(args[1]);
         if (durationMs <= 0) {
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.RED
-                    + "Неверный формат времени! Примеры: 1d, 12h, 30m, 1d12h30m");
+            sender.sendMessage(msg.get(sender, MessageKey.INVALID_TIME_FORMAT));
             return true;
         }
 
         long expireTime = System.currentTimeMillis() + durationMs;
-        String reason = args.length > 2 ? joinArgs(args, 2) : "Нарушение правил сервера";
-        String timeStr = PunishmentManager.formatTime(durationMs);
 
         if (target != null) {
             // Игрок онлайн — баним и кикаем
+            String reason = args.length > 2 ? joinArgs(args, 2) : msg.get(target, MessageKey.PUNISH_DEFAULT_REASON);
             punishmentManager.ban(target.getUniqueId(), target.getName(), reason, expireTime);
 
-            String banScreen = ChatColor.RED + "Вы временно забанены на сервере!\n\n"
-                    + ChatColor.YELLOW + "Причина: " + ChatColor.WHITE + reason + "\n"
-                    + ChatColor.YELLOW + "Срок: " + ChatColor.WHITE + timeStr;
-
-            target.kickPlayer(banScreen);
+            target.kickPlayer(msg.format(target, MessageKey.PUNISH_TEMPBAN_SCREEN, reason,
+                    msg.duration(target, durationMs)));
 
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.GREEN + "Игрок "
-                    + ChatColor.YELLOW + target.getName() + ChatColor.GREEN + " забанен на "
-                    + ChatColor.WHITE + timeStr + ChatColor.GREEN + ". Причина: " + ChatColor.WHITE + reason);
+            sender.sendMessage(msg.format(sender, MessageKey.TEMPBAN_SUCCESS, target.getName(),
+                    msg.duration(sender, durationMs), reason));
         } else {
-            sender.sendMessage(MessageManager.PREFIX + ChatColor.RED
-                    + "Игрок не в сети. Для офлайн-бана необходимо, чтобы игрок заходил ранее.");
+            sender.sendMessage(msg.get(sender, MessageKey.PUNISH_OFFLINE_BAN));
         }
 
         return true;
@@ -342,6 +330,17 @@ public class PunishmentCommands implements CommandExecutor {
 
     // ==================== УТИЛИТЫ ====================
 
+    /**
+     * Длительность мута для сообщения.
+     * @param to получатель сообщения
+     * @param expireTime время окончания мута (-1 = навсегда)
+     * @param remaining оставшееся время в миллисекундах
+     * @return "навсегда" или длительность на языке получателя
+     */
+    private String muteDuration(CommandSender to, long expireTime, long remaining) {
+        return expireTime == -1 ? msg.get(to, MessageKey.PUNISH_FOREVER) : msg.duration(to, remaining);
+    }
+
     /**
      * Объединить аргументы в строку начиная с указанного индекса.
      * @param args массив аргументов
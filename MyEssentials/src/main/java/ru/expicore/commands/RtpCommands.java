@@ -0,0 +1,103 @@
+package ru.expicore.commands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageKey;
+import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.RandomTeleportManager;
+import ru.expicore.managers.TeleportWarmupManager.Kind;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Обработчик команды /rtp [мир].
+ * Телепортирует игрока в случайную безопасную точку из пула
+ * {@link RandomTeleportManager}.
+ */
+public class RtpCommands implements CommandExecutor {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
+    /** Пулы случайных точек */
+    private final RandomTeleportManager rtp;
+
+    /**
+     * Создать обработчик команды /rtp.
+     * @param plugin экземпляр главного плагина
+     */
+    public RtpCommands(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
+        this.rtp = plugin.getRandomTeleportManager();
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
+            return true;
+        }
+
+        Player player = (Player) sender;
+        String cmd = command.getName().toLowerCase();
+
+        switch (cmd) {
+            case "rtp":
+                return handleRtp(player, args);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Обработать команду /rtp [мир].
+     * Без аргумента — текущий мир игрока.
+     * @param player игрок
+     * @param args аргументы команды
+     * @return true
+     */
+    private boolean handleRtp(Player player, String[] args) {
+        if (!player.hasPermission("expicore.rtp")) {
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
+        World world = args.length > 0 ? Bukkit.getWorld(args[0]) : player.getWorld();
+        if (world == null || !rtp.isEnabled(world)) {
+            player.sendMessage(msg.get(player, MessageKey.RTP_WORLD_DISABLED));
+            return true;
+        }
+        if (rtp.available(world) == 0) {
+            player.sendMessage(msg.get(player, MessageKey.RTP_EMPTY));
+            return true;
+        }
+
+        // Точка снимается с пула только по окончании задержки
+        plugin.getTeleportWarmupManager().start(player, Kind.RTP, () -> {
+            Location spot = rtp.poll(world);
+            if (spot == null) {
+                player.sendMessage(msg.get(player, MessageKey.RTP_EMPTY));
+                return CompletableFuture.completedFuture(false);
+            }
+            CompletableFuture<Boolean> result = plugin.getTeleportService().teleport(player, spot);
+            result.whenComplete((ok, error) -> {
+                rtp.release(spot);
+                if (Boolean.TRUE.equals(ok)) {
+                    player.sendMessage(msg.get(player, MessageKey.RTP_TELEPORTED));
+                }
+            });
+            return result;
+        });
+        return true;
+    }
+}
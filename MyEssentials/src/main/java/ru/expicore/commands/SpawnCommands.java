@@ -7,7 +7,9 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.DataManager;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.TeleportWarmupManager.Kind;
 
 /**
  * Обработчик команд спавна: /spawn, /setspawn.
@@ -19,6 +21,9 @@ public class SpawnCommands implements CommandExecutor {
     /** Ссылка на главный плагин */
     private final ExpiCore plugin;
 
+    /** Менеджер сообщений */
+    private final MessageManager msg;
+
     /** Менеджер данных */
     private final DataManager data;
 
@@ -28,13 +33,14 @@ public class SpawnCommands implements CommandExecutor {
      */
     public SpawnCommands(ExpiCore plugin) {
         this.plugin = plugin;
+        this.msg = plugin.getMessageManager();
         this.data = plugin.getDataManager();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
@@ -59,18 +65,28 @@ public class SpawnCommands implements CommandExecutor {
      */
     private boolean handleSpawn(Player player) {
         if (!player.hasPermission("expicore.spawn")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         Location spawn = data.getSpawn();
         if (spawn == null) {
-            player.sendMessage(MessageManager.SPAWN_NOT_SET);
+            // Спавн установлен, но его мир не загружен
+            String world = data.getSpawnWorld();
+            if (world != null) {
+                player.sendMessage(msg.format(player, MessageKey.WORLD_NOT_LOADED, world));
+            } else {
+                player.sendMessage(msg.get(player, MessageKey.SPAWN_NOT_SET));
+            }
             return true;
         }
 
-        player.teleport(spawn);
-        player.sendMessage(MessageManager.SPAWN_TELEPORTED);
+        // Задержка и перезарядка, затем загрузка чанка без остановки основного потока
+        plugin.getTeleportWarmupManager().start(player, Kind.SPAWN, () ->
+                plugin.getTeleportService().teleport(player, spawn).thenApply(ok -> {
+                    if (ok) player.sendMessage(msg.get(player, MessageKey.SPAWN_TELEPORTED));
+                    return ok;
+                }));
         return true;
     }
 
@@ -82,12 +98,12 @@ public class SpawnCommands implements CommandExecutor {
      */
     private boolean handleSetSpawn(Player player) {
         if (!player.hasPermission("expicore.setspawn")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         data.setSpawn(player.getLocation());
-        player.sendMessage(MessageManager.SPAWN_SET);
+        player.sendMessage(msg.get(player, MessageKey.SPAWN_SET));
         return true;
     }
 }
@@ -5,17 +5,20 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.TeleportRequestManager;
+import ru.expicore.managers.TeleportRequestManager.Request;
+import ru.expicore.managers.TeleportWarmupManager.Kind;
 
-import java.util.Map;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Обработчик команд телепортации: /tpa, /tpaccept.
- * Реализует систему запросов на телепортацию с таймаутом 60 секунд.
+ * Обработчик команд телепортации: /tpa, /tpahere, /tpaccept, /tpdeny, /tpacancel.
+ * Запросы и их истечение хранит {@link TeleportRequestManager}.
  */
 public class TeleportCommands implements CommandExecutor {
 
@@ -25,11 +28,8 @@ public class TeleportCommands implements CommandExecutor {
     /** Менеджер сообщений */
     private final MessageManager msg;
 
-    /**
-     * Хранилище запросов на ТП.
-     * Ключ — UUID получателя (target), значение — UUID отправителя (sender).
-     */
-    private final Map<UUID, UUID> tpaRequests = new ConcurrentHashMap<>();
+    /** Менеджер запросов на телепортацию */
+    private final TeleportRequestManager requests;
 
     /**
      * Создать обработчик команд телепортации.
@@ -38,127 +38,200 @@ public class TeleportCommands implements CommandExecutor {
     public TeleportCommands(ExpiCore plugin) {
         this.plugin = plugin;
         this.msg = plugin.getMessageManager();
+        this.requests = plugin.getTeleportRequestManager();
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         // Только игроки могут использовать эти команды
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
         Player player = (Player) sender;
         String cmd = command.getName().toLowerCase();
 
+        // Проверка прав
+        if (!player.hasPermission("expicore.tpa")) {
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
+            return true;
+        }
+
         switch (cmd) {
             case "tpa":
-                return handleTpa(player, args);
+                return handleTpa(player, args, false);
+            case "tpahere":
+                return handleTpa(player, args, true);
             case "tpaccept":
-                return handleTpAccept(player);
+                return handleTpAccept(player, args);
+            case "tpdeny":
+                return handleTpDeny(player, args);
+            case "tpacancel":
+                return handleTpaCancel(player, args);
             default:
                 return false;
         }
     }
 
     /**
-     * Обработать команду /tpa <игрок>.
-     * Отправляет запрос на телепортацию с таймаутом 60 секунд.
+     * Обработать команды /tpa <игрок> и /tpahere <игрок>.
+     * Запрос встаёт в очередь входящих запросов получателя.
      * @param player отправитель
      * @param args аргументы команды
+     * @param here true для /tpahere
      * @return true если команда обработана
      */
-    private boolean handleTpa(Player player, String[] args) {
+    private boolean handleTpa(Player player, String[] args, boolean here) {
         if (args.length < 1) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /tpa <игрок>");
-            return true;
-        }
-
-        // Проверка прав
-        if (!player.hasPermission("expicore.tpa")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.usage(player, here ? MessageKey.USAGE_TPAHERE : MessageKey.USAGE_TPA));
             return true;
         }
 
         // Ищем целевого игрока
         Player target = Bukkit.getPlayerExact(args[0]);
         if (target == null) {
-            player.sendMessage(MessageManager.PLAYER_NOT_FOUND);
+            player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
             return true;
         }
 
         // Нельзя отправить запрос самому себе
         if (target.getUniqueId().equals(player.getUniqueId())) {
-            player.sendMessage(MessageManager.TPA_SELF);
+            player.sendMessage(msg.get(player, MessageKey.TPA_SELF));
             return true;
         }
 
-        // Проверяем, нет ли уже входящего запроса у цели
-        if (tpaRequests.containsKey(target.getUniqueId())) {
-            player.sendMessage(MessageManager.TPA_ALREADY_PENDING);
-            return true;
+        switch (requests.create(player, target, here)) {
+            case DUPLICATE:
+                player.sendMessage(msg.get(player, MessageKey.TPA_ALREADY_PENDING));
+                return true;
+            case QUEUE_FULL:
+                player.sendMessage(msg.get(player, MessageKey.TPA_QUEUE_FULL));
+                return true;
+            default:
+                break;
         }
 
-        // Сохраняем запрос
-        tpaRequests.put(target.getUniqueId(), player.getUniqueId());
-
         // Уведомляем обоих игроков
-        player.sendMessage(msg.tpaSent(target.getName()));
-        target.sendMessage(msg.tpaReceived(player.getName()));
-
-        // Таймаут 60 секунд (1200 тиков)
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Убираем запрос если он всё ещё существует
-                UUID storedSender = tpaRequests.get(target.getUniqueId());
-                if (storedSender != null && storedSender.equals(player.getUniqueId())) {
-                    tpaRequests.remove(target.getUniqueId());
-                    // Уведомляем об истечении если игроки онлайн
-                    if (player.isOnline()) {
-                        player.sendMessage(MessageManager.TPA_EXPIRED);
-                    }
-                    if (target.isOnline()) {
-                        target.sendMessage(MessageManager.TPA_EXPIRED);
-                    }
-                }
-            }
-        }.runTaskLater(plugin, 1200L);
-
+        player.sendMessage(msg.tpaSent(player, target.getName()));
+        target.sendMessage(here
+                ? msg.format(target, MessageKey.TPA_HERE_RECEIVED, player.getName())
+                : msg.tpaReceived(target, player.getName()));
         return true;
     }
 
     /**
-     * Обработать команду /tpaccept.
-     * Принимает входящий запрос на телепортацию.
+     * Обработать команду /tpaccept [игрок].
+     * Без аргумента принимает самый свежий входящий запрос.
      * @param player получатель запроса (target)
+     * @param args аргументы команды
      * @return true если команда обработана
      */
-    private boolean handleTpAccept(Player player) {
-        if (!player.hasPermission("expicore.tpa")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+    private boolean handleTpAccept(Player player, String[] args) {
+        Request request = takeRequest(player, args);
+        if (request == null) return true;
+
+        // Ищем отправителя запроса
+        Player requester = Bukkit.getPlayer(request.getRequester());
+        if (requester == null || !requester.isOnline()) {
+            player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
             return true;
         }
 
-        // Проверяем наличие входящего запроса
-        UUID senderUUID = tpaRequests.remove(player.getUniqueId());
-        if (senderUUID == null) {
-            player.sendMessage(MessageManager.TPA_NO_PENDING);
-            return true;
+        // /tpa — отправитель к получателю, /tpahere — получатель к отправителю.
+        // Задержка и перезарядка относятся к тому, кто телепортируется;
+        // точка назначения берётся в момент телепорта
+        Player traveller = request.isHere() ? player : requester;
+        Player destination = request.isHere() ? requester : player;
+        plugin.getTeleportWarmupManager().start(traveller, Kind.TPA, () -> {
+            if (!destination.isOnline()) return CompletableFuture.completedFuture(false);
+            return plugin.getTeleportService().teleport(traveller, destination.getLocation()).thenApply(ok -> {
+                if (ok) {
+                    requester.sendMessage(msg.get(requester, MessageKey.TPA_ACCEPTED_SENDER));
+                    player.sendMessage(msg.get(player, MessageKey.TPA_ACCEPTED_TARGET));
+                }
+                return ok;
+            });
+        });
+
+        return true;
+    }
+
+    /**
+     * Обработать команду /tpdeny [игрок].
+     * Без аргумента отклоняет самый свежий входящий запрос.
+     * @param player получатель запроса
+     * @param args аргументы команды
+     * @return true если команда обработана
+     */
+    private boolean handleTpDeny(Player player, String[] args) {
+        Request request = takeRequest(player, args);
+        if (request == null) return true;
+
+        Player requester = Bukkit.getPlayer(request.getRequester());
+        String requesterName = requester != null ? requester.getName() : request.getRequester().toString();
+        if (requester != null) {
+            requester.sendMessage(msg.format(requester, MessageKey.TPA_DENIED_SENDER, player.getName()));
         }
+        player.sendMessage(msg.format(player, MessageKey.TPA_DENIED_TARGET, requesterName));
+        return true;
+    }
 
-        // Ищем отправителя запроса
-        Player requester = Bukkit.getPlayer(senderUUID);
-        if (requester == null || !requester.isOnline()) {
-            player.sendMessage(MessageManager.PLAYER_NOT_FOUND);
-            return true;
+    /**
+     * Обработать команду /tpacancel [игрок].
+     * Без аргумента отменяет все исходящие запросы.
+     * @param player отправитель запросов
+     * @param args аргументы команды
+     * @return true если команда обработана
+     */
+    private boolean handleTpaCancel(Player player, String[] args) {
+        UUID targetId = null;
+        if (args.length > 0) {
+            Player target = Bukkit.getPlayerExact(args[0]);
+            if (target == null) {
+                player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
+                return true;
+            }
+            targetId = target.getUniqueId();
         }
 
-        // Телепортируем отправителя к получателю
-        requester.teleport(player.getLocation());
-        requester.sendMessage(MessageManager.TPA_ACCEPTED_SENDER);
-        player.sendMessage(MessageManager.TPA_ACCEPTED_TARGET);
+        List<Request> cancelled = requests.cancel(player, targetId);
+        if (cancelled.isEmpty()) {
+            player.sendMessage(msg.get(player, MessageKey.TPA_NO_OUTGOING));
+            return true;
+        }
 
+        for (Request request : cancelled) {
+            Player target = Bukkit.getPlayer(request.getTarget());
+            if (target == null) continue;
+            target.sendMessage(msg.format(target, MessageKey.TPA_CANCELLED_TARGET, player.getName()));
+            player.sendMessage(msg.format(player, MessageKey.TPA_CANCELLED, target.getName()));
+        }
         return true;
     }
+
+    /**
+     * Забрать входящий запрос: самый свежий или от указанного игрока.
+     * Если запроса нет — сообщает игроку.
+     * @param player получатель запроса
+     * @param args аргументы команды (необязательное имя отправителя)
+     * @return запрос или null
+     */
+    private Request takeRequest(Player player, String[] args) {
+        UUID requesterId = null;
+        if (args.length > 0) {
+            Player requester = Bukkit.getPlayerExact(args[0]);
+            if (requester == null) {
+                player.sendMessage(msg.get(player, MessageKey.PLAYER_NOT_FOUND));
+                return null;
+            }
+            requesterId = requester.getUniqueId();
+        }
+
+        Request request = requests.take(player, requesterId);
+        if (request == null) {
+            player.sendMessage(msg.get(player, MessageKey.TPA_NO_PENDING));
+        }
+        return request;
+    }
 }
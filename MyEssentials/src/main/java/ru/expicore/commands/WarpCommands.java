@@ -7,7 +7,10 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.DataManager;
+import ru.expicore.managers.LocationIndex;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
+import ru.expicore.managers.TeleportWarmupManager.Kind;
 
 import java.util.Set;
 
@@ -41,7 +44,7 @@ public class WarpCommands implements CommandExecutor {
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         // Только игроки могут использовать эти команды
         if (!(sender instanceof Player)) {
-            sender.sendMessage(MessageManager.ONLY_PLAYERS);
+            sender.sendMessage(msg.get(sender, MessageKey.ONLY_PLAYERS));
             return true;
         }
 
@@ -70,25 +73,26 @@ public class WarpCommands implements CommandExecutor {
     private boolean handleSetWarp(Player player, String[] args) {
         // Проверка прав на создание варпов
         if (!player.hasPermission("expicore.warp.set")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /setwarp <название>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_SETWARP));
             return true;
         }
 
         String name = args[0];
         data.setWarp(name, player.getLocation());
-        player.sendMessage(msg.warpSet(name));
+        player.sendMessage(msg.warpSet(player, name));
         return true;
     }
 
     /**
      * Обработать команду /warp <название>.
      * Телепортирует игрока к указанному варпу.
-     * Если название не указано, показывает список варпов.
+     * Если название не указано, открывает GUI-список варпов (или показывает список в чате).
+     * /warp nearest — ближайший варп в мире игрока (если варпа с таким названием нет).
      * @param player игрок
      * @param args аргументы (название варпа)
      * @return true если команда обработана
@@ -96,31 +100,57 @@ public class WarpCommands implements CommandExecutor {
     private boolean handleWarp(Player player, String[] args) {
         // Проверка прав на использование варпов
         if (!player.hasPermission("expicore.warp")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
-        // Если нет аргументов — показать список варпов
+        // Если нет аргументов — открыть GUI-список или показать список варпов в чате
         if (args.length < 1) {
+            if (plugin.getConfig().getBoolean("gui.location-browser", true)
+                    && plugin.getLocationBrowser().openWarps(player, 0)) {
+                return true;
+            }
             Set<String> warpNames = data.getWarpNames();
             if (warpNames.isEmpty()) {
-                player.sendMessage(MessageManager.PREFIX + "§cВарпы не найдены.");
+                player.sendMessage(msg.get(player, MessageKey.WARP_NONE));
             } else {
-                player.sendMessage(MessageManager.PREFIX + "§eДоступные варпы: §f" + String.join(", ", warpNames));
+                player.sendMessage(msg.format(player, MessageKey.WARP_LIST, String.join(", ", warpNames)));
             }
             return true;
         }
 
-        String name = args[0];
+        String requested = args[0];
+        if (requested.equalsIgnoreCase("nearest") && data.getWarpWorld(requested) == null) {
+            Location here = player.getLocation();
+            LocationIndex.Entry nearest = data.getLocationIndex().nearest(here.getWorld().getName(),
+                    here.getX(), here.getZ(), LocationIndex.Type.WARP);
+            if (nearest == null) {
+                player.sendMessage(msg.get(player, MessageKey.WARP_NEAREST_NONE));
+                return true;
+            }
+            requested = nearest.getName();
+        }
+
+        String name = requested;
         Location loc = data.getWarp(name);
 
         if (loc == null) {
-            player.sendMessage(msg.warpNotFound(name));
+            // Варп есть, но его мир не загружен
+            String world = data.getWarpWorld(name);
+            if (world != null) {
+                player.sendMessage(msg.format(player, MessageKey.WORLD_NOT_LOADED, world));
+            } else {
+                player.sendMessage(msg.warpNotFound(player, name));
+            }
             return true;
         }
 
-        player.teleport(loc);
-        player.sendMessage(msg.warpTeleported(name));
+        // Задержка и перезарядка, затем загрузка чанка без остановки основного потока
+        plugin.getTeleportWarmupManager().start(player, Kind.WARP, () ->
+                plugin.getTeleportService().teleport(player, loc).thenApply(ok -> {
+                    if (ok) player.sendMessage(msg.warpTeleported(player, name));
+                    return ok;
+                }));
         return true;
     }
 
@@ -134,20 +164,20 @@ public class WarpCommands implements CommandExecutor {
     private boolean handleDelWarp(Player player, String[] args) {
         // Проверка прав на удаление варпов
         if (!player.hasPermission("expicore.warp.delete")) {
-            player.sendMessage(MessageManager.NO_PERMISSION);
+            player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
             return true;
         }
 
         if (args.length < 1) {
-            player.sendMessage(MessageManager.INVALID_USAGE + " Используйте: /delwarp <название>");
+            player.sendMessage(msg.usage(player, MessageKey.USAGE_DELWARP));
             return true;
         }
 
         String name = args[0];
         if (data.deleteWarp(name)) {
-            player.sendMessage(msg.warpDeleted(name));
+            player.sendMessage(msg.warpDeleted(player, name));
         } else {
-            player.sendMessage(msg.warpNotFound(name));
+            player.sendMessage(msg.warpNotFound(player, name));
         }
         return true;
     }
@@ -0,0 +1,64 @@
+package ru.expicore.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.HomeLimitManager;
+
+/**
+ * Слушатель, пересчитывающий лимит домов игрока в {@link HomeLimitManager}.
+ * Права на лимит читаются при входе и смене мира, а не при каждом /sethome.
+ */
+public class HomeLimitListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель лимитов домов.
+     * @param plugin экземпляр плагина
+     */
+    public HomeLimitListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Вычислить лимит при входе (права уже выданы плагином прав).
+     * @param event событие входа
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        HomeLimitManager homeLimitManager = plugin.getHomeLimitManager();
+        if (homeLimitManager != null) {
+            homeLimitManager.refresh(event.getPlayer());
+        }
+    }
+
+    /**
+     * Пересчитать лимит при смене мира — права могут зависеть от мира.
+     * @param event событие смены мира
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        HomeLimitManager homeLimitManager = plugin.getHomeLimitManager();
+        if (homeLimitManager != null) {
+            homeLimitManager.refresh(event.getPlayer());
+        }
+    }
+
+    /**
+     * Освободить слот вышедшего игрока.
+     * @param event событие выхода
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        HomeLimitManager homeLimitManager = plugin.getHomeLimitManager();
+        if (homeLimitManager != null) {
+            homeLimitManager.clearPlayer(event.getPlayer().getUniqueId());
+        }
+    }
+}
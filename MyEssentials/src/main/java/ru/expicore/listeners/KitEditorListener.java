@@ -9,6 +9,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.KitManager;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 /**
@@ -69,24 +70,24 @@ public class KitEditorListener implements Listener {
                 // ЛКМ — выдать кит
                 player.closeInventory();
                 if (kitManager.giveKit(player, kitName)) {
-                    player.sendMessage(msg.kitGiven(kitName));
+                    player.sendMessage(msg.kitGiven(player, kitName));
                 } else {
-                    player.sendMessage(msg.kitNotFound(kitName));
+                    player.sendMessage(msg.kitNotFound(player, kitName));
                 }
                 break;
 
             case RIGHT:
                 // ПКМ — удалить кит (только с правами)
                 if (!player.hasPermission("expicore.kit.admin")) {
-                    player.sendMessage(MessageManager.NO_PERMISSION);
+                    player.sendMessage(msg.get(player, MessageKey.NO_PERMISSION));
                     return;
                 }
 
                 player.closeInventory();
                 if (plugin.getDataManager().deleteKit(kitName)) {
-                    player.sendMessage(msg.kitDeleted(kitName));
+                    player.sendMessage(msg.kitDeleted(player, kitName));
                 } else {
-                    player.sendMessage(msg.kitNotFound(kitName));
+                    player.sendMessage(msg.kitNotFound(player, kitName));
                 }
                 break;
 
@@ -0,0 +1,60 @@
+package ru.expicore.listeners;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.InventoryHolder;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.LocationBrowser;
+
+/**
+ * Слушатель кликов в GUI-списке варпов и домов.
+ * Страница распознаётся по владельцу инвентаря ({@link LocationBrowser.Page}).
+ */
+public class LocationBrowserListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель GUI-списка точек.
+     * @param plugin экземпляр плагина
+     */
+    public LocationBrowserListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Клик по странице: предметы не перемещаются, клик по иконке — телепортация.
+     * @param event событие клика
+     */
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+        if (!(holder instanceof LocationBrowser.Page)) return;
+
+        // Отменяем любые клики, в том числе в своём инвентаре (Shift+клик)
+        event.setCancelled(true);
+
+        if (!(event.getWhoClicked() instanceof Player)) return;
+        if (event.getRawSlot() >= event.getInventory().getSize()) return;
+
+        LocationBrowser browser = plugin.getLocationBrowser();
+        if (browser != null) {
+            browser.handleClick((Player) event.getWhoClicked(), (LocationBrowser.Page) holder, event.getRawSlot());
+        }
+    }
+
+    /**
+     * Перетаскивание предметов в странице запрещено.
+     * @param event событие перетаскивания
+     */
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder() instanceof LocationBrowser.Page) {
+            event.setCancelled(true);
+        }
+    }
+}
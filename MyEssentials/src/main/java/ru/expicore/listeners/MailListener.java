@@ -0,0 +1,52 @@
+package ru.expicore.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.MailManager;
+
+/**
+ * Слушатель входа и выхода для почты.
+ * При входе счётчик непрочитанных писем загружается в фоне,
+ * уведомление приходит с задержкой — тик входа не нагружается.
+ */
+public class MailListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель почты.
+     * @param plugin экземпляр плагина
+     */
+    public MailListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Загрузить счётчик непрочитанных писем при входе.
+     * @param event событие входа
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        MailManager mailManager = plugin.getMailManager();
+        if (mailManager != null) {
+            mailManager.loadOnJoin(event.getPlayer());
+        }
+    }
+
+    /**
+     * Убрать счётчик при выходе.
+     * @param event событие выхода
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        MailManager mailManager = plugin.getMailManager();
+        if (mailManager != null) {
+            mailManager.unload(event.getPlayer().getUniqueId());
+        }
+    }
+}
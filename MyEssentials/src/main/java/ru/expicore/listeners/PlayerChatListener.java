@@ -1,12 +1,15 @@
 package ru.expicore.listeners;
 
-import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.AFKManager;
+import ru.expicore.managers.AuditLogger;
+import ru.expicore.managers.ChatChannelManager;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 import ru.expicore.managers.PunishmentManager;
 
@@ -14,6 +17,8 @@ import ru.expicore.managers.PunishmentManager;
  * Слушатель чата игрока.
  * Проверяет мут перед отправкой сообщения в чат.
  * Сбрасывает таймер AFK при написании в чат.
+ * Распределяет сообщение по каналам (локальный, общий, персонал), если они включены.
+ * Записывает итоговое сообщение в журнал аудита.
  */
 public class PlayerChatListener implements Listener {
 
@@ -44,25 +49,24 @@ public class PlayerChatListener implements Listener {
             PunishmentManager.PunishmentData mute = punishmentManager.getMute(event.getPlayer().getUniqueId());
             event.setCancelled(true);
 
+            MessageManager msg = plugin.getMessageManager();
+            Player player = event.getPlayer();
             if (mute != null) {
-                String reason = mute.reason != null ? mute.reason : "Не указана";
+                String reason = mute.reason != null ? mute.reason : msg.get(player, MessageKey.PUNISH_NO_REASON);
 
                 if (mute.expireTime > 0) {
                     // Временный мут
                     long remaining = mute.expireTime - System.currentTimeMillis();
                     if (remaining > 0) {
-                        String timeLeft = PunishmentManager.formatTime(remaining);
-                        event.getPlayer().sendMessage(MessageManager.PREFIX + ChatColor.RED
-                                + "Вы замучены! Причина: " + ChatColor.WHITE + reason
-                                + ChatColor.RED + ". Осталось: " + ChatColor.WHITE + timeLeft);
+                        player.sendMessage(msg.format(player, MessageKey.PUNISH_MUTED_CHAT, reason,
+                                msg.duration(player, remaining)));
                     }
                 } else {
                     // Перманентный мут
-                    event.getPlayer().sendMessage(MessageManager.PREFIX + ChatColor.RED
-                            + "Вы замучены навсегда! Причина: " + ChatColor.WHITE + reason);
+                    player.sendMessage(msg.format(player, MessageKey.PUNISH_MUTED_CHAT_PERMANENT, reason));
                 }
             } else {
-                event.getPlayer().sendMessage(MessageManager.PREFIX + ChatColor.RED + "Вы замучены!");
+                player.sendMessage(msg.get(player, MessageKey.PUNISH_MUTED));
             }
             return;
         }
@@ -71,5 +75,24 @@ public class PlayerChatListener implements Listener {
         if (afkManager != null) {
             afkManager.registerActivity(event.getPlayer());
         }
+
+        // Маршрутизация по каналам чата
+        ChatChannelManager chatManager = plugin.getChatChannelManager();
+        if (chatManager != null && chatManager.isEnabled()) {
+            chatManager.route(event);
+        }
+    }
+
+    /**
+     * Записать сообщение в журнал аудита (после всех обработчиков).
+     * Записывается итоговый текст — уже без префикса канала.
+     * @param event событие чата
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onChatMonitor(AsyncPlayerChatEvent event) {
+        AuditLogger auditLogger = plugin.getAuditLogger();
+        if (auditLogger != null) {
+            auditLogger.log(AuditLogger.CHAT, event.getPlayer().getName(), event.getMessage());
+        }
     }
 }
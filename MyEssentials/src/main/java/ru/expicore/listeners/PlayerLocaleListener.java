@@ -0,0 +1,66 @@
+package ru.expicore.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageManager;
+
+/**
+ * Слушатель языка клиента.
+ * Определяет язык игрока при входе (раньше остальных обработчиков, чтобы
+ * приветственные сообщения уже были на нужном языке), обновляет его при
+ * смене языка в настройках и очищает кэш при выходе.
+ */
+public class PlayerLocaleListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель языка.
+     * @param plugin экземпляр плагина
+     */
+    public PlayerLocaleListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Закэшировать язык игрока при входе.
+     * @param event событие входа
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        MessageManager msg = plugin.getMessageManager();
+        if (msg != null) {
+            msg.cachePlayerLocale(event.getPlayer(), event.getPlayer().getLocale());
+        }
+    }
+
+    /**
+     * Обновить язык игрока после смены языка в настройках клиента.
+     * @param event событие смены языка
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent event) {
+        MessageManager msg = plugin.getMessageManager();
+        if (msg != null) {
+            msg.cachePlayerLocale(event.getPlayer(), event.getLocale());
+        }
+    }
+
+    /**
+     * Убрать игрока из кэша языков при выходе.
+     * @param event событие выхода
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        MessageManager msg = plugin.getMessageManager();
+        if (msg != null) {
+            msg.clearPlayer(event.getPlayer().getUniqueId());
+        }
+    }
+}
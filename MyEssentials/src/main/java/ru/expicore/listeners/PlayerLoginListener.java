@@ -1,11 +1,12 @@
 package ru.expicore.listeners;
 
-import org.bukkit.ChatColor;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import ru.expicore.ExpiCore;
+import ru.expicore.managers.MessageKey;
+import ru.expicore.managers.MessageManager;
 import ru.expicore.managers.PunishmentManager;
 
 /**
@@ -41,30 +42,23 @@ public class PlayerLoginListener implements Listener {
         PunishmentManager.PunishmentData ban = punishmentManager.getBan(event.getUniqueId());
         if (ban == null) return;
 
-        // Формируем экран бана
-        StringBuilder message = new StringBuilder();
-        message.append(ChatColor.RED).append("§l").append("Вы забанены на этом сервере!\n\n");
+        // Экран бана на языке по умолчанию: локаль клиента до входа неизвестна
+        MessageManager msg = plugin.getMessageManager();
+        String reason = ban.reason != null ? ban.reason : msg.get(MessageKey.PUNISH_NO_REASON);
+        String message;
 
-        // Причина
-        String reason = ban.reason != null ? ban.reason : "Не указана";
-        message.append(ChatColor.YELLOW).append("Причина: ").append(ChatColor.WHITE).append(reason).append("\n");
-
-        // Время
         if (ban.expireTime > 0) {
             long remaining = ban.expireTime - System.currentTimeMillis();
-            if (remaining > 0) {
-                String timeLeft = PunishmentManager.formatTime(remaining);
-                message.append(ChatColor.YELLOW).append("Осталось: ")
-                        .append(ChatColor.WHITE).append(timeLeft).append("\n");
-            } else {
+            if (remaining <= 0) {
                 // Бан истёк — автоматически снимаем
                 punishmentManager.unban(event.getUniqueId());
                 return;
             }
+            message = msg.format(MessageKey.PUNISH_LOGIN_SCREEN, reason, msg.duration(null, remaining));
         } else {
-            message.append(ChatColor.RED).append("Срок: ").append(ChatColor.DARK_RED).append("Навсегда\n");
+            message = msg.format(MessageKey.PUNISH_LOGIN_SCREEN_PERMANENT, reason);
         }
 
-        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED, message.toString());
+        event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_BANNED, message);
     }
 }
@@ -3,15 +3,26 @@ package ru.expicore.listeners;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.AFKManager;
+import ru.expicore.managers.ActivityTracker;
+import ru.expicore.managers.ChatChannelManager;
+import ru.expicore.managers.TeleportWarmupManager;
 
 /**
  * Слушатель движения игрока.
- * Сбрасывает таймер AFK при движении.
- * Очищает данные AFK при выходе игрока.
+ * Сбрасывает таймер AFK при движении (не чаще одного раза за окно активности).
+ * Отменяет ожидающий телепорт игрока, сдвинувшегося с блока.
+ * Обновляет позицию игрока в индексе локального чата
+ * (движение, телепорт, возрождение, вход).
+ * Ставит игрока в очередь сроков AFK при входе и сбрасывает кэш права AFK при смене мира.
+ * Очищает данные AFK и индекса при выходе игрока.
  */
 public class PlayerMoveListener implements Listener {
 
@@ -40,15 +51,88 @@ public class PlayerMoveListener implements Listener {
             return;
         }
 
+        TeleportWarmupManager warmups = plugin.getTeleportWarmupManager();
+        if (warmups != null) {
+            warmups.handleMove(event.getPlayer());
+        }
+
+        // Движения внутри одного окна активности в AFKManager не передаём
+        ActivityTracker tracker = plugin.getActivityTracker();
+        if (tracker == null || tracker.touch(event.getPlayer())) {
+            AFKManager afkManager = plugin.getAFKManager();
+            if (afkManager != null) {
+                afkManager.registerMovement(event.getPlayer(), event.getTo());
+            }
+        }
+
+        ChatChannelManager chatManager = plugin.getChatChannelManager();
+        if (chatManager != null) {
+            chatManager.trackMove(event.getPlayer(), event.getTo());
+        }
+    }
+
+    /**
+     * Обработать телепортацию (в том числе между мирами).
+     * @param event событие телепортации
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        ChatChannelManager chatManager = plugin.getChatChannelManager();
+        if (chatManager != null && event.getTo() != null) {
+            chatManager.trackMove(event.getPlayer(), event.getTo());
+        }
+    }
+
+    /**
+     * Обработать возрождение игрока.
+     * @param event событие возрождения
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        ChatChannelManager chatManager = plugin.getChatChannelManager();
+        if (chatManager != null) {
+            chatManager.trackMove(event.getPlayer(), event.getRespawnLocation());
+        }
+    }
+
+    /**
+     * Обработать смену мира — права игрока могут зависеть от мира.
+     * @param event событие смены мира
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
         AFKManager afkManager = plugin.getAFKManager();
         if (afkManager != null) {
-            afkManager.registerActivity(event.getPlayer());
+            afkManager.invalidatePermission(event.getPlayer().getUniqueId());
+        }
+    }
+
+    /**
+     * Обработать вход игрока — добавляем его в индекс локального чата
+     * и в очередь сроков AFK.
+     * @param event событие входа
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        ActivityTracker tracker = plugin.getActivityTracker();
+        if (tracker != null) {
+            tracker.track(event.getPlayer());
+        }
+
+        AFKManager afkManager = plugin.getAFKManager();
+        if (afkManager != null) {
+            afkManager.trackJoin(event.getPlayer());
+        }
+
+        ChatChannelManager chatManager = plugin.getChatChannelManager();
+        if (chatManager != null) {
+            chatManager.trackJoin(event.getPlayer());
         }
     }
 
     /**
      * Обработать событие выхода игрока.
-     * Очищаем данные AFK для вышедшего игрока.
+     * Очищаем данные AFK и индекса чата для вышедшего игрока.
      * @param event событие выхода
      */
     @EventHandler(priority = EventPriority.MONITOR)
@@ -57,5 +141,15 @@ public class PlayerMoveListener implements Listener {
         if (afkManager != null) {
             afkManager.clearPlayer(event.getPlayer().getUniqueId());
         }
+
+        ActivityTracker tracker = plugin.getActivityTracker();
+        if (tracker != null) {
+            tracker.untrack(event.getPlayer().getUniqueId());
+        }
+
+        ChatChannelManager chatManager = plugin.getChatChannelManager();
+        if (chatManager != null) {
+            chatManager.trackQuit(event.getPlayer().getUniqueId());
+        }
     }
 }
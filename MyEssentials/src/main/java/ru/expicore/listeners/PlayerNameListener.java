@@ -0,0 +1,51 @@
+package ru.expicore.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.NameIndex;
+
+/**
+ * Слушатель входа и выхода для набора ников игроков в сети,
+ * по которому дополняются аргументы команд.
+ */
+public class PlayerNameListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель ников.
+     * @param plugin экземпляр плагина
+     */
+    public PlayerNameListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Добавить ник вошедшего игрока.
+     * @param event событие входа
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        NameIndex names = plugin.getOnlinePlayerNames();
+        if (names != null) {
+            names.add(event.getPlayer().getName());
+        }
+    }
+
+    /**
+     * Убрать ник вышедшего игрока.
+     * @param event событие выхода
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        NameIndex names = plugin.getOnlinePlayerNames();
+        if (names != null) {
+            names.remove(event.getPlayer().getName());
+        }
+    }
+}
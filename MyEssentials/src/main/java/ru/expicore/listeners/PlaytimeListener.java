@@ -0,0 +1,51 @@
+package ru.expicore.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.PlaytimeManager;
+
+/**
+ * Слушатель входа и выхода для учёта игрового времени.
+ * Выход обрабатывается раньше MONITOR, пока статус AFK игрока ещё известен.
+ */
+public class PlaytimeListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель игрового времени.
+     * @param plugin экземпляр плагина
+     */
+    public PlaytimeListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Начать отсчёт времени при входе.
+     * @param event событие входа
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        PlaytimeManager playtimeManager = plugin.getPlaytimeManager();
+        if (playtimeManager != null) {
+            playtimeManager.startSession(event.getPlayer());
+        }
+    }
+
+    /**
+     * Начислить остаток сессии при выходе.
+     * @param event событие выхода
+     */
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onQuit(PlayerQuitEvent event) {
+        PlaytimeManager playtimeManager = plugin.getPlaytimeManager();
+        if (playtimeManager != null) {
+            playtimeManager.endSession(event.getPlayer());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import ru.expicore.ExpiCore;
 import ru.expicore.managers.DataManager;
+import ru.expicore.managers.MessageKey;
 import ru.expicore.managers.MessageManager;
 
 /**
@@ -49,8 +50,11 @@ public class SpawnListener implements Listener {
                 // Телепортируем на спавн с задержкой в 1 тик (гарантирует корректную загрузку мира)
                 plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
                     if (player.isOnline()) {
-                        player.teleport(spawn);
-                        player.sendMessage(MessageManager.SPAWN_FIRST_JOIN);
+                        plugin.getTeleportService().teleport(player, spawn).thenAccept(ok -> {
+                            if (ok) {
+                                player.sendMessage(plugin.getMessageManager().get(player, MessageKey.SPAWN_FIRST_JOIN));
+                            }
+                        });
                     }
                 }, 1L);
             }
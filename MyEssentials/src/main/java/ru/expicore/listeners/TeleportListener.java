@@ -0,0 +1,153 @@
+package ru.expicore.listeners;
+
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.BackManager;
+import ru.expicore.managers.LocationBrowser;
+import ru.expicore.managers.SafeLocationResolver;
+import ru.expicore.managers.TeleportRequestManager;
+import ru.expicore.managers.TeleportWarmupManager;
+
+/**
+ * Слушатель событий, связанных с телепортацией.
+ * Записывает место смерти в историю /back.
+ * Убирает запросы на телепортацию, ожидающий телепорт, историю /back и страницы /homes вышедшего игрока.
+ * Сбрасывает кэш безопасных точек при изменении блоков.
+ */
+public class TeleportListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель телепортации.
+     * @param plugin экземпляр плагина
+     */
+    public TeleportListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Сохранить перезарядки вернувшегося игрока.
+     * @param event событие входа
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        TeleportWarmupManager warmups = plugin.getTeleportWarmupManager();
+        if (warmups != null) {
+            warmups.trackJoin(event.getPlayer().getUniqueId());
+        }
+    }
+
+    /**
+     * Записать место смерти игрока в историю /back.
+     * @param event событие смерти
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        BackManager back = plugin.getBackManager();
+        if (back != null) {
+            back.record(event.getEntity(), event.getEntity().getLocation());
+        }
+    }
+
+    /**
+     * Убрать входящие и исходящие запросы, ожидающий телепорт, историю /back и страницы /homes игрока при выходе.
+     * @param event событие выхода
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        TeleportRequestManager requests = plugin.getTeleportRequestManager();
+        if (requests != null) {
+            requests.clearPlayer(event.getPlayer().getUniqueId());
+        }
+
+        TeleportWarmupManager warmups = plugin.getTeleportWarmupManager();
+        if (warmups != null) {
+            warmups.clearPlayer(event.getPlayer().getUniqueId());
+        }
+
+        BackManager back = plugin.getBackManager();
+        if (back != null) {
+            back.clearPlayer(event.getPlayer().getUniqueId());
+        }
+
+        LocationBrowser browser = plugin.getLocationBrowser();
+        if (browser != null) {
+            browser.invalidateHomes(event.getPlayer().getUniqueId().toString());
+        }
+    }
+
+    // ==================== ИЗМЕНЕНИЕ БЛОКОВ ====================
+
+    /**
+     * Сбросить кэш безопасных точек для сломанного блока.
+     * @param event событие разрушения блока
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    /**
+     * Сбросить кэш безопасных точек для поставленного блока.
+     * @param event событие установки блока
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    /**
+     * Сбросить кэш безопасных точек там, куда растеклась жидкость.
+     * @param event событие растекания
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFluidFlow(BlockFromToEvent event) {
+        invalidate(event.getToBlock());
+    }
+
+    /**
+     * Сбросить кэш безопасных точек для блоков, разрушенных взрывом сущности.
+     * @param event событие взрыва
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            invalidate(block);
+        }
+    }
+
+    /**
+     * Сбросить кэш безопасных точек для блоков, разрушенных взрывом блока.
+     * @param event событие взрыва
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            invalidate(block);
+        }
+    }
+
+    /**
+     * Передать изменённый блок в SafeLocationResolver.
+     * @param block блок
+     */
+    private void invalidate(Block block) {
+        SafeLocationResolver resolver = plugin.getSafeLocationResolver();
+        if (resolver != null) {
+            resolver.invalidate(block);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.expicore.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import ru.expicore.ExpiCore;
+import ru.expicore.managers.WorldRegistry;
+
+/**
+ * Слушатель загрузки и выгрузки миров.
+ * Обновляет ссылки на миры в {@link WorldRegistry}.
+ */
+public class WorldListener implements Listener {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Создать слушатель миров.
+     * @param plugin экземпляр плагина
+     */
+    public WorldListener(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Мир загружен — сохранённые точки в нём снова доступны.
+     * @param event событие загрузки мира
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        WorldRegistry registry = plugin.getWorldRegistry();
+        if (registry != null) {
+            registry.onLoad(event.getWorld());
+        }
+    }
+
+    /**
+     * Мир выгружен — точки в нём становятся недоступны.
+     * @param event событие выгрузки мира
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        WorldRegistry registry = plugin.getWorldRegistry();
+        if (registry != null) {
+            registry.onUnload(event.getWorld());
+        }
+    }
+}
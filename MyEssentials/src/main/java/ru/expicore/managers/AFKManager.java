@@ -1,23 +1,40 @@
 package ru.expicore.managers;
 
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 import ru.expicore.ExpiCore;
 
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Менеджер системы AFK (Away From Keyboard).
  * Отслеживает бездействие игроков и автоматически помечает их как AFK.
  * Сбрасывает статус при движении, чате, взаимодействии.
+ *
+ * Вместо обхода всех игроков используется очередь сроков: у каждого игрока
+ * есть срок «последняя активность + порог», и проверка снимает с вершины
+ * очереди только истёкшие сроки. Активность лишь записывает время — если при
+ * извлечении оказывается, что игрок был активен, он возвращается в очередь
+ * с новым сроком. Результат проверки права expicore.afk кэшируется.
+ * Переходы в AFK и обратно передаются в режим экономии ресурсов (AfkResourceSaver).
+ * Механическое движение (водяные потоки, макросы) активностью не считается —
+ * его отсеивает MovementPatternDetector.
  */
 public class AFKManager {
 
+    /** Право на автоматический AFK */
+    private static final String AFK_PERMISSION = "expicore.afk";
+
+    /** Период проверки очереди сроков (тики) */
+    private static final long CHECK_PERIOD_TICKS = 20L;
+
     /** Ссылка на главный плагин */
     private final ExpiCore plugin;
 
@@ -27,10 +44,24 @@ public class AFKManager {
     private final Set<UUID> afkPlayers = ConcurrentHashMap.newKeySet();
 
     /**
-     * Временные метки последней активности игроков.
-     * Ключ — UUID, значение — System.currentTimeMillis() последнего действия.
+     * Состояние онлайн-игроков: время последней активности и кэш права.
      */
-    private final Map<UUID, Long> lastActivity = new ConcurrentHashMap<>();
+    private final Map<UUID, IdleState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Очередь сроков бездействия, упорядоченная по времени истечения.
+     * Используется только из основного потока.
+     */
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
+
+    /** Режим экономии ресурсов для AFK-игроков */
+    private final AfkResourceSaver resourceSaver;
+
+    /** Объединённые объявления о переходах и метка AFK в таб-листе */
+    private final AfkAnnouncer announcer;
+
+    /** Определение механического движения */
+    private final MovementPatternDetector patternDetector;
 
     /** Задача таймера для проверки бездействия */
     private BukkitTask idleCheckTask;
@@ -38,15 +69,39 @@ public class AFKManager {
     /** Порог бездействия для авто-AFK (в миллисекундах), по умолчанию 300 секунд */
     private long afkThresholdMs = 300_000L;
 
+    /** Время жизни кэша права expicore.afk (в миллисекундах) */
+    private long permissionCacheMs = 60_000L;
+
     /**
      * Создать менеджер AFK и запустить таймер проверки бездействия.
      * @param plugin экземпляр плагина
      */
     public AFKManager(ExpiCore plugin) {
         this.plugin = plugin;
+        this.resourceSaver = new AfkResourceSaver(plugin);
+        this.patternDetector = new MovementPatternDetector(plugin);
+        this.announcer = new AfkAnnouncer(plugin);
+        reload();
         startIdleChecker();
     }
 
+    /**
+     * Перечитать настройки из секции afk в config.yml.
+     * Сбрасывает кэш прав и пересобирает очередь сроков с новым порогом.
+     */
+    public void reload() {
+        resourceSaver.reload();
+        patternDetector.reload();
+        announcer.reload();
+        this.afkThresholdMs = Math.max(10, plugin.getConfig().getInt("afk.idle-seconds", 300)) * 1000L;
+        this.permissionCacheMs = Math.max(0, plugin.getConfig().getInt("afk.permission-cache-seconds", 60)) * 1000L;
+
+        for (IdleState state : states.values()) {
+            state.permissionCheckedAt = 0L;
+        }
+        rebuildQueue();
+    }
+
     /**
      * Проверить, находится ли игрок в статусе AFK.
      * @param uuid UUID игрока
@@ -76,81 +131,212 @@ public class AFKManager {
 
     /**
      * Установить игроку статус AFK и уведомить сервер.
+     * Объявление уходит вместе с другими переходами окна (AfkAnnouncer).
      * @param player игрок
      */
     public void setAFK(Player player) {
         UUID uuid = player.getUniqueId();
+        if (!afkPlayers.contains(uuid)) {
+            accountPlaytime(player);
+        }
         if (afkPlayers.add(uuid)) {
-            Bukkit.broadcastMessage(ChatColor.GRAY + "* Игрок " + ChatColor.WHITE + player.getName()
-                    + ChatColor.GRAY + " теперь AFK.");
+            announcer.announce(player, true);
+            resourceSaver.enter(player);
         }
     }
 
     /**
      * Снять статус AFK с игрока и уведомить сервер.
+     * Игрок снова ставится в очередь сроков. Вызывается из основного потока.
      * @param player игрок
      */
     public void removeAFK(Player player) {
         UUID uuid = player.getUniqueId();
+        if (afkPlayers.contains(uuid)) {
+            accountPlaytime(player);
+        }
         if (afkPlayers.remove(uuid)) {
-            Bukkit.broadcastMessage(ChatColor.GRAY + "* Игрок " + ChatColor.WHITE + player.getName()
-                    + ChatColor.GRAY + " вернулся из AFK.");
+            announcer.announce(player, false);
+            resourceSaver.leave(player);
+        }
+
+        IdleState state = states.get(uuid);
+        if (state != null) {
+            state.returning.set(false);
+            schedule(state, state.lastActivity + afkThresholdMs);
+        }
+    }
+
+    /**
+     * Начислить игровое время до смены статуса, чтобы оно попало в верный счётчик.
+     * @param player игрок
+     */
+    private void accountPlaytime(Player player) {
+        PlaytimeManager playtimeManager = plugin.getPlaytimeManager();
+        if (playtimeManager != null) {
+            playtimeManager.account(player);
         }
     }
 
     /**
      * Зарегистрировать активность игрока (движение, чат, взаимодействие).
-     * Если игрок был AFK — снимает статус автоматически.
+     * Записывает только время — очередь сроков при этом не трогается.
+     * Если игрок был AFK — снимает статус (из асинхронного чата — через основной поток).
      * @param player игрок
      */
     public void registerActivity(Player player) {
         UUID uuid = player.getUniqueId();
-        lastActivity.put(uuid, System.currentTimeMillis());
+        IdleState state = states.get(uuid);
+        if (state != null) {
+            state.lastActivity = System.currentTimeMillis();
+        }
 
         // Если был AFK — снимаем
-        if (afkPlayers.contains(uuid)) {
+        if (!afkPlayers.contains(uuid)) return;
+
+        if (Bukkit.isPrimaryThread()) {
             removeAFK(player);
+        } else if (state != null && state.returning.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (player.isOnline()) {
+                    removeAFK(player);
+                }
+            });
+        }
+    }
+
+    /**
+     * Зарегистрировать движение игрока.
+     * Механическое движение (поток воды, макрос) активностью не считается,
+     * и игрок уходит в AFK по обычному порогу бездействия.
+     * @param player игрок
+     * @param to новая позиция
+     */
+    public void registerMovement(Player player, Location to) {
+        if (patternDetector.isMechanical(player, to)) return;
+        registerActivity(player);
+    }
+
+    /**
+     * Начать отслеживание игрока при входе на сервер.
+     * @param player игрок
+     */
+    public void trackJoin(Player player) {
+        IdleState state = new IdleState(player, System.currentTimeMillis());
+        states.put(player.getUniqueId(), state);
+        schedule(state, state.lastActivity + afkThresholdMs);
+    }
+
+    /**
+     * Сбросить кэш права игрока (права могут зависеть от мира).
+     * @param uuid UUID игрока
+     */
+    public void invalidatePermission(UUID uuid) {
+        IdleState state = states.get(uuid);
+        if (state != null) {
+            state.permissionCheckedAt = 0L;
         }
     }
 
     /**
      * Очистить данные игрока при выходе с сервера.
+     * Его запись в очереди станет устаревшей и будет отброшена при извлечении.
      * @param uuid UUID игрока
      */
     public void clearPlayer(UUID uuid) {
         afkPlayers.remove(uuid);
-        lastActivity.remove(uuid);
+        states.remove(uuid);
+        resourceSaver.clearPlayer(uuid);
+        patternDetector.clearPlayer(uuid);
+        announcer.clearPlayer(uuid);
     }
 
     /**
      * Запустить повторяющуюся задачу проверки бездействия.
-     * Каждые 5 секунд (100 тиков) проверяет всех онлайн-игроков.
-     * Если время бездействия превышает порог — помечает как AFK.
+     * Раз в секунду (20 тиков) обрабатывает только истёкшие сроки.
      */
     private void startIdleChecker() {
-        // Проверка каждые 100 тиков (5 секунд)
-        idleCheckTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            long now = System.currentTimeMillis();
+        idleCheckTask = Bukkit.getScheduler().runTaskTimer(plugin, this::processDeadlines,
+                CHECK_PERIOD_TICKS, CHECK_PERIOD_TICKS);
+    }
+
+    /**
+     * Снять с очереди истёкшие сроки и перевести бездействующих игроков в AFK.
+     */
+    private void processDeadlines() {
+        long now = System.currentTimeMillis();
 
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                UUID uuid = player.getUniqueId();
+        Deadline head;
+        while ((head = deadlines.peek()) != null && head.time <= now) {
+            deadlines.poll();
+            IdleState state = head.state;
 
-                // Инициализируем активность если не было записи
-                lastActivity.putIfAbsent(uuid, now);
+            // Игрок вышел или перезашёл — запись устарела
+            if (states.get(state.uuid) != state) continue;
+            state.queued = false;
 
-                // Пропускаем если уже AFK
-                if (afkPlayers.contains(uuid)) continue;
+            // Уже AFK — вернётся в очередь при снятии статуса
+            if (afkPlayers.contains(state.uuid)) continue;
 
-                // Проверяем есть ли право на AFK
-                if (!player.hasPermission("expicore.afk")) continue;
+            // Был активен после постановки в очередь — переносим срок
+            long actual = state.lastActivity + afkThresholdMs;
+            if (actual > now) {
+                schedule(state, actual);
+                continue;
+            }
 
-                // Проверяем порог бездействия
-                long lastAct = lastActivity.getOrDefault(uuid, now);
-                if (now - lastAct >= afkThresholdMs) {
-                    setAFK(player);
-                }
+            // Нет права на авто-AFK — проверим снова через порог
+            if (!hasAfkPermission(state, now)) {
+                schedule(state, now + afkThresholdMs);
+                continue;
             }
-        }, 100L, 100L);
+
+            setAFK(state.player);
+        }
+    }
+
+    /**
+     * Проверить право expicore.afk с кэшированием результата.
+     * @param state состояние игрока
+     * @param now текущее время
+     * @return true если право есть
+     */
+    private boolean hasAfkPermission(IdleState state, long now) {
+        if (state.permissionCheckedAt == 0L || now - state.permissionCheckedAt >= permissionCacheMs) {
+            state.canAfk = state.player.hasPermission(AFK_PERMISSION);
+            state.permissionCheckedAt = now;
+        }
+        return state.canAfk;
+    }
+
+    /**
+     * Поставить игрока в очередь, если его там ещё нет.
+     * @param state состояние игрока
+     * @param time срок истечения
+     */
+    private void schedule(IdleState state, long time) {
+        if (state.queued) return;
+        state.queued = true;
+        deadlines.add(new Deadline(time, state));
+    }
+
+    /**
+     * Пересобрать очередь сроков для всех онлайн-игроков (после смены порога).
+     */
+    private void rebuildQueue() {
+        deadlines.clear();
+        long now = System.currentTimeMillis();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            IdleState state = states.get(player.getUniqueId());
+            if (state == null) {
+                state = new IdleState(player, now);
+                states.put(player.getUniqueId(), state);
+            }
+            state.queued = false;
+            if (!afkPlayers.contains(state.uuid)) {
+                schedule(state, state.lastActivity + afkThresholdMs);
+            }
+        }
     }
 
     /**
@@ -161,6 +347,16 @@ public class AFKManager {
         if (idleCheckTask != null) {
             idleCheckTask.cancel();
         }
+        resourceSaver.restoreAll();
+        announcer.restoreAll();
+    }
+
+    /**
+     * Получить режим экономии ресурсов (для статистики /gc).
+     * @return режим экономии
+     */
+    public AfkResourceSaver getResourceSaver() {
+        return resourceSaver;
     }
 
     /**
@@ -169,5 +365,63 @@ public class AFKManager {
      */
     public void setAfkThreshold(int seconds) {
         this.afkThresholdMs = seconds * 1000L;
+        rebuildQueue();
+    }
+
+    // ==================== СОСТОЯНИЕ ИГРОКА ====================
+
+    /**
+     * Состояние бездействия одного игрока.
+     */
+    private static final class IdleState {
+
+        /** Игрок */
+        final Player player;
+
+        /** UUID игрока */
+        final UUID uuid;
+
+        /** Время последней активности (пишется и из асинхронного чата) */
+        volatile long lastActivity;
+
+        /** Стоит ли игрок в очереди сроков (только основной поток) */
+        boolean queued;
+
+        /** Кэшированный результат проверки права */
+        boolean canAfk;
+
+        /** Когда право проверялось в последний раз (0 — кэш пуст) */
+        volatile long permissionCheckedAt;
+
+        /** Запланировано ли снятие AFK из асинхронного потока */
+        final AtomicBoolean returning = new AtomicBoolean();
+
+        IdleState(Player player, long now) {
+            this.player = player;
+            this.uuid = player.getUniqueId();
+            this.lastActivity = now;
+        }
+    }
+
+    /**
+     * Срок истечения бездействия в очереди.
+     */
+    private static final class Deadline implements Comparable<Deadline> {
+
+        /** Момент истечения (мс) */
+        final long time;
+
+        /** Состояние игрока */
+        final IdleState state;
+
+        Deadline(long time, IdleState state) {
+            this.time = time;
+            this.state = state;
+        }
+
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(time, other.time);
+        }
     }
 }
@@ -0,0 +1,143 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.util.UUID;
+
+/**
+ * Учёт активности игроков по событиям движения.
+ * Время берётся из грубых часов — счётчика тиков, который увеличивает
+ * задача планировщика, — а не из System.currentTimeMillis() на каждое событие.
+ * Каждому онлайн-игроку выдаётся плотный номер слота ({@link PlayerSlots}),
+ * и тик последней засчитанной активности хранится в примитивном массиве по этому номеру.
+ *
+ * Движения внутри одного окна (по умолчанию 20 тиков) отбрасываются сразу,
+ * поэтому AFKManager получает не больше одного сигнала за окно.
+ * Путь обработки движения не создаёт объектов.
+ * Все методы, кроме чтения текущего тика, вызываются из основного потока.
+ */
+public class ActivityTracker {
+
+    /** Начальная ёмкость массива слотов */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Номера слотов игроков */
+    private final PlayerSlots slots = new PlayerSlots();
+
+    /** Тик последней засчитанной активности по номеру слота */
+    private int[] lastActiveTick = new int[INITIAL_CAPACITY];
+
+    /** Грубые часы: число тиков с запуска трекера */
+    private volatile int currentTick;
+
+    /** Размер окна активности (тики) */
+    private int windowTicks = 20;
+
+    /** Задача грубых часов */
+    private BukkitTask clockTask;
+
+    /**
+     * Создать трекер, выдать слоты игрокам онлайн и запустить часы.
+     * @param plugin экземпляр плагина
+     */
+    public ActivityTracker(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            track(player);
+        }
+        clockTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> currentTick++, 1L, 1L);
+    }
+
+    /**
+     * Перечитать размер окна активности из config.yml.
+     */
+    public void reload() {
+        this.windowTicks = Math.max(1, plugin.getConfig().getInt("afk.activity-window-ticks", 20));
+    }
+
+    /**
+     * Выдать игроку слот при входе на сервер.
+     * Первое же движение после входа будет засчитано.
+     * @param player игрок
+     */
+    public void track(Player player) {
+        UUID uuid = player.getUniqueId();
+        if (slots.get(uuid) >= 0) return;
+
+        int slot = slots.acquire(uuid);
+        lastActiveTick = PlayerSlots.ensure(lastActiveTick, slot, 1);
+        lastActiveTick[slot] = currentTick - windowTicks;
+    }
+
+    /**
+     * Освободить слот игрока при выходе.
+     * @param uuid UUID игрока
+     */
+    public void untrack(UUID uuid) {
+        slots.release(uuid);
+    }
+
+    /**
+     * Засчитать движение игрока.
+     * Возвращает true только для первого движения в новом окне —
+     * остальные движения окна пропускаются без дальнейшей обработки.
+     * @param player игрок
+     * @return true если активность нужно передать дальше
+     */
+    public boolean touch(Player player) {
+        int slot = slots.get(player.getUniqueId());
+        // Слота нет (игрок не отслеживается) — засчитываем как раньше
+        if (slot < 0) return true;
+
+        int now = currentTick;
+        if (now - lastActiveTick[slot] < windowTicks) return false;
+
+        lastActiveTick[slot] = now;
+        return true;
+    }
+
+    /**
+     * Сколько тиков прошло с последней засчитанной активности игрока.
+     * @param uuid UUID игрока
+     * @return число тиков или -1, если игрок не отслеживается
+     */
+    public int getIdleTicks(UUID uuid) {
+        int slot = slots.get(uuid);
+        if (slot < 0) return -1;
+        return currentTick - lastActiveTick[slot];
+    }
+
+    /**
+     * Текущее значение грубых часов. Безопасно из любого потока.
+     * @return число тиков с запуска трекера
+     */
+    public int getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Количество отслеживаемых игроков.
+     * @return число занятых слотов
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Остановить грубые часы.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        if (clockTask != null) {
+            clockTask.cancel();
+        }
+    }
+}
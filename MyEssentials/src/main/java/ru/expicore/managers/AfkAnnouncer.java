@@ -0,0 +1,226 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Объявления о переходах в AFK и обратно.
+ * Переходы за короткое окно (по умолчанию 20 тиков) копятся и уходят
+ * одним сообщением на всех: «Игроки A, B, C теперь AFK». Если игрок за окно
+ * ушёл в AFK и вернулся, объявление о нём не отправляется вовсе.
+ *
+ * По желанию к имени в таб-листе (и отображаемому имени) добавляется метка AFK.
+ * Имена меняются только у игроков, чей статус за окно действительно изменился.
+ * Вызывается из основного потока.
+ */
+public class AfkAnnouncer {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Переходы текущего окна в порядке поступления */
+    private final Map<UUID, Pending> pending = new LinkedHashMap<>();
+
+    /** Исходные имена игроков с меткой AFK: [имя в таб-листе, отображаемое имя] */
+    private final Map<UUID, String[]> originalNames = new LinkedHashMap<>();
+
+    /** Окно объединения объявлений (тики), 0 — сразу */
+    private long windowTicks;
+
+    /** Метка AFK в таб-листе (пустая — выключена) */
+    private String tabTag;
+
+    /** Добавлять ли метку и к отображаемому имени (чат, /list) */
+    private boolean tagDisplayName;
+
+    /** Запланирована ли отправка накопленных переходов */
+    private boolean flushScheduled;
+
+    /**
+     * Создать объявления AFK.
+     * @param plugin экземпляр плагина
+     */
+    public AfkAnnouncer(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Перечитать настройки из config.yml.
+     * Если метку выключили — снимаем её с тех, у кого она стоит.
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        this.windowTicks = Math.max(0, config.getLong("afk.broadcast-window-ticks", 20L));
+        this.tabTag = ChatColor.translateAlternateColorCodes('&', config.getString("afk.tab-tag", ""));
+        this.tagDisplayName = config.getBoolean("afk.tag-display-name", false);
+
+        if (tabTag.isEmpty()) {
+            removeTags();
+        }
+    }
+
+    /**
+     * Учесть переход игрока в AFK или обратно.
+     * @param player игрок
+     * @param afk новый статус
+     */
+    public void announce(Player player, boolean afk) {
+        Pending entry = pending.get(player.getUniqueId());
+        if (entry == null) {
+            pending.put(player.getUniqueId(), new Pending(player, !afk, afk));
+        } else {
+            entry.current = afk;
+        }
+
+        if (windowTicks == 0) {
+            flush();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTaskLater(plugin, this::flush, windowTicks);
+        }
+    }
+
+    /**
+     * Забыть игрока при выходе. Объявление о нём, если ещё не ушло, отменяется.
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        pending.remove(uuid);
+        originalNames.remove(uuid);
+    }
+
+    /**
+     * Отправить накопленные переходы одним сообщением на каждый вид перехода
+     * и обновить метки тех, чей статус изменился.
+     */
+    public void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) return;
+
+        List<Player> wentAfk = new ArrayList<>();
+        List<Player> returned = new ArrayList<>();
+        for (Pending entry : pending.values()) {
+            // Ушёл и вернулся в пределах окна — объявлять нечего
+            if (entry.initial == entry.current || !entry.player.isOnline()) continue;
+            (entry.current ? wentAfk : returned).add(entry.player);
+        }
+        pending.clear();
+
+        send(wentAfk, MessageKey.AFK_BROADCAST_ON, MessageKey.AFK_BROADCAST_ON_MANY);
+        send(returned, MessageKey.AFK_BROADCAST_OFF, MessageKey.AFK_BROADCAST_OFF_MANY);
+
+        if (tabTag.isEmpty()) return;
+        for (Player player : wentAfk) {
+            tag(player);
+        }
+        for (Player player : returned) {
+            untag(player);
+        }
+    }
+
+    /**
+     * Разослать объявление: одиночное для одного игрока, общее для нескольких.
+     */
+    private void send(List<Player> players, MessageKey single, MessageKey many) {
+        if (players.isEmpty()) return;
+
+        MessageManager msg = plugin.getMessageManager();
+        if (players.size() == 1) {
+            msg.broadcast(single, players.get(0).getName());
+            return;
+        }
+
+        StringBuilder names = new StringBuilder();
+        for (Player player : players) {
+            if (names.length() > 0) names.append(", ");
+            names.append(player.getName());
+        }
+        msg.broadcast(many, names.toString());
+    }
+
+    /**
+     * Добавить метку AFK к имени игрока, запомнив исходные имена.
+     * @param player игрок
+     */
+    private void tag(Player player) {
+        if (originalNames.containsKey(player.getUniqueId())) return;
+
+        String listName = player.getPlayerListName();
+        String displayName = player.getDisplayName();
+        originalNames.put(player.getUniqueId(), new String[]{listName, tagDisplayName ? displayName : null});
+
+        player.setPlayerListName(tabTag + listName);
+        if (tagDisplayName) {
+            player.setDisplayName(tabTag + displayName);
+        }
+    }
+
+    /**
+     * Вернуть игроку исходные имена.
+     * @param player игрок
+     */
+    private void untag(Player player) {
+        String[] names = originalNames.remove(player.getUniqueId());
+        if (names == null) return;
+
+        player.setPlayerListName(names[0]);
+        if (names[1] != null) {
+            player.setDisplayName(names[1]);
+        }
+    }
+
+    /**
+     * Снять метки AFK со всех игроков и отменить неотправленные объявления
+     * (выключение плагина).
+     */
+    public void restoreAll() {
+        removeTags();
+        pending.clear();
+    }
+
+    /**
+     * Снять метки AFK со всех игроков.
+     */
+    private void removeTags() {
+        for (UUID uuid : new ArrayList<>(originalNames.keySet())) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                untag(player);
+            }
+        }
+        originalNames.clear();
+    }
+
+    // ==================== ПЕРЕХОД ====================
+
+    /**
+     * Переход игрока в пределах окна.
+     */
+    private static final class Pending {
+
+        /** Игрок */
+        final Player player;
+
+        /** Статус до начала окна */
+        final boolean initial;
+
+        /** Статус на текущий момент */
+        boolean current;
+
+        Pending(Player player, boolean initial, boolean current) {
+            this.player = player;
+            this.initial = initial;
+            this.current = current;
+        }
+    }
+}
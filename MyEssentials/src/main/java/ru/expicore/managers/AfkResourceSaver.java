@@ -0,0 +1,386 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Режим экономии ресурсов для AFK-игроков.
+ * При переходе в AFK уменьшает игроку дальность прорисовки и симуляции
+ * и отключает спавн мобов вокруг него, при возвращении — восстанавливает.
+ * Если сервер почти заполнен, долго отсутствующих игроков можно кикать.
+ *
+ * Персональная дальность прорисовки есть только в Paper, поэтому методы
+ * ищутся через рефлексию один раз; на чистом Spigot режим ничего не меняет.
+ * Все методы вызываются из основного потока.
+ */
+public class AfkResourceSaver {
+
+    /** Право, защищающее от кика за AFK */
+    private static final String KICK_EXEMPT_PERMISSION = "expicore.afk.kickexempt";
+
+    /** Период проверки заполненности сервера (тики) */
+    private static final long KICK_CHECK_PERIOD_TICKS = 600L;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Сохранённые настройки AFK-игроков для восстановления */
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /** Player#getViewDistance / setViewDistance (Paper), null если нет */
+    private final Method getViewDistance;
+    private final Method setViewDistance;
+
+    /** Player#getSimulationDistance / setSimulationDistance (Paper 1.18+), null если нет */
+    private final Method getSimulationDistance;
+    private final Method setSimulationDistance;
+
+    /** Player#getAffectsSpawning / setAffectsSpawning (Paper), null если нет */
+    private final Method getAffectsSpawning;
+    private final Method setAffectsSpawning;
+
+    /** Включён ли режим экономии */
+    private boolean enabled;
+
+    /** Дальность прорисовки AFK-игрока (чанки) */
+    private int viewDistance;
+
+    /** Дальность симуляции AFK-игрока (чанки) */
+    private int simulationDistance;
+
+    /** Отключать ли спавн мобов вокруг AFK-игрока */
+    private boolean disableSpawning;
+
+    /** Кикать ли долго отсутствующих при заполненном сервере */
+    private boolean kickWhenFull;
+
+    /** Доля заполненности сервера, с которой начинаются кики */
+    private double fullRatio;
+
+    /** Сколько нужно пробыть в AFK, чтобы попасть под кик (мс) */
+    private long kickAfterMs;
+
+    /** Задача проверки заполненности сервера */
+    private BukkitTask kickTask;
+
+    /** Кикнуто игроков за время работы */
+    private long kickedTotal;
+
+    /**
+     * Создать режим экономии и найти методы Paper.
+     * @param plugin экземпляр плагина
+     */
+    public AfkResourceSaver(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.getViewDistance = findMethod("getViewDistance");
+        this.setViewDistance = findMethod("setViewDistance", int.class);
+        this.getSimulationDistance = findMethod("getSimulationDistance");
+        this.setSimulationDistance = findMethod("setSimulationDistance", int.class);
+        this.getAffectsSpawning = findMethod("getAffectsSpawning");
+        this.setAffectsSpawning = findMethod("setAffectsSpawning", boolean.class);
+        reload();
+    }
+
+    /**
+     * Перечитать настройки из секции afk.resource-saving в config.yml.
+     * Задача кика перезапускается по новым настройкам.
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        this.enabled = config.getBoolean("afk.resource-saving.enabled", false);
+        this.viewDistance = Math.max(2, config.getInt("afk.resource-saving.view-distance", 2));
+        this.simulationDistance = Math.max(2, config.getInt("afk.resource-saving.simulation-distance", 2));
+        this.disableSpawning = config.getBoolean("afk.resource-saving.disable-mob-spawning", true);
+        this.kickWhenFull = config.getBoolean("afk.resource-saving.kick-when-full", false);
+        this.fullRatio = config.getDouble("afk.resource-saving.full-ratio", 0.95);
+        this.kickAfterMs = Math.max(1, config.getInt("afk.resource-saving.kick-after-minutes", 30)) * 60_000L;
+
+        if (kickTask != null) {
+            kickTask.cancel();
+            kickTask = null;
+        }
+        if (kickWhenFull) {
+            kickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::kickIfFull,
+                    KICK_CHECK_PERIOD_TICKS, KICK_CHECK_PERIOD_TICKS);
+        }
+    }
+
+    // ==================== ПЕРЕХОДЫ AFK ====================
+
+    /**
+     * Игрок ушёл в AFK — урезаем дальность и спавн, запоминаем прежние значения.
+     * @param player игрок
+     */
+    public void enter(Player player) {
+        Snapshot snapshot = new Snapshot(System.currentTimeMillis());
+        snapshots.put(player.getUniqueId(), snapshot);
+        if (!enabled) return;
+
+        Integer oldView = (Integer) invoke(getViewDistance, player);
+        if (oldView != null && oldView > viewDistance && invoke(setViewDistance, player, viewDistance) != null) {
+            snapshot.viewDistance = oldView;
+            snapshot.chunksSaved = square(oldView) - square(viewDistance);
+            snapshot.entitiesSaved = countEntitiesBetween(player, viewDistance, oldView);
+        }
+
+        Integer oldSimulation = (Integer) invoke(getSimulationDistance, player);
+        if (oldSimulation != null && oldSimulation > simulationDistance
+                && invoke(setSimulationDistance, player, simulationDistance) != null) {
+            snapshot.simulationDistance = oldSimulation;
+        }
+
+        if (disableSpawning && Boolean.TRUE.equals(invoke(getAffectsSpawning, player))
+                && invoke(setAffectsSpawning, player, false) != null) {
+            snapshot.spawningDisabled = true;
+        }
+    }
+
+    /**
+     * Игрок вернулся — восстанавливаем сохранённые значения.
+     * @param player игрок
+     */
+    public void leave(Player player) {
+        Snapshot snapshot = snapshots.remove(player.getUniqueId());
+        if (snapshot == null) return;
+
+        if (snapshot.viewDistance > 0) {
+            invoke(setViewDistance, player, snapshot.viewDistance);
+        }
+        if (snapshot.simulationDistance > 0) {
+            invoke(setSimulationDistance, player, snapshot.simulationDistance);
+        }
+        if (snapshot.spawningDisabled) {
+            invoke(setAffectsSpawning, player, true);
+        }
+    }
+
+    /**
+     * Забыть игрока при выходе (настройки клиента сбрасываются сами).
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        snapshots.remove(uuid);
+    }
+
+    /**
+     * Вернуть всем AFK-игрокам исходные настройки (выключение плагина).
+     */
+    public void restoreAll() {
+        for (UUID uuid : new ArrayList<>(snapshots.keySet())) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                leave(player);
+            }
+        }
+        snapshots.clear();
+        if (kickTask != null) {
+            kickTask.cancel();
+        }
+    }
+
+    // ==================== КИК ПРИ ЗАПОЛНЕННОМ СЕРВЕРЕ ====================
+
+    /**
+     * Если сервер почти заполнен — кикнуть дольше всех отсутствующих,
+     * пока заполненность не опустится ниже порога.
+     */
+    private void kickIfFull() {
+        int max = Bukkit.getMaxPlayers();
+        int limit = (int) Math.ceil(max * fullRatio);
+        int online = Bukkit.getOnlinePlayers().size();
+        if (max <= 0 || online < limit) return;
+
+        long now = System.currentTimeMillis();
+        List<Map.Entry<UUID, Snapshot>> candidates = new ArrayList<>();
+        for (Map.Entry<UUID, Snapshot> entry : snapshots.entrySet()) {
+            if (now - entry.getValue().since >= kickAfterMs) {
+                candidates.add(entry);
+            }
+        }
+        if (candidates.isEmpty()) return;
+
+        // Сначала те, кто отсутствует дольше всех
+        candidates.sort((a, b) -> Long.compare(a.getValue().since, b.getValue().since));
+
+        MessageManager msg = plugin.getMessageManager();
+        for (Map.Entry<UUID, Snapshot> entry : candidates) {
+            if (online < limit) break;
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null || player.hasPermission(KICK_EXEMPT_PERMISSION)) continue;
+
+            player.kickPlayer(msg.get(player, MessageKey.AFK_KICKED));
+            kickedTotal++;
+            online--;
+        }
+    }
+
+    // ==================== СТАТИСТИКА ====================
+
+    /**
+     * Сколько игроков сейчас в режиме экономии.
+     * @return число AFK-игроков с урезанной дальностью
+     */
+    public int getActiveCount() {
+        int count = 0;
+        for (Snapshot snapshot : snapshots.values()) {
+            if (snapshot.viewDistance > 0 || snapshot.simulationDistance > 0 || snapshot.spawningDisabled) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Сколько чанков не отправляется AFK-игрокам сейчас.
+     * @return сумма по всем AFK-игрокам
+     */
+    public int getChunksSaved() {
+        int total = 0;
+        for (Snapshot snapshot : snapshots.values()) {
+            total += snapshot.chunksSaved;
+        }
+        return total;
+    }
+
+    /**
+     * Оценка числа снятых трекеров сущностей: сущности в отрезанном кольце
+     * чанков на момент перехода в AFK.
+     * @return сумма по всем AFK-игрокам
+     */
+    public int getEntitiesSaved() {
+        int total = 0;
+        for (Snapshot snapshot : snapshots.values()) {
+            total += snapshot.entitiesSaved;
+        }
+        return total;
+    }
+
+    /**
+     * Сколько игроков кикнуто за AFK.
+     * @return количество за время работы
+     */
+    public long getKickedTotal() {
+        return kickedTotal;
+    }
+
+    /**
+     * Включён ли режим экономии.
+     * @return true если включён в config.yml
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Поддерживает ли сервер персональную дальность прорисовки.
+     * @return true если найдены методы Paper
+     */
+    public boolean isSupported() {
+        return setViewDistance != null;
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ====================
+
+    /**
+     * Посчитать сущности в загруженных чанках кольца между двумя радиусами.
+     * @param player игрок-центр
+     * @param inner внутренний радиус (чанки, не включается)
+     * @param outer внешний радиус (чанки)
+     * @return число сущностей
+     */
+    private static int countEntitiesBetween(Player player, int inner, int outer) {
+        World world = player.getWorld();
+        int centerX = player.getLocation().getBlockX() >> 4;
+        int centerZ = player.getLocation().getBlockZ() >> 4;
+
+        int count = 0;
+        for (int dx = -outer; dx <= outer; dx++) {
+            for (int dz = -outer; dz <= outer; dz++) {
+                if (Math.abs(dx) <= inner && Math.abs(dz) <= inner) continue;
+                int x = centerX + dx;
+                int z = centerZ + dz;
+                if (!world.isChunkLoaded(x, z)) continue;
+                Chunk chunk = world.getChunkAt(x, z);
+                count += chunk.getEntities().length;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Число чанков в квадрате заданного радиуса.
+     */
+    private static int square(int radius) {
+        int side = radius * 2 + 1;
+        return side * side;
+    }
+
+    /**
+     * Найти публичный метод Player по имени.
+     * @return метод или null, если сервер его не предоставляет
+     */
+    private static Method findMethod(String name, Class<?>... params) {
+        try {
+            return Player.class.getMethod(name, params);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Вызвать метод игрока; ошибки проглатываются.
+     * @return результат (для void-методов — Boolean.TRUE) или null при ошибке
+     */
+    private Object invoke(Method method, Player player, Object... args) {
+        if (method == null) return null;
+        try {
+            Object result = method.invoke(player, args);
+            return result != null ? result : Boolean.TRUE;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            plugin.getLogger().fine("Не удалось вызвать " + method.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== СНИМОК ====================
+
+    /**
+     * Настройки игрока до перехода в AFK.
+     */
+    private static final class Snapshot {
+
+        /** Когда игрок ушёл в AFK (мс) */
+        final long since;
+
+        /** Прежняя дальность прорисовки (0 — не менялась) */
+        int viewDistance;
+
+        /** Прежняя дальность симуляции (0 — не менялась) */
+        int simulationDistance;
+
+        /** Был ли отключён спавн мобов */
+        boolean spawningDisabled;
+
+        /** Сколько чанков перестало отправляться */
+        int chunksSaved;
+
+        /** Оценка числа снятых трекеров сущностей */
+        int entitiesSaved;
+
+        Snapshot(long since) {
+            this.since = since;
+        }
+    }
+}
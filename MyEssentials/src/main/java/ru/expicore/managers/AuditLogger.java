@@ -0,0 +1,399 @@
+package ru.expicore.managers;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.FileConfiguration;
+import ru.expicore.ExpiCore;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Журнал аудита: чат, личные сообщения и команды модерации.
+ * Потоки чата и основной поток только кладут запись в неблокирующую очередь;
+ * запись на диск выполняет один фоновый поток пачками — в файлы
+ * audit/ГГГГ-ММ-ДД.log. Закрытые за прошлые дни файлы сжимаются в .gz.
+ *
+ * Очередь ограничена: если диск не успевает и очередь переполнена, новые
+ * записи отбрасываются, а их число пишется в журнал отдельной строкой.
+ * Настройки читаются из секции audit в config.yml.
+ */
+public class AuditLogger {
+
+    /** Категория: сообщение в общий чат */
+    public static final String CHAT = "CHAT";
+
+    /** Категория: личное сообщение (/msg, /r) */
+    public static final String MSG = "MSG";
+
+    /** Категория: команда модерации */
+    public static final String COMMAND = "CMD";
+
+    /** Максимальный размер одной пачки записи */
+    private static final int BATCH_SIZE = 256;
+
+    /** Формат времени строки журнала */
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Папка журналов */
+    private final File folder;
+
+    /** Очередь записей (много производителей, один потребитель) */
+    private final Queue<AuditRecord> queue = new ConcurrentLinkedQueue<>();
+
+    /** Текущий размер очереди (ConcurrentLinkedQueue.size() — O(n)) */
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    /** Отброшенные записи с момента последней отметки в журнале */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Отброшенные записи за всё время работы */
+    private final AtomicLong droppedTotal = new AtomicLong();
+
+    /** Часовой пояс для дат в журнале */
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /** Включён ли журнал */
+    private final boolean enabled;
+
+    /** Максимальный размер очереди */
+    private final int maxBacklog;
+
+    /** Интервал сброса на диск (нс) */
+    private final long flushIntervalNanos;
+
+    /** Фоновый поток записи */
+    private Thread writerThread;
+
+    /** Работает ли фоновый поток */
+    private volatile boolean running;
+
+    // Состояние, которым владеет только поток записи
+
+    /** Открытый файл текущего дня */
+    private BufferedWriter writer;
+
+    /** Дата открытого файла */
+    private LocalDate currentDay;
+
+    /** Начало следующего дня (мс) — момент ротации */
+    private long nextDayStartMillis;
+
+    /**
+     * Создать журнал аудита и запустить поток записи.
+     * @param plugin экземпляр плагина
+     */
+    public AuditLogger(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "audit");
+
+        FileConfiguration config = plugin.getConfig();
+        this.enabled = config.getBoolean("audit.enabled", true);
+        this.maxBacklog = Math.max(BATCH_SIZE, config.getInt("audit.max-backlog", 10000));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(50L, config.getLong("audit.flush-interval-ms", 1000L)));
+
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * Запустить поток записи.
+     */
+    private void start() {
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "ExpiCore-Audit");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // ==================== ЗАПИСЬ СОБЫТИЙ ====================
+
+    /**
+     * Записать событие в журнал. Безопасно из любого потока, не блокирует.
+     * @param category категория (CHAT, MSG, CMD)
+     * @param actor кто совершил действие
+     * @param text текст события
+     */
+    public void log(String category, String actor, String text) {
+        if (!running) return;
+
+        // Очередь переполнена — диск не успевает, отбрасываем запись
+        if (backlog.incrementAndGet() > maxBacklog) {
+            backlog.decrementAndGet();
+            dropped.incrementAndGet();
+            droppedTotal.incrementAndGet();
+            return;
+        }
+        queue.offer(new AuditRecord(System.currentTimeMillis(), category, actor, text));
+
+        // Набралась полная пачка — будим поток записи, не дожидаясь таймера
+        if (backlog.get() == BATCH_SIZE) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Записать выполненную команду.
+     * @param sender отправитель команды
+     * @param command имя команды
+     * @param args аргументы
+     */
+    public void logCommand(CommandSender sender, String command, String[] args) {
+        if (!running) return;
+        String text = args.length == 0 ? "/" + command : "/" + command + " " + String.join(" ", args);
+        log(COMMAND, sender.getName(), text);
+    }
+
+    /**
+     * Текущий размер очереди.
+     * @return число ожидающих записей
+     */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Число записей, отброшенных из-за переполнения очереди.
+     * @return количество за всё время работы
+     */
+    public long getDroppedTotal() {
+        return droppedTotal.get();
+    }
+
+    /**
+     * Включён ли журнал.
+     * @return true если записи принимаются
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Остановить журнал: дописать очередь и закрыть файл.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== ПОТОК ЗАПИСИ ====================
+
+    /**
+     * Цикл потока записи: забираем пачку, пишем, сбрасываем на диск, спим.
+     */
+    private void runWriter() {
+        compressOldLogs();
+
+        List<AuditRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            boolean stopping = !running;
+
+            AuditRecord record;
+            while (batch.size() < BATCH_SIZE && (record = queue.poll()) != null) {
+                batch.add(record);
+            }
+
+            if (!batch.isEmpty()) {
+                backlog.addAndGet(-batch.size());
+                writeBatch(batch);
+                batch.clear();
+                continue;
+            }
+
+            if (stopping) break;
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+
+        closeWriter();
+    }
+
+    /**
+     * Записать пачку записей и один раз сбросить буфер на диск.
+     * @param batch записи в порядке поступления
+     */
+    private void writeBatch(List<AuditRecord> batch) {
+        try {
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                ensureFile(batch.get(0).time);
+                writer.write("--- отброшено записей (очередь переполнена): " + lost);
+                writer.newLine();
+            }
+
+            for (AuditRecord record : batch) {
+                ensureFile(record.time);
+                writer.write(TIME_FORMAT.format(Instant.ofEpochMilli(record.time).atZone(zone)));
+                writer.write(" [");
+                writer.write(record.category);
+                writer.write("] ");
+                writer.write(record.actor);
+                writer.write(": ");
+                writer.write(sanitize(record.text));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Ошибка записи журнала аудита: " + e.getMessage());
+            dropped.addAndGet(batch.size());
+            droppedTotal.addAndGet(batch.size());
+            closeWriter();
+        }
+    }
+
+    /**
+     * Открыть файл дня записи; при смене дня — закрыть и сжать предыдущий.
+     * @param time время записи (мс)
+     * @throws IOException если файл не удалось открыть
+     */
+    private void ensureFile(long time) throws IOException {
+        if (writer != null && time < nextDayStartMillis) return;
+
+        LocalDate day = Instant.ofEpochMilli(time).atZone(zone).toLocalDate();
+        LocalDate previous = currentDay;
+        closeWriter();
+        if (previous != null && !previous.equals(day)) {
+            compress(new File(folder, previous + ".log"));
+        }
+
+        currentDay = day;
+        nextDayStartMillis = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        OutputStream out = new FileOutputStream(new File(folder, day + ".log"), true);
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * Закрыть текущий файл журнала.
+     */
+    private void closeWriter() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Ошибка закрытия журнала аудита: " + e.getMessage());
+        }
+        writer = null;
+    }
+
+    /**
+     * Сжать несжатые журналы прошлых дней (остались после сбоя или перезапуска).
+     */
+    private void compressOldLogs() {
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".log"));
+        if (files == null) return;
+
+        String today = ZonedDateTime.now(zone).toLocalDate() + ".log";
+        for (File file : files) {
+            if (!file.getName().equals(today)) {
+                compress(file);
+            }
+        }
+    }
+
+    /**
+     * Сжать закрытый файл журнала в .gz и удалить исходный.
+     * Если архив с таким именем уже есть — добавляется номер.
+     * @param file файл журнала
+     */
+    private void compress(File file) {
+        if (!file.exists()) return;
+
+        String base = file.getName().substring(0, file.getName().length() - ".log".length());
+        File target = new File(folder, base + ".log.gz");
+        for (int i = 1; target.exists(); i++) {
+            target = new File(folder, base + "." + i + ".log.gz");
+        }
+
+        File temp = new File(folder, target.getName() + ".tmp");
+        try (InputStream in = new FileInputStream(file);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(temp), 64 * 1024)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Ошибка сжатия журнала " + file.getName() + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+
+        if (temp.renameTo(target)) {
+            file.delete();
+        } else {
+            temp.delete();
+        }
+    }
+
+    /**
+     * Убрать переводы строк, чтобы одна запись всегда занимала одну строку.
+     * @param text исходный текст
+     * @return текст без \n и \r
+     */
+    private static String sanitize(String text) {
+        if (text == null) return "";
+        if (text.indexOf('\n') < 0 && text.indexOf('\r') < 0) return text;
+        return text.replace('\n', ' ').replace('\r', ' ');
+    }
+
+    // ==================== ЗАПИСЬ ОЧЕРЕДИ ====================
+
+    /**
+     * Одна запись журнала.
+     */
+    private static final class AuditRecord {
+
+        /** Время события (мс) */
+        final long time;
+
+        /** Категория */
+        final String category;
+
+        /** Кто совершил действие */
+        final String actor;
+
+        /** Текст события */
+        final String text;
+
+        AuditRecord(long time, String category, String actor, String text) {
+            this.time = time;
+            this.category = category;
+            this.actor = actor;
+            this.text = text;
+        }
+    }
+}
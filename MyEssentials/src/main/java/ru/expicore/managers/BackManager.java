@@ -0,0 +1,131 @@
+package ru.expicore.managers;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+
+import java.util.UUID;
+
+/**
+ * История предыдущих позиций игроков для /back.
+ * Каждый телепорт через TeleportService и каждая смерть записывают точку,
+ * откуда игрок ушёл. У каждого игрока — кольцевой буфер фиксированной
+ * ёмкости (back.history-size): при переполнении затирается самая старая точка.
+ *
+ * Точки хранятся не объектами Location, а примитивами в общих массивах
+ * по номеру слота ({@link PlayerSlots}): координаты, поворот и номер мира
+ * в {@link WorldRegistry}. Буфер освобождается при выходе игрока.
+ * Все методы вызываются из основного потока.
+ */
+public class BackManager {
+
+    /** Начальное число слотов в массивах */
+    private static final int INITIAL_SLOTS = 32;
+
+    /** Ёмкость буфера одного игрока (меняется только перезапуском) */
+    private final int capacity;
+
+    /** Номера слотов игроков */
+    private final PlayerSlots slots = new PlayerSlots();
+
+    /** Координаты: [(слот * capacity + i) * 3 + x|y|z] */
+    private double[] coords;
+
+    /** Поворот: [(слот * capacity + i) * 2 + yaw|pitch] */
+    private float[] angles;
+
+    /** Номер мира точки: [слот * capacity + i] */
+    private int[] worlds;
+
+    /** Позиция следующей записи в буфере по слоту */
+    private int[] heads = new int[INITIAL_SLOTS];
+
+    /** Количество точек в буфере по слоту */
+    private int[] counts = new int[INITIAL_SLOTS];
+
+    /** Реестр миров */
+    private final WorldRegistry registry;
+
+    /**
+     * Создать менеджер истории позиций.
+     * @param plugin экземпляр плагина
+     */
+    public BackManager(ExpiCore plugin) {
+        this.registry = plugin.getWorldRegistry();
+        this.capacity = Math.max(1, Math.min(64, plugin.getConfig().getInt("back.history-size", 5)));
+        this.coords = new double[INITIAL_SLOTS * capacity * 3];
+        this.angles = new float[INITIAL_SLOTS * capacity * 2];
+        this.worlds = new int[INITIAL_SLOTS * capacity];
+    }
+
+    /**
+     * Записать точку, откуда игрок уходит.
+     * @param player игрок
+     * @param from предыдущая позиция
+     */
+    public void record(Player player, Location from) {
+        World world = from.getWorld();
+        if (world == null) return;
+
+        int slot = slots.acquire(player.getUniqueId());
+        if (slot >= heads.length) {
+            heads = PlayerSlots.ensure(heads, slot, 1);
+            counts = PlayerSlots.ensure(counts, slot, 1);
+        }
+        coords = PlayerSlots.ensure(coords, slot, capacity * 3);
+        angles = PlayerSlots.ensure(angles, slot, capacity * 2);
+        worlds = PlayerSlots.ensure(worlds, slot, capacity);
+
+        int entry = slot * capacity + heads[slot];
+        coords[entry * 3] = from.getX();
+        coords[entry * 3 + 1] = from.getY();
+        coords[entry * 3 + 2] = from.getZ();
+        angles[entry * 2] = from.getYaw();
+        angles[entry * 2 + 1] = from.getPitch();
+        worlds[entry] = registry.idOf(world);
+
+        heads[slot] = (heads[slot] + 1) % capacity;
+        if (counts[slot] < capacity) counts[slot]++;
+    }
+
+    /**
+     * Сколько точек в истории игрока.
+     * @param uuid UUID игрока
+     * @return число точек
+     */
+    public int size(UUID uuid) {
+        int slot = slots.get(uuid);
+        return slot >= 0 ? counts[slot] : 0;
+    }
+
+    /**
+     * Получить точку из истории.
+     * @param uuid UUID игрока
+     * @param n номер точки: 1 — последняя, 2 — предпоследняя и т.д.
+     * @return точка или null, если её нет или мир не загружен
+     */
+    public Location get(UUID uuid, int n) {
+        int slot = slots.get(uuid);
+        if (slot < 0 || n < 1 || n > counts[slot]) return null;
+
+        int entry = slot * capacity + (heads[slot] - n + capacity) % capacity;
+        World world = registry.getWorld(worlds[entry]);
+        if (world == null) return null;
+
+        return new Location(world,
+                coords[entry * 3], coords[entry * 3 + 1], coords[entry * 3 + 2],
+                angles[entry * 2], angles[entry * 2 + 1]);
+    }
+
+    /**
+     * Освободить буфер вышедшего игрока.
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        int slot = slots.release(uuid);
+        if (slot < 0) return;
+        heads[slot] = 0;
+        counts[slot] = 0;
+    }
+}
@@ -0,0 +1,208 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import ru.expicore.ExpiCore;
+
+import java.util.IllegalFormatException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Менеджер каналов чата: локальный, общий и чат персонала.
+ * Локальные получатели берутся из {@link PlayerGrid} — индекс обновляется
+ * событиями движения, поэтому сообщение не перебирает весь онлайн.
+ * Общий чат — сообщение с префиксом (по умолчанию "!"), чат персонала —
+ * с префиксом "#" и правом expicore.chat.staff.
+ * Настройки читаются из секции chat в config.yml.
+ */
+public class ChatChannelManager {
+
+    /** Право на чтение и отправку сообщений в чат персонала */
+    public static final String STAFF_PERMISSION = "expicore.chat.staff";
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Пространственный индекс онлайн-игроков */
+    private final PlayerGrid grid = new PlayerGrid();
+
+    /**
+     * Игроки онлайн с правом чата персонала.
+     * Право проверяется при входе и при перезагрузке.
+     */
+    private final Map<UUID, Player> staffOnline = new ConcurrentHashMap<>();
+
+    /** Включены ли каналы */
+    private volatile boolean enabled;
+
+    /** Радиус локального чата */
+    private volatile double localRadius;
+
+    /** Префикс общего чата */
+    private volatile String globalPrefix;
+
+    /** Префикс чата персонала */
+    private volatile String staffPrefix;
+
+    /** Формат локального чата */
+    private volatile String localFormat;
+
+    /** Формат общего чата */
+    private volatile String globalFormat;
+
+    /** Формат чата персонала */
+    private volatile String staffFormat;
+
+    /**
+     * Создать менеджер каналов и прочитать настройки.
+     * @param plugin экземпляр плагина
+     */
+    public ChatChannelManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Перечитать настройки из config.yml и перестроить индекс игроков.
+     * Вызывается из основного потока.
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        this.localRadius = Math.max(1.0, config.getDouble("chat.local-radius", 100.0));
+        this.globalPrefix = config.getString("chat.global-prefix", "!");
+        this.staffPrefix = config.getString("chat.staff-prefix", "#");
+        this.localFormat = loadFormat(config, "chat.local-format", "&7[L] &r%1$s&7: &f%2$s");
+        this.globalFormat = loadFormat(config, "chat.global-format", "&6[G] &r%1$s&7: &f%2$s");
+        this.staffFormat = loadFormat(config, "chat.staff-format", "&c[Staff] &r%1$s&7: &f%2$s");
+        this.enabled = config.getBoolean("chat.channels-enabled", false);
+
+        grid.clear();
+        staffOnline.clear();
+        if (!enabled) return;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            trackJoin(player);
+        }
+    }
+
+    /**
+     * Прочитать формат чата и проверить, что он подходит для String.format.
+     * @param config конфигурация
+     * @param path путь к формату
+     * @param def формат по умолчанию
+     * @return раскрашенный формат
+     */
+    private String loadFormat(FileConfiguration config, String path, String def) {
+        String format = ChatColor.translateAlternateColorCodes('&', config.getString(path, def));
+        try {
+            String.format(format, "", "");
+            return format;
+        } catch (IllegalFormatException e) {
+            plugin.getLogger().warning("Неверный формат чата " + path + ": " + e.getMessage());
+            return ChatColor.translateAlternateColorCodes('&', def);
+        }
+    }
+
+    /**
+     * Включены ли каналы чата.
+     * @return true если включены
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ==================== ИНДЕКС ИГРОКОВ ====================
+
+    /**
+     * Добавить игрока в индекс при входе.
+     * @param player игрок
+     */
+    public void trackJoin(Player player) {
+        if (!enabled) return;
+        grid.update(player, player.getLocation());
+        if (player.hasPermission(STAFF_PERMISSION)) {
+            staffOnline.put(player.getUniqueId(), player);
+        }
+    }
+
+    /**
+     * Обновить позицию игрока (движение, телепорт, возрождение).
+     * @param player игрок
+     * @param to новая позиция
+     */
+    public void trackMove(Player player, Location to) {
+        if (!enabled) return;
+        grid.update(player, to);
+    }
+
+    /**
+     * Убрать игрока из индекса при выходе.
+     * @param uuid UUID игрока
+     */
+    public void trackQuit(UUID uuid) {
+        grid.remove(uuid);
+        staffOnline.remove(uuid);
+    }
+
+    // ==================== МАРШРУТИЗАЦИЯ ====================
+
+    /**
+     * Определить канал сообщения и оставить в событии только его получателей.
+     * Вызывается из асинхронного обработчика чата.
+     * @param event событие чата
+     */
+    public void route(AsyncPlayerChatEvent event) {
+        Player player = event.getPlayer();
+        String message = event.getMessage();
+
+        // Чат персонала
+        if (hasPrefix(message, staffPrefix) && player.hasPermission(STAFF_PERMISSION)) {
+            Set<Player> recipients = event.getRecipients();
+            recipients.clear();
+            recipients.addAll(staffOnline.values());
+            recipients.add(player);
+            event.setMessage(message.substring(staffPrefix.length()).trim());
+            event.setFormat(staffFormat);
+            return;
+        }
+
+        // Общий чат — получатели не меняются
+        if (hasPrefix(message, globalPrefix)) {
+            event.setMessage(message.substring(globalPrefix.length()).trim());
+            event.setFormat(globalFormat);
+            return;
+        }
+
+        // Игрок ещё не попал в индекс — сообщение уходит как обычно
+        if (!grid.contains(player.getUniqueId())) return;
+
+        // Локальный чат: получатели — игроки из ближайших ячеек индекса
+        Set<Player> recipients = event.getRecipients();
+        recipients.clear();
+        grid.collectNearby(player, localRadius, recipients);
+        recipients.add(player);
+        event.setFormat(localFormat);
+
+        if (recipients.size() == 1) {
+            player.sendMessage(plugin.getMessageManager().get(player, MessageKey.CHAT_NOBODY_NEARBY));
+        }
+    }
+
+    /**
+     * Начинается ли сообщение с префикса канала (и есть ли после него текст).
+     * @param message текст сообщения
+     * @param prefix префикс канала
+     * @return true если сообщение адресовано каналу
+     */
+    private static boolean hasPrefix(String message, String prefix) {
+        return prefix != null && !prefix.isEmpty()
+                && message.length() > prefix.length() && message.startsWith(prefix);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.expicore.managers;
+
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Счётчик удержаний чанков тикетом плагина.
+ * У плагина на чанк всего один тикет: addPluginChunkTicket повторно ничего
+ * не добавляет, а removePluginChunkTicket снимает его целиком. Поэтому
+ * TeleportService и пулы /rtp удерживают чанки через этот счётчик — тикет
+ * ставится при первом удержании и снимается при последнем освобождении.
+ * Все методы вызываются из основного потока.
+ */
+public class ChunkTickets {
+
+    /** Плагин — владелец тикетов */
+    private final Plugin plugin;
+
+    /** Число удержаний по UUID мира и ключу чанка */
+    private final Map<UUID, Map<Long, Integer>> holds = new HashMap<>();
+
+    /**
+     * Создать счётчик тикетов.
+     * @param plugin плагин — владелец тикетов
+     */
+    public ChunkTickets(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Удержать чанк загруженным.
+     * @param world мир
+     * @param chunkX координата X чанка
+     * @param chunkZ координата Z чанка
+     */
+    public void retain(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = holds.computeIfAbsent(world.getUID(), k -> new HashMap<>());
+        if (counts.merge(chunkKey(chunkX, chunkZ), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        }
+    }
+
+    /**
+     * Освободить одно удержание чанка; тикет снимается с последним.
+     * @param world мир
+     * @param chunkX координата X чанка
+     * @param chunkZ координата Z чанка
+     */
+    public void release(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> counts = holds.get(world.getUID());
+        if (counts == null) return;
+
+        long key = chunkKey(chunkX, chunkZ);
+        Integer count = counts.get(key);
+        if (count == null) return;
+        if (count > 1) {
+            counts.put(key, count - 1);
+            return;
+        }
+        counts.remove(key);
+        if (counts.isEmpty()) {
+            holds.remove(world.getUID());
+        }
+        world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+    }
+
+    /**
+     * Ключ чанка.
+     * @param chunkX координата X чанка
+     * @param chunkZ координата Z чанка
+     * @return ключ
+     */
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
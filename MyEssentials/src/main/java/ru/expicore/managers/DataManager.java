@@ -1,7 +1,6 @@
 package ru.expicore.managers;
 
 import com.google.gson.*;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import ru.expicore.ExpiCore;
@@ -20,6 +19,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * - spawn.json — глобальная точка спавна
  *
  * Все операции с файлами используют UTF-8 для корректной работы с кириллицей.
+ * Миры точек берутся из {@link WorldRegistry}: если мир точки не загружен,
+ * get-методы возвращают null, а get...World — имя этого мира.
  */
 public class DataManager {
 
@@ -53,12 +54,29 @@ public class DataManager {
      */
     private volatile LocationData spawnLocation = null;
 
+    /** Пространственный индекс домов и варпов */
+    private final LocationIndex locationIndex;
+
+    /** Названия домов игроков для автодополнения: UUID -> названия */
+    private final Map<String, NameIndex> homeNameIndex = new ConcurrentHashMap<>();
+
+    /** Названия варпов для автодополнения */
+    private final NameIndex warpNameIndex = new NameIndex();
+
+    /** Названия китов для автодополнения */
+    private final NameIndex kitNameIndex = new NameIndex();
+
+    /** Запись homes.json (синхронная и асинхронная не затирают друг друга) */
+    private final JsonFileWriter homesWriter;
+
     /**
      * Создать менеджер данных и загрузить все файлы.
      * @param plugin экземпляр главного плагина
      */
     public DataManager(ExpiCore plugin) {
         this.plugin = plugin;
+        this.locationIndex = new LocationIndex(plugin.getConfig().getInt("location-index.cell-size", 64));
+        this.homesWriter = new JsonFileWriter(plugin, "homes.json", gson);
         // Создаём папку данных если не существует
         if (!plugin.getDataFolder().exists()) {
             plugin.getDataFolder().mkdirs();
@@ -139,6 +157,8 @@ public class DataManager {
                 for (Map.Entry<String, JsonElement> homeEntry : homesObj.entrySet()) {
                     LocationData loc = gson.fromJson(homeEntry.getValue(), LocationData.class);
                     playerHomes.put(homeEntry.getKey(), loc);
+                    locationIndex.putHome(uuid, homeEntry.getKey(), loc);
+                    homeNames(uuid).add(homeEntry.getKey());
                 }
             }
             homes.put(uuid, playerHomes);
@@ -150,15 +170,42 @@ public class DataManager {
      * Сохранить дома в homes.json.
      */
     private void saveHomes() {
-        JsonObject root = new JsonObject();
+        homesWriter.save(this::copyHomes, this::homesToJson, false);
+    }
+
+    /**
+     * Сохранить дома в homes.json в асинхронной задаче: в основном потоке
+     * снимается только копия карты домов. Используется после импорта,
+     * когда домов так много, что запись заметно остановила бы сервер.
+     */
+    public void saveHomesAsync() {
+        homesWriter.save(this::copyHomes, this::homesToJson, true);
+    }
+
+    /**
+     * Копия карты домов (сами LocationData после создания не меняются).
+     */
+    private Map<String, Map<String, LocationData>> copyHomes() {
+        Map<String, Map<String, LocationData>> copy = new HashMap<>(homes.size() * 2);
         for (Map.Entry<String, Map<String, LocationData>> entry : homes.entrySet()) {
+            copy.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Построить JSON домов по копии.
+     */
+    private JsonObject homesToJson(Map<String, Map<String, LocationData>> copy) {
+        JsonObject root = new JsonObject();
+        for (Map.Entry<String, Map<String, LocationData>> entry : copy.entrySet()) {
             JsonObject playerHomes = new JsonObject();
             for (Map.Entry<String, LocationData> homeEntry : entry.getValue().entrySet()) {
                 playerHomes.add(homeEntry.getKey(), gson.toJsonTree(homeEntry.getValue()));
             }
             root.add(entry.getKey(), playerHomes);
         }
-        writeJsonFile("homes.json", root);
+        return root;
     }
 
     /**
@@ -168,8 +215,11 @@ public class DataManager {
      * @param location локация
      */
     public void setHome(String uuid, String name, Location location) {
-        homes.computeIfAbsent(uuid, k -> new HashMap<>())
-                .put(name.toLowerCase(), LocationData.fromBukkit(location));
+        LocationData data = LocationData.fromBukkit(location);
+        homes.computeIfAbsent(uuid, k -> new HashMap<>()).put(name.toLowerCase(), data);
+        locationIndex.putHome(uuid, name.toLowerCase(), data);
+        homeNames(uuid).add(name.toLowerCase());
+        homesChanged(uuid);
         saveHomes();
     }
 
@@ -183,7 +233,31 @@ public class DataManager {
         Map<String, LocationData> playerHomes = homes.get(uuid);
         if (playerHomes == null) return null;
         LocationData data = playerHomes.get(name.toLowerCase());
-        return data != null ? data.toBukkit() : null;
+        return data != null ? data.toBukkit(plugin.getWorldRegistry()) : null;
+    }
+
+    /**
+     * Сохранённая точка дома игрока (без обращения к миру).
+     * @param uuid UUID игрока
+     * @param name название дома
+     * @return точка или null если дом не найден
+     */
+    public LocationData getHomeData(String uuid, String name) {
+        Map<String, LocationData> playerHomes = homes.get(uuid);
+        return playerHomes != null ? playerHomes.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * Мир дома игрока (в том числе не загруженный).
+     * @param uuid UUID игрока
+     * @param name название дома
+     * @return имя мира или null если дом не найден
+     */
+    public String getHomeWorld(String uuid, String name) {
+        Map<String, LocationData> playerHomes = homes.get(uuid);
+        if (playerHomes == null) return null;
+        LocationData data = playerHomes.get(name.toLowerCase());
+        return data != null ? data.world : null;
     }
 
     /**
@@ -196,7 +270,32 @@ public class DataManager {
         Map<String, LocationData> playerHomes = homes.get(uuid);
         if (playerHomes == null) return false;
         boolean removed = playerHomes.remove(name.toLowerCase()) != null;
-        if (removed) saveHomes();
+        if (removed) {
+            locationIndex.removeHome(uuid, name.toLowerCase());
+            homeNames(uuid).remove(name);
+            homesChanged(uuid);
+            saveHomes();
+        }
+        return removed;
+    }
+
+    /**
+     * Удалить несколько домов с одним сохранением файла.
+     * @param found дома из {@link LocationIndex}
+     * @return сколько домов удалено
+     */
+    public int deleteHomes(Collection<LocationIndex.Entry> found) {
+        int removed = 0;
+        for (LocationIndex.Entry entry : found) {
+            if (entry.getType() != LocationIndex.Type.HOME) continue;
+            Map<String, LocationData> playerHomes = homes.get(entry.getOwner());
+            if (playerHomes == null || playerHomes.remove(entry.getName()) == null) continue;
+            locationIndex.removeHome(entry.getOwner(), entry.getName());
+            homeNames(entry.getOwner()).remove(entry.getName());
+            homesChanged(entry.getOwner());
+            removed++;
+        }
+        if (removed > 0) saveHomes();
         return removed;
     }
 
@@ -210,6 +309,93 @@ public class DataManager {
         return playerHomes != null ? playerHomes.keySet() : Collections.emptySet();
     }
 
+    /**
+     * Добавить импортированные дома игрока без записи на диск
+     * (сохранение — {@link #saveHomesAsync()} после импорта).
+     * Дома с уже занятыми названиями не перезаписываются.
+     * @param uuid UUID игрока
+     * @param imported название -> точка
+     * @return сколько домов добавлено
+     */
+    public int importHomes(String uuid, Map<String, LocationData> imported) {
+        Map<String, LocationData> playerHomes = homes.computeIfAbsent(uuid, k -> new HashMap<>());
+        int added = 0;
+        for (Map.Entry<String, LocationData> entry : imported.entrySet()) {
+            if (playerHomes.putIfAbsent(entry.getKey(), entry.getValue()) != null) continue;
+            locationIndex.putHome(uuid, entry.getKey(), entry.getValue());
+            homeNames(uuid).add(entry.getKey());
+            added++;
+        }
+        if (added > 0) homesChanged(uuid);
+        return added;
+    }
+
+    /**
+     * Игроки, у которых есть дома.
+     * @return набор UUID
+     */
+    public Set<String> getHomeOwners() {
+        return homes.keySet();
+    }
+
+    /**
+     * Удалить дома сверх лимита с одним сохранением файла.
+     * Остаются дом "home" и первые по алфавиту названия.
+     * @param limits UUID игрока -> сколько домов оставить
+     * @return сколько домов удалено
+     */
+    public int trimHomes(Map<String, Integer> limits) {
+        int removed = 0;
+        for (Map.Entry<String, Integer> entry : limits.entrySet()) {
+            String uuid = entry.getKey();
+            Map<String, LocationData> playerHomes = homes.get(uuid);
+            if (playerHomes == null || playerHomes.size() <= entry.getValue()) continue;
+
+            List<String> names = new ArrayList<>(playerHomes.keySet());
+            names.sort(Comparator.comparing((String name) -> !name.equalsIgnoreCase("home"))
+                    .thenComparing(Comparator.naturalOrder()));
+            for (String name : names.subList(entry.getValue(), names.size())) {
+                playerHomes.remove(name);
+                locationIndex.removeHome(uuid, name);
+                homeNames(uuid).remove(name);
+                removed++;
+            }
+            homesChanged(uuid);
+        }
+        if (removed > 0) saveHomes();
+        return removed;
+    }
+
+    /**
+     * Названия домов игрока, начинающиеся с префикса.
+     * @param uuid UUID игрока
+     * @param prefix введённая часть названия
+     * @param limit максимум результатов
+     * @return названия домов
+     */
+    public List<String> completeHomes(String uuid, String prefix, int limit) {
+        NameIndex index = homeNameIndex.get(uuid);
+        return index != null ? index.complete(prefix, limit) : Collections.emptyList();
+    }
+
+    /**
+     * Дома игрока изменились — сбросить страницы GUI-списка.
+     * @param uuid UUID игрока
+     */
+    private void homesChanged(String uuid) {
+        LocationBrowser browser = plugin.getLocationBrowser();
+        if (browser != null) browser.invalidateHomes(uuid);
+    }
+
+    /**
+     * Набор названий домов игрока для автодополнения.
+     * @param uuid UUID игрока
+     * @return набор (создаётся при первом обращении)
+     */
+    private NameIndex homeNames(String uuid) {
+        return homeNameIndex.computeIfAbsent(uuid, k -> new NameIndex());
+    }
+
     // ==================== ВАРПЫ ====================
 
     /**
@@ -223,6 +409,8 @@ public class DataManager {
         for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
             LocationData loc = gson.fromJson(entry.getValue(), LocationData.class);
             warps.put(entry.getKey().toLowerCase(), loc);
+            locationIndex.putWarp(entry.getKey().toLowerCase(), loc);
+            warpNameIndex.add(entry.getKey().toLowerCase());
         }
         plugin.getLogger().info("Загружено " + warps.size() + " варпов.");
     }
@@ -244,7 +432,11 @@ public class DataManager {
      * @param location локация
      */
     public void setWarp(String name, Location location) {
-        warps.put(name.toLowerCase(), LocationData.fromBukkit(location));
+        LocationData data = LocationData.fromBukkit(location);
+        warps.put(name.toLowerCase(), data);
+        locationIndex.putWarp(name.toLowerCase(), data);
+        warpNameIndex.add(name.toLowerCase());
+        warpsChanged();
         saveWarps();
     }
 
@@ -255,7 +447,26 @@ public class DataManager {
      */
     public Location getWarp(String name) {
         LocationData data = warps.get(name.toLowerCase());
-        return data != null ? data.toBukkit() : null;
+        return data != null ? data.toBukkit(plugin.getWorldRegistry()) : null;
+    }
+
+    /**
+     * Сохранённая точка варпа (без обращения к миру).
+     * @param name название варпа
+     * @return точка или null если варп не найден
+     */
+    public LocationData getWarpData(String name) {
+        return warps.get(name.toLowerCase());
+    }
+
+    /**
+     * Мир варпа (в том числе не загруженный).
+     * @param name название варпа
+     * @return имя мира или null если варп не найден
+     */
+    public String getWarpWorld(String name) {
+        LocationData data = warps.get(name.toLowerCase());
+        return data != null ? data.world : null;
     }
 
     /**
@@ -265,7 +476,12 @@ public class DataManager {
      */
     public boolean deleteWarp(String name) {
         boolean removed = warps.remove(name.toLowerCase()) != null;
-        if (removed) saveWarps();
+        if (removed) {
+            locationIndex.removeWarp(name.toLowerCase());
+            warpNameIndex.remove(name);
+            warpsChanged();
+            saveWarps();
+        }
         return removed;
     }
 
@@ -277,6 +493,34 @@ public class DataManager {
         return warps.keySet();
     }
 
+    /**
+     * Варпы изменились — сбросить страницы GUI-списка.
+     */
+    private void warpsChanged() {
+        LocationBrowser browser = plugin.getLocationBrowser();
+        if (browser != null) browser.invalidateWarps();
+    }
+
+    /**
+     * Названия варпов, начинающиеся с префикса.
+     * @param prefix введённая часть названия
+     * @param limit максимум результатов
+     * @return названия варпов
+     */
+    public List<String> completeWarps(String prefix, int limit) {
+        return warpNameIndex.complete(prefix, limit);
+    }
+
+    // ==================== ПОИСК ПО МЕСТУ ====================
+
+    /**
+     * Пространственный индекс домов и варпов.
+     * @return индекс
+     */
+    public LocationIndex getLocationIndex() {
+        return locationIndex;
+    }
+
     // ==================== КИТЫ ====================
 
     /**
@@ -295,6 +539,7 @@ public class DataManager {
                 }
             }
             kits.put(entry.getKey().toLowerCase(), items);
+            kitNameIndex.add(entry.getKey().toLowerCase());
         }
         plugin.getLogger().info("Загружено " + kits.size() + " китов.");
     }
@@ -321,6 +566,8 @@ public class DataManager {
      */
     public void setKit(String name, List<String> items) {
         kits.put(name.toLowerCase(), items);
+        kitNameIndex.add(name.toLowerCase());
+        kitChanged(name);
         saveKits();
     }
 
@@ -340,7 +587,11 @@ public class DataManager {
      */
     public boolean deleteKit(String name) {
         boolean removed = kits.remove(name.toLowerCase()) != null;
-        if (removed) saveKits();
+        if (removed) {
+            kitNameIndex.remove(name);
+            kitChanged(name);
+            saveKits();
+        }
         return removed;
     }
 
@@ -352,6 +603,25 @@ public class DataManager {
         return kits.keySet();
     }
 
+    /**
+     * Кит изменился — сбросить его декодированный шаблон.
+     * @param name название кита
+     */
+    private void kitChanged(String name) {
+        KitManager kitManager = plugin.getKitManager();
+        if (kitManager != null) kitManager.invalidate(name);
+    }
+
+    /**
+     * Названия китов, начинающиеся с префикса.
+     * @param prefix введённая часть названия
+     * @param limit максимум результатов
+     * @return названия китов
+     */
+    public List<String> completeKits(String prefix, int limit) {
+        return kitNameIndex.complete(prefix, limit);
+    }
+
     // ==================== СПАВН ====================
 
     /**
@@ -386,7 +656,17 @@ public class DataManager {
      * @return Location или null если не установлена
      */
     public Location getSpawn() {
-        return spawnLocation != null ? spawnLocation.toBukkit() : null;
+        LocationData data = spawnLocation;
+        return data != null ? data.toBukkit(plugin.getWorldRegistry()) : null;
+    }
+
+    /**
+     * Мир точки спавна (в том числе не загруженный).
+     * @return имя мира или null если спавн не установлен
+     */
+    public String getSpawnWorld() {
+        LocationData data = spawnLocation;
+        return data != null ? data.world : null;
     }
 
     // ==================== ВСПОМОГАТЕЛЬНЫЙ КЛАСС ====================
@@ -408,6 +688,8 @@ public class DataManager {
         public float yaw;
         /** Угол поворота (вертикальный) */
         public float pitch;
+        /** Номер мира в WorldRegistry (не сохраняется, -1 — ещё не получен) */
+        transient int worldId = -1;
 
         /**
          * Создать LocationData из Bukkit Location.
@@ -427,10 +709,12 @@ public class DataManager {
 
         /**
          * Преобразовать в Bukkit Location.
-         * @return Bukkit-локация или null если мир не найден
+         * @param registry реестр миров
+         * @return Bukkit-локация или null если мир не загружен
          */
-        public Location toBukkit() {
-            World w = Bukkit.getWorld(world);
+        public Location toBukkit(WorldRegistry registry) {
+            if (worldId < 0) worldId = registry.intern(world);
+            World w = registry.getWorld(worldId);
             if (w == null) return null;
             return new Location(w, x, y, z, yaw, pitch);
         }
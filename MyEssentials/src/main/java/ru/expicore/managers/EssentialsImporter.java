@@ -0,0 +1,411 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Импорт домов, мутов, банов и списков игнорирования из EssentialsX
+ * (файлы userdata/UUID.yml).
+ *
+ * Файлы разбираются параллельно в отдельном ForkJoinPool (import.threads),
+ * разобранные игроки складываются в очередь. Основной поток каждый тик
+ * переносит из очереди не больше import.batch-size игроков в DataManager,
+ * PunishmentManager и IgnoreManager без записи на диск; файлы сохраняются
+ * один раз в конце, в асинхронных задачах. Уже существующие дома и наказания не перезаписываются.
+ * Ход импорта раз в 5 секунд сообщается запустившему.
+ */
+public class EssentialsImporter {
+
+    /** Сколько файлов разбирать в одной задаче без деления */
+    private static final int SPLIT_THRESHOLD = 64;
+
+    /** Период сообщений о ходе импорта (тики) */
+    private static final long PROGRESS_PERIOD = 100L;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Разобранные, но ещё не перенесённые игроки */
+    private final Queue<ImportedUser> parsed = new ConcurrentLinkedQueue<>();
+
+    /** Разобрано файлов */
+    private final AtomicInteger parsedFiles = new AtomicInteger();
+
+    /** Файлов с ошибками (не UUID в имени) */
+    private final AtomicInteger failedFiles = new AtomicInteger();
+
+    /** Идёт ли импорт */
+    private volatile boolean running;
+
+    /** Разбор всех файлов завершён */
+    private volatile boolean parsingDone;
+
+    /** Всего файлов (-1 — папка не найдена) */
+    private volatile int totalFiles;
+
+    /** Пул разбора */
+    private volatile ForkJoinPool pool;
+
+    /** Кто запустил импорт */
+    private CommandSender requester;
+
+    /** Папка userdata */
+    private File folder;
+
+    /** Начало импорта (нс) */
+    private long startNanos;
+
+    /** Перенесено игроков */
+    private int mergedUsers;
+
+    /** Импортировано домов */
+    private int importedHomes;
+
+    /** Импортировано банов и мутов */
+    private int importedPunishments;
+
+    /** Импортировано записей игнорирования */
+    private int importedIgnores;
+
+    /** Задача переноса в менеджеры */
+    private BukkitTask mergeTask;
+
+    /** Задача сообщений о ходе */
+    private BukkitTask progressTask;
+
+    /**
+     * Создать импортёр.
+     * @param plugin экземпляр плагина
+     */
+    public EssentialsImporter(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Идёт ли импорт.
+     * @return true если импорт запущен и не завершён
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Запустить импорт. Вызывается из основного потока.
+     * @param sender кому сообщать о ходе импорта
+     * @return false если импорт уже идёт
+     */
+    public boolean start(CommandSender sender) {
+        if (running) return false;
+
+        this.requester = sender;
+        this.folder = new File(plugin.getDataFolder().getParentFile(),
+                plugin.getConfig().getString("import.essentials-userdata", "Essentials/userdata"));
+        this.running = true;
+        this.parsingDone = false;
+        this.totalFiles = 0;
+        this.startNanos = System.nanoTime();
+        this.mergedUsers = 0;
+        this.importedHomes = 0;
+        this.importedPunishments = 0;
+        this.importedIgnores = 0;
+        parsedFiles.set(0);
+        failedFiles.set(0);
+        parsed.clear();
+
+        sender.sendMessage(plugin.getMessageManager().format(sender, MessageKey.IMPORT_STARTED, folder.getPath()));
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::parseAll);
+        mergeTask = Bukkit.getScheduler().runTaskTimer(plugin, this::mergeBatch, 1L, 1L);
+        progressTask = Bukkit.getScheduler().runTaskTimer(plugin, this::reportProgress, PROGRESS_PERIOD, PROGRESS_PERIOD);
+        return true;
+    }
+
+    /**
+     * Прервать импорт при выключении плагина.
+     * Уже перенесённые данные сохранятся вместе с остальными.
+     */
+    public void shutdown() {
+        if (!running) return;
+        ForkJoinPool current = pool;
+        if (current != null) current.shutdownNow();
+        cancelTasks();
+        running = false;
+    }
+
+    // ==================== РАЗБОР (ВНЕ ОСНОВНОГО ПОТОКА) ====================
+
+    /**
+     * Разобрать все файлы папки в пуле потоков.
+     */
+    private void parseAll() {
+        try {
+            File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+            if (files == null) {
+                totalFiles = -1;
+                return;
+            }
+            totalFiles = files.length;
+
+            int threads = plugin.getConfig().getInt("import.threads", 0);
+            if (threads <= 0) threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new ParseTask(files, 0, files.length));
+            } finally {
+                pool.shutdown();
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Ошибка импорта из EssentialsX: " + e.getMessage());
+        } finally {
+            parsingDone = true;
+        }
+    }
+
+    /**
+     * Разбор диапазона файлов: делится пополам, пока диапазон больше порога.
+     */
+    private final class ParseTask extends RecursiveAction {
+
+        private final File[] files;
+        private final int from;
+        private final int to;
+
+        ParseTask(File[] files, int from, int to) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    parseFile(files[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParseTask(files, from, middle), new ParseTask(files, middle, to));
+        }
+    }
+
+    /**
+     * Разобрать один файл userdata.
+     * @param file файл UUID.yml
+     */
+    private void parseFile(File file) {
+        String fileName = file.getName();
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(fileName.substring(0, fileName.length() - ".yml".length()));
+        } catch (IllegalArgumentException e) {
+            failedFiles.incrementAndGet();
+            parsedFiles.incrementAndGet();
+            return;
+        }
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        ImportedUser user = new ImportedUser(uuid, config.getString("last-account-name", config.getString("lastAccountName")));
+        long now = System.currentTimeMillis();
+
+        ConfigurationSection homes = config.getConfigurationSection("homes");
+        if (homes != null) {
+            for (String name : homes.getKeys(false)) {
+                ConfigurationSection home = homes.getConfigurationSection(name);
+                if (home == null) continue;
+                // Новые версии хранят UUID мира в world, имя — в world-name
+                String world = home.getString("world-name", home.getString("world"));
+                if (world == null) continue;
+
+                DataManager.LocationData data = new DataManager.LocationData();
+                data.world = world;
+                data.x = home.getDouble("x");
+                data.y = home.getDouble("y");
+                data.z = home.getDouble("z");
+                data.yaw = (float) home.getDouble("yaw");
+                data.pitch = (float) home.getDouble("pitch");
+                user.homes.put(name.toLowerCase(), data);
+            }
+        }
+
+        if (config.getBoolean("muted", false)) {
+            // Окончание мута EssentialsX хранит в timestamps.mute
+            long timeout = config.getLong("timestamps.mute", 0L);
+            if (timeout <= 0 || timeout > now) {
+                user.muteReason = config.getString("mute-reason", "");
+                user.muteExpire = timeout <= 0 ? -1 : timeout;
+            }
+        }
+
+        // Старые версии хранили бан в userdata, новые — в banned-players.json сервера
+        ConfigurationSection ban = config.getConfigurationSection("ban");
+        if (ban != null && ban.getString("reason") != null) {
+            long timeout = ban.getLong("timeout", 0L);
+            if (timeout <= 0 || timeout > now) {
+                user.banReason = ban.getString("reason");
+                user.banExpire = timeout <= 0 ? -1 : timeout;
+            }
+        }
+
+        for (String ignored : config.getStringList("ignore")) {
+            try {
+                user.ignores.add(UUID.fromString(ignored));
+            } catch (IllegalArgumentException e) {
+                // Старый формат со списком ников — без UUID не переносится
+            }
+        }
+
+        if (!user.isEmpty()) parsed.offer(user);
+        parsedFiles.incrementAndGet();
+    }
+
+    // ==================== ПЕРЕНОС (ОСНОВНОЙ ПОТОК) ====================
+
+    /**
+     * Перенести очередную пачку игроков в менеджеры.
+     */
+    private void mergeBatch() {
+        if (totalFiles < 0) {
+            requester.sendMessage(plugin.getMessageManager().format(requester, MessageKey.IMPORT_NO_FOLDER, folder.getPath()));
+            cancelTasks();
+            running = false;
+            return;
+        }
+
+        DataManager data = plugin.getDataManager();
+        PunishmentManager punishments = plugin.getPunishmentManager();
+        IgnoreManager ignores = plugin.getIgnoreManager();
+        int batchSize = Math.max(1, plugin.getConfig().getInt("import.batch-size", 1000));
+
+        ImportedUser user;
+        for (int i = 0; i < batchSize && (user = parsed.poll()) != null; i++) {
+            String uuid = user.uuid.toString();
+            String name = user.name != null ? user.name : uuid;
+            if (!user.homes.isEmpty()) {
+                importedHomes += data.importHomes(uuid, user.homes);
+            }
+            if (user.muteReason != null && punishments.importMute(user.uuid, name, user.muteReason, user.muteExpire)) {
+                importedPunishments++;
+            }
+            if (user.banReason != null && punishments.importBan(user.uuid, name, user.banReason, user.banExpire)) {
+                importedPunishments++;
+            }
+            if (!user.ignores.isEmpty()) {
+                importedIgnores += ignores.importIgnores(user.uuid, user.ignores);
+            }
+            mergedUsers++;
+        }
+
+        if (parsingDone && parsed.isEmpty()) {
+            finish();
+        }
+    }
+
+    /**
+     * Импорт завершён: один раз сохранить файлы и сообщить итог.
+     * В основном потоке снимаются только копии данных, запись — в асинхронных задачах.
+     */
+    private void finish() {
+        cancelTasks();
+        plugin.getDataManager().saveHomesAsync();
+        plugin.getPunishmentManager().savePunishmentsAsync();
+        plugin.getIgnoreManager().saveIgnoresAsync();
+        running = false;
+
+        MessageManager msg = plugin.getMessageManager();
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        int files = parsedFiles.get();
+        String rate = String.valueOf((int) (files / Math.max(0.001, seconds)));
+        requester.sendMessage(msg.format(requester, MessageKey.IMPORT_DONE,
+                String.valueOf(files), String.format("%.1f", seconds), rate));
+        requester.sendMessage(msg.format(requester, MessageKey.IMPORT_DONE_STATS,
+                String.valueOf(importedHomes), String.valueOf(importedPunishments), String.valueOf(importedIgnores)));
+        plugin.getLogger().info("Импорт из EssentialsX: файлов " + files + " (с ошибками " + failedFiles.get()
+                + "), игроков " + mergedUsers + ", домов " + importedHomes + ", наказаний " + importedPunishments
+                + ", игнорирований " + importedIgnores + " за " + String.format("%.1f", seconds) + " с");
+
+        AuditLogger auditLogger = plugin.getAuditLogger();
+        if (auditLogger != null) {
+            auditLogger.log(AuditLogger.COMMAND, requester.getName(), "/expicore import essentials: игроков "
+                    + mergedUsers + ", домов " + importedHomes + ", наказаний " + importedPunishments);
+        }
+    }
+
+    /**
+     * Сообщить о ходе импорта: разобрано файлов, перенесено игроков, скорость.
+     */
+    private void reportProgress() {
+        int total = totalFiles;
+        if (total <= 0) return;
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        int files = parsedFiles.get();
+        requester.sendMessage(plugin.getMessageManager().format(requester, MessageKey.IMPORT_PROGRESS,
+                files + "/" + total, String.valueOf(mergedUsers), String.valueOf((int) (files / Math.max(0.001, seconds)))));
+    }
+
+    /**
+     * Остановить задачи переноса и сообщений.
+     */
+    private void cancelTasks() {
+        if (mergeTask != null) mergeTask.cancel();
+        if (progressTask != null) progressTask.cancel();
+        mergeTask = null;
+        progressTask = null;
+    }
+
+    // ==================== ВНУТРЕННИЕ КЛАССЫ ====================
+
+    /**
+     * Данные одного игрока из userdata.
+     */
+    private static final class ImportedUser {
+
+        /** UUID игрока */
+        final UUID uuid;
+
+        /** Последний ник (может быть null) */
+        final String name;
+
+        /** Дома: название -> точка */
+        final Map<String, DataManager.LocationData> homes = new HashMap<>();
+
+        /** Причина мута (null — мута нет) */
+        String muteReason;
+
+        /** Окончание мута (мс), -1 — навсегда */
+        long muteExpire;
+
+        /** Причина бана (null — бана нет) */
+        String banReason;
+
+        /** Окончание бана (мс), -1 — навсегда */
+        long banExpire;
+
+        /** Игнорируемые игроки */
+        final List<UUID> ignores = new ArrayList<>();
+
+        ImportedUser(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        boolean isEmpty() {
+            return homes.isEmpty() && muteReason == null && banReason == null && ignores.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package ru.expicore.managers;
+
+import com.google.gson.*;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Лимиты домов по правам expicore.home.limit.<n> и expicore.home.limit.unlimited.
+ * Лимит вычисляется одним проходом по действующим правам игрока при входе,
+ * смене мира и /expicore reload и хранится в массиве по слотам игроков —
+ * /sethome перебирает права заново только перед отказом по лимиту, чтобы
+ * выданное после входа право сразу действовало. Без прав на лимит действует
+ * home-limits.default.
+ *
+ * Последний вычисленный лимит каждого игрока сохраняется в home-limits.json:
+ * права игроков не в сети недоступны, а отчёт и очистка /homes limits
+ * должны учитывать лимиты всех владельцев домов. Владельцы, чей лимит
+ * ни разу не вычислялся (не заходили с появления лимитов, импортированы),
+ * считаются неизвестными, а не получают лимит по умолчанию.
+ * Изменения только помечают файл, запись идёт раз в минуту в асинхронной задаче.
+ * Все методы вызываются из основного потока.
+ */
+public class HomeLimitManager {
+
+    /** Лимит без ограничения */
+    public static final int UNLIMITED = -1;
+
+    /** Лимит ни разу не вычислялся */
+    public static final int UNKNOWN = -2;
+
+    /** Префикс прав на лимит */
+    private static final String PERMISSION_PREFIX = "expicore.home.limit.";
+
+    /** Период записи home-limits.json (тики) */
+    private static final long SAVE_PERIOD_TICKS = 1200L;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Парсер/генератор JSON */
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    /** Слоты игроков в сети */
+    private final PlayerSlots slots = new PlayerSlots();
+
+    /** Лимит по слоту игрока */
+    private int[] limits = new int[16];
+
+    /** Последний вычисленный лимит: UUID -> лимит (в том числе не в сети) */
+    private final Map<String, Integer> knownLimits = new ConcurrentHashMap<>();
+
+    /** Лимит без прав на лимит */
+    private int defaultLimit;
+
+    /** Есть ли несохранённые изменения лимитов */
+    private boolean dirty;
+
+    /** Задача периодической записи */
+    private final BukkitTask saveTask;
+
+    /** Блокировка записи файла (записи из разных задач не пересекаются) */
+    private final Object fileLock = new Object();
+
+    /** Номер последней снятой копии (основной поток) */
+    private long snapshotVersion;
+
+    /** Номер последней записанной копии (под fileLock) */
+    private long writtenVersion;
+
+    /**
+     * Создать менеджер лимитов, загрузить сохранённые лимиты и запустить их запись.
+     * @param plugin экземпляр плагина
+     */
+    public HomeLimitManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        loadLimits();
+        reload();
+        this.saveTask = Bukkit.getScheduler().runTaskTimer(plugin, this::saveAsync,
+                SAVE_PERIOD_TICKS, SAVE_PERIOD_TICKS);
+    }
+
+    /**
+     * Перечитать home-limits.default и пересчитать лимиты игроков в сети.
+     */
+    public void reload() {
+        this.defaultLimit = Math.max(0, plugin.getConfig().getInt("home-limits.default", 3));
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            refresh(player);
+        }
+    }
+
+    /**
+     * Вычислить лимит игрока по его правам и запомнить его.
+     * Вызывается при входе и смене мира (права могут зависеть от мира).
+     * @param player игрок
+     */
+    public void refresh(Player player) {
+        int limit = resolve(player);
+        int slot = slots.acquire(player.getUniqueId());
+        limits = PlayerSlots.ensure(limits, slot, 1);
+        limits[slot] = limit;
+
+        Integer previous = knownLimits.put(player.getUniqueId().toString(), limit);
+        if (previous == null || previous != limit) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Лимит домов игрока в сети.
+     * @param player игрок
+     * @return лимит или {@link #UNLIMITED}
+     */
+    public int getLimit(Player player) {
+        int slot = slots.get(player.getUniqueId());
+        if (slot < 0) {
+            // Игрок вошёл до включения плагина
+            refresh(player);
+            slot = slots.get(player.getUniqueId());
+        }
+        return limits[slot];
+    }
+
+    /**
+     * Последний известный лимит игрока (в том числе не в сети).
+     * @param uuid UUID игрока
+     * @return лимит, {@link #UNLIMITED} или {@link #UNKNOWN}, если лимит не вычислялся
+     */
+    public int getKnownLimit(String uuid) {
+        Integer limit = knownLimits.get(uuid);
+        return limit != null ? limit : UNKNOWN;
+    }
+
+    /**
+     * Освободить слот вышедшего игрока (сохранённый лимит остаётся).
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        slots.release(uuid);
+    }
+
+    /**
+     * Найти наибольший лимит среди действующих прав игрока.
+     * @param player игрок
+     * @return лимит, {@link #UNLIMITED} или home-limits.default, если прав на лимит нет
+     */
+    private int resolve(Player player) {
+        int best = -2;
+        for (PermissionAttachmentInfo info : player.getEffectivePermissions()) {
+            if (!info.getValue()) continue;
+            String permission = info.getPermission().toLowerCase();
+            if (!permission.startsWith(PERMISSION_PREFIX)) continue;
+
+            String suffix = permission.substring(PERMISSION_PREFIX.length());
+            if (suffix.equals("unlimited")) return UNLIMITED;
+            try {
+                best = Math.max(best, Integer.parseInt(suffix));
+            } catch (NumberFormatException ignored) {
+                // Не число — не право на лимит
+            }
+        }
+        return best >= 0 ? best : defaultLimit;
+    }
+
+    /**
+     * Загрузить лимиты из home-limits.json.
+     */
+    @SuppressWarnings("deprecation")
+    private void loadLimits() {
+        File file = new File(plugin.getDataFolder(), "home-limits.json");
+        if (!file.exists()) return;
+
+        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            JsonElement element = new JsonParser().parse(reader);
+            if (element == null || !element.isJsonObject()) return;
+
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                knownLimits.put(entry.getKey(), entry.getValue().getAsInt());
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Ошибка чтения home-limits.json: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Снять копию изменившихся лимитов и записать её в асинхронной задаче.
+     */
+    private void saveAsync() {
+        if (!dirty) return;
+        dirty = false;
+        JsonObject root = snapshot();
+        long version = ++snapshotVersion;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> write(root, version));
+    }
+
+    /**
+     * Остановить периодическую запись и сохранить несохранённые лимиты.
+     * Вызывается при выключении плагина (асинхронные задачи уже не запускаются).
+     */
+    public void shutdown() {
+        saveTask.cancel();
+        if (dirty) {
+            dirty = false;
+            write(snapshot(), ++snapshotVersion);
+        }
+    }
+
+    /**
+     * Копия лимитов для записи (основной поток).
+     * @return JSON-объект UUID -> лимит
+     */
+    private JsonObject snapshot() {
+        JsonObject root = new JsonObject();
+        for (Map.Entry<String, Integer> entry : knownLimits.entrySet()) {
+            root.addProperty(entry.getKey(), entry.getValue());
+        }
+        return root;
+    }
+
+    /**
+     * Записать лимиты в home-limits.json, если более свежая копия ещё не записана.
+     * @param root копия лимитов
+     * @param version номер копии
+     */
+    private void write(JsonObject root, long version) {
+        File file = new File(plugin.getDataFolder(), "home-limits.json");
+        synchronized (fileLock) {
+            if (version <= writtenVersion) return;
+            writtenVersion = version;
+            try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+                gson.toJson(root, writer);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Ошибка записи home-limits.json: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -27,12 +27,16 @@ public class IgnoreManager {
      */
     private final Map<UUID, Set<UUID>> ignoreMap = new ConcurrentHashMap<>();
 
+    /** Запись ignores.json (синхронная и асинхронная не затирают друг друга) */
+    private final JsonFileWriter writer;
+
     /**
      * Создать менеджер игнорирования и загрузить данные.
      * @param plugin экземпляр плагина
      */
     public IgnoreManager(ExpiCore plugin) {
         this.plugin = plugin;
+        this.writer = new JsonFileWriter(plugin, "ignores.json", gson);
         loadIgnores();
     }
 
@@ -66,6 +70,22 @@ public class IgnoreManager {
         }
     }
 
+    /**
+     * Добавить импортированный список игнорирования без записи на диск
+     * (сохранение — {@link #saveIgnoresAsync()} после импорта).
+     * @param player UUID игрока
+     * @param targets кого игрок игнорирует
+     * @return сколько записей добавлено
+     */
+    public int importIgnores(UUID player, Collection<UUID> targets) {
+        Set<UUID> ignored = ignoreMap.computeIfAbsent(player, k -> ConcurrentHashMap.newKeySet());
+        int added = 0;
+        for (UUID target : targets) {
+            if (ignored.add(target)) added++;
+        }
+        return added;
+    }
+
     /**
      * Загрузить списки игнорирования из ignores.json.
      */
@@ -100,22 +120,41 @@ public class IgnoreManager {
      * Сохранить списки игнорирования в ignores.json.
      */
     public void saveIgnores() {
-        File file = new File(plugin.getDataFolder(), "ignores.json");
-        JsonObject root = new JsonObject();
+        writer.save(this::copyIgnores, this::ignoresToJson, false);
+    }
+
+    /**
+     * Сохранить списки игнорирования в асинхронной задаче: в вызывающем
+     * потоке снимается только копия списков. Используется после импорта.
+     */
+    public void saveIgnoresAsync() {
+        writer.save(this::copyIgnores, this::ignoresToJson, true);
+    }
 
+    /**
+     * Копия непустых списков игнорирования.
+     */
+    private Map<UUID, Set<UUID>> copyIgnores() {
+        Map<UUID, Set<UUID>> copy = new HashMap<>(ignoreMap.size() * 2);
         for (Map.Entry<UUID, Set<UUID>> entry : ignoreMap.entrySet()) {
             if (entry.getValue().isEmpty()) continue;
+            copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Построить JSON списков игнорирования по копии.
+     */
+    private JsonObject ignoresToJson(Map<UUID, Set<UUID>> copy) {
+        JsonObject root = new JsonObject();
+        for (Map.Entry<UUID, Set<UUID>> entry : copy.entrySet()) {
             JsonArray arr = new JsonArray();
             for (UUID uuid : entry.getValue()) {
                 arr.add(uuid.toString());
             }
             root.add(entry.getKey().toString(), arr);
         }
-
-        try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
-            gson.toJson(root, writer);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Ошибка записи ignores.json: " + e.getMessage());
-        }
+        return root;
     }
 }
@@ -0,0 +1,94 @@
+package ru.expicore.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import org.bukkit.Bukkit;
+import ru.expicore.ExpiCore;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Запись JSON-файла данных в текущем потоке или в асинхронной задаче.
+ * Копия данных снимается в вызывающем потоке и получает номер; построение
+ * JSON и запись идут уже по копии. Записи одного файла не пересекаются,
+ * а копия, которую обогнала более новая, не записывается — поэтому
+ * асинхронное сохранение не затирает более позднее синхронное.
+ */
+public class JsonFileWriter {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Файл данных */
+    private final File file;
+
+    /** Генератор JSON */
+    private final Gson gson;
+
+    /** Номер последней снятой копии (под this) */
+    private long version;
+
+    /** Номер последней записанной копии (под writeLock) */
+    private long written;
+
+    /** Блокировка записи файла */
+    private final Object writeLock = new Object();
+
+    /**
+     * Создать запись файла.
+     * @param plugin экземпляр плагина
+     * @param fileName имя файла в папке плагина
+     * @param gson генератор JSON
+     */
+    public JsonFileWriter(ExpiCore plugin, String fileName, Gson gson) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), fileName);
+        this.gson = gson;
+    }
+
+    /**
+     * Снять копию данных и записать её.
+     * @param snapshot снимает копию данных (в вызывающем потоке)
+     * @param toJson строит JSON по копии
+     * @param async записать в асинхронной задаче
+     * @param <T> тип копии
+     */
+    public <T> void save(Supplier<T> snapshot, Function<T, JsonElement> toJson, boolean async) {
+        T copy;
+        long number;
+        synchronized (this) {
+            copy = snapshot.get();
+            number = ++version;
+        }
+        if (async) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> write(toJson.apply(copy), number));
+        } else {
+            write(toJson.apply(copy), number);
+        }
+    }
+
+    /**
+     * Записать JSON, если более новая копия ещё не записана.
+     * @param element JSON
+     * @param number номер копии
+     */
+    private void write(JsonElement element, long number) {
+        synchronized (writeLock) {
+            if (number <= written) return;
+            written = number;
+            if (!plugin.getDataFolder().exists()) {
+                plugin.getDataFolder().mkdirs();
+            }
+            try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+                gson.toJson(element, writer);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Ошибка записи файла " + file.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
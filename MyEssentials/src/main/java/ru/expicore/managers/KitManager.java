@@ -15,12 +15,18 @@ import ru.expicore.ExpiCore;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Менеджер китов (наборов предметов).
  * Использует Base64 сериализацию для полного сохранения NBT-данных предметов
  * (зачарования, названия, описания и т.д.).
  * Также отвечает за создание GUI-редактора китов.
+ *
+ * Декодированные предметы кита хранятся как шаблон ItemStack[] и при выдаче
+ * только клонируются — Base64 и BukkitObjectInputStream разбираются один раз
+ * на кит, а не при каждой выдаче. DataManager сбрасывает шаблон при
+ * изменении или удалении кита.
  */
 public class KitManager {
 
@@ -30,6 +36,21 @@ public class KitManager {
     /** Менеджер данных для сохранения/загрузки */
     private final DataManager dataManager;
 
+    /** Декодированные шаблоны китов: название -> предметы (не изменяются) */
+    private final Map<String, ItemStack[]> templates = new ConcurrentHashMap<>();
+
+    /** Выдач из готового шаблона (статистика) */
+    private long hits;
+
+    /** Выдач с декодированием кита (статистика) */
+    private long misses;
+
+    /** Суммарное время выдач из шаблона (нс) */
+    private long hitNanos;
+
+    /** Суммарное время выдач с декодированием (нс) */
+    private long missNanos;
+
     /**
      * Создать менеджер китов.
      * @param plugin экземпляр плагина
@@ -117,23 +138,87 @@ public class KitManager {
      * @return true если кит найден и выдан
      */
     public boolean giveKit(Player player, String name) {
-        List<String> items = dataManager.getKit(name);
+        long start = System.nanoTime();
+        String key = name.toLowerCase();
+        ItemStack[] template = templates.get(key);
+        boolean cached = template != null;
+        if (!cached) {
+            template = decodeKit(key);
+            if (template == null) {
+                return false;
+            }
+        }
+
+        // addItem меняет количество в переданных предметах — выдаём копии шаблона
+        ItemStack[] items = new ItemStack[template.length];
+        for (int i = 0; i < template.length; i++) {
+            items[i] = template[i].clone();
+        }
+
+        // Добавляем предметы; если инвентарь полон — выбрасываем на землю
+        HashMap<Integer, ItemStack> overflow = player.getInventory().addItem(items);
+        for (ItemStack leftover : overflow.values()) {
+            player.getWorld().dropItemNaturally(player.getLocation(), leftover);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        if (cached) {
+            hits++;
+            hitNanos += elapsed;
+        } else {
+            misses++;
+            missNanos += elapsed;
+        }
+        return true;
+    }
+
+    /**
+     * Декодировать предметы кита и запомнить шаблон.
+     * Предметы, которые не удалось разобрать, пропускаются.
+     * @param key название кита в нижнем регистре
+     * @return шаблон или null если кит не найден
+     */
+    private ItemStack[] decodeKit(String key) {
+        List<String> items = dataManager.getKit(key);
         if (items == null) {
-            return false;
+            return null;
         }
 
+        List<ItemStack> decoded = new ArrayList<>(items.size());
         for (String base64 : items) {
             ItemStack item = itemFromBase64(base64);
             if (item != null) {
-                // Добавляем предмет; если инвентарь полон — выбрасываем на землю
-                HashMap<Integer, ItemStack> overflow = player.getInventory().addItem(item);
-                for (ItemStack leftover : overflow.values()) {
-                    player.getWorld().dropItemNaturally(player.getLocation(), leftover);
-                }
+                decoded.add(item);
             }
         }
+        ItemStack[] template = decoded.toArray(new ItemStack[0]);
+        templates.put(key, template);
+        return template;
+    }
 
-        return true;
+    /**
+     * Сбросить шаблон кита (кит изменён или удалён).
+     * @param name название кита
+     */
+    public void invalidate(String name) {
+        templates.remove(name.toLowerCase());
+    }
+
+    /**
+     * Строка статистики для /gc.
+     * @return число шаблонов и среднее время выдачи с шаблоном и с декодированием
+     */
+    public String getStatsLine() {
+        return templates.size() + " в кэше, выдач из кэша " + hits + " (в среднем "
+                + averageMicros(hitNanos, hits) + " мкс), с декодированием " + misses + " (в среднем "
+                + averageMicros(missNanos, misses) + " мкс)";
+    }
+
+    /**
+     * Среднее время в микросекундах.
+     */
+    private static String averageMicros(long nanos, long count) {
+        return count > 0 ? String.format("%.1f", nanos / 1000.0 / count) : "-";
     }
 
     // ==================== GUI РЕДАКТОР ====================
@@ -147,6 +232,7 @@ public class KitManager {
      */
     public void openKitEditor(Player player) {
         Set<String> kitNames = dataManager.getKitNames();
+        MessageManager msg = plugin.getMessageManager();
 
         // Размер GUI (кратно 9, максимум 54)
         int size = Math.min(54, ((kitNames.size() / 9) + 1) * 9);
@@ -167,11 +253,11 @@ public class KitManager {
             if (meta != null) {
                 meta.setDisplayName(ChatColor.GOLD + kitName);
                 List<String> lore = new ArrayList<>();
-                lore.add(ChatColor.GRAY + "Предметов: " + ChatColor.WHITE + itemCount);
+                lore.add(msg.format(player, MessageKey.KIT_LORE_ITEMS, String.valueOf(itemCount)));
                 lore.add("");
-                lore.add(ChatColor.GREEN + "ЛКМ — получить кит");
+                lore.add(msg.get(player, MessageKey.KIT_LORE_TAKE));
                 if (player.hasPermission("expicore.kit.admin")) {
-                    lore.add(ChatColor.RED + "ПКМ — удалить кит");
+                    lore.add(msg.get(player, MessageKey.KIT_LORE_DELETE));
                 }
                 meta.setLore(lore);
                 icon.setItemMeta(meta);
@@ -0,0 +1,294 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import ru.expicore.ExpiCore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Постраничный GUI-список варпов и домов.
+ * Страницы собираются один раз и хранятся до изменения данных:
+ * DataManager сбрасывает страницы варпов при /setwarp и /delwarp,
+ * страницы домов игрока — при изменении его домов. Открытие списка —
+ * это открытие уже готового инвентаря, без пересборки иконок.
+ *
+ * Инвентари страниц принадлежат {@link Page}, поэтому клики
+ * распознаются по владельцу инвентаря, а не по заголовку.
+ * Тексты берутся на языке по умолчанию: одна страница показывается всем.
+ * Все методы вызываются из основного потока.
+ */
+public class LocationBrowser {
+
+    /** Строк на странице (последняя — навигация) */
+    private static final int ROWS = 6;
+
+    /** Размер инвентаря страницы */
+    private static final int SIZE = ROWS * 9;
+
+    /** Точек на странице */
+    private static final int PER_PAGE = SIZE - 9;
+
+    /** Слот кнопки «назад» */
+    private static final int PREVIOUS_SLOT = SIZE - 9;
+
+    /** Слот кнопки «вперёд» */
+    private static final int NEXT_SLOT = SIZE - 1;
+
+    /**
+     * Что показывает страница.
+     */
+    public enum Kind {
+        WARP,
+        HOME
+    }
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Страницы варпов (null — нужно собрать) */
+    private List<Page> warpPages;
+
+    /** Страницы домов по UUID владельца */
+    private final Map<String, List<Page>> homePages = new ConcurrentHashMap<>();
+
+    /**
+     * Создать GUI-список точек.
+     * @param plugin экземпляр плагина
+     */
+    public LocationBrowser(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    // ==================== ОТКРЫТИЕ ====================
+
+    /**
+     * Открыть страницу списка варпов.
+     * @param player игрок
+     * @param page номер страницы с нуля
+     * @return false если варпов нет
+     */
+    public boolean openWarps(Player player, int page) {
+        if (warpPages == null) {
+            warpPages = build(Kind.WARP, null);
+        }
+        return open(player, warpPages, page);
+    }
+
+    /**
+     * Открыть страницу списка домов игрока.
+     * @param player игрок
+     * @param page номер страницы с нуля
+     * @return false если домов нет
+     */
+    public boolean openHomes(Player player, int page) {
+        String uuid = player.getUniqueId().toString();
+        List<Page> pages = homePages.computeIfAbsent(uuid, k -> build(Kind.HOME, k));
+        return open(player, pages, page);
+    }
+
+    /**
+     * Открыть страницу из набора (номер приводится к допустимому).
+     */
+    private boolean open(Player player, List<Page> pages, int page) {
+        if (pages.isEmpty()) return false;
+        int index = Math.max(0, Math.min(page, pages.size() - 1));
+        player.openInventory(pages.get(index).getInventory());
+        return true;
+    }
+
+    // ==================== СБРОС ====================
+
+    /**
+     * Варпы изменились — страницы будут собраны заново при следующем открытии.
+     */
+    public void invalidateWarps() {
+        warpPages = null;
+    }
+
+    /**
+     * Дома игрока изменились.
+     * @param uuid UUID владельца
+     */
+    public void invalidateHomes(String uuid) {
+        homePages.remove(uuid);
+    }
+
+    /**
+     * Сбросить все страницы (после /expicore reload тексты могли измениться).
+     */
+    public void reload() {
+        warpPages = null;
+        homePages.clear();
+    }
+
+    // ==================== КЛИКИ ====================
+
+    /**
+     * Обработать клик по странице: навигация или телепортация.
+     * Телепортация выполняется обычной командой — с её правами, задержкой и сообщениями.
+     * Вызывается из InventoryClickEvent, где открывать и закрывать инвентари
+     * нельзя, поэтому действие выполняется в следующем тике.
+     * @param player игрок
+     * @param page страница
+     * @param slot слот верхнего инвентаря
+     */
+    public void handleClick(Player player, Page page, int slot) {
+        if (slot == PREVIOUS_SLOT && page.index > 0) {
+            later(player, () -> openPage(player, page, page.index - 1));
+            return;
+        }
+        if (slot == NEXT_SLOT && page.index < page.count - 1) {
+            later(player, () -> openPage(player, page, page.index + 1));
+            return;
+        }
+        if (slot < 0 || slot >= PER_PAGE || slot >= page.names.size()) return;
+
+        String name = page.names.get(slot);
+        later(player, () -> {
+            player.closeInventory();
+            player.performCommand((page.kind == Kind.WARP ? "warp " : "home ") + name);
+        });
+    }
+
+    /**
+     * Выполнить действие в следующем тике, если игрок ещё в сети.
+     */
+    private void later(Player player, Runnable action) {
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) action.run();
+        });
+    }
+
+    /**
+     * Открыть соседнюю страницу того же списка.
+     */
+    private void openPage(Player player, Page page, int index) {
+        if (page.kind == Kind.WARP) {
+            openWarps(player, index);
+        } else {
+            openHomes(player, index);
+        }
+    }
+
+    // ==================== СБОРКА ====================
+
+    /**
+     * Собрать все страницы списка.
+     * @param kind варпы или дома
+     * @param owner UUID владельца домов (null для варпов)
+     * @return страницы (пустой список, если точек нет)
+     */
+    private List<Page> build(Kind kind, String owner) {
+        DataManager data = plugin.getDataManager();
+        List<String> names = new ArrayList<>(kind == Kind.WARP ? data.getWarpNames() : data.getHomeNames(owner));
+        Collections.sort(names);
+        if (names.isEmpty()) return Collections.emptyList();
+
+        MessageManager msg = plugin.getMessageManager();
+        int count = (names.size() + PER_PAGE - 1) / PER_PAGE;
+        List<Page> pages = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            List<String> pageNames = names.subList(index * PER_PAGE, Math.min(names.size(), (index + 1) * PER_PAGE));
+            String title = msg.format(kind == Kind.WARP ? MessageKey.GUI_WARPS_TITLE : MessageKey.GUI_HOMES_TITLE,
+                    (index + 1) + "/" + count);
+            Page page = new Page(kind, index, count, new ArrayList<>(pageNames), title);
+
+            for (int slot = 0; slot < pageNames.size(); slot++) {
+                String name = pageNames.get(slot);
+                DataManager.LocationData location = kind == Kind.WARP
+                        ? data.getWarpData(name) : data.getHomeData(owner, name);
+                page.inventory.setItem(slot, icon(kind, name, location));
+            }
+            if (index > 0) {
+                page.inventory.setItem(PREVIOUS_SLOT, button(msg.get(MessageKey.GUI_PREVIOUS)));
+            }
+            if (index < count - 1) {
+                page.inventory.setItem(NEXT_SLOT, button(msg.get(MessageKey.GUI_NEXT)));
+            }
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    /**
+     * Иконка точки: название, мир и координаты.
+     */
+    private ItemStack icon(Kind kind, String name, DataManager.LocationData location) {
+        ItemStack icon = new ItemStack(kind == Kind.WARP ? Material.ENDER_PEARL : Material.RED_BED);
+        ItemMeta meta = icon.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(ChatColor.GOLD + name);
+            List<String> lore = new ArrayList<>();
+            if (location != null) {
+                lore.add(ChatColor.GRAY + location.world + ": " + ChatColor.WHITE
+                        + (int) Math.floor(location.x) + ", " + (int) Math.floor(location.y)
+                        + ", " + (int) Math.floor(location.z));
+            }
+            lore.add("");
+            lore.add(plugin.getMessageManager().get(MessageKey.GUI_CLICK_TELEPORT));
+            meta.setLore(lore);
+            icon.setItemMeta(meta);
+        }
+        return icon;
+    }
+
+    /**
+     * Кнопка навигации.
+     */
+    private static ItemStack button(String text) {
+        ItemStack button = new ItemStack(Material.ARROW);
+        ItemMeta meta = button.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(text);
+            button.setItemMeta(meta);
+        }
+        return button;
+    }
+
+    // ==================== ВНУТРЕННИЕ КЛАССЫ ====================
+
+    /**
+     * Одна страница списка — владелец её инвентаря.
+     */
+    public static final class Page implements InventoryHolder {
+
+        /** Что показывает страница */
+        final Kind kind;
+
+        /** Номер страницы с нуля */
+        final int index;
+
+        /** Всего страниц в списке */
+        final int count;
+
+        /** Названия точек по слотам */
+        final List<String> names;
+
+        /** Инвентарь страницы */
+        final Inventory inventory;
+
+        Page(Kind kind, int index, int count, List<String> names, String title) {
+            this.kind = kind;
+            this.index = index;
+            this.count = count;
+            this.names = names;
+            this.inventory = Bukkit.createInventory(this, SIZE, title);
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+}
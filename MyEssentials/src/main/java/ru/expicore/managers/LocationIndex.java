@@ -0,0 +1,384 @@
+package ru.expicore.managers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Пространственный индекс домов и варпов по сетке ячеек.
+ * Для каждого мира точки разложены по квадратным ячейкам размера
+ * location-index.cell-size; индекс обновляется из DataManager при каждом
+ * изменении точки, поэтому полная перестройка не нужна.
+ *
+ * Поиск в радиусе перебирает только ячейки, пересекающие радиус;
+ * поиск ближайшей точки обходит кольца ячеек от центра и останавливается,
+ * как только следующее кольцо заведомо дальше найденной точки.
+ * Если ячеек в мире меньше, чем нужно обойти, перебираются все занятые ячейки.
+ * Методы синхронизированы: изменения идут из основного потока, чтение — из любого.
+ */
+public class LocationIndex {
+
+    /**
+     * Вид точки.
+     */
+    public enum Type {
+        HOME,
+        WARP
+    }
+
+    /** Размер ячейки (блоки) */
+    private final int cellSize;
+
+    /** Сетки по имени мира */
+    private final Map<String, Grid> grids = new HashMap<>();
+
+    /** Записи по ключу точки (дом: h:UUID:название, варп: w:название) */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Создать пустой индекс.
+     * @param cellSize размер ячейки в блоках
+     */
+    public LocationIndex(int cellSize) {
+        this.cellSize = Math.max(8, cellSize);
+    }
+
+    // ==================== ИЗМЕНЕНИЕ ====================
+
+    /**
+     * Добавить или переместить дом.
+     * @param owner UUID владельца
+     * @param name название дома
+     * @param data точка
+     */
+    public synchronized void putHome(String owner, String name, DataManager.LocationData data) {
+        put(new Entry(Type.HOME, owner, name, data));
+    }
+
+    /**
+     * Убрать дом.
+     * @param owner UUID владельца
+     * @param name название дома
+     */
+    public synchronized void removeHome(String owner, String name) {
+        remove(homeKey(owner, name));
+    }
+
+    /**
+     * Добавить или переместить варп.
+     * @param name название варпа
+     * @param data точка
+     */
+    public synchronized void putWarp(String name, DataManager.LocationData data) {
+        put(new Entry(Type.WARP, null, name, data));
+    }
+
+    /**
+     * Убрать варп.
+     * @param name название варпа
+     */
+    public synchronized void removeWarp(String name) {
+        remove("w:" + name);
+    }
+
+    /**
+     * Очистить индекс.
+     */
+    public synchronized void clear() {
+        grids.clear();
+        entries.clear();
+    }
+
+    /**
+     * Положить запись в её ячейку, убрав прежнюю запись с тем же ключом.
+     * @param entry запись
+     */
+    private void put(Entry entry) {
+        remove(entry.key());
+        entries.put(entry.key(), entry);
+
+        Grid grid = grids.computeIfAbsent(entry.world, k -> new Grid());
+        int cx = cell(entry.x);
+        int cz = cell(entry.z);
+        grid.cells.computeIfAbsent(key(cx, cz), k -> new ArrayList<>(2)).add(entry);
+        if (grid.cells.size() == 1 && grid.cells.get(key(cx, cz)).size() == 1) {
+            grid.minX = grid.maxX = cx;
+            grid.minZ = grid.maxZ = cz;
+        } else {
+            grid.minX = Math.min(grid.minX, cx);
+            grid.maxX = Math.max(grid.maxX, cx);
+            grid.minZ = Math.min(grid.minZ, cz);
+            grid.maxZ = Math.max(grid.maxZ, cz);
+        }
+    }
+
+    /**
+     * Убрать запись по ключу; пустые ячейки и сетки удаляются.
+     * @param key ключ точки
+     */
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) return;
+
+        Grid grid = grids.get(entry.world);
+        if (grid == null) return;
+        long cellKey = key(cell(entry.x), cell(entry.z));
+        List<Entry> cell = grid.cells.get(cellKey);
+        if (cell == null) return;
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            grid.cells.remove(cellKey);
+            if (grid.cells.isEmpty()) grids.remove(entry.world);
+        }
+    }
+
+    // ==================== ПОИСК ====================
+
+    /**
+     * Точки в радиусе от центра (по горизонтали), от ближних к дальним.
+     * @param world имя мира
+     * @param x центр X
+     * @param z центр Z
+     * @param radius радиус в блоках
+     * @param type вид точек или null — любые
+     * @return найденные точки
+     */
+    public synchronized List<Entry> within(String world, double x, double z, double radius, Type type) {
+        List<Entry> result = new ArrayList<>();
+        Grid grid = grids.get(world);
+        if (grid == null) return result;
+
+        double radiusSq = radius * radius;
+        int minX = cell(x - radius);
+        int maxX = cell(x + radius);
+        int minZ = cell(z - radius);
+        int maxZ = cell(z + radius);
+
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > grid.cells.size()) {
+            // Занятых ячеек меньше, чем ячеек в квадрате поиска
+            for (List<Entry> cell : grid.cells.values()) {
+                collect(cell, x, z, radiusSq, type, result);
+            }
+        } else {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    List<Entry> cell = grid.cells.get(key(cx, cz));
+                    if (cell != null) collect(cell, x, z, radiusSq, type, result);
+                }
+            }
+        }
+        result.sort((a, b) -> Double.compare(a.distanceSq(x, z), b.distanceSq(x, z)));
+        return result;
+    }
+
+    /**
+     * Ближайшая к центру точка в мире.
+     * @param world имя мира
+     * @param x центр X
+     * @param z центр Z
+     * @param type вид точек или null — любые
+     * @return точка или null, если в мире таких нет
+     */
+    public synchronized Entry nearest(String world, double x, double z, Type type) {
+        Grid grid = grids.get(world);
+        if (grid == null) return null;
+
+        int cx = cell(x);
+        int cz = cell(z);
+        int maxRing = Math.max(Math.max(Math.abs(cx - grid.minX), Math.abs(grid.maxX - cx)),
+                Math.max(Math.abs(cz - grid.minZ), Math.abs(grid.maxZ - cz)));
+
+        Best best = new Best();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Все точки кольца не ближе (ring - 1) ячеек
+            if (best.entry != null && ring > 1) {
+                double minDistance = (ring - 1) * (double) cellSize;
+                if (minDistance * minDistance > best.distanceSq) break;
+            }
+            // Кольцо длиннее, чем занятых ячеек — дешевле перебрать все
+            if (8L * ring > grid.cells.size()) {
+                for (List<Entry> cell : grid.cells.values()) {
+                    best.consider(cell, x, z, type);
+                }
+                break;
+            }
+            if (ring == 0) {
+                best.consider(grid.cells.get(key(cx, cz)), x, z, type);
+                continue;
+            }
+            for (int d = -ring; d <= ring; d++) {
+                best.consider(grid.cells.get(key(cx + d, cz - ring)), x, z, type);
+                best.consider(grid.cells.get(key(cx + d, cz + ring)), x, z, type);
+            }
+            for (int d = -ring + 1; d <= ring - 1; d++) {
+                best.consider(grid.cells.get(key(cx - ring, cz + d)), x, z, type);
+                best.consider(grid.cells.get(key(cx + ring, cz + d)), x, z, type);
+            }
+        }
+        return best.entry;
+    }
+
+    /**
+     * Количество точек в индексе.
+     * @return число записей
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Добавить из ячейки точки в радиусе.
+     */
+    private static void collect(List<Entry> cell, double x, double z, double radiusSq,
+                                Type type, Collection<Entry> out) {
+        for (Entry entry : cell) {
+            if (type != null && entry.type != type) continue;
+            if (entry.distanceSq(x, z) <= radiusSq) out.add(entry);
+        }
+    }
+
+    /**
+     * Номер ячейки по координате.
+     */
+    private int cell(double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), cellSize);
+    }
+
+    /**
+     * Упаковать координаты ячейки в один long.
+     */
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Ключ дома.
+     */
+    private static String homeKey(String owner, String name) {
+        return "h:" + owner + ":" + name;
+    }
+
+    // ==================== ВНУТРЕННИЕ КЛАССЫ ====================
+
+    /**
+     * Сетка одного мира.
+     */
+    private static final class Grid {
+
+        /** Ячейки по ключу */
+        final Map<Long, List<Entry>> cells = new HashMap<>();
+
+        /** Границы занятых ячеек (не сужаются при удалении) */
+        int minX;
+        int maxX;
+        int minZ;
+        int maxZ;
+    }
+
+    /**
+     * Лучшая точка при поиске ближайшей.
+     */
+    private static final class Best {
+
+        Entry entry;
+        double distanceSq = Double.MAX_VALUE;
+
+        void consider(List<Entry> cell, double x, double z, Type type) {
+            if (cell == null) return;
+            for (Entry candidate : cell) {
+                if (type != null && candidate.type != type) continue;
+                double d = candidate.distanceSq(x, z);
+                if (d < distanceSq) {
+                    distanceSq = d;
+                    entry = candidate;
+                }
+            }
+        }
+    }
+
+    /**
+     * Точка в индексе.
+     */
+    public static final class Entry {
+
+        /** Вид точки */
+        final Type type;
+
+        /** UUID владельца дома (null для варпа) */
+        final String owner;
+
+        /** Название */
+        final String name;
+
+        /** Имя мира */
+        final String world;
+
+        /** Координаты */
+        final double x;
+        final double y;
+        final double z;
+
+        Entry(Type type, String owner, String name, DataManager.LocationData data) {
+            this.type = type;
+            this.owner = owner;
+            this.name = name;
+            this.world = data.world;
+            this.x = data.x;
+            this.y = data.y;
+            this.z = data.z;
+        }
+
+        String key() {
+            return type == Type.HOME ? homeKey(owner, name) : "w:" + name;
+        }
+
+        /**
+         * Квадрат горизонтального расстояния до точки.
+         * @param px X
+         * @param pz Z
+         * @return квадрат расстояния
+         */
+        public double distanceSq(double px, double pz) {
+            double dx = x - px;
+            double dz = z - pz;
+            return dx * dx + dz * dz;
+        }
+
+        /** @return вид точки */
+        public Type getType() {
+            return type;
+        }
+
+        /** @return UUID владельца дома или null для варпа */
+        public String getOwner() {
+            return owner;
+        }
+
+        /** @return название точки */
+        public String getName() {
+            return name;
+        }
+
+        /** @return имя мира */
+        public String getWorld() {
+            return world;
+        }
+
+        /** @return координата X */
+        public double getX() {
+            return x;
+        }
+
+        /** @return координата Y */
+        public double getY() {
+            return y;
+        }
+
+        /** @return координата Z */
+        public double getZ() {
+            return z;
+        }
+    }
+}
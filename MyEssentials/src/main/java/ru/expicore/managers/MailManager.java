@@ -0,0 +1,428 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Менеджер почты для игроков, которые не в сети.
+ * У каждого получателя два файла в папке mail/:
+ *  - <uuid>.log — письма, только дописываются в конец (одна строка на письмо);
+ *  - <uuid>.idx — 4 байта номера первого непрочитанного письма и по 8 байт
+ *    смещения начала каждого письма в .log.
+ * Доставка дописывает строку и смещение, прочтение меняет только 4 байта
+ * заголовка — файлы целиком никогда не перезаписываются. Число непрочитанных
+ * вычисляется из длины .idx без чтения писем.
+ *
+ * Все операции с файлами выполняются в одном фоновом потоке (порядок записей
+ * сохраняется), результаты возвращаются игрокам в основном потоке.
+ */
+public class MailManager {
+
+    /** Размер заголовка .idx (номер первого непрочитанного письма) */
+    private static final int HEADER_SIZE = 4;
+
+    /** Формат времени письма */
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM HH:mm");
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Папка почтовых ящиков */
+    private final File folder;
+
+    /** Поток файловых операций */
+    private final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ExpiCore-Mail");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Число непрочитанных писем у игроков онлайн.
+     * Загружается при входе, обновляется при доставке и прочтении.
+     */
+    private final Map<UUID, Integer> unread = new ConcurrentHashMap<>();
+
+    /** Максимум непрочитанных писем в ящике */
+    private final int maxUnread;
+
+    /** Задержка уведомления о почте после входа (тики) */
+    private final long notifyDelayTicks;
+
+    /**
+     * Создать менеджер почты.
+     * @param plugin экземпляр плагина
+     */
+    public MailManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "mail");
+        this.maxUnread = Math.max(1, plugin.getConfig().getInt("mail.max-unread", 100));
+        this.notifyDelayTicks = Math.max(0L, plugin.getConfig().getLong("mail.notify-delay-ticks", 60L));
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+    }
+
+    // ==================== ОТПРАВКА ====================
+
+    /**
+     * Отправить письмо игроку по имени.
+     * Поиск офлайн-игрока и запись выполняются асинхронно.
+     * @param sender отправитель
+     * @param targetName имя получателя
+     * @param text текст письма
+     * @param sentKey сообщение отправителю об успехе (MAIL_SENT или MAIL_SENT_OFFLINE)
+     */
+    public void send(CommandSender sender, String targetName, String text, MessageKey sentKey) {
+        String senderName = sender.getName();
+        UUID senderId = sender instanceof Player ? ((Player) sender).getUniqueId() : null;
+
+        Player online = Bukkit.getPlayerExact(targetName);
+        UUID onlineId = online != null ? online.getUniqueId() : null;
+        String onlineName = online != null ? online.getName() : null;
+
+        io.execute(() -> {
+            UUID targetId = onlineId;
+            String name = onlineName;
+            if (targetId == null) {
+                OfflinePlayer offline = lookupOffline(targetName);
+                if (offline == null) {
+                    reply(sender, MessageKey.PUNISHMENT_PLAYER_NOT_FOUND, null);
+                    return;
+                }
+                targetId = offline.getUniqueId();
+                name = offline.getName() != null ? offline.getName() : targetName;
+            }
+
+            // Получатель игнорирует отправителя
+            IgnoreManager ignoreManager = plugin.getIgnoreManager();
+            if (senderId != null && ignoreManager != null && ignoreManager.isIgnoring(targetId, senderId)) {
+                reply(sender, MessageKey.IGNORE_BLOCKED, null);
+                return;
+            }
+
+            int count;
+            try {
+                count = append(targetId, senderName, text);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Ошибка записи почты " + targetId + ": " + e.getMessage());
+                reply(sender, MessageKey.MAIL_ERROR, null);
+                return;
+            }
+            if (count < 0) {
+                reply(sender, MessageKey.MAIL_FULL, name);
+                return;
+            }
+
+            AuditLogger auditLogger = plugin.getAuditLogger();
+            if (auditLogger != null) {
+                auditLogger.log(AuditLogger.MSG, senderName, "-> " + name + " [почта]: " + text);
+            }
+
+            reply(sender, sentKey, name);
+            notifyDelivered(targetId, senderName, count);
+        });
+    }
+
+    /**
+     * Найти игрока, который уже заходил на сервер.
+     * Вызывается только из потока почты — поиск может обращаться к диску или сети.
+     * @param name имя игрока
+     * @return игрок или null
+     */
+    @SuppressWarnings("deprecation")
+    private OfflinePlayer lookupOffline(String name) {
+        OfflinePlayer offline = Bukkit.getOfflinePlayer(name);
+        return offline != null && (offline.hasPlayedBefore() || offline.isOnline()) ? offline : null;
+    }
+
+    /**
+     * Уведомить получателя, если он онлайн, и обновить счётчик.
+     * @param targetId UUID получателя
+     * @param senderName имя отправителя
+     * @param count новое число непрочитанных
+     */
+    private void notifyDelivered(UUID targetId, String senderName, int count) {
+        runSync(() -> {
+            Player target = Bukkit.getPlayer(targetId);
+            if (target == null) return;
+            unread.put(targetId, count);
+            target.sendMessage(plugin.getMessageManager().format(target, MessageKey.MAIL_RECEIVED, senderName));
+        });
+    }
+
+    // ==================== ЧТЕНИЕ ====================
+
+    /**
+     * Показать игроку непрочитанные письма и отметить их прочитанными.
+     * @param player игрок
+     */
+    public void readUnread(Player player) {
+        UUID uuid = player.getUniqueId();
+        io.execute(() -> {
+            List<String[]> mails;
+            try {
+                mails = readAndMark(uuid);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Ошибка чтения почты " + uuid + ": " + e.getMessage());
+                reply(player, MessageKey.MAIL_ERROR, null);
+                return;
+            }
+
+            runSync(() -> {
+                if (!player.isOnline()) return;
+                unread.put(uuid, 0);
+
+                MessageManager msg = plugin.getMessageManager();
+                if (mails.isEmpty()) {
+                    player.sendMessage(msg.get(player, MessageKey.MAIL_NONE));
+                    return;
+                }
+                player.sendMessage(msg.format(player, MessageKey.MAIL_HEADER, String.valueOf(mails.size())));
+                for (String[] mail : mails) {
+                    player.sendMessage(msg.format(player, MessageKey.MAIL_ENTRY, mail[0], mail[1], mail[2]));
+                }
+            });
+        });
+    }
+
+    /**
+     * Удалить все письма игрока.
+     * @param player игрок
+     */
+    public void clear(Player player) {
+        UUID uuid = player.getUniqueId();
+        io.execute(() -> {
+            logFile(uuid).delete();
+            idxFile(uuid).delete();
+            runSync(() -> {
+                if (!player.isOnline()) return;
+                unread.put(uuid, 0);
+                player.sendMessage(plugin.getMessageManager().get(player, MessageKey.MAIL_CLEARED));
+            });
+        });
+    }
+
+    /**
+     * Число непрочитанных писем игрока онлайн (из кэша).
+     * @param uuid UUID игрока
+     * @return число писем, 0 если ещё не загружено
+     */
+    public int getUnread(UUID uuid) {
+        Integer count = unread.get(uuid);
+        return count != null ? count : 0;
+    }
+
+    // ==================== ВХОД И ВЫХОД ====================
+
+    /**
+     * Загрузить счётчик непрочитанных при входе и уведомить игрока с задержкой,
+     * чтобы не нагружать тик входа и не утонуть среди приветственных сообщений.
+     * @param player вошедший игрок
+     */
+    public void loadOnJoin(Player player) {
+        UUID uuid = player.getUniqueId();
+        io.execute(() -> {
+            int count;
+            try {
+                count = countUnread(uuid);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Ошибка чтения почты " + uuid + ": " + e.getMessage());
+                return;
+            }
+            if (!plugin.isEnabled()) return;
+
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (!player.isOnline()) return;
+                unread.put(uuid, count);
+                if (count > 0) {
+                    player.sendMessage(plugin.getMessageManager().format(player,
+                            MessageKey.MAIL_NOTIFY, String.valueOf(count)));
+                }
+            }, notifyDelayTicks);
+        });
+    }
+
+    /**
+     * Убрать счётчик игрока при выходе.
+     * @param uuid UUID игрока
+     */
+    public void unload(UUID uuid) {
+        unread.remove(uuid);
+    }
+
+    /**
+     * Дождаться записи оставшейся почты и остановить поток.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        io.shutdown();
+        try {
+            io.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== ФАЙЛЫ (поток почты) ====================
+
+    /**
+     * Дописать письмо в ящик.
+     * @param recipient UUID получателя
+     * @param senderName имя отправителя
+     * @param text текст письма
+     * @return новое число непрочитанных или -1, если ящик переполнен
+     * @throws IOException при ошибке записи
+     */
+    private int append(UUID recipient, String senderName, String text) throws IOException {
+        File log = logFile(recipient);
+        try (RandomAccessFile idx = new RandomAccessFile(idxFile(recipient), "rw")) {
+            if (idx.length() < HEADER_SIZE) {
+                idx.setLength(0);
+                idx.writeInt(0);
+            }
+            idx.seek(0);
+            int readIndex = idx.readInt();
+            int count = (int) ((idx.length() - HEADER_SIZE) / 8);
+            if (count - readIndex >= maxUnread) return -1;
+
+            // Сначала письмо, затем его смещение — индекс никогда не указывает за конец .log
+            long offset = log.length();
+            String line = System.currentTimeMillis() + "\t" + sanitize(senderName) + "\t" + sanitize(text) + "\n";
+            try (FileOutputStream out = new FileOutputStream(log, true)) {
+                out.write(line.getBytes(StandardCharsets.UTF_8));
+            }
+
+            idx.seek(HEADER_SIZE + (long) count * 8);
+            idx.writeLong(offset);
+            return count + 1 - readIndex;
+        }
+    }
+
+    /**
+     * Посчитать непрочитанные письма по длине индекса.
+     * @param recipient UUID получателя
+     * @return число непрочитанных
+     * @throws IOException при ошибке чтения
+     */
+    private int countUnread(UUID recipient) throws IOException {
+        File file = idxFile(recipient);
+        if (!file.exists() || file.length() < HEADER_SIZE) return 0;
+        try (RandomAccessFile idx = new RandomAccessFile(file, "r")) {
+            int readIndex = idx.readInt();
+            int count = (int) ((idx.length() - HEADER_SIZE) / 8);
+            return Math.max(0, count - readIndex);
+        }
+    }
+
+    /**
+     * Прочитать непрочитанные письма и сдвинуть указатель прочитанного.
+     * Читается только хвост .log начиная со смещения первого непрочитанного.
+     * @param recipient UUID получателя
+     * @return письма: [время, отправитель, текст]
+     * @throws IOException при ошибке чтения
+     */
+    private List<String[]> readAndMark(UUID recipient) throws IOException {
+        List<String[]> result = new ArrayList<>();
+        File idxFile = idxFile(recipient);
+        File log = logFile(recipient);
+        if (!idxFile.exists() || idxFile.length() < HEADER_SIZE || !log.exists()) return result;
+
+        try (RandomAccessFile idx = new RandomAccessFile(idxFile, "rw")) {
+            int readIndex = idx.readInt();
+            int count = (int) ((idx.length() - HEADER_SIZE) / 8);
+            if (readIndex >= count) return result;
+
+            idx.seek(HEADER_SIZE + (long) readIndex * 8);
+            long start = idx.readLong();
+
+            byte[] tail;
+            try (RandomAccessFile in = new RandomAccessFile(log, "r")) {
+                long length = in.length() - start;
+                if (length <= 0) return result;
+                tail = new byte[(int) length];
+                in.seek(start);
+                in.readFully(tail);
+            }
+
+            ZoneId zone = ZoneId.systemDefault();
+            for (String line : new String(tail, StandardCharsets.UTF_8).split("\n")) {
+                String[] parts = line.split("\t", 3);
+                if (parts.length < 3) continue;
+                String time;
+                try {
+                    time = TIME_FORMAT.format(Instant.ofEpochMilli(Long.parseLong(parts[0])).atZone(zone));
+                } catch (NumberFormatException e) {
+                    time = "?";
+                }
+                result.add(new String[]{time, parts[1], parts[2]});
+            }
+
+            // Отмечаем прочитанным — меняются только 4 байта заголовка
+            idx.seek(0);
+            idx.writeInt(count);
+        }
+        return result;
+    }
+
+    private File logFile(UUID uuid) {
+        return new File(folder, uuid + ".log");
+    }
+
+    private File idxFile(UUID uuid) {
+        return new File(folder, uuid + ".idx");
+    }
+
+    /**
+     * Убрать символы-разделители формата (перевод строки, табуляция).
+     */
+    private static String sanitize(String text) {
+        return text.replace('\n', ' ').replace('\r', ' ').replace('\t', ' ');
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ====================
+
+    /**
+     * Отправить ответ в основном потоке.
+     * @param to получатель
+     * @param key ключ сообщения
+     * @param a0 параметр или null для сообщения без параметров
+     */
+    private void reply(CommandSender to, MessageKey key, String a0) {
+        runSync(() -> {
+            if (to instanceof Player && !((Player) to).isOnline()) return;
+            MessageManager msg = plugin.getMessageManager();
+            to.sendMessage(a0 == null ? msg.get(to, key) : msg.format(to, key, a0));
+        });
+    }
+
+    /**
+     * Выполнить действие в основном потоке (если плагин ещё работает).
+     * @param action действие
+     */
+    private void runSync(Runnable action) {
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, action);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package ru.expicore.managers;
+
+/**
+ * Ключи сообщений языкового файла.
+ * Каждый ключ знает свой путь в YAML и имена плейсхолдеров в порядке аргументов.
+ * Порядковый номер (ordinal) используется как индекс в массиве скомпилированных шаблонов.
+ */
+public enum MessageKey {
+
+    // ==================== ОБЩИЕ ====================
+
+    ONLY_PLAYERS("general.only-players"),
+    NO_PERMISSION("general.no-permission"),
+    PLAYER_NOT_FOUND("general.player-not-found"),
+    INVALID_USAGE("general.invalid-usage"),
+    USAGE("general.usage", "usage"),
+    RELOADED("general.reloaded"),
+    IMPORT_STARTED("import.started", "folder"),
+    IMPORT_ALREADY_RUNNING("import.already-running"),
+    IMPORT_NO_FOLDER("import.no-folder", "folder"),
+    IMPORT_PROGRESS("import.progress", "parsed", "merged", "rate"),
+    IMPORT_DONE("import.done", "files", "seconds", "rate"),
+    IMPORT_DONE_STATS("import.done-stats", "homes", "punishments", "ignores"),
+    WORLD_NOT_LOADED("general.world-not-loaded", "world"),
+
+    // ==================== ПОДСКАЗКИ ИСПОЛЬЗОВАНИЯ ====================
+
+    USAGE_GAMEMODE("usage.gamemode"),
+    USAGE_MAIL("usage.mail"),
+    USAGE_MAIL_SEND("usage.mail-send"),
+    USAGE_SETWARP("usage.setwarp"),
+    USAGE_DELWARP("usage.delwarp"),
+    USAGE_MSG("usage.msg"),
+    USAGE_REPLY("usage.reply"),
+    USAGE_IGNORE("usage.ignore"),
+    USAGE_SOCIALSPY("usage.socialspy"),
+    USAGE_INVSEE("usage.invsee"),
+    USAGE_BROADCAST("usage.broadcast"),
+    USAGE_KIT_CREATE("usage.kit-create"),
+    USAGE_KIT_DELETE("usage.kit-delete"),
+    USAGE_TPA("usage.tpa"),
+    USAGE_TPAHERE("usage.tpahere"),
+    USAGE_HOMES("usage.homes"),
+    USAGE_KICK("usage.kick"),
+    USAGE_MUTE("usage.mute"),
+    USAGE_UNMUTE("usage.unmute"),
+    USAGE_BAN("usage.ban"),
+    USAGE_UNBAN("usage.unban"),
+    USAGE_TEMPBAN("usage.tempban"),
+    USAGE_PLAYTIME("usage.playtime"),
+    USAGE_EXPICORE("usage.expicore"),
+    USAGE_EXPICORE_IMPORT("usage.expicore-import"),
+
+    // ==================== ТПА ====================
+
+    TPA_SENT("tpa.sent", "target"),
+    TPA_RECEIVED("tpa.received", "sender"),
+    TPA_EXPIRED("tpa.expired"),
+    TPA_NO_PENDING("tpa.no-pending"),
+    TPA_ACCEPTED_SENDER("tpa.accepted-sender"),
+    TPA_ACCEPTED_TARGET("tpa.accepted-target"),
+    TPA_SELF("tpa.self"),
+    TPA_ALREADY_PENDING("tpa.already-pending"),
+    TPA_HERE_RECEIVED("tpa.here-received", "sender"),
+    TPA_QUEUE_FULL("tpa.queue-full"),
+    TPA_DENIED_SENDER("tpa.denied-sender", "target"),
+    TPA_DENIED_TARGET("tpa.denied-target", "sender"),
+    TPA_CANCELLED("tpa.cancelled", "target"),
+    TPA_CANCELLED_TARGET("tpa.cancelled-target", "sender"),
+    TPA_NO_OUTGOING("tpa.no-outgoing"),
+
+    // ==================== ЗАДЕРЖКА ТЕЛЕПОРТА ====================
+
+    TELEPORT_WARMUP("teleport.warmup", "seconds"),
+    TELEPORT_CANCELLED("teleport.cancelled"),
+    TELEPORT_COOLDOWN("teleport.cooldown", "seconds"),
+    TELEPORT_UNSAFE("teleport.unsafe"),
+
+    // ==================== ДОМА ====================
+
+    HOME_SET("home.set", "name"),
+    HOME_TELEPORTED("home.teleported", "name"),
+    HOME_DELETED("home.deleted", "name"),
+    HOME_NOT_FOUND("home.not-found", "name"),
+    HOME_LIST("home.list", "homes"),
+    NO_HOMES("home.none"),
+    HOME_LIMIT_REACHED("home.limit-reached", "limit"),
+    HOMES_RADIUS_INVALID("homes.radius-invalid", "max"),
+    HOMES_NEAR_NONE("homes.near-none", "radius"),
+    HOMES_NEAR_HEADER("homes.near-header", "count", "radius"),
+    HOMES_NEAR_ENTRY("homes.near-entry", "owner", "name", "distance"),
+    HOMES_NEAR_MORE("homes.near-more", "count"),
+    HOMES_PURGE_CONFIRM("homes.purge-confirm", "count", "radius"),
+    HOMES_PURGED("homes.purged", "count"),
+    HOMELIMITS_NONE("homes.limits-none"),
+    HOMELIMITS_HEADER("homes.limits-header", "players", "excess"),
+    HOMELIMITS_ENTRY("homes.limits-entry", "player", "homes", "limit"),
+    HOMELIMITS_TRIM_CONFIRM("homes.limits-trim-confirm", "excess", "players"),
+    HOMELIMITS_TRIMMED("homes.limits-trimmed", "count", "players"),
+    HOMELIMITS_UNKNOWN("homes.limits-unknown", "players"),
+    HOMELIMITS_UNKNOWN_ENTRY("homes.limits-unknown-entry", "player", "homes"),
+
+    // ==================== ВАРПЫ ====================
+
+    WARP_SET("warp.set", "name"),
+    WARP_TELEPORTED("warp.teleported", "name"),
+    WARP_DELETED("warp.deleted", "name"),
+    WARP_NOT_FOUND("warp.not-found", "name"),
+    WARP_LIST("warp.list", "warps"),
+    WARP_NONE("warp.none"),
+    WARP_NEAREST_NONE("warp.nearest-none"),
+    GUI_WARPS_TITLE("gui.warps-title", "page"),
+    GUI_HOMES_TITLE("gui.homes-title", "page"),
+    GUI_PREVIOUS("gui.previous"),
+    GUI_NEXT("gui.next"),
+    GUI_CLICK_TELEPORT("gui.click-teleport"),
+
+    // ==================== РЕЖИМ ИГРЫ, БОГ, ПОЛЁТ ====================
+
+    GAMEMODE_CHANGED("gamemode.changed", "mode"),
+    GAMEMODE_INVALID("gamemode.invalid"),
+    GAMEMODE_SURVIVAL("gamemode.survival"),
+    GAMEMODE_CREATIVE("gamemode.creative"),
+    GAMEMODE_ADVENTURE("gamemode.adventure"),
+    GAMEMODE_SPECTATOR("gamemode.spectator"),
+    GOD_ENABLED("god.enabled"),
+    GOD_DISABLED("god.disabled"),
+    FLY_ENABLED("fly.enabled"),
+    FLY_DISABLED("fly.disabled"),
+
+    // ==================== КИТЫ ====================
+
+    KIT_GIVEN("kit.given", "name"),
+    KIT_CREATED("kit.created", "name"),
+    KIT_DELETED("kit.deleted", "name"),
+    KIT_NOT_FOUND("kit.not-found", "name"),
+    KIT_LIST("kit.list", "kits"),
+    KIT_EMPTY_INVENTORY("kit.empty-inventory"),
+    KIT_NO_KITS("kit.none"),
+    KIT_LORE_ITEMS("kit.lore-items", "count"),
+    KIT_LORE_TAKE("kit.lore-take"),
+    KIT_LORE_DELETE("kit.lore-delete"),
+
+    // ==================== УТИЛИТЫ ИГРОКА ====================
+
+    FEED_SELF("feed.self"),
+    FEED_OTHER("feed.other", "target"),
+    FEED_BY_OTHER("feed.by-other"),
+    HEAL_SELF("heal.self"),
+    HEAL_OTHER("heal.other", "target"),
+    HEAL_BY_OTHER("heal.by-other"),
+    REPAIR_HAND("repair.hand"),
+    REPAIR_ALL("repair.all"),
+    REPAIR_NOTHING("repair.nothing"),
+    HAT_SET("hat.set"),
+    HAT_EMPTY("hat.empty"),
+    WORKBENCH_OPENED("workbench.opened"),
+    ENDERCHEST_OPENED("enderchest.opened"),
+    SUICIDE("suicide.done"),
+
+    // ==================== МОДЕРИРОВАНИЕ ====================
+
+    INVSEE_OPENED("invsee.opened", "target"),
+    BROADCAST("broadcast.format", "message"),
+    CLEAR_SELF("clear.self"),
+    CLEAR_OTHER("clear.other", "target"),
+    CLEAR_BY_OTHER("clear.by-other"),
+
+    // ==================== СПАВН ====================
+
+    SPAWN_TELEPORTED("spawn.teleported"),
+    SPAWN_NOT_SET("spawn.not-set"),
+    SPAWN_SET("spawn.set"),
+    SPAWN_FIRST_JOIN("spawn.first-join"),
+
+    // ==================== ВОЗВРАТ ====================
+
+    BACK_TELEPORTED("back.teleported"),
+    BACK_EMPTY("back.empty"),
+    BACK_INVALID("back.invalid", "max"),
+    BACK_UNAVAILABLE("back.unavailable"),
+
+    // ==================== СЛУЧАЙНАЯ ТЕЛЕПОРТАЦИЯ ====================
+
+    RTP_TELEPORTED("rtp.teleported"),
+    RTP_EMPTY("rtp.empty"),
+    RTP_WORLD_DISABLED("rtp.world-disabled"),
+
+    // ==================== ЛИЧНЫЕ СООБЩЕНИЯ ====================
+
+    MSG_TO("msg.to", "target", "message"),
+    MSG_FROM("msg.from", "sender", "message"),
+    MSG_NO_REPLY("msg.no-reply"),
+    MSG_SELF("msg.self"),
+
+    // ==================== ИГНОРИРОВАНИЕ ====================
+
+    IGNORE_ADDED("ignore.added", "target"),
+    IGNORE_REMOVED("ignore.removed", "target"),
+    IGNORE_EXEMPT("ignore.exempt"),
+    IGNORE_SELF("ignore.self"),
+    IGNORE_BLOCKED("ignore.blocked"),
+
+    // ==================== SOCIALSPY ====================
+
+    SOCIALSPY_ENABLED("socialspy.enabled"),
+    SOCIALSPY_DISABLED("socialspy.disabled"),
+    SOCIALSPY_FORMAT("socialspy.format", "sender", "target", "message"),
+    SOCIALSPY_WATCH_ADDED("socialspy.watch-added", "target"),
+    SOCIALSPY_WATCH_REMOVED("socialspy.watch-removed", "target"),
+    SOCIALSPY_KEYWORD_ADDED("socialspy.keyword-added", "keyword"),
+    SOCIALSPY_KEYWORD_REMOVED("socialspy.keyword-removed", "keyword"),
+    SOCIALSPY_KEYWORD_INVALID("socialspy.keyword-invalid"),
+    SOCIALSPY_CLEARED("socialspy.cleared"),
+    SOCIALSPY_LIST_ALL("socialspy.list-all"),
+    SOCIALSPY_LIST("socialspy.list", "players", "keywords"),
+    SOCIALSPY_LIST_EMPTY("socialspy.list-empty"),
+
+    // ==================== НАКАЗАНИЯ ====================
+
+    KICK_SUCCESS("punish.kick-success", "player", "reason"),
+    MUTE_SUCCESS("punish.mute-success", "player", "duration", "reason"),
+    UNMUTE_SUCCESS("punish.unmute-success", "player"),
+    BAN_SUCCESS("punish.ban-success", "player", "reason"),
+    UNBAN_SUCCESS("punish.unban-success", "player"),
+    TEMPBAN_SUCCESS("punish.tempban-success", "player", "duration", "reason"),
+    PUNISHMENT_PLAYER_NOT_FOUND("punish.player-not-found"),
+    NOT_MUTED("punish.not-muted", "player"),
+    NOT_BANNED("punish.not-banned", "player"),
+    INVALID_TIME_FORMAT("punish.invalid-time-format"),
+    PUNISH_OFFLINE_BAN("punish.offline-ban"),
+    PUNISH_DEFAULT_REASON("punish.default-reason"),
+    PUNISH_DEFAULT_CHAT_REASON("punish.default-chat-reason"),
+    PUNISH_NO_REASON("punish.no-reason"),
+    PUNISH_FOREVER("punish.forever"),
+    PUNISH_KICK_SCREEN("punish.kick-screen", "reason"),
+    PUNISH_BAN_SCREEN("punish.ban-screen", "reason", "duration"),
+    PUNISH_TEMPBAN_SCREEN("punish.tempban-screen", "reason", "duration"),
+    PUNISH_LOGIN_SCREEN("punish.login-screen", "reason", "duration"),
+    PUNISH_LOGIN_SCREEN_PERMANENT("punish.login-screen-permanent", "reason"),
+    PUNISH_MUTED("punish.muted"),
+    PUNISH_MUTED_NOTICE("punish.muted-notice", "reason", "duration"),
+    PUNISH_MUTED_CHAT("punish.muted-chat", "reason", "duration"),
+    PUNISH_MUTED_CHAT_PERMANENT("punish.muted-chat-permanent", "reason"),
+    PUNISH_UNMUTED_NOTICE("punish.unmuted-notice"),
+
+    // ==================== ДЛИТЕЛЬНОСТЬ ====================
+
+    TIME_DAYS("time.days", "value"),
+    TIME_HOURS("time.hours", "value"),
+    TIME_MINUTES("time.minutes", "value"),
+    TIME_SECONDS("time.seconds", "value"),
+
+    // ==================== AFK ====================
+
+    AFK_ON("afk.on"),
+    AFK_OFF("afk.off"),
+    AFK_BROADCAST_ON("afk.broadcast-on", "player"),
+    AFK_BROADCAST_OFF("afk.broadcast-off", "player"),
+    AFK_BROADCAST_ON_MANY("afk.broadcast-on-many", "players"),
+    AFK_BROADCAST_OFF_MANY("afk.broadcast-off-many", "players"),
+    AFK_KICKED("afk.kicked"),
+
+    // ==================== МОНИТОРИНГ ====================
+
+    NEAR_USAGE("near.usage"),
+    NEAR_INVALID_RADIUS("near.invalid-radius"),
+    NEAR_INVALID_FORMAT("near.invalid-format"),
+    NEAR_NONE("near.none", "radius"),
+    NEAR_HEADER("near.header", "radius"),
+    NEAR_ENTRY("near.entry", "player", "distance"),
+
+    // ==================== КАНАЛЫ ЧАТА ====================
+
+    CHAT_NOBODY_NEARBY("chat.nobody-nearby"),
+
+    // ==================== ПОЧТА ====================
+
+    MAIL_SENT("mail.sent", "target"),
+    MAIL_SENT_OFFLINE("mail.sent-offline", "target"),
+    MAIL_RECEIVED("mail.received", "sender"),
+    MAIL_NOTIFY("mail.notify", "count"),
+    MAIL_NONE("mail.none"),
+    MAIL_HEADER("mail.header", "count"),
+    MAIL_ENTRY("mail.entry", "time", "sender", "message"),
+    MAIL_CLEARED("mail.cleared"),
+    MAIL_FULL("mail.full", "target"),
+    MAIL_ERROR("mail.error"),
+
+    // ==================== ИГРОВОЕ ВРЕМЯ ====================
+
+    PLAYTIME_HEADER("playtime.header", "player"),
+    PLAYTIME_TOTAL("playtime.total", "active", "afk"),
+    PLAYTIME_TODAY("playtime.today", "active", "afk"),
+    PLAYTIME_NONE("playtime.none", "player"),
+    PLAYTIME_TOP_HEADER("playtime.top-header"),
+    PLAYTIME_TOP_ENTRY("playtime.top-entry", "place", "player", "active"),
+    PLAYTIME_TOP_EMPTY("playtime.top-empty"),
+    PLAYTIME_EXPORTED("playtime.exported", "file"),
+    PLAYTIME_ERROR("playtime.error");
+
+    /** Путь к сообщению в языковом файле */
+    private final String path;
+
+    /** Имена плейсхолдеров в порядке аргументов */
+    private final String[] params;
+
+    MessageKey(String path, String... params) {
+        this.path = path;
+        this.params = params;
+    }
+
+    /**
+     * Получить путь в языковом файле.
+     * @return путь, например "tpa.sent"
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Получить имена плейсхолдеров.
+     * @return массив имён в порядке аргументов
+     */
+    public String[] getParams() {
+        return params;
+    }
+}
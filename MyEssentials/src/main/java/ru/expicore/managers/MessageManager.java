@@ -1,447 +1,763 @@
 package ru.expicore.managers;
 
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Менеджер сообщений плагина.
- * Все игровые сообщения хранятся здесь на русском языке.
+ * Тексты загружаются из языковых файлов lang/<язык>.yml в папке плагина
+ * (при отсутствии — копируется встроенный). Каждое сообщение один раз
+ * компилируется в {@link MessageTemplate}; при отправке остаётся только
+ * подставить аргументы.
+ *
+ * Язык по умолчанию (config.yml → language) загружается сразу, остальные —
+ * лениво, при первом игроке с таким языком клиента. Недостающие в файле ключи
+ * берутся из языка по умолчанию тем же объектом шаблона, а одинаковые
+ * статические строки разных языков хранятся в одном экземпляре.
+ * Язык игрока определяется при входе и кэшируется; игроки с языком
+ * по умолчанию в кэш не попадают, поэтому для них отправка стоит столько же,
+ * сколько и без локализации.
  * Используется кодировка UTF-8 для корректного отображения кириллицы.
  */
 public class MessageManager {
 
-    /** Префикс плагина для сообщений в чате */
+    /** Префикс плагина для сообщений, собираемых прямо в коде команд */
     public static final String PREFIX = ChatColor.GOLD + "[ExpiCore] " + ChatColor.RESET;
 
-    // ==================== ОБЩИЕ ====================
+    /** Заголовок GUI редактора китов */
+    public static final String KIT_EDITOR_TITLE = ChatColor.DARK_PURPLE + "Редактор китов";
+
+    /** Встроенный язык, из которого берутся ключи, отсутствующие во всех файлах */
+    private static final String FALLBACK_LANGUAGE = "ru";
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /**
+     * Загруженные наборы сообщений по коду языка.
+     * Языки без файла отображаются на набор по умолчанию, чтобы не искать файл повторно.
+     */
+    private final Map<String, Bundle> bundles = new ConcurrentHashMap<>();
+
+    /**
+     * Кэш языка игроков: UUID -> набор сообщений.
+     * Хранятся только игроки, чей язык отличается от языка по умолчанию.
+     */
+    private final Map<UUID, Bundle> playerBundles = new ConcurrentHashMap<>();
+
+    /**
+     * Пул статических (без плейсхолдеров) шаблонов по их тексту.
+     * Одинаковые строки разных языков разделяют один объект.
+     */
+    private final Map<String, MessageTemplate> staticPool = new ConcurrentHashMap<>();
+
+    /** Псевдонимы языков клиента из config.yml (например be -> ru) */
+    private volatile Map<String, String> aliases = new HashMap<>();
+
+    /**
+     * Набор сообщений языка по умолчанию.
+     * Заменяется целиком при перезагрузке, поэтому читатели
+     * (в том числе асинхронный чат) всегда видят согласованный набор.
+     */
+    private volatile Bundle defaultBundle;
+
+    /** Определять ли язык по настройкам клиента */
+    private volatile boolean perPlayerLocale;
+
+    /**
+     * Создать менеджер сообщений и загрузить язык по умолчанию.
+     * @param plugin экземпляр плагина
+     */
+    public MessageManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    // ==================== ЗАГРУЗКА ====================
+
+    /**
+     * Перечитать настройки языка и перекомпилировать шаблоны.
+     * Остальные языки будут загружены заново при первом обращении.
+     * Безопасно вызывать на работающем сервере (/expicore reload).
+     */
+    public void reload() {
+        String language = normalize(plugin.getConfig().getString("language", FALLBACK_LANGUAGE));
+        this.perPlayerLocale = plugin.getConfig().getBoolean("per-player-locale", true);
+
+        Map<String, String> newAliases = new HashMap<>();
+        ConfigurationSection aliasSection = plugin.getConfig().getConfigurationSection("locale-aliases");
+        if (aliasSection != null) {
+            for (String key : aliasSection.getKeys(false)) {
+                newAliases.put(normalize(key), normalize(aliasSection.getString(key)));
+            }
+        }
+        this.aliases = newAliases;
+
+        staticPool.clear();
+        bundles.clear();
+        Bundle loaded = loadBundle(language, null);
+        bundles.put(language, loaded);
+        this.defaultBundle = loaded;
+
+        // Пересчитываем язык онлайн-игроков под новые наборы
+        playerBundles.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            cachePlayerLocale(player, player.getLocale());
+        }
+    }
+
+    /**
+     * Загрузить и скомпилировать набор сообщений языка.
+     * @param language код языка (ru, en, uk ...)
+     * @param fallback набор для недостающих ключей; null — загружается язык по умолчанию
+     * @return скомпилированный набор
+     */
+    private Bundle loadBundle(String language, Bundle fallback) {
+        String path = "lang/" + language + ".yml";
+        YamlConfiguration lang = loadFromDataFolder(path);
+
+        // Для языка по умолчанию недостающие ключи берём из встроенных файлов
+        YamlConfiguration defaults = null;
+        if (fallback == null) {
+            defaults = loadBundled(path);
+            if (!FALLBACK_LANGUAGE.equals(language)) {
+                defaults.setDefaults(loadBundled("lang/" + FALLBACK_LANGUAGE + ".yml"));
+            }
+        }
+
+        String rawPrefix = lang.getString("prefix");
+        if (rawPrefix == null) {
+            rawPrefix = defaults != null ? defaults.getString("prefix", "&6[ExpiCore] &r") : "&6[ExpiCore] &r";
+        }
+        String prefix = ChatColor.translateAlternateColorCodes('&', rawPrefix);
+
+        MessageKey[] keys = MessageKey.values();
+        MessageTemplate[] compiled = new MessageTemplate[keys.length];
+        for (MessageKey key : keys) {
+            String raw = lang.getString(key.getPath());
+            if (raw == null && fallback != null) {
+                // Ключа нет в файле языка — используем тот же шаблон языка по умолчанию
+                compiled[key.ordinal()] = fallback.templates[key.ordinal()];
+                continue;
+            }
+            if (raw == null) {
+                raw = defaults.getString(key.getPath(), key.getPath());
+            }
+            compiled[key.ordinal()] = intern(MessageTemplate.compile(raw, key.getParams(), prefix));
+        }
+        return new Bundle(language, compiled);
+    }
+
+    /**
+     * Вернуть уже существующий статический шаблон с тем же текстом, если он есть.
+     * @param template только что скомпилированный шаблон
+     * @return шаблон из пула или переданный
+     */
+    private MessageTemplate intern(MessageTemplate template) {
+        if (!template.isStatic()) return template;
+        MessageTemplate existing = staticPool.putIfAbsent(template.text(), template);
+        return existing != null ? existing : template;
+    }
+
+    /**
+     * Загрузить встроенный в jar языковой файл.
+     * @param path путь ресурса
+     * @return конфигурация (пустая при ошибке)
+     */
+    private YamlConfiguration loadBundled(String path) {
+        InputStream in = plugin.getResource(path);
+        if (in == null) return new YamlConfiguration();
+        try (InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Ошибка чтения встроенного " + path + ": " + e.getMessage());
+            return new YamlConfiguration();
+        }
+    }
+
+    /**
+     * Загрузить языковой файл из папки плагина.
+     * Если файла нет — сначала копируем встроенный.
+     * @param path путь относительно папки плагина
+     * @return конфигурация (пустая при ошибке)
+     */
+    private YamlConfiguration loadFromDataFolder(String path) {
+        File file = new File(plugin.getDataFolder(), path);
+        if (!file.exists() && plugin.getResource(path) != null) {
+            plugin.saveResource(path, false);
+        }
+        if (!file.exists()) return new YamlConfiguration();
+        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Ошибка чтения " + path + ": " + e.getMessage());
+            return new YamlConfiguration();
+        }
+    }
+
+    /**
+     * Есть ли файл языка (в папке плагина или внутри jar).
+     * @param language код языка
+     * @return true если язык можно загрузить
+     */
+    private boolean languageExists(String language) {
+        String path = "lang/" + language + ".yml";
+        return new File(plugin.getDataFolder(), path).exists() || plugin.getResource(path) != null;
+    }
+
+    // ==================== ЯЗЫК ИГРОКА ====================
+
+    /**
+     * Определить и закэшировать язык игрока по локали клиента.
+     * Вызывается при входе и при смене языка в настройках клиента.
+     * @param player игрок
+     * @param clientLocale локаль клиента, например "en_us"
+     */
+    public void cachePlayerLocale(Player player, String clientLocale) {
+        Bundle bundle = perPlayerLocale && clientLocale != null ? resolveBundle(clientLocale) : defaultBundle;
+        if (bundle == defaultBundle) {
+            playerBundles.remove(player.getUniqueId());
+        } else {
+            playerBundles.put(player.getUniqueId(), bundle);
+        }
+    }
+
+    /**
+     * Убрать игрока из кэша языков (при выходе).
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        playerBundles.remove(uuid);
+    }
+
+    /**
+     * Найти (или лениво загрузить) набор сообщений для локали клиента.
+     * @param clientLocale локаль клиента
+     * @return набор сообщений; языки без файла — набор по умолчанию
+     */
+    private Bundle resolveBundle(String clientLocale) {
+        String language = normalize(clientLocale);
+        int underscore = language.indexOf('_');
+        if (underscore > 0) {
+            language = language.substring(0, underscore);
+        }
+        language = aliases.getOrDefault(language, language);
+
+        Bundle cached = bundles.get(language);
+        if (cached != null) return cached;
+
+        Bundle fallback = defaultBundle;
+        return bundles.computeIfAbsent(language,
+                code -> languageExists(code) ? loadBundle(code, fallback) : fallback);
+    }
+
+    /**
+     * Получить набор сообщений для получателя.
+     * Пока в кэше нет ни одного игрока с другим языком — без поиска в карте.
+     * @param to получатель
+     * @return набор сообщений
+     */
+    private Bundle bundleFor(CommandSender to) {
+        if (playerBundles.isEmpty() || !(to instanceof Player)) return defaultBundle;
+        Bundle bundle = playerBundles.get(((Player) to).getUniqueId());
+        return bundle != null ? bundle : defaultBundle;
+    }
 
-    /** Сообщение: только для игроков */
-    public static final String ONLY_PLAYERS = PREFIX + ChatColor.RED + "Эта команда доступна только для игроков!";
+    /**
+     * Привести код языка к нижнему регистру без пробелов.
+     * @param code исходный код
+     * @return нормализованный код
+     */
+    private static String normalize(String code) {
+        return code == null ? FALLBACK_LANGUAGE : code.trim().toLowerCase(Locale.ROOT);
+    }
 
-    /** Сообщение: нет прав */
-    public static final String NO_PERMISSION = PREFIX + ChatColor.RED + "У вас нет прав для выполнения этой команды!";
+    // ==================== ПОЛУЧЕНИЕ СООБЩЕНИЙ ====================
 
-    /** Сообщение: игрок не найден */
-    public static final String PLAYER_NOT_FOUND = PREFIX + ChatColor.RED + "Игрок не найден!";
+    /**
+     * Получить сообщение без параметров на языке по умолчанию (консоль, логи).
+     * @param key ключ сообщения
+     * @return готовая строка
+     */
+    public String get(MessageKey key) {
+        return defaultBundle.templates[key.ordinal()].text();
+    }
 
-    /** Сообщение: неверное использование команды */
-    public static final String INVALID_USAGE = PREFIX + ChatColor.RED + "Неверное использование команды!";
+    /**
+     * Получить сообщение с одним параметром на языке по умолчанию.
+     * @param key ключ сообщения
+     * @param a0 значение параметра
+     * @return готовая строка
+     */
+    public String format(MessageKey key, String a0) {
+        return defaultBundle.templates[key.ordinal()].render(a0);
+    }
+
+    /**
+     * Получить сообщение с двумя параметрами на языке по умолчанию.
+     * @param key ключ сообщения
+     * @param a0 значение первого параметра
+     * @param a1 значение второго параметра
+     * @return готовая строка
+     */
+    public String format(MessageKey key, String a0, String a1) {
+        return defaultBundle.templates[key.ordinal()].render(a0, a1);
+    }
+
+    /**
+     * Получить сообщение без параметров на языке получателя.
+     * @param to получатель
+     * @param key ключ сообщения
+     * @return готовая строка
+     */
+    public String get(CommandSender to, MessageKey key) {
+        return bundleFor(to).templates[key.ordinal()].text();
+    }
+
+    /**
+     * Получить сообщение с одним параметром на языке получателя.
+     * @param to получатель
+     * @param key ключ сообщения
+     * @param a0 значение параметра
+     * @return готовая строка
+     */
+    public String format(CommandSender to, MessageKey key, String a0) {
+        return bundleFor(to).templates[key.ordinal()].render(a0);
+    }
+
+    /**
+     * Получить сообщение с двумя параметрами на языке получателя.
+     * @param to получатель
+     * @param key ключ сообщения
+     * @param a0 значение первого параметра
+     * @param a1 значение второго параметра
+     * @return готовая строка
+     */
+    public String format(CommandSender to, MessageKey key, String a0, String a1) {
+        return bundleFor(to).templates[key.ordinal()].render(a0, a1);
+    }
+
+    /**
+     * Получить сообщение с тремя параметрами на языке получателя.
+     * @param to получатель
+     * @param key ключ сообщения
+     * @param a0 значение первого параметра
+     * @param a1 значение второго параметра
+     * @param a2 значение третьего параметра
+     * @return готовая строка
+     */
+    public String format(CommandSender to, MessageKey key, String a0, String a1, String a2) {
+        return bundleFor(to).templates[key.ordinal()].render(a0, a1, a2);
+    }
+
+    /**
+     * Разослать сообщение всем игрокам и в консоль, каждому на его языке.
+     * Текст отрисовывается один раз на язык, а не на каждого игрока.
+     * @param key ключ сообщения
+     * @param a0 значение параметра
+     */
+    public void broadcast(MessageKey key, String a0) {
+        Bundle def = defaultBundle;
+        String defaultText = def.templates[key.ordinal()].render(a0);
+        Map<Bundle, String> rendered = null;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Bundle bundle = bundleFor(player);
+            if (bundle == def) {
+                player.sendMessage(defaultText);
+                continue;
+            }
+            if (rendered == null) rendered = new IdentityHashMap<>();
+            String text = rendered.get(bundle);
+            if (text == null) {
+                text = bundle.templates[key.ordinal()].render(a0);
+                rendered.put(bundle, text);
+            }
+            player.sendMessage(text);
+        }
+        Bukkit.getConsoleSender().sendMessage(defaultText);
+    }
+
+    /**
+     * Отправить одно сообщение группе получателей, каждому на его языке.
+     * Текст отрисовывается один раз на язык, а не на каждого получателя.
+     * @param recipients получатели
+     * @param key ключ сообщения
+     * @param a0 значение первого параметра
+     * @param a1 значение второго параметра
+     * @param a2 значение третьего параметра
+     */
+    public void send(Collection<? extends CommandSender> recipients, MessageKey key, String a0, String a1, String a2) {
+        Bundle def = defaultBundle;
+        String defaultText = null;
+        Map<Bundle, String> rendered = null;
+
+        for (CommandSender to : recipients) {
+            Bundle bundle = bundleFor(to);
+            if (bundle == def) {
+                if (defaultText == null) defaultText = def.templates[key.ordinal()].render(a0, a1, a2);
+                to.sendMessage(defaultText);
+                continue;
+            }
+            if (rendered == null) rendered = new IdentityHashMap<>();
+            String text = rendered.get(bundle);
+            if (text == null) {
+                text = bundle.templates[key.ordinal()].render(a0, a1, a2);
+                rendered.put(bundle, text);
+            }
+            to.sendMessage(text);
+        }
+    }
 
     // ==================== ТПА (Телепортация) ====================
 
     /**
      * Запрос на ТП отправлен.
+     * @param to получатель
      * @param target имя целевого игрока
      * @return отформатированное сообщение
      */
-    public String tpaSent(String target) {
-        return PREFIX + ChatColor.GREEN + "Запрос на телепортацию отправлен игроку " + ChatColor.YELLOW + target + ChatColor.GREEN + ".";
+    public String tpaSent(CommandSender to, String target) {
+        return format(to, MessageKey.TPA_SENT, target);
     }
 
     /**
      * Вы получили запрос на ТП.
+     * @param to получатель
      * @param sender имя отправителя
      * @return отформатированное сообщение
      */
-    public String tpaReceived(String sender) {
-        return PREFIX + ChatColor.GREEN + "Игрок " + ChatColor.YELLOW + sender + ChatColor.GREEN
-                + " хочет телепортироваться к вам.\n"
-                + PREFIX + ChatColor.GREEN + "Введите " + ChatColor.YELLOW + "/tpaccept"
-                + ChatColor.GREEN + " чтобы принять. (60 секунд)";
+    public String tpaReceived(CommandSender to, String sender) {
+        return format(to, MessageKey.TPA_RECEIVED, sender);
     }
 
-    /** Сообщение: запрос на ТП истёк */
-    public static final String TPA_EXPIRED = PREFIX + ChatColor.RED + "Запрос на телепортацию истёк.";
-
-    /** Сообщение: нет входящих запросов */
-    public static final String TPA_NO_PENDING = PREFIX + ChatColor.RED + "У вас нет входящих запросов на телепортацию.";
-
-    /** Сообщение: запрос принят (для отправителя) */
-    public static final String TPA_ACCEPTED_SENDER = PREFIX + ChatColor.GREEN + "Ваш запрос на телепортацию принят!";
-
-    /** Сообщение: вы приняли запрос */
-    public static final String TPA_ACCEPTED_TARGET = PREFIX + ChatColor.GREEN + "Вы приняли запрос на телепортацию.";
-
-    /** Сообщение: нельзя отправить запрос самому себе */
-    public static final String TPA_SELF = PREFIX + ChatColor.RED + "Вы не можете телепортироваться к самому себе!";
-
-    /** Сообщение: у вас уже есть ожидающий запрос */
-    public static final String TPA_ALREADY_PENDING = PREFIX + ChatColor.RED + "У этого игрока уже есть входящий запрос. Подождите.";
-
     // ==================== ДОМА ====================
 
     /**
      * Дом установлен.
+     * @param to получатель
      * @param name название дома
      * @return отформатированное сообщение
      */
-    public String homeSet(String name) {
-        return PREFIX + ChatColor.GREEN + "Дом " + ChatColor.YELLOW + name + ChatColor.GREEN + " успешно установлен!";
+    public String homeSet(CommandSender to, String name) {
+        return format(to, MessageKey.HOME_SET, name);
     }
 
     /**
      * Телепортация к дому.
+     * @param to получатель
      * @param name название дома
      * @return отформатированное сообщение
      */
-    public String homeTeleported(String name) {
-        return PREFIX + ChatColor.GREEN + "Вы телепортированы к дому " + ChatColor.YELLOW + name + ChatColor.GREEN + ".";
+    public String homeTeleported(CommandSender to, String name) {
+        return format(to, MessageKey.HOME_TELEPORTED, name);
     }
 
     /**
      * Дом удалён.
+     * @param to получатель
      * @param name название дома
      * @return отформатированное сообщение
      */
-    public String homeDeleted(String name) {
-        return PREFIX + ChatColor.GREEN + "Дом " + ChatColor.YELLOW + name + ChatColor.GREEN + " удалён.";
+    public String homeDeleted(CommandSender to, String name) {
+        return format(to, MessageKey.HOME_DELETED, name);
     }
 
     /**
      * Дом не найден.
+     * @param to получатель
      * @param name название дома
      * @return отформатированное сообщение
      */
-    public String homeNotFound(String name) {
-        return PREFIX + ChatColor.RED + "Дом " + ChatColor.YELLOW + name + ChatColor.RED + " не найден!";
+    public String homeNotFound(CommandSender to, String name) {
+        return format(to, MessageKey.HOME_NOT_FOUND, name);
     }
 
-    /** Сообщение: у вас нет домов */
-    public static final String NO_HOMES = PREFIX + ChatColor.RED + "У вас нет установленных домов.";
-
     // ==================== ВАРПЫ ====================
 
     /**
      * Варп создан.
+     * @param to получатель
      * @param name название варпа
      * @return отформатированное сообщение
      */
-    public String warpSet(String name) {
-        return PREFIX + ChatColor.GREEN + "Варп " + ChatColor.YELLOW + name + ChatColor.GREEN + " успешно создан!";
+    public String warpSet(CommandSender to, String name) {
+        return format(to, MessageKey.WARP_SET, name);
     }
 
     /**
      * Телепортация к варпу.
+     * @param to получатель
      * @param name название варпа
      * @return отформатированное сообщение
      */
-    public String warpTeleported(String name) {
-        return PREFIX + ChatColor.GREEN + "Вы телепортированы к варпу " + ChatColor.YELLOW + name + ChatColor.GREEN + ".";
+    public String warpTeleported(CommandSender to, String name) {
+        return format(to, MessageKey.WARP_TELEPORTED, name);
     }
 
     /**
      * Варп удалён.
+     * @param to получатель
      * @param name название варпа
      * @return отформатированное сообщение
      */
-    public String warpDeleted(String name) {
-        return PREFIX + ChatColor.GREEN + "Варп " + ChatColor.YELLOW + name + ChatColor.GREEN + " удалён.";
+    public String warpDeleted(CommandSender to, String name) {
+        return format(to, MessageKey.WARP_DELETED, name);
     }
 
     /**
      * Варп не найден.
+     * @param to получатель
      * @param name название варпа
      * @return отформатированное сообщение
      */
-    public String warpNotFound(String name) {
-        return PREFIX + ChatColor.RED + "Варп " + ChatColor.YELLOW + name + ChatColor.RED + " не найден!";
+    public String warpNotFound(CommandSender to, String name) {
+        return format(to, MessageKey.WARP_NOT_FOUND, name);
     }
 
     // ==================== РЕЖИМ ИГРЫ ====================
 
     /**
      * Режим игры изменён.
+     * @param to получатель
      * @param mode название режима
      * @return отформатированное сообщение
      */
-    public String gamemodeChanged(String mode) {
-        return PREFIX + ChatColor.GREEN + "Игровой режим изменён на " + ChatColor.YELLOW + mode + ChatColor.GREEN + ".";
+    public String gamemodeChanged(CommandSender to, String mode) {
+        return format(to, MessageKey.GAMEMODE_CHANGED, mode);
     }
 
-    /** Сообщение: неизвестный режим игры */
-    public static final String GAMEMODE_INVALID = PREFIX + ChatColor.RED + "Неизвестный режим игры! Используйте: survival, creative, adventure, spectator.";
-
-    // ==================== БОГ И ПОЛЁТ ====================
-
-    /** Сообщение: режим бога включён */
-    public static final String GOD_ENABLED = PREFIX + ChatColor.GREEN + "Режим неуязвимости " + ChatColor.YELLOW + "включён" + ChatColor.GREEN + ".";
-
-    /** Сообщение: режим бога выключен */
-    public static final String GOD_DISABLED = PREFIX + ChatColor.GREEN + "Режим неуязвимости " + ChatColor.YELLOW + "выключен" + ChatColor.GREEN + ".";
-
-    /** Сообщение: полёт включён */
-    public static final String FLY_ENABLED = PREFIX + ChatColor.GREEN + "Режим полёта " + ChatColor.YELLOW + "включён" + ChatColor.GREEN + ".";
-
-    /** Сообщение: полёт выключен */
-    public static final String FLY_DISABLED = PREFIX + ChatColor.GREEN + "Режим полёта " + ChatColor.YELLOW + "выключен" + ChatColor.GREEN + ".";
-
     // ==================== КИТЫ ====================
 
     /**
      * Кит выдан.
+     * @param to получатель
      * @param name название кита
      * @return отформатированное сообщение
      */
-    public String kitGiven(String name) {
-        return PREFIX + ChatColor.GREEN + "Вы получили кит " + ChatColor.YELLOW + name + ChatColor.GREEN + "!";
+    public String kitGiven(CommandSender to, String name) {
+        return format(to, MessageKey.KIT_GIVEN, name);
     }
 
     /**
      * Кит создан.
+     * @param to получатель
      * @param name название кита
      * @return отформатированное сообщение
      */
-    public String kitCreated(String name) {
-        return PREFIX + ChatColor.GREEN + "Кит " + ChatColor.YELLOW + name + ChatColor.GREEN + " успешно создан!";
+    public String kitCreated(CommandSender to, String name) {
+        return format(to, MessageKey.KIT_CREATED, name);
     }
 
     /**
      * Кит удалён.
+     * @param to получатель
      * @param name название кита
      * @return отформатированное сообщение
      */
-    public String kitDeleted(String name) {
-        return PREFIX + ChatColor.GREEN + "Кит " + ChatColor.YELLOW + name + ChatColor.GREEN + " удалён.";
+    public String kitDeleted(CommandSender to, String name) {
+        return format(to, MessageKey.KIT_DELETED, name);
     }
 
     /**
      * Кит не найден.
+     * @param to получатель
      * @param name название кита
      * @return отформатированное сообщение
      */
-    public String kitNotFound(String name) {
-        return PREFIX + ChatColor.RED + "Кит " + ChatColor.YELLOW + name + ChatColor.RED + " не найден!";
+    public String kitNotFound(CommandSender to, String name) {
+        return format(to, MessageKey.KIT_NOT_FOUND, name);
     }
 
-    /** Сообщение: инвентарь пуст — нечего сохранять */
-    public static final String KIT_EMPTY_INVENTORY = PREFIX + ChatColor.RED + "Ваш инвентарь пуст! Нечего сохранять в кит.";
-
-    /** Сообщение: нет доступных китов */
-    public static final String KIT_NO_KITS = PREFIX + ChatColor.RED + "Нет доступных китов.";
-
-    /** Заголовок GUI редактора китов */
-    public static final String KIT_EDITOR_TITLE = ChatColor.DARK_PURPLE + "Редактор китов";
-
     // ==================== УТИЛИТЫ ИГРОКА ====================
 
-    /** Сообщение: голод восстановлен (себе) */
-    public static final String FEED_SELF = PREFIX + ChatColor.GREEN + "Ваш голод восстановлен!";
-
     /**
      * Голод восстановлен другому игроку.
+     * @param to получатель
      * @param target имя целевого игрока
      * @return отформатированное сообщение
      */
-    public String feedOther(String target) {
-        return PREFIX + ChatColor.GREEN + "Голод игрока " + ChatColor.YELLOW + target + ChatColor.GREEN + " восстановлен.";
+    public String feedOther(CommandSender to, String target) {
+        return format(to, MessageKey.FEED_OTHER, target);
     }
 
-    /** Сообщение: вас накормил другой игрок */
-    public static final String FEED_BY_OTHER = PREFIX + ChatColor.GREEN + "Ваш голод был восстановлен администратором.";
-
-    /** Сообщение: здоровье восстановлено (себе) */
-    public static final String HEAL_SELF = PREFIX + ChatColor.GREEN + "Ваше здоровье полностью восстановлено!";
-
     /**
      * Здоровье восстановлено другому игроку.
+     * @param to получатель
      * @param target имя целевого игрока
      * @return отформатированное сообщение
      */
-    public String healOther(String target) {
-        return PREFIX + ChatColor.GREEN + "Здоровье игрока " + ChatColor.YELLOW + target + ChatColor.GREEN + " восстановлено.";
+    public String healOther(CommandSender to, String target) {
+        return format(to, MessageKey.HEAL_OTHER, target);
     }
 
-    /** Сообщение: вас вылечил другой игрок */
-    public static final String HEAL_BY_OTHER = PREFIX + ChatColor.GREEN + "Ваше здоровье было восстановлено администратором.";
-
-    /** Сообщение: предмет починен */
-    public static final String REPAIR_HAND = PREFIX + ChatColor.GREEN + "Предмет в руке починен!";
-
-    /** Сообщение: весь инвентарь починен */
-    public static final String REPAIR_ALL = PREFIX + ChatColor.GREEN + "Весь инвентарь починен!";
-
-    /** Сообщение: нечего чинить (предмет не повреждается) */
-    public static final String REPAIR_NOTHING = PREFIX + ChatColor.RED + "Этот предмет нельзя починить!";
-
-    /** Сообщение: шляпа надета */
-    public static final String HAT_SET = PREFIX + ChatColor.GREEN + "Предмет надет на голову!";
-
-    /** Сообщение: рука пуста (для /hat) */
-    public static final String HAT_EMPTY = PREFIX + ChatColor.RED + "У вас нет предмета в руке!";
-
-    /** Сообщение: верстак открыт */
-    public static final String WORKBENCH_OPENED = PREFIX + ChatColor.GREEN + "Верстак открыт.";
-
-    /** Сообщение: эндер-сундук открыт */
-    public static final String ENDERCHEST_OPENED = PREFIX + ChatColor.GREEN + "Эндер-сундук открыт.";
-
     // ==================== МОДЕРИРОВАНИЕ ====================
 
     /**
      * Просмотр инвентаря игрока.
+     * @param to получатель
      * @param target имя целевого игрока
      * @return отформатированное сообщение
      */
-    public String invseeOpened(String target) {
-        return PREFIX + ChatColor.GREEN + "Вы просматриваете инвентарь игрока " + ChatColor.YELLOW + target + ChatColor.GREEN + ".";
+    public String invseeOpened(CommandSender to, String target) {
+        return format(to, MessageKey.INVSEE_OPENED, target);
     }
 
-    /** Префикс объявления */
-    public static final String BROADCAST_PREFIX = ChatColor.RED + "" + ChatColor.BOLD + "[Объявление] " + ChatColor.RESET;
-
-    /** Сообщение: инвентарь очищен (себе) */
-    public static final String CLEAR_SELF = PREFIX + ChatColor.GREEN + "Ваш инвентарь очищен.";
-
     /**
      * Инвентарь другого игрока очищен.
+     * @param to получатель
      * @param target имя целевого игрока
      * @return отформатированное сообщение
      */
-    public String clearOther(String target) {
-        return PREFIX + ChatColor.GREEN + "Инвентарь игрока " + ChatColor.YELLOW + target + ChatColor.GREEN + " очищен.";
+    public String clearOther(CommandSender to, String target) {
+        return format(to, MessageKey.CLEAR_OTHER, target);
     }
 
-    /** Сообщение: ваш инвентарь очищен администратором */
-    public static final String CLEAR_BY_OTHER = PREFIX + ChatColor.RED + "Ваш инвентарь был очищен администратором.";
-
-    // ==================== СПАВН ====================
-
-    /** Сообщение: телепортация на спавн */
-    public static final String SPAWN_TELEPORTED = PREFIX + ChatColor.GREEN + "Вы телепортированы на спавн.";
-
-    /** Сообщение: спавн не установлен */
-    public static final String SPAWN_NOT_SET = PREFIX + ChatColor.RED + "Точка спавна не установлена!";
-
-    /** Сообщение: спавн установлен */
-    public static final String SPAWN_SET = PREFIX + ChatColor.GREEN + "Точка спавна успешно установлена!";
-
-    /** Сообщение: первый заход — телепорт на спавн */
-    public static final String SPAWN_FIRST_JOIN = PREFIX + ChatColor.GREEN + "Добро пожаловать на сервер! Вы телепортированы на спавн.";
-
     // ==================== ЛИЧНЫЕ СООБЩЕНИЯ ====================
 
     /**
      * Формат исходящего личного сообщения (отправителю).
+     * @param to получатель
      * @param target имя получателя
      * @param message текст сообщения
      * @return отформатированное сообщение
      */
-    public String msgTo(String target, String message) {
-        return ChatColor.GRAY + "[" + ChatColor.GREEN + "Я" + ChatColor.GRAY + " -> "
-                + ChatColor.GREEN + target + ChatColor.GRAY + "] " + ChatColor.WHITE + message;
+    public String msgTo(CommandSender to, String target, String message) {
+        return format(to, MessageKey.MSG_TO, target, message);
     }
 
     /**
      * Формат входящего личного сообщения (получателю).
+     * @param to получатель
      * @param sender имя отправителя
      * @param message текст сообщения
      * @return отформатированное сообщение
      */
-    public String msgFrom(String sender, String message) {
-        return ChatColor.GRAY + "[" + ChatColor.GREEN + sender + ChatColor.GRAY + " -> "
-                + ChatColor.GREEN + "Я" + ChatColor.GRAY + "] " + ChatColor.WHITE + message;
+    public String msgFrom(CommandSender to, String sender, String message) {
+        return format(to, MessageKey.MSG_FROM, sender, message);
     }
 
-    /** Сообщение: некому ответить */
-    public static final String MSG_NO_REPLY = PREFIX + ChatColor.RED + "Вам некому отвечать!";
-
-    /** Сообщение: отправить личное сообщение самому себе нельзя */
-    public static final String MSG_SELF = PREFIX + ChatColor.RED + "Вы не можете отправить сообщение самому себе!";
-
-    // ==================== САМОУБИЙСТВО ====================
-
-    /** Сообщение: вы покончили с собой */
-    public static final String SUICIDE = PREFIX + ChatColor.RED + "Вы покончили с собой.";
-
     // ==================== ИГНОРИРОВАНИЕ ====================
 
     /**
      * Игрок добавлен в список игнорируемых.
+     * @param to получатель
      * @param target имя игрока
      * @return отформатированное сообщение
      */
-    public String ignoreAdded(String target) {
-        return PREFIX + ChatColor.GREEN + "Вы теперь игнорируете игрока " + ChatColor.YELLOW + target + ChatColor.GREEN + ".";
+    public String ignoreAdded(CommandSender to, String target) {
+        return format(to, MessageKey.IGNORE_ADDED, target);
     }
 
     /**
      * Игрок удалён из списка игнорируемых.
+     * @param to получатель
      * @param target имя игрока
      * @return отформатированное сообщение
      */
-    public String ignoreRemoved(String target) {
-        return PREFIX + ChatColor.GREEN + "Вы больше не игнорируете игрока " + ChatColor.YELLOW + target + ChatColor.GREEN + ".";
+    public String ignoreRemoved(CommandSender to, String target) {
+        return format(to, MessageKey.IGNORE_REMOVED, target);
     }
 
-    /** Сообщение: этого игрока нельзя заигнорить (expicore.ignore.exempt) */
-    public static final String IGNORE_EXEMPT = PREFIX + ChatColor.RED + "Этого игрока нельзя заигнорить!";
-
-    /** Сообщение: нельзя заигнорить самого себя */
-    public static final String IGNORE_SELF = PREFIX + ChatColor.RED + "Вы не можете заигнорить самого себя!";
-
-    /** Сообщение: сообщение заблокировано — вас игнорируют */
-    public static final String IGNORE_BLOCKED = PREFIX + ChatColor.RED + "Этот игрок вас игнорирует.";
-
     // ==================== SOCIALSPY ====================
 
-    /** Сообщение: socialspy включён */
-    public static final String SOCIALSPY_ENABLED = PREFIX + ChatColor.GREEN + "SocialSpy " + ChatColor.YELLOW + "включён" + ChatColor.GREEN + ". Вы видите чужие личные сообщения.";
-
-    /** Сообщение: socialspy выключен */
-    public static final String SOCIALSPY_DISABLED = PREFIX + ChatColor.GREEN + "SocialSpy " + ChatColor.YELLOW + "выключен" + ChatColor.GREEN + ".";
-
     /**
      * Формат перехваченного сообщения для socialspy.
+     * @param to получатель
      * @param sender имя отправителя
      * @param target имя получателя
      * @param message текст сообщения
      * @return отформатированное сообщение
      */
-    public String socialSpyFormat(String sender, String target, String message) {
-        return ChatColor.GRAY + "[SocialSpy] " + ChatColor.DARK_GRAY + sender + " -> " + target + ": " + ChatColor.GRAY + message;
+    public String socialSpyFormat(CommandSender to, String sender, String target, String message) {
+        return format(to, MessageKey.SOCIALSPY_FORMAT, sender, target, message);
     }
 
-    // ==================== НАКАЗАНИЯ ====================
+    // ==================== ПОДСКАЗКИ И ДЛИТЕЛЬНОСТЬ ====================
 
-    /** Сообщение: игрок кикнут */
-    public static final String KICK_SUCCESS = PREFIX + ChatColor.GREEN + "Игрок кикнут с сервера.";
-
-    /** Сообщение: игрок замучен */
-    public static final String MUTE_SUCCESS = PREFIX + ChatColor.GREEN + "Игрок замучен.";
-
-    /** Сообщение: мут снят */
-    public static final String UNMUTE_SUCCESS = PREFIX + ChatColor.GREEN + "Мут снят с игрока.";
-
-    /** Сообщение: игрок забанен */
-    public static final String BAN_SUCCESS = PREFIX + ChatColor.GREEN + "Игрок забанен.";
-
-    /** Сообщение: бан снят */
-    public static final String UNBAN_SUCCESS = PREFIX + ChatColor.GREEN + "Бан снят с игрока.";
-
-    /** Сообщение: игрок временно забанен */
-    public static final String TEMPBAN_SUCCESS = PREFIX + ChatColor.GREEN + "Игрок временно забанен.";
-
-    /** Сообщение: игрок не найден (наказания) */
-    public static final String PUNISHMENT_PLAYER_NOT_FOUND = PREFIX + ChatColor.RED + "Игрок не найден или никогда не заходил на сервер.";
-
-    /** Сообщение: игрок не замучен */
-    public static final String NOT_MUTED = PREFIX + ChatColor.RED + "Этот игрок не замучен.";
+    /**
+     * Неверное использование команды с подсказкой синтаксиса.
+     * @param to получатель
+     * @param usage ключ подсказки (USAGE_*)
+     * @return отформатированное сообщение
+     */
+    public String usage(CommandSender to, MessageKey usage) {
+        Bundle bundle = bundleFor(to);
+        return bundle.templates[MessageKey.USAGE.ordinal()].render(bundle.templates[usage.ordinal()].text());
+    }
 
-    /** Сообщение: игрок не забанен */
-    public static final String NOT_BANNED = PREFIX + ChatColor.RED + "Этот игрок не забанен.";
+    /**
+     * Длительность в виде "1д 2ч 30м" на языке получателя.
+     * Секунды показываются только для сроков меньше суток.
+     * @param to получатель; null — язык по умолчанию
+     * @param millis длительность в миллисекундах
+     * @return строка длительности
+     */
+    public String duration(CommandSender to, long millis) {
+        Bundle bundle = bundleFor(to);
+        long seconds = Math.max(0, millis) / 1000;
+        long minutes = seconds / 60;
+        long hours = minutes / 60;
+        long days = hours / 24;
+
+        hours %= 24;
+        minutes %= 60;
+        seconds %= 60;
+
+        StringBuilder sb = new StringBuilder();
+        if (days > 0) appendUnit(sb, bundle, MessageKey.TIME_DAYS, days);
+        if (hours > 0) appendUnit(sb, bundle, MessageKey.TIME_HOURS, hours);
+        if (minutes > 0) appendUnit(sb, bundle, MessageKey.TIME_MINUTES, minutes);
+        if (seconds > 0 && days == 0 || sb.length() == 0) appendUnit(sb, bundle, MessageKey.TIME_SECONDS, seconds);
+        return sb.toString();
+    }
 
-    /** Сообщение: неверный формат времени */
-    public static final String INVALID_TIME_FORMAT = PREFIX + ChatColor.RED + "Неверный формат времени! Используйте: 1d12h30m";
+    /**
+     * Дописать одну единицу длительности через пробел.
+     * @param sb строка длительности
+     * @param bundle набор сообщений
+     * @param unit ключ единицы (TIME_*)
+     * @param value значение
+     */
+    private static void appendUnit(StringBuilder sb, Bundle bundle, MessageKey unit, long value) {
+        if (sb.length() > 0) sb.append(' ');
+        sb.append(bundle.templates[unit.ordinal()].render(String.valueOf(value)));
+    }
 
-    // ==================== AFK ====================
+    // ==================== НАБОР СООБЩЕНИЙ ====================
 
-    /** Сообщение: игрок теперь AFK */
-    public static final String AFK_ON = PREFIX + ChatColor.GRAY + "Теперь вы в режиме AFK.";
+    /**
+     * Скомпилированный набор сообщений одного языка.
+     */
+    private static final class Bundle {
 
-    /** Сообщение: игрок вышел из AFK */
-    public static final String AFK_OFF = PREFIX + ChatColor.GREEN + "Вы вернулись из AFK.";
+        /** Код языка */
+        final String language;
 
-    // ==================== МОНИТОРИНГ ====================
+        /** Шаблоны, индекс — MessageKey.ordinal() */
+        final MessageTemplate[] templates;
 
-    /** Сообщение: использование /near */
-    public static final String NEAR_USAGE = PREFIX + ChatColor.YELLOW + "Использование: /near [радиус]";
+        Bundle(String language, MessageTemplate[] templates) {
+            this.language = language;
+            this.templates = templates;
+        }
+    }
 }
@@ -0,0 +1,192 @@
+package ru.expicore.managers;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Скомпилированный шаблон сообщения.
+ * Исходная строка из языкового файла разбирается один раз при загрузке:
+ * &-коды переводятся в цвета, {prefix} подставляется сразу,
+ * а именованные плейсхолдеры ({target}, {name} и т.д.) превращаются
+ * в массив литеральных сегментов и индексов аргументов.
+ * При отправке остаётся только склеить сегменты в переиспользуемом StringBuilder.
+ */
+public final class MessageTemplate {
+
+    /**
+     * Переиспользуемый буфер для сборки строк.
+     * Свой на каждый поток — чат обрабатывается асинхронно.
+     */
+    private static final ThreadLocal<StringBuilder> BUILDER =
+            ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /** Литеральные сегменты: всегда на один больше, чем плейсхолдеров */
+    private final String[] segments;
+
+    /** Индекс аргумента для каждого плейсхолдера (по порядку в строке) */
+    private final int[] argIndexes;
+
+    /** Готовая строка для шаблонов без плейсхолдеров (иначе null) */
+    private final String text;
+
+    /** Суммарная длина литеральных сегментов — начальная оценка размера результата */
+    private final int literalLength;
+
+    private MessageTemplate(String[] segments, int[] argIndexes) {
+        this.segments = segments;
+        this.argIndexes = argIndexes;
+        this.text = argIndexes.length == 0 ? segments[0] : null;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Скомпилировать шаблон.
+     * Неизвестные плейсхолдеры в фигурных скобках остаются в тексте как есть.
+     * @param raw исходная строка из языкового файла (&-коды)
+     * @param params имена параметров в порядке аргументов render(...)
+     * @param prefix уже раскрашенный префикс плагина для {prefix}
+     * @return скомпилированный шаблон
+     */
+    public static MessageTemplate compile(String raw, String[] params, String prefix) {
+        String source = ChatColor.translateAlternateColorCodes('&', raw != null ? raw : "");
+
+        List<String> segments = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int pos = 0;
+        while (pos < source.length()) {
+            char c = source.charAt(pos);
+            int close = c == '{' ? source.indexOf('}', pos + 1) : -1;
+            if (close < 0) {
+                literal.append(c);
+                pos++;
+                continue;
+            }
+
+            String name = source.substring(pos + 1, close);
+            if (name.equals("prefix")) {
+                // Префикс известен при загрузке — встраиваем в литерал
+                literal.append(prefix);
+            } else {
+                int index = indexOf(params, name);
+                if (index < 0) {
+                    // Не наш плейсхолдер — оставляем текст без изменений
+                    literal.append(c);
+                    pos++;
+                    continue;
+                }
+                segments.add(literal.toString());
+                literal.setLength(0);
+                indexes.add(index);
+            }
+            pos = close + 1;
+        }
+        segments.add(literal.toString());
+
+        int[] argIndexes = new int[indexes.size()];
+        for (int i = 0; i < argIndexes.length; i++) {
+            argIndexes[i] = indexes.get(i);
+        }
+        return new MessageTemplate(segments.toArray(new String[0]), argIndexes);
+    }
+
+    /**
+     * Найти индекс параметра по имени.
+     * @param params имена параметров
+     * @param name искомое имя
+     * @return индекс или -1
+     */
+    private static int indexOf(String[] params, String name) {
+        for (int i = 0; i < params.length; i++) {
+            if (params[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Есть ли в шаблоне плейсхолдеры.
+     * @return true если текст не зависит от аргументов
+     */
+    public boolean isStatic() {
+        return text != null;
+    }
+
+    /**
+     * Получить текст шаблона без подстановок.
+     * Для шаблонов без плейсхолдеров возвращает одну и ту же готовую строку.
+     * @return текст сообщения
+     */
+    public String text() {
+        return text != null ? text : render0(null, null, null);
+    }
+
+    /**
+     * Отрисовать шаблон с одним аргументом.
+     * @param a0 значение первого параметра
+     * @return готовое сообщение
+     */
+    public String render(String a0) {
+        return text != null ? text : render0(a0, null, null);
+    }
+
+    /**
+     * Отрисовать шаблон с двумя аргументами.
+     * @param a0 значение первого параметра
+     * @param a1 значение второго параметра
+     * @return готовое сообщение
+     */
+    public String render(String a0, String a1) {
+        return text != null ? text : render0(a0, a1, null);
+    }
+
+    /**
+     * Отрисовать шаблон с тремя аргументами.
+     * @param a0 значение первого параметра
+     * @param a1 значение второго параметра
+     * @param a2 значение третьего параметра
+     * @return готовое сообщение
+     */
+    public String render(String a0, String a1, String a2) {
+        return text != null ? text : render0(a0, a1, a2);
+    }
+
+    /**
+     * Склеить сегменты и аргументы в переиспользуемом буфере.
+     * Без varargs — чтобы не создавать массив на каждый вызов.
+     */
+    private String render0(String a0, String a1, String a2) {
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        sb.ensureCapacity(literalLength + 32);
+
+        sb.append(segments[0]);
+        for (int i = 0; i < argIndexes.length; i++) {
+            switch (argIndexes[i]) {
+                case 0:
+                    sb.append(a0);
+                    break;
+                case 1:
+                    sb.append(a1);
+                    break;
+                default:
+                    sb.append(a2);
+                    break;
+            }
+            sb.append(segments[i + 1]);
+        }
+
+        String result = sb.toString();
+        // Не держим в потоке гигантский буфер после длинного сообщения
+        if (sb.capacity() > 4096) {
+            BUILDER.remove();
+        }
+        return result;
+    }
+}
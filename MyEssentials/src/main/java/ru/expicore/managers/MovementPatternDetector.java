@@ -0,0 +1,237 @@
+package ru.expicore.managers;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Определение «механического» движения: AFK-бассейны, водяные потоки, макросы.
+ * Для каждого игрока хранится кольцевой буфер последних сэмплов движения —
+ * изменений позиции и поворота между засчитанными движениями, огрублённых
+ * до номера корзины. По буферу поддерживается гистограмма корзин и сумма
+ * квадратов её столбцов, обновляемые за O(1) на каждый сэмпл.
+ *
+ * Отношение суммы квадратов к квадрату размера буфера — вероятность того,
+ * что два случайных сэмпла совпали. У живого игрока движения разнообразны и
+ * она мала; у игрока в потоке воды или под макросом сэмплы повторяются и
+ * она близка к единице. Но одинаковые сэмплы даёт и прямолинейное движение
+ * (ходьба, полёт на элитрах, езда по льду), поэтому механическим движение
+ * считается, только если за то же окно игрок остался на месте: размах
+ * позиций в буфере не больше max-displacement. Такое движение AFKManager
+ * не считает активностью.
+ * Вызывается из основного потока.
+ */
+public class MovementPatternDetector {
+
+    /** Число корзин гистограммы */
+    private static final int BUCKETS = 64;
+
+    /** Шаг огрубления смещения (блоки) */
+    private static final double POSITION_STEP = 0.5;
+
+    /** Шаг огрубления поворота (градусы) */
+    private static final float ROTATION_STEP = 5.0f;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Состояние игроков по UUID */
+    private final Map<UUID, PatternState> states = new ConcurrentHashMap<>();
+
+    /** Включено ли определение */
+    private boolean enabled;
+
+    /** Размер кольцевого буфера (сэмплы) */
+    private int samples;
+
+    /** Порог вероятности совпадения, с которого движение считается механическим */
+    private double threshold;
+
+    /** Наибольший размах позиций за окно, при котором движение считается механическим */
+    private double maxDisplacement;
+
+    /**
+     * Создать детектор.
+     * @param plugin экземпляр плагина
+     */
+    public MovementPatternDetector(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Перечитать настройки из секции afk.pattern-detection в config.yml.
+     * Накопленные буферы сбрасываются — их размер мог измениться.
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        this.enabled = config.getBoolean("afk.pattern-detection.enabled", false);
+        this.samples = Math.max(8, Math.min(256, config.getInt("afk.pattern-detection.samples", 32)));
+        this.threshold = config.getDouble("afk.pattern-detection.threshold", 0.6);
+        this.maxDisplacement = config.getDouble("afk.pattern-detection.max-displacement", 6.0);
+        states.clear();
+    }
+
+    /**
+     * Добавить сэмпл движения и проверить, похоже ли движение на механическое.
+     * @param player игрок
+     * @param to новая позиция
+     * @return true если движение не стоит считать активностью
+     */
+    public boolean isMechanical(Player player, Location to) {
+        if (!enabled) return false;
+
+        PatternState state = states.get(player.getUniqueId());
+        if (state == null) {
+            state = new PatternState(samples);
+            state.moveTo(to);
+            states.put(player.getUniqueId(), state);
+            return false;
+        }
+
+        int bucket = bucket(to.getX() - state.x, to.getY() - state.y, to.getZ() - state.z,
+                to.getYaw() - state.yaw, to.getPitch() - state.pitch);
+        state.moveTo(to);
+        state.add(bucket);
+
+        // Пока буфер не заполнен, данных для вывода мало
+        if (state.filled < samples) return false;
+        if ((double) state.sumSquares / ((long) samples * samples) < threshold) return false;
+
+        // Повторяется — но стоит ли на месте? Проверяется только для повторяющихся окон
+        return state.displacement() <= maxDisplacement;
+    }
+
+    /**
+     * Забыть игрока при выходе.
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        states.remove(uuid);
+    }
+
+    /**
+     * Включено ли определение.
+     * @return true если включено в config.yml
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Огрубить изменение позиции и поворота до номера корзины.
+     */
+    private static int bucket(double dx, double dy, double dz, float dyaw, float dpitch) {
+        int h = (int) Math.round(dx / POSITION_STEP);
+        h = h * 31 + (int) Math.round(dy / POSITION_STEP);
+        h = h * 31 + (int) Math.round(dz / POSITION_STEP);
+        h = h * 31 + Math.round(normalizeYaw(dyaw) / ROTATION_STEP);
+        h = h * 31 + Math.round(dpitch / ROTATION_STEP);
+        h ^= h >>> 16;
+        return h & (BUCKETS - 1);
+    }
+
+    /**
+     * Привести разность углов поворота к диапазону [-180, 180).
+     */
+    private static float normalizeYaw(float yaw) {
+        yaw %= 360.0f;
+        if (yaw >= 180.0f) yaw -= 360.0f;
+        if (yaw < -180.0f) yaw += 360.0f;
+        return yaw;
+    }
+
+    // ==================== СОСТОЯНИЕ ИГРОКА ====================
+
+    /**
+     * Кольцевой буфер сэмплов и гистограмма одного игрока.
+     */
+    private static final class PatternState {
+
+        /** Номера корзин последних сэмплов */
+        final byte[] ring;
+
+        /** Позиции, в которых сделаны сэмплы (по тем же индексам) */
+        final double[] xs;
+        final double[] ys;
+        final double[] zs;
+
+        /** Сколько сэмплов буфера попало в каждую корзину */
+        final int[] counts = new int[BUCKETS];
+
+        /** Сумма квадратов counts */
+        int sumSquares;
+
+        /** Позиция записи в кольце */
+        int index;
+
+        /** Сколько сэмплов в буфере */
+        int filled;
+
+        /** Последняя позиция и поворот */
+        double x;
+        double y;
+        double z;
+        float yaw;
+        float pitch;
+
+        PatternState(int samples) {
+            this.ring = new byte[samples];
+            this.xs = new double[samples];
+            this.ys = new double[samples];
+            this.zs = new double[samples];
+        }
+
+        void moveTo(Location location) {
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+            this.yaw = location.getYaw();
+            this.pitch = location.getPitch();
+        }
+
+        /**
+         * Добавить сэмпл, вытеснив самый старый.
+         * (c+1)² - c² = 2c + 1, c² - (c-1)² = 2c - 1.
+         */
+        void add(int bucket) {
+            if (filled == ring.length) {
+                int old = ring[index];
+                sumSquares -= 2 * counts[old] - 1;
+                counts[old]--;
+            } else {
+                filled++;
+            }
+            sumSquares += 2 * counts[bucket] + 1;
+            counts[bucket]++;
+            ring[index] = (byte) bucket;
+            xs[index] = x;
+            ys[index] = y;
+            zs[index] = z;
+            index = (index + 1) % ring.length;
+        }
+
+        /**
+         * Размах позиций в буфере: наибольшая сторона их ограничивающего параллелепипеда.
+         */
+        double displacement() {
+            double minX = xs[0], maxX = xs[0];
+            double minY = ys[0], maxY = ys[0];
+            double minZ = zs[0], maxZ = zs[0];
+            for (int i = 1; i < filled; i++) {
+                minX = Math.min(minX, xs[i]);
+                maxX = Math.max(maxX, xs[i]);
+                minY = Math.min(minY, ys[i]);
+                maxY = Math.max(maxY, ys[i]);
+                minZ = Math.min(minZ, zs[i]);
+                maxZ = Math.max(maxZ, zs[i]);
+            }
+            return Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ));
+        }
+    }
+}
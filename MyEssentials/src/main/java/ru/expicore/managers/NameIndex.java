@@ -0,0 +1,116 @@
+package ru.expicore.managers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Отсортированный набор имён для автодополнения команд.
+ * Имена хранятся в массиве, упорядоченном по нижнему регистру, поэтому
+ * все имена с нужным префиксом лежат подряд: поиск — двоичный поиск начала
+ * диапазона и проход по нему, O(log n + k) без перебора всех имён.
+ *
+ * Набор обновляется по одному имени (добавление и удаление — сдвиг массива),
+ * а не перестраивается целиком. Методы синхронизированы: изменения идут
+ * из основного потока, а дополнение может запрашиваться асинхронно.
+ */
+public class NameIndex {
+
+    /** Имена в нижнем регистре, по возрастанию */
+    private String[] keys = new String[16];
+
+    /** Имена в исходном виде, в том же порядке */
+    private String[] names = new String[16];
+
+    /** Число имён */
+    private int size;
+
+    /**
+     * Добавить имя (повторное добавление заменяет написание).
+     * @param name имя
+     */
+    public synchronized void add(String name) {
+        String key = name.toLowerCase();
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            names[index] = name;
+            return;
+        }
+
+        int insert = -index - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+        }
+        System.arraycopy(keys, insert, keys, insert + 1, size - insert);
+        System.arraycopy(names, insert, names, insert + 1, size - insert);
+        keys[insert] = key;
+        names[insert] = name;
+        size++;
+    }
+
+    /**
+     * Убрать имя (без учёта регистра).
+     * @param name имя
+     */
+    public synchronized void remove(String name) {
+        int index = Arrays.binarySearch(keys, 0, size, name.toLowerCase());
+        if (index < 0) return;
+
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(names, index + 1, names, index, size - index - 1);
+        size--;
+        keys[size] = null;
+        names[size] = null;
+    }
+
+    /**
+     * Убрать все имена.
+     */
+    public synchronized void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(names, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Имена, начинающиеся с префикса (без учёта регистра), по алфавиту.
+     * @param prefix введённая часть имени
+     * @param limit максимум результатов
+     * @return найденные имена
+     */
+    public List<String> complete(String prefix, int limit) {
+        return complete(prefix, limit, null);
+    }
+
+    /**
+     * Имена с префиксом, прошедшие фильтр, по алфавиту.
+     * Фильтр применяется до ограничения числа результатов.
+     * @param prefix введённая часть имени
+     * @param limit максимум результатов
+     * @param filter условие для имени; null — без фильтра
+     * @return найденные имена
+     */
+    public synchronized List<String> complete(String prefix, int limit, Predicate<String> filter) {
+        String key = prefix.toLowerCase();
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        int from = index >= 0 ? index : -index - 1;
+
+        List<String> result = new ArrayList<>();
+        for (int i = from; i < size && result.size() < limit && keys[i].startsWith(key); i++) {
+            if (filter == null || filter.test(names[i])) {
+                result.add(names[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Число имён.
+     * @return размер набора
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
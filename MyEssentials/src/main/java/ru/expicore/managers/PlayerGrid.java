@@ -0,0 +1,220 @@
+package ru.expicore.managers;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Пространственный индекс онлайн-игроков по сетке чанков.
+ * Каждый игрок лежит в ячейке своего чанка; ячейка меняется только при
+ * переходе через границу чанка, поэтому обычное движение обходится
+ * записью двух координат. Поиск соседей перебирает лишь ячейки,
+ * пересекающие радиус, а не весь онлайн.
+ *
+ * Изменения вносятся из основного потока (события движения, входа, выхода),
+ * чтение безопасно из асинхронного чата.
+ */
+public class PlayerGrid {
+
+    /**
+     * Ячейки по мирам: UUID мира -> (ключ чанка -> игроки в чанке).
+     */
+    private final Map<UUID, Map<Long, Set<Entry>>> worlds = new ConcurrentHashMap<>();
+
+    /** Записи игроков по UUID */
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Обновить позицию игрока в индексе (добавляет игрока, если его ещё нет).
+     * @param player игрок
+     * @param to новая позиция
+     */
+    public void update(Player player, Location to) {
+        World world = to.getWorld();
+        if (world == null) return;
+
+        UUID worldId = world.getUID();
+        int chunkX = to.getBlockX() >> 4;
+        int chunkZ = to.getBlockZ() >> 4;
+
+        Entry entry = entries.get(player.getUniqueId());
+        if (entry == null) {
+            entry = new Entry(player);
+            entry.place(worldId, chunkX, chunkZ, to.getX(), to.getZ());
+            entries.put(player.getUniqueId(), entry);
+            cell(worldId, chunkX, chunkZ).add(entry);
+            return;
+        }
+
+        // Внутри того же чанка — только координаты
+        if (entry.chunkX == chunkX && entry.chunkZ == chunkZ && worldId.equals(entry.worldId)) {
+            entry.x = to.getX();
+            entry.z = to.getZ();
+            return;
+        }
+
+        removeFromCell(entry);
+        entry.place(worldId, chunkX, chunkZ, to.getX(), to.getZ());
+        cell(worldId, chunkX, chunkZ).add(entry);
+    }
+
+    /**
+     * Убрать игрока из индекса (выход с сервера).
+     * @param uuid UUID игрока
+     */
+    public void remove(UUID uuid) {
+        Entry entry = entries.remove(uuid);
+        if (entry != null) {
+            removeFromCell(entry);
+        }
+    }
+
+    /**
+     * Очистить индекс полностью.
+     */
+    public void clear() {
+        entries.clear();
+        worlds.clear();
+    }
+
+    /**
+     * Есть ли игрок в индексе.
+     * @param uuid UUID игрока
+     * @return true если игрок проиндексирован
+     */
+    public boolean contains(UUID uuid) {
+        return entries.containsKey(uuid);
+    }
+
+    /**
+     * Количество игроков в индексе.
+     * @return число записей
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Собрать игроков в радиусе от игрока (по горизонтали, в том же мире).
+     * Сам игрок тоже попадает в результат.
+     * @param center игрок-центр
+     * @param radius радиус в блоках
+     * @param out коллекция для результата
+     * @return false если игрока нет в индексе
+     */
+    public boolean collectNearby(Player center, double radius, Collection<? super Player> out) {
+        Entry origin = entries.get(center.getUniqueId());
+        if (origin == null) return false;
+
+        UUID worldId = origin.worldId;
+        Map<Long, Set<Entry>> cells = worlds.get(worldId);
+        if (cells == null) return false;
+
+        double x = origin.x;
+        double z = origin.z;
+        double radiusSq = radius * radius;
+        int minX = floor(x - radius) >> 4;
+        int maxX = floor(x + radius) >> 4;
+        int minZ = floor(z - radius) >> 4;
+        int maxZ = floor(z + radius) >> 4;
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                Set<Entry> cell = cells.get(key(cx, cz));
+                if (cell == null) continue;
+                for (Entry entry : cell) {
+                    double dx = entry.x - x;
+                    double dz = entry.z - z;
+                    if (dx * dx + dz * dz <= radiusSq) {
+                        out.add(entry.player);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Получить (или создать) ячейку чанка.
+     * @param worldId UUID мира
+     * @param chunkX координата чанка X
+     * @param chunkZ координата чанка Z
+     * @return множество игроков ячейки
+     */
+    private Set<Entry> cell(UUID worldId, int chunkX, int chunkZ) {
+        return worlds.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key(chunkX, chunkZ), k -> ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Убрать запись из её текущей ячейки; пустые ячейки удаляются.
+     * @param entry запись игрока
+     */
+    private void removeFromCell(Entry entry) {
+        Map<Long, Set<Entry>> cells = worlds.get(entry.worldId);
+        if (cells == null) return;
+        long key = key(entry.chunkX, entry.chunkZ);
+        Set<Entry> cell = cells.get(key);
+        if (cell == null) return;
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(key, cell);
+        }
+    }
+
+    /**
+     * Упаковать координаты чанка в один long.
+     */
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Округление вниз до целого блока.
+     */
+    private static int floor(double value) {
+        int i = (int) value;
+        return value < i ? i - 1 : i;
+    }
+
+    // ==================== ЗАПИСЬ ИГРОКА ====================
+
+    /**
+     * Позиция игрока в индексе.
+     * Пишется только из основного потока, читается из любого.
+     */
+    private static final class Entry {
+
+        /** Игрок */
+        final Player player;
+
+        /** UUID мира */
+        volatile UUID worldId;
+
+        /** Чанк, в ячейке которого лежит запись */
+        volatile int chunkX;
+        volatile int chunkZ;
+
+        /** Последние известные координаты */
+        volatile double x;
+        volatile double z;
+
+        Entry(Player player) {
+            this.player = player;
+        }
+
+        void place(UUID worldId, int chunkX, int chunkZ, double x, double z) {
+            this.worldId = worldId;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.x = x;
+            this.z = z;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ru.expicore.managers;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Плотная нумерация онлайн-игроков: каждому игроку выдаётся номер слота
+ * от 0 до числа игроков, освободившиеся номера используются повторно.
+ * По номеру слота менеджеры хранят данные игроков в примитивных массивах
+ * вместо карт с упакованными значениями.
+ *
+ * Выдача и освобождение — из основного потока, поиск — из любого.
+ */
+public class PlayerSlots {
+
+    /** Номер слота по UUID игрока */
+    private final Map<UUID, Integer> slots = new ConcurrentHashMap<>();
+
+    /** Освободившиеся номера (стек) */
+    private int[] free = new int[16];
+
+    /** Количество номеров в стеке свободных */
+    private int freeCount;
+
+    /** Следующий ещё не выданный номер */
+    private int next;
+
+    /**
+     * Выдать игроку слот (или вернуть уже выданный).
+     * @param uuid UUID игрока
+     * @return номер слота
+     */
+    public int acquire(UUID uuid) {
+        Integer existing = slots.get(uuid);
+        if (existing != null) return existing;
+
+        int slot = freeCount > 0 ? free[--freeCount] : next++;
+        slots.put(uuid, slot);
+        return slot;
+    }
+
+    /**
+     * Освободить слот игрока.
+     * @param uuid UUID игрока
+     * @return освобождённый номер или -1, если слота не было
+     */
+    public int release(UUID uuid) {
+        Integer slot = slots.remove(uuid);
+        if (slot == null) return -1;
+
+        if (freeCount == free.length) {
+            int[] grown = new int[free.length * 2];
+            System.arraycopy(free, 0, grown, 0, free.length);
+            free = grown;
+        }
+        free[freeCount++] = slot;
+        return slot;
+    }
+
+    /**
+     * Номер слота игрока. Не создаёт объектов.
+     * @param uuid UUID игрока
+     * @return номер слота или -1, если слота нет
+     */
+    public int get(UUID uuid) {
+        Integer slot = slots.get(uuid);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Сколько номеров выдано за всё время (верхняя граница номера слота).
+     * @return необходимая длина массивов по слотам
+     */
+    public int capacity() {
+        return next;
+    }
+
+    /**
+     * Количество занятых слотов.
+     * @return число игроков
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Вырастить массив по слотам, чтобы в нём поместился номер slot.
+     * @param array массив
+     * @param slot номер слота
+     * @param stride сколько элементов приходится на один слот
+     * @return тот же или увеличенный массив
+     */
+    public static long[] ensure(long[] array, int slot, int stride) {
+        int needed = (slot + 1) * stride;
+        if (needed <= array.length) return array;
+        long[] grown = new long[Math.max(needed, array.length * 2)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /**
+     * Вырастить массив по слотам, чтобы в нём поместился номер slot.
+     * @param array массив
+     * @param slot номер слота
+     * @param stride сколько элементов приходится на один слот
+     * @return тот же или увеличенный массив
+     */
+    public static int[] ensure(int[] array, int slot, int stride) {
+        int needed = (slot + 1) * stride;
+        if (needed <= array.length) return array;
+        int[] grown = new int[Math.max(needed, array.length * 2)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /**
+     * Вырастить массив по слотам, чтобы в нём поместился номер slot.
+     * @param array массив
+     * @param slot номер слота
+     * @param stride сколько элементов приходится на один слот
+     * @return тот же или увеличенный массив
+     */
+    public static double[] ensure(double[] array, int slot, int stride) {
+        int needed = (slot + 1) * stride;
+        if (needed <= array.length) return array;
+        double[] grown = new double[Math.max(needed, array.length * 2)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /**
+     * Вырастить массив по слотам, чтобы в нём поместился номер slot.
+     * @param array массив
+     * @param slot номер слота
+     * @param stride сколько элементов приходится на один слот
+     * @return тот же или увеличенный массив
+     */
+    public static float[] ensure(float[] array, int slot, int stride) {
+        int needed = (slot + 1) * stride;
+        if (needed <= array.length) return array;
+        float[] grown = new float[Math.max(needed, array.length * 2)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -0,0 +1,526 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Учёт игрового времени: секунды активности и AFK по игрокам и по дням.
+ * Данные хранятся в папке playtime/ в двоичных файлах с записями
+ * фиксированной длины (24 байта: UUID, активные секунды, секунды AFK):
+ *  - totals.dat — суммарное время за всё время;
+ *  - days/ГГГГ-ММ-ДД.dat — время за один день.
+ * Номер записи игрока известен из памяти, поэтому обновление перезаписывает
+ * одну запись по смещению, а новый игрок дописывается в конец файла.
+ *
+ * Таблица лидеров по активному времени поддерживается кучей фиксированного
+ * размера: время только растёт, так что игрок попадает в топ, лишь обогнав
+ * его минимум, и запрос топа не перебирает всех игроков.
+ * Счётчики меняются в основном потоке; файлы пишет один фоновый поток.
+ */
+public class PlaytimeManager {
+
+    /** Размер записи: UUID (16) + активные секунды (4) + секунды AFK (4) */
+    private static final int RECORD_SIZE = 24;
+
+    /** Период начисления времени (тики) */
+    private static final long ACCOUNT_PERIOD_TICKS = 200L;
+
+    /** Сбрасывать на диск каждое N-е начисление (раз в минуту) */
+    private static final int FLUSH_EVERY = 6;
+
+    /** Формат имени файла выгрузки */
+    private static final DateTimeFormatter EXPORT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HHmmss");
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Папка учёта времени */
+    private final File folder;
+
+    /** Папка файлов по дням */
+    private final File daysFolder;
+
+    /** Файл суммарного времени */
+    private final File totalsFile;
+
+    /** Часовой пояс для границ дней */
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /** Поток файловых операций */
+    private final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ExpiCore-Playtime");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Суммарные счётчики всех игроков, когда-либо заходивших */
+    private final Map<UUID, Counter> totals = new HashMap<>();
+
+    /** Счётчики текущего дня */
+    private Map<UUID, Counter> today = new HashMap<>();
+
+    /** Число записей в totals.dat */
+    private int totalRecords;
+
+    /** Число записей в файле текущего дня */
+    private int dayRecords;
+
+    /** Текущий день */
+    private LocalDate currentDay;
+
+    /** Время последнего начисления по игрокам онлайн (мс) */
+    private final Map<UUID, long[]> sessions = new HashMap<>();
+
+    /** Таблица лидеров: куча с минимумом на вершине */
+    private final PriorityQueue<Counter> top = new PriorityQueue<>((a, b) -> Integer.compare(a.active, b.active));
+
+    /** Размер таблицы лидеров */
+    private final int topSize;
+
+    /** Задача начисления времени */
+    private final BukkitTask accountTask;
+
+    /** Счётчик начислений до следующего сброса на диск */
+    private int accountsSinceFlush;
+
+    /**
+     * Создать менеджер, загрузить счётчики и запустить начисление.
+     * @param plugin экземпляр плагина
+     */
+    public PlaytimeManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "playtime");
+        this.daysFolder = new File(folder, "days");
+        this.totalsFile = new File(folder, "totals.dat");
+        this.topSize = Math.max(1, plugin.getConfig().getInt("playtime.top-size", 10));
+        if (!daysFolder.exists()) {
+            daysFolder.mkdirs();
+        }
+
+        this.totalRecords = load(totalsFile, totals);
+        this.currentDay = LocalDate.now(zone);
+        this.dayRecords = load(dayFile(currentDay), today);
+
+        for (Counter counter : totals.values()) {
+            offerTop(counter, false);
+        }
+
+        long now = System.currentTimeMillis();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            sessions.put(player.getUniqueId(), new long[]{now});
+        }
+        this.accountTask = Bukkit.getScheduler().runTaskTimer(plugin, this::accountAll,
+                ACCOUNT_PERIOD_TICKS, ACCOUNT_PERIOD_TICKS);
+    }
+
+    // ==================== СЕССИИ ====================
+
+    /**
+     * Начать отсчёт времени игрока при входе.
+     * @param player игрок
+     */
+    public void startSession(Player player) {
+        sessions.put(player.getUniqueId(), new long[]{System.currentTimeMillis()});
+    }
+
+    /**
+     * Начислить остаток времени и завершить сессию при выходе.
+     * @param player игрок
+     */
+    public void endSession(Player player) {
+        account(player);
+        sessions.remove(player.getUniqueId());
+    }
+
+    /**
+     * Начислить игроку время с последнего начисления по его текущему статусу.
+     * AFKManager вызывает это перед сменой статуса, чтобы время не ушло не в тот счётчик.
+     * @param player игрок
+     */
+    public void account(Player player) {
+        long[] mark = sessions.get(player.getUniqueId());
+        if (mark == null) return;
+
+        long now = System.currentTimeMillis();
+        int seconds = (int) ((now - mark[0]) / 1000L);
+        if (seconds <= 0) return;
+        // Остаток меньше секунды переносится на следующее начисление
+        mark[0] += seconds * 1000L;
+
+        AFKManager afkManager = plugin.getAFKManager();
+        boolean afk = afkManager != null && afkManager.isAFK(player.getUniqueId());
+        add(player.getUniqueId(), seconds, afk);
+    }
+
+    /**
+     * Периодическое начисление всем игрокам онлайн.
+     */
+    private void accountAll() {
+        // Сначала начисляем: накопленное до смены дня относится к старому дню
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            account(player);
+        }
+
+        LocalDate day = LocalDate.now(zone);
+        if (!day.equals(currentDay)) {
+            // Новый день: дописываем старый и начинаем новый файл
+            flush();
+            currentDay = day;
+            today = new HashMap<>();
+            dayRecords = 0;
+            return;
+        }
+
+        if (++accountsSinceFlush >= FLUSH_EVERY) {
+            flush();
+        }
+    }
+
+    /**
+     * Прибавить секунды к суммарному и дневному счётчику.
+     */
+    private void add(UUID uuid, int seconds, boolean afk) {
+        Counter total = totals.get(uuid);
+        if (total == null) {
+            total = new Counter(uuid, -1);
+            totals.put(uuid, total);
+        }
+        Counter day = today.get(uuid);
+        if (day == null) {
+            day = new Counter(uuid, -1);
+            today.put(uuid, day);
+        }
+
+        if (afk) {
+            total.afk += seconds;
+            day.afk += seconds;
+        } else {
+            // Ключ кучи меняется — вынимаем до изменения
+            boolean inTop = top.remove(total);
+            total.active += seconds;
+            day.active += seconds;
+            offerTop(total, inTop);
+        }
+        total.dirty = true;
+        day.dirty = true;
+    }
+
+    /**
+     * Предложить счётчик таблице лидеров.
+     * @param counter суммарный счётчик игрока
+     * @param wasInTop был ли игрок в таблице до изменения
+     */
+    private void offerTop(Counter counter, boolean wasInTop) {
+        if (wasInTop || top.size() < topSize) {
+            top.add(counter);
+        } else if (counter.active > top.peek().active) {
+            top.poll();
+            top.add(counter);
+        }
+    }
+
+    // ==================== ЗАПРОСЫ ====================
+
+    /**
+     * Получить суммарное и дневное время игрока.
+     * @param uuid UUID игрока
+     * @return [активно всего, AFK всего, активно сегодня, AFK сегодня] в секундах или null
+     */
+    public int[] getStats(UUID uuid) {
+        Counter total = totals.get(uuid);
+        if (total == null) return null;
+        Counter day = today.get(uuid);
+        return new int[]{total.active, total.afk, day != null ? day.active : 0, day != null ? day.afk : 0};
+    }
+
+    /**
+     * Таблица лидеров по активному времени.
+     * @return пары [UUID, секунды] по убыванию времени
+     */
+    public List<Map.Entry<UUID, Integer>> getTop() {
+        Counter[] sorted = top.toArray(new Counter[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(b.active, a.active));
+
+        List<Map.Entry<UUID, Integer>> result = new ArrayList<>(sorted.length);
+        for (Counter counter : sorted) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(counter.uuid, counter.active));
+        }
+        return result;
+    }
+
+    /**
+     * Найти игрока по имени (онлайн или заходившего ранее) и вернуть его UUID в основном потоке.
+     * Поиск офлайн-игрока выполняется в фоновом потоке.
+     * @param name имя игрока
+     * @param callback получает UUID или null, если игрок не найден
+     */
+    public void lookup(String name, Consumer<UUID> callback) {
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) {
+            callback.accept(online.getUniqueId());
+            return;
+        }
+        io.execute(() -> {
+            OfflinePlayer offline = lookupOffline(name);
+            UUID uuid = offline != null ? offline.getUniqueId() : null;
+            runSync(() -> callback.accept(uuid));
+        });
+    }
+
+    /**
+     * Выгрузить все дни в CSV для аналитики: date,uuid,name,active_seconds,afk_seconds.
+     * Несохранённые счётчики сначала сбрасываются на диск.
+     * @param sender кому сообщить о результате
+     */
+    public void export(CommandSender sender) {
+        flush();
+
+        // Список игроков снимаем в основном потоке, имена ищем в фоновом:
+        // поиск офлайн-игрока может читать кэш имён с диска
+        List<UUID> uuids = new ArrayList<>(totals.keySet());
+
+        File target = new File(folder, "export-" + LocalDateTime.now(zone).format(EXPORT_FORMAT) + ".csv");
+        io.execute(() -> {
+            try {
+                Map<UUID, String> names = new HashMap<>();
+                for (UUID uuid : uuids) {
+                    String name = Bukkit.getOfflinePlayer(uuid).getName();
+                    names.put(uuid, name != null ? name : "");
+                }
+                writeExport(target, names);
+                runSync(() -> sender.sendMessage(plugin.getMessageManager()
+                        .format(sender, MessageKey.PLAYTIME_EXPORTED, "playtime/" + target.getName())));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Ошибка выгрузки игрового времени: " + e.getMessage());
+                runSync(() -> sender.sendMessage(plugin.getMessageManager().get(sender, MessageKey.PLAYTIME_ERROR)));
+            }
+        });
+    }
+
+    /**
+     * Начислить время игрокам онлайн, записать всё на диск и остановить поток.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        accountTask.cancel();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            account(player);
+        }
+        flush();
+        io.shutdown();
+        try {
+            io.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== ФАЙЛЫ ====================
+
+    /**
+     * Собрать изменённые записи и отдать их на запись фоновому потоку.
+     * Номера новых записей выдаются здесь же, в основном потоке.
+     */
+    private void flush() {
+        accountsSinceFlush = 0;
+        List<byte[]> totalWrites = new ArrayList<>();
+        List<Long> totalOffsets = new ArrayList<>();
+        List<byte[]> dayWrites = new ArrayList<>();
+        List<Long> dayOffsets = new ArrayList<>();
+
+        for (Counter counter : totals.values()) {
+            if (!counter.dirty) continue;
+            counter.dirty = false;
+            if (counter.record < 0) counter.record = totalRecords++;
+            totalOffsets.add((long) counter.record * RECORD_SIZE);
+            totalWrites.add(counter.encode());
+        }
+        for (Counter counter : today.values()) {
+            if (!counter.dirty) continue;
+            counter.dirty = false;
+            if (counter.record < 0) counter.record = dayRecords++;
+            dayOffsets.add((long) counter.record * RECORD_SIZE);
+            dayWrites.add(counter.encode());
+        }
+        if (totalWrites.isEmpty() && dayWrites.isEmpty()) return;
+
+        File dayFile = dayFile(currentDay);
+        io.execute(() -> {
+            write(totalsFile, totalOffsets, totalWrites);
+            write(dayFile, dayOffsets, dayWrites);
+        });
+    }
+
+    /**
+     * Записать записи по смещениям (поток учёта времени).
+     */
+    private void write(File file, List<Long> offsets, List<byte[]> records) {
+        if (records.isEmpty()) return;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            for (int i = 0; i < records.size(); i++) {
+                raf.seek(offsets.get(i));
+                raf.write(records.get(i));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Ошибка записи игрового времени " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Прочитать файл записей в память.
+     * @param file файл
+     * @param out счётчики по UUID
+     * @return число записей в файле
+     */
+    private int load(File file, Map<UUID, Counter> out) {
+        if (!file.exists()) return 0;
+
+        int count = (int) (file.length() / RECORD_SIZE);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                Counter counter = new Counter(uuid, i);
+                counter.active = in.readInt();
+                counter.afk = in.readInt();
+                out.put(uuid, counter);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Ошибка чтения игрового времени " + file.getName() + ": " + e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Записать CSV-выгрузку по всем файлам дней (поток учёта времени).
+     */
+    private void writeExport(File target, Map<UUID, String> names) throws IOException {
+        File[] days = daysFolder.listFiles((dir, name) -> name.endsWith(".dat"));
+        if (days != null) {
+            Arrays.sort(days);
+        }
+
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(target), StandardCharsets.UTF_8))) {
+            out.write("date,uuid,name,active_seconds,afk_seconds");
+            out.newLine();
+            if (days == null) return;
+
+            byte[] record = new byte[RECORD_SIZE];
+            for (File day : days) {
+                String date = day.getName().substring(0, day.getName().length() - ".dat".length());
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(day)))) {
+                    long count = day.length() / RECORD_SIZE;
+                    for (long i = 0; i < count; i++) {
+                        in.readFully(record);
+                        ByteBuffer buffer = ByteBuffer.wrap(record);
+                        UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                        String name = names.getOrDefault(uuid, "");
+                        out.write(date + "," + uuid + "," + name + "," + buffer.getInt() + "," + buffer.getInt());
+                        out.newLine();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Файл записей за день.
+     */
+    private File dayFile(LocalDate day) {
+        return new File(daysFolder, day + ".dat");
+    }
+
+    /**
+     * Найти игрока, который уже заходил на сервер.
+     * Вызывается только из фонового потока — поиск может обращаться к диску или сети.
+     * @param name имя игрока
+     * @return игрок или null
+     */
+    @SuppressWarnings("deprecation")
+    private OfflinePlayer lookupOffline(String name) {
+        OfflinePlayer offline = Bukkit.getOfflinePlayer(name);
+        return offline != null && (offline.hasPlayedBefore() || offline.isOnline()) ? offline : null;
+    }
+
+    /**
+     * Выполнить действие в основном потоке (если плагин ещё работает).
+     * @param action действие
+     */
+    private void runSync(Runnable action) {
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, action);
+        }
+    }
+
+    // ==================== СЧЁТЧИК ====================
+
+    /**
+     * Счётчик времени одного игрока (суммарный или за день).
+     */
+    private static final class Counter {
+
+        /** UUID игрока */
+        final UUID uuid;
+
+        /** Номер записи в файле (-1 — ещё не записан) */
+        int record;
+
+        /** Активные секунды */
+        int active;
+
+        /** Секунды в AFK */
+        int afk;
+
+        /** Изменён ли с последнего сброса на диск */
+        boolean dirty;
+
+        Counter(UUID uuid, int record) {
+            this.uuid = uuid;
+            this.record = record;
+        }
+
+        /**
+         * Закодировать в запись фиксированной длины.
+         */
+        byte[] encode() {
+            return ByteBuffer.allocate(RECORD_SIZE)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .putInt(active)
+                    .putInt(afk)
+                    .array();
+        }
+    }
+}
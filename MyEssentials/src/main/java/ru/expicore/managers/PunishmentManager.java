@@ -5,6 +5,7 @@ import ru.expicore.ExpiCore;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,6 +36,9 @@ public class PunishmentManager {
      */
     private final Map<String, PunishmentData> mutes = new ConcurrentHashMap<>();
 
+    /** Запись punishments.json (синхронная и асинхронная не затирают друг друга) */
+    private final JsonFileWriter writer;
+
     /**
      * Кэш имя->UUID для разбанов/анмутов офлайн-игроков.
      * Заполняется при сохранении наказания.
@@ -47,6 +51,7 @@ public class PunishmentManager {
      */
     public PunishmentManager(ExpiCore plugin) {
         this.plugin = plugin;
+        this.writer = new JsonFileWriter(plugin, "punishments.json", gson);
         loadPunishments();
     }
 
@@ -70,6 +75,22 @@ public class PunishmentManager {
         savePunishments();
     }
 
+    /**
+     * Добавить импортированный бан без записи на диск
+     * (сохранение — {@link #savePunishmentsAsync()} после импорта).
+     * @param uuid UUID игрока
+     * @param playerName имя игрока
+     * @param reason причина бана
+     * @param expireTime время истечения (мс), -1 для перманентного
+     * @return false если у игрока уже есть бан
+     */
+    public boolean importBan(UUID uuid, String playerName, String reason, long expireTime) {
+        if (bans.containsKey(uuid.toString())) return false;
+        bans.put(uuid.toString(), imported(playerName, reason, expireTime));
+        nameToUUID.put(playerName.toLowerCase(), uuid.toString());
+        return true;
+    }
+
     /**
      * Разбанить игрока по UUID.
      * @param uuid UUID игрока
@@ -153,6 +174,33 @@ public class PunishmentManager {
         savePunishments();
     }
 
+    /**
+     * Добавить импортированный мут без записи на диск.
+     * @param uuid UUID игрока
+     * @param playerName имя игрока
+     * @param reason причина мута
+     * @param expireTime время истечения (мс), -1 для перманентного
+     * @return false если у игрока уже есть мут
+     */
+    public boolean importMute(UUID uuid, String playerName, String reason, long expireTime) {
+        if (mutes.containsKey(uuid.toString())) return false;
+        mutes.put(uuid.toString(), imported(playerName, reason, expireTime));
+        nameToUUID.put(playerName.toLowerCase(), uuid.toString());
+        return true;
+    }
+
+    /**
+     * Наказание из импорта (время создания — момент импорта).
+     */
+    private static PunishmentData imported(String playerName, String reason, long expireTime) {
+        PunishmentData data = new PunishmentData();
+        data.playerName = playerName;
+        data.reason = reason;
+        data.expireTime = expireTime;
+        data.createdTime = System.currentTimeMillis();
+        return data;
+    }
+
     /**
      * Снять мут с игрока по UUID.
      * @param uuid UUID игрока
@@ -257,32 +305,6 @@ public class PunishmentManager {
         return totalMs > 0 ? totalMs : -1;
     }
 
-    /**
-     * Отформатировать оставшееся время в читаемый вид.
-     * @param remainingMs оставшееся время в миллисекундах
-     * @return строка вида "1д 2ч 30м"
-     */
-    public static String formatTime(long remainingMs) {
-        if (remainingMs <= 0) return "0с";
-
-        long seconds = remainingMs / 1000;
-        long minutes = seconds / 60;
-        long hours = minutes / 60;
-        long days = hours / 24;
-
-        hours %= 24;
-        minutes %= 60;
-        seconds %= 60;
-
-        StringBuilder sb = new StringBuilder();
-        if (days > 0) sb.append(days).append("д ");
-        if (hours > 0) sb.append(hours).append("ч ");
-        if (minutes > 0) sb.append(minutes).append("м ");
-        if (seconds > 0 && days == 0) sb.append(seconds).append("с");
-
-        return sb.toString().trim();
-    }
-
     // ==================== ЗАГРУЗКА / СОХРАНЕНИЕ ====================
 
     /**
@@ -334,32 +356,45 @@ public class PunishmentManager {
      * Сохранить все наказания в punishments.json.
      */
     public void savePunishments() {
-        File file = new File(plugin.getDataFolder(), "punishments.json");
-        if (!plugin.getDataFolder().exists()) {
-            plugin.getDataFolder().mkdirs();
-        }
+        writer.save(this::copyPunishments, this::punishmentsToJson, false);
+    }
 
+    /**
+     * Сохранить наказания в асинхронной задаче: в вызывающем потоке
+     * снимается только копия карт. Используется после импорта.
+     */
+    public void savePunishmentsAsync() {
+        writer.save(this::copyPunishments, this::punishmentsToJson, true);
+    }
+
+    /**
+     * Копия карт банов и мутов: [баны, муты].
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, PunishmentData>[] copyPunishments() {
+        return new Map[] {new HashMap<>(bans), new HashMap<>(mutes)};
+    }
+
+    /**
+     * Построить JSON наказаний по копии.
+     */
+    private JsonObject punishmentsToJson(Map<String, PunishmentData>[] copy) {
         JsonObject root = new JsonObject();
 
         // Сохраняем баны
         JsonObject bansObj = new JsonObject();
-        for (Map.Entry<String, PunishmentData> entry : bans.entrySet()) {
+        for (Map.Entry<String, PunishmentData> entry : copy[0].entrySet()) {
             bansObj.add(entry.getKey(), gson.toJsonTree(entry.getValue()));
         }
         root.add("bans", bansObj);
 
         // Сохраняем муты
         JsonObject mutesObj = new JsonObject();
-        for (Map.Entry<String, PunishmentData> entry : mutes.entrySet()) {
+        for (Map.Entry<String, PunishmentData> entry : copy[1].entrySet()) {
             mutesObj.add(entry.getKey(), gson.toJsonTree(entry.getValue()));
         }
         root.add("mutes", mutesObj);
-
-        try (OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
-            gson.toJson(root, writer);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Ошибка сохранения punishments.json: " + e.getMessage());
-        }
+        return root;
     }
 
     // ==================== ВСПОМОГАТЕЛЬНЫЙ КЛАСС ====================
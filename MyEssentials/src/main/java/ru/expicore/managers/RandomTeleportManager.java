@@ -0,0 +1,390 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Пулы заранее проверенных точек для /rtp.
+ * Для каждого мира из rtp.worlds держится до rtp.pool-size безопасных точек.
+ * Чанки точек удерживаются тикетом плагина, поэтому /rtp — это снятие
+ * точки с пула за O(1) и телепорт в уже загруженный чанк. Тикеты
+ * считаются через {@link ChunkTickets}: несколько точек в одном чанке
+ * удерживают его каждая своим удержанием.
+ *
+ * Пулы пополняет задача, работающая каждый тик в пределах rtp.tick-budget-ms:
+ * выбирает случайный чанк в кольце от min-radius до max-radius вокруг спавна,
+ * загружает его через TeleportService (без остановки основного потока)
+ * и сразу удерживает тикетом, чтобы чанк не выгрузился до снимка,
+ * снимает снимок чанка и ищет в нём безопасный столбец в асинхронной задаче.
+ * На Spigot загрузки вне основного потока нет, а генерация нового чанка —
+ * это пик на весь тик, поэтому там выбираются только уже сгенерированные
+ * чанки и загружаются прямо в задаче пополнения, в пределах её бюджета.
+ *
+ * Тикет плагина держит загруженной не только сам чанк, но и область
+ * около 5×5 чанков вокруг него, так что пулы держат загруженными
+ * примерно pool-size × 25 чанков на мир.
+ * Все методы, кроме проверки снимка, вызываются из основного потока.
+ */
+public class RandomTeleportManager {
+
+    /** Сколько случайных столбцов проверять в одном чанке */
+    private static final int COLUMNS_PER_CHUNK = 8;
+
+    /** Выше этой высоты в Незере — бедроковая крыша */
+    private static final int NETHER_CEILING = 120;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Пулы по имени мира (в порядке конфига) */
+    private final Map<String, Pool> pools = new LinkedHashMap<>();
+
+    /** Загруженные чанки, ждущие снимка */
+    private final Deque<Candidate> ready = new ArrayDeque<>();
+
+    /** Задача пополнения пулов */
+    private final BukkitTask refillTask;
+
+    /** Размер пула одного мира */
+    private int poolSize;
+
+    /** Минимальное расстояние от спавна */
+    private int minRadius;
+
+    /** Максимальное расстояние от спавна */
+    private int maxRadius;
+
+    /** Бюджет задачи пополнения на тик (нс) */
+    private long budgetNanos;
+
+    /** Максимум одновременно загружаемых и проверяемых чанков */
+    private int maxPending;
+
+    /** Сейчас загружается и проверяется */
+    private int pendingTotal;
+
+    /** Проверено чанков (статистика) */
+    private long checked;
+
+    /** Найдено точек (статистика) */
+    private long found;
+
+    /**
+     * Создать менеджер и запустить пополнение пулов.
+     * @param plugin экземпляр плагина
+     */
+    public RandomTeleportManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+        this.refillTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refill, 20L, 1L);
+    }
+
+    /**
+     * Перечитать настройки из секции rtp в config.yml.
+     * Пулы миров, убранных из списка, освобождаются.
+     */
+    public void reload() {
+        this.poolSize = Math.max(1, plugin.getConfig().getInt("rtp.pool-size", 3));
+        this.minRadius = Math.max(0, plugin.getConfig().getInt("rtp.min-radius", 200));
+        this.maxRadius = Math.max(minRadius + 16, plugin.getConfig().getInt("rtp.max-radius", 5000));
+        this.budgetNanos = Math.max(100_000L, (long) (plugin.getConfig().getDouble("rtp.tick-budget-ms", 2.0) * 1_000_000L));
+        this.maxPending = Math.max(1, plugin.getConfig().getInt("rtp.max-pending-chunks", 4));
+
+        List<String> worlds = plugin.getConfig().getStringList("rtp.worlds");
+        for (Pool pool : new ArrayList<>(pools.values())) {
+            if (!worlds.contains(pool.worldName)) {
+                releaseAll(pool);
+                pools.remove(pool.worldName);
+            }
+        }
+        for (String name : worlds) {
+            pools.computeIfAbsent(name, Pool::new);
+        }
+    }
+
+    // ==================== /RTP ====================
+
+    /**
+     * Включён ли /rtp в мире.
+     * @param world мир
+     * @return true если мир есть в rtp.worlds
+     */
+    public boolean isEnabled(World world) {
+        return pools.containsKey(world.getName());
+    }
+
+    /**
+     * Сколько готовых точек в пуле мира.
+     * @param world мир
+     * @return число точек
+     */
+    public int available(World world) {
+        Pool pool = pools.get(world.getName());
+        return pool != null ? pool.spots.size() : 0;
+    }
+
+    /**
+     * Снять точку с пула. Чанк точки остаётся загруженным
+     * до вызова {@link #release(Location)}.
+     * @param world мир
+     * @return точка или null, если пул пуст
+     */
+    public Location poll(World world) {
+        Pool pool = pools.get(world.getName());
+        return pool != null ? pool.spots.pollFirst() : null;
+    }
+
+    /**
+     * Снять тикет с чанка точки после телепорта.
+     * @param spot точка, полученная из {@link #poll(World)}
+     */
+    public void release(Location spot) {
+        plugin.getTeleportService().getChunkTickets()
+                .release(spot.getWorld(), spot.getBlockX() >> 4, spot.getBlockZ() >> 4);
+    }
+
+    // ==================== ПОПОЛНЕНИЕ ====================
+
+    /**
+     * Один тик пополнения: снимки загруженных чанков, затем новые кандидаты —
+     * пока не исчерпан бюджет тика.
+     */
+    private void refill() {
+        long deadline = System.nanoTime() + budgetNanos;
+
+        while (!ready.isEmpty() && System.nanoTime() < deadline) {
+            snapshot(ready.pollFirst());
+        }
+
+        boolean started = true;
+        while (started && pendingTotal < maxPending && System.nanoTime() < deadline) {
+            started = false;
+            for (Pool pool : pools.values()) {
+                if (pendingTotal >= maxPending || System.nanoTime() >= deadline) break;
+                if (pool.spots.size() + pool.pending >= poolSize) continue;
+                started |= startCandidate(pool);
+            }
+        }
+    }
+
+    /**
+     * Выбрать случайный чанк для пула и начать его загрузку.
+     * @param pool пул
+     * @return true если загрузка начата
+     */
+    private boolean startCandidate(Pool pool) {
+        World world = Bukkit.getWorld(pool.worldName);
+        if (world == null) return false;
+
+        // Равномерно по площади кольца вокруг спавна
+        Random random = ThreadLocalRandom.current();
+        Location center = world.getSpawnLocation();
+        double angle = random.nextDouble() * Math.PI * 2;
+        double min2 = (double) minRadius * minRadius;
+        double max2 = (double) maxRadius * maxRadius;
+        double distance = Math.sqrt(min2 + random.nextDouble() * (max2 - min2));
+        int x = (int) Math.floor(center.getX() + Math.cos(angle) * distance);
+        int z = (int) Math.floor(center.getZ() + Math.sin(angle) * distance);
+        if (!world.getWorldBorder().isInside(new Location(world, x, center.getY(), z))) {
+            return false;
+        }
+
+        TeleportService teleports = plugin.getTeleportService();
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        if (!teleports.hasAsyncChunkLoading()) {
+            // Spigot: только сгенерированные чанки, загрузка — в бюджете этого тика
+            if (!world.isChunkGenerated(chunkX, chunkZ)) return false;
+            Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+            pool.pending++;
+            pendingTotal++;
+            teleports.getChunkTickets().retain(world, chunkX, chunkZ);
+            ready.addLast(new Candidate(pool, chunk));
+            return true;
+        }
+
+        pool.pending++;
+        pendingTotal++;
+        teleports.loadChunk(world, chunkX, chunkZ).whenComplete((chunk, error) -> {
+            if (error != null || chunk == null) {
+                finish(pool);
+                return;
+            }
+            // Удержать до снимка: проверка может начаться лишь в следующем тике
+            plugin.getTeleportService().getChunkTickets().retain(world, chunk.getX(), chunk.getZ());
+            ready.addLast(new Candidate(pool, chunk));
+        });
+        return true;
+    }
+
+    /**
+     * Снять снимок загруженного чанка и отдать его на проверку вне основного потока.
+     * @param candidate загруженный чанк
+     */
+    private void snapshot(Candidate candidate) {
+        Chunk chunk = candidate.chunk;
+        World world = chunk.getWorld();
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(true, false, false);
+        int minY = SafeLocationResolver.minHeight(world);
+        int maxY = world.getMaxHeight();
+        boolean nether = world.getEnvironment() == World.Environment.NETHER;
+        long seed = ThreadLocalRandom.current().nextLong();
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            int[] spot = findSpot(snapshot, minY, maxY, nether, new Random(seed));
+            Bukkit.getScheduler().runTask(plugin, () -> accept(candidate, spot));
+        });
+    }
+
+    /**
+     * Найти безопасный столбец в снимке чанка. Выполняется вне основного потока.
+     * @return {x, y, z} внутри чанка или null
+     */
+    private static int[] findSpot(ChunkSnapshot snapshot, int minY, int maxY, boolean nether, Random random) {
+        for (int attempt = 0; attempt < COLUMNS_PER_CHUNK; attempt++) {
+            int lx = random.nextInt(16);
+            int lz = random.nextInt(16);
+            if (nether) {
+                // Под крышей — сверху вниз до первой безопасной точки
+                for (int y = Math.min(NETHER_CEILING, maxY - 2); y > minY; y--) {
+                    if (SafeLocationResolver.isSafe(snapshot, lx, y, lz, minY, maxY)) {
+                        return new int[] {lx, y, lz};
+                    }
+                }
+                continue;
+            }
+            // Поверхность: вокруг самого высокого блока столбца
+            int top = snapshot.getHighestBlockYAt(lx, lz);
+            for (int y = top + 2; y >= top - 1; y--) {
+                if (SafeLocationResolver.isSafe(snapshot, lx, y, lz, minY, maxY)) {
+                    return new int[] {lx, y, lz};
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Принять результат проверки: добавить точку в пул (удержание чанка
+     * переходит к точке) или освободить чанк.
+     * @param candidate проверенный чанк
+     * @param spot найденная точка внутри чанка или null
+     */
+    private void accept(Candidate candidate, int[] spot) {
+        finish(candidate.pool);
+        checked++;
+        Chunk chunk = candidate.chunk;
+        World world = chunk.getWorld();
+        // Пул убран при перезагрузке или точка не найдена
+        if (spot == null || pools.get(candidate.pool.worldName) != candidate.pool) {
+            plugin.getTeleportService().getChunkTickets().release(world, chunk.getX(), chunk.getZ());
+            return;
+        }
+
+        candidate.pool.spots.addLast(new Location(world,
+                (chunk.getX() << 4) + spot[0] + 0.5, spot[1], (chunk.getZ() << 4) + spot[2] + 0.5));
+        found++;
+    }
+
+    /**
+     * Кандидат пула завершён (успешно или нет).
+     * @param pool пул
+     */
+    private void finish(Pool pool) {
+        pool.pending--;
+        pendingTotal--;
+    }
+
+    /**
+     * Освободить чанки всех точек пула.
+     * @param pool пул
+     */
+    private void releaseAll(Pool pool) {
+        for (Location spot : pool.spots) {
+            release(spot);
+        }
+        pool.spots.clear();
+    }
+
+    /**
+     * Остановить пополнение и освободить чанки всех пулов.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        refillTask.cancel();
+        for (Pool pool : pools.values()) {
+            releaseAll(pool);
+        }
+        for (Candidate candidate : ready) {
+            Chunk chunk = candidate.chunk;
+            plugin.getTeleportService().getChunkTickets().release(chunk.getWorld(), chunk.getX(), chunk.getZ());
+        }
+        ready.clear();
+    }
+
+    /**
+     * Строка статистики для /gc.
+     * @return заполненность пулов и доля удачных чанков
+     */
+    public String getStatsLine() {
+        StringBuilder sb = new StringBuilder();
+        for (Pool pool : pools.values()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(pool.worldName).append(' ').append(pool.spots.size()).append('/').append(poolSize);
+        }
+        if (sb.length() == 0) sb.append("выключен");
+        return sb + " (проверено чанков " + checked + ", найдено точек " + found + ")";
+    }
+
+    // ==================== ВНУТРЕННИЕ КЛАССЫ ====================
+
+    /**
+     * Пул точек одного мира.
+     */
+    private static final class Pool {
+
+        /** Имя мира */
+        final String worldName;
+
+        /** Готовые точки */
+        final Deque<Location> spots = new ArrayDeque<>();
+
+        /** Загружаемые и проверяемые кандидаты */
+        int pending;
+
+        Pool(String worldName) {
+            this.worldName = worldName;
+        }
+    }
+
+    /**
+     * Загруженный чанк-кандидат.
+     */
+    private static final class Candidate {
+
+        /** Пул, для которого выбран чанк */
+        final Pool pool;
+
+        /** Чанк */
+        final Chunk chunk;
+
+        Candidate(Pool pool, Chunk chunk) {
+            this.pool = pool;
+            this.chunk = chunk;
+        }
+    }
+}
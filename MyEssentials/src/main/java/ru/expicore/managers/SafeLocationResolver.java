@@ -0,0 +1,437 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Поиск безопасной точки телепортации.
+ * Сохранённые дома и варпы могут указывать в лаву, пустоту или внутрь блоков.
+ * Перед телепортом проверяется точка назначения, а если она опасна —
+ * соседние столбцы в пределах teleport.safe-location.radius и высоты
+ * в пределах vertical-range, начиная с ближайших.
+ * Точка на неполном блоке (плита, ступени, тропинка, грядка, кровать) имеет
+ * дробную высоту: её блок — это опора, а не место для ног, и если над ним
+ * свободно, точка остаётся как есть, без сдвига и центрирования.
+ *
+ * Чанки загружаются через TeleportService без остановки основного потока,
+ * в основном потоке снимаются только снимки чанков (ChunkSnapshot),
+ * а сам перебор блоков идёт в асинхронной задаче.
+ *
+ * Результат (вердикт) кэшируется по столбцу назначения и сбрасывается,
+ * когда меняется блок в этом столбце или в выбранном вместо него;
+ * отказ («безопасной точки нет») — при изменении любого столбца
+ * в просмотренном радиусе, ведь там могла появиться безопасная точка.
+ * Кэш и вердикты — только основной поток.
+ */
+public class SafeLocationResolver {
+
+    /** Материалы, на которых и в которых стоять нельзя */
+    private static final Set<Material> DANGEROUS = dangerousMaterials();
+
+    /** World#getMinHeight() (1.17+), null на старых версиях */
+    private static final Method GET_MIN_HEIGHT = findMinHeight();
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Кэш вердиктов по UUID мира */
+    private final Map<UUID, WorldCache> caches = new HashMap<>();
+
+    /** Включена ли проверка */
+    private boolean enabled;
+
+    /** Радиус поиска по горизонтали (блоки) */
+    private int radius;
+
+    /** Диапазон поиска по вертикали (блоки вверх и вниз) */
+    private int verticalRange;
+
+    /** Максимум вердиктов в кэше одного мира */
+    private int maxCached;
+
+    /** Попадания в кэш (статистика) */
+    private long hits;
+
+    /** Проверки со сканированием (статистика) */
+    private long scans;
+
+    /**
+     * Создать поиск безопасных точек.
+     * @param plugin экземпляр плагина
+     */
+    public SafeLocationResolver(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Перечитать настройки из секции teleport.safe-location и очистить кэш.
+     */
+    public void reload() {
+        this.enabled = plugin.getConfig().getBoolean("teleport.safe-location.enabled", true);
+        this.radius = Math.max(0, Math.min(16, plugin.getConfig().getInt("teleport.safe-location.radius", 3)));
+        this.verticalRange = Math.max(0, plugin.getConfig().getInt("teleport.safe-location.vertical-range", 8));
+        this.maxCached = Math.max(64, plugin.getConfig().getInt("teleport.safe-location.cache-size", 4096));
+        caches.clear();
+    }
+
+    /**
+     * Нужна ли проверка для этого игрока.
+     * В творческом режиме и режиме наблюдателя опасности нет.
+     * @param player игрок
+     * @return true если точку нужно проверить
+     */
+    public boolean appliesTo(Player player) {
+        return enabled
+                && player.getGameMode() != GameMode.CREATIVE
+                && player.getGameMode() != GameMode.SPECTATOR;
+    }
+
+    // ==================== ПОИСК ====================
+
+    /**
+     * Найти безопасную точку рядом с точкой назначения.
+     * @param destination точка назначения
+     * @return future с безопасной точкой (сама destination, если она безопасна)
+     *         или null, если рядом безопасной точки нет; завершается в основном потоке
+     */
+    public CompletableFuture<Location> resolve(Location destination) {
+        World world = destination.getWorld();
+        int x = destination.getBlockX();
+        int y = destination.getBlockY();
+        int z = destination.getBlockZ();
+        boolean partial = destination.getY() > y;
+
+        WorldCache cache = caches.get(world.getUID());
+        if (cache != null) {
+            Verdict verdict = cache.verdicts.get(columnKey(x, z));
+            if (verdict != null && verdict.requestedY == y && verdict.partial == partial) {
+                hits++;
+                return CompletableFuture.completedFuture(verdict.toLocation(destination));
+            }
+        }
+        scans++;
+
+        // Снимки всех чанков, которые задевает область поиска
+        int r = radius;
+        int vertical = verticalRange;
+        int minChunkX = (x - r) >> 4;
+        int minChunkZ = (z - r) >> 4;
+        int width = ((x + r) >> 4) - minChunkX + 1;
+        int depth = ((z + r) >> 4) - minChunkZ + 1;
+        ChunkSnapshot[] snapshots = new ChunkSnapshot[width * depth];
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[snapshots.length];
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < depth; j++) {
+                int index = i * depth + j;
+                loads[index] = plugin.getTeleportService()
+                        .loadChunk(world, minChunkX + i, minChunkZ + j)
+                        .thenAccept(chunk -> snapshots[index] = chunk.getChunkSnapshot(false, false, false));
+            }
+        }
+
+        int minY = minHeight(world);
+        int maxY = world.getMaxHeight();
+        CompletableFuture<Location> result = new CompletableFuture<>();
+        CompletableFuture.allOf(loads).whenComplete((ignored, error) -> {
+            if (error != null) {
+                // Чанк не загрузился — оставляем точку как есть, телепорт решит сам
+                result.complete(destination);
+                return;
+            }
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                Verdict verdict = scan(snapshots, minChunkX, minChunkZ, depth,
+                        x, y, z, partial, r, vertical, minY, maxY);
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    store(world.getUID(), x, z, r, verdict);
+                    result.complete(verdict.toLocation(destination));
+                });
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Перебрать столбцы от ближайших к дальним, в каждом — высоты
+     * от исходной вверх и вниз. Выполняется вне основного потока.
+     * @return вердикт
+     */
+    private static Verdict scan(ChunkSnapshot[] snapshots, int minChunkX, int minChunkZ, int depth,
+                                int x, int y, int z, boolean partial, int radius, int vertical,
+                                int minY, int maxY) {
+        if (partial) {
+            // Стоит на неполном блоке: он — опора, ноги и голова выше
+            ChunkSnapshot snapshot = snapshots[((x >> 4) - minChunkX) * depth + ((z >> 4) - minChunkZ)];
+            if (isSafe(snapshot, x & 15, y + 1, z & 15, minY, maxY)) {
+                return new Verdict(y, true, true, x, y + 1, z);
+            }
+        }
+        for (int ring = 0; ring <= radius; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) continue;
+
+                    int bx = x + dx;
+                    int bz = z + dz;
+                    ChunkSnapshot snapshot = snapshots[((bx >> 4) - minChunkX) * depth + ((bz >> 4) - minChunkZ)];
+                    for (int dy = 0; dy <= vertical; dy++) {
+                        if (isSafe(snapshot, bx & 15, y + dy, bz & 15, minY, maxY)) {
+                            return new Verdict(y, partial, true, bx, y + dy, bz);
+                        }
+                        if (dy > 0 && isSafe(snapshot, bx & 15, y - dy, bz & 15, minY, maxY)) {
+                            return new Verdict(y, partial, true, bx, y - dy, bz);
+                        }
+                    }
+                }
+            }
+        }
+        return new Verdict(y, partial, false, 0, 0, 0);
+    }
+
+    /**
+     * Можно ли стоять в точке: твёрдая безопасная опора,
+     * свободные блоки для ног и головы, голова не в жидкости.
+     */
+    static boolean isSafe(ChunkSnapshot snapshot, int lx, int y, int lz, int minY, int maxY) {
+        if (y <= minY || y + 1 >= maxY) return false;
+
+        Material ground = snapshot.getBlockType(lx, y - 1, lz);
+        if (!ground.isSolid() || DANGEROUS.contains(ground)) return false;
+
+        Material feet = snapshot.getBlockType(lx, y, lz);
+        if (feet.isSolid() || DANGEROUS.contains(feet)) return false;
+
+        Material head = snapshot.getBlockType(lx, y + 1, lz);
+        return !head.isSolid() && !DANGEROUS.contains(head) && head != Material.WATER;
+    }
+
+    // ==================== КЭШ ====================
+
+    /**
+     * Сохранить вердикт и подписать его на изменения столбцов:
+     * найденная точка — на столбец назначения и выбранный вместо него,
+     * отказ — на все столбцы просмотренного радиуса.
+     * @param worldId UUID мира
+     * @param x столбец назначения X
+     * @param z столбец назначения Z
+     * @param radius радиус, в котором шёл поиск
+     * @param verdict вердикт
+     */
+    private void store(UUID worldId, int x, int z, int radius, Verdict verdict) {
+        WorldCache cache = caches.computeIfAbsent(worldId, k -> new WorldCache());
+        if (cache.verdicts.size() >= maxCached) {
+            cache.verdicts.clear();
+            cache.watchers.clear();
+        }
+
+        long key = columnKey(x, z);
+        if (verdict.found) {
+            verdict.columns = verdict.x != x || verdict.z != z
+                    ? new long[] {key, columnKey(verdict.x, verdict.z)}
+                    : new long[] {key};
+        } else {
+            int side = 2 * radius + 1;
+            verdict.columns = new long[side * side];
+            int i = 0;
+            for (int dx = -radius; dx <= radius; dx++) {
+                for (int dz = -radius; dz <= radius; dz++) {
+                    verdict.columns[i++] = columnKey(x + dx, z + dz);
+                }
+            }
+        }
+
+        // Прежний вердикт этого столбца (для другой высоты) отписывается
+        Verdict previous = cache.verdicts.put(key, verdict);
+        if (previous != null) {
+            cache.unwatch(key, previous);
+        }
+        for (long column : verdict.columns) {
+            cache.watch(column, key);
+        }
+    }
+
+    /**
+     * Блок изменился — сбросить вердикты, зависящие от его столбца.
+     * Вызывается из TeleportListener на каждое изменение блока,
+     * поэтому без вердиктов в мире ничего не делает.
+     * @param block изменённый блок
+     */
+    public void invalidate(Block block) {
+        if (caches.isEmpty()) return;
+
+        WorldCache cache = caches.get(block.getWorld().getUID());
+        if (cache == null) return;
+
+        Set<Long> dependents = cache.watchers.remove(columnKey(block.getX(), block.getZ()));
+        if (dependents == null) return;
+
+        for (Long key : dependents) {
+            Verdict verdict = cache.verdicts.remove(key);
+            if (verdict != null) {
+                // Отписать и от остальных столбцов, иначе подписки копятся
+                cache.unwatch(key, verdict);
+            }
+        }
+    }
+
+    /**
+     * Строка статистики для /gc.
+     * @return размер кэша и доля попаданий
+     */
+    public String getStatsLine() {
+        int cached = 0;
+        for (WorldCache cache : caches.values()) {
+            cached += cache.verdicts.size();
+        }
+        long total = hits + scans;
+        return cached + " в кэше, попаданий " + (total > 0 ? hits * 100 / total : 0) + "%, сканирований " + scans;
+    }
+
+    /**
+     * Ключ столбца блоков.
+     * @param x координата X
+     * @param z координата Z
+     * @return ключ
+     */
+    private static long columnKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Нижняя граница мира (на 1.16 — 0).
+     * @param world мир
+     * @return минимальная высота
+     */
+    static int minHeight(World world) {
+        if (GET_MIN_HEIGHT == null) return 0;
+        try {
+            return (Integer) GET_MIN_HEIGHT.invoke(world);
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Найти World#getMinHeight().
+     * @return метод или null
+     */
+    private static Method findMinHeight() {
+        try {
+            return World.class.getMethod("getMinHeight");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Опасные материалы, существующие в этой версии сервера.
+     * @return множество материалов
+     */
+    private static Set<Material> dangerousMaterials() {
+        Set<Material> set = EnumSet.noneOf(Material.class);
+        String[] names = {"LAVA", "FIRE", "SOUL_FIRE", "MAGMA_BLOCK", "CACTUS", "CAMPFIRE",
+                "SOUL_CAMPFIRE", "SWEET_BERRY_BUSH", "WITHER_ROSE", "POWDER_SNOW",
+                "POINTED_DRIPSTONE", "COBWEB", "NETHER_PORTAL", "END_PORTAL"};
+        for (String name : names) {
+            Material material = Material.getMaterial(name);
+            if (material != null) set.add(material);
+        }
+        return set;
+    }
+
+    // ==================== ВНУТРЕННИЕ КЛАССЫ ====================
+
+    /**
+     * Кэш вердиктов одного мира.
+     */
+    private static final class WorldCache {
+
+        /** Вердикты по столбцу назначения */
+        final Map<Long, Verdict> verdicts = new HashMap<>();
+
+        /** Столбцы назначения, зависящие от столбца */
+        final Map<Long, Set<Long>> watchers = new HashMap<>();
+
+        void watch(long column, long destination) {
+            watchers.computeIfAbsent(column, k -> new HashSet<>(2)).add(destination);
+        }
+
+        /**
+         * Снять подписки вердикта со всех его столбцов.
+         */
+        void unwatch(long destination, Verdict verdict) {
+            for (long column : verdict.columns) {
+                Set<Long> dependents = watchers.get(column);
+                if (dependents == null) continue;
+                dependents.remove(destination);
+                if (dependents.isEmpty()) {
+                    watchers.remove(column);
+                }
+            }
+        }
+    }
+
+    /**
+     * Результат проверки точки назначения.
+     */
+    private static final class Verdict {
+
+        /** Высота, для которой выполнена проверка */
+        final int requestedY;
+
+        /** Проверялась ли точка на неполном блоке (дробная высота) */
+        final boolean partial;
+
+        /** Найдена ли безопасная точка */
+        final boolean found;
+
+        /** Безопасная точка */
+        final int x;
+        final int y;
+        final int z;
+
+        /** Столбцы, изменение которых сбрасывает вердикт (заполняет store) */
+        long[] columns;
+
+        Verdict(int requestedY, boolean partial, boolean found, int x, int y, int z) {
+            this.requestedY = requestedY;
+            this.partial = partial;
+            this.found = found;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        /**
+         * Точка для телепорта.
+         * @param destination исходная точка назначения
+         * @return исходная точка, если она безопасна (в том числе на неполном блоке);
+         *         центр найденного блока; или null
+         */
+        Location toLocation(Location destination) {
+            if (!found) return null;
+            if (x == destination.getBlockX() && z == destination.getBlockZ()
+                    && (y == destination.getBlockY() || partial && y == destination.getBlockY() + 1)) {
+                return destination;
+            }
+            return new Location(destination.getWorld(), x + 0.5, y, z + 0.5,
+                    destination.getYaw(), destination.getPitch());
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package ru.expicore.managers;
+
+import org.bukkit.entity.Player;
+import ru.expicore.ExpiCore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Менеджер подписок SocialSpy.
+ * Персонал может подписаться на все личные сообщения, на сообщения
+ * конкретных игроков (как отправителя, так и получателя) или на ключевые слова.
+ *
+ * Для каждого вида подписки ведётся свой индекс, поэтому сообщение
+ * доходит только до подходящих подписчиков без перебора всех шпионов.
+ * Строка SocialSpy отрисовывается один раз на сообщение (на каждый язык),
+ * а не для каждого подписчика. Подписки живут до выхода игрока.
+ */
+public class SocialSpyManager {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Все подписки по UUID шпиона */
+    private final Map<UUID, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    /** Подписчики на весь трафик */
+    private final Set<Subscription> allTraffic = ConcurrentHashMap.newKeySet();
+
+    /** Индекс: UUID наблюдаемого игрока -> подписчики */
+    private final Map<UUID, Set<Subscription>> byPlayer = new ConcurrentHashMap<>();
+
+    /** Индекс: ключевое слово (в нижнем регистре) -> подписчики */
+    private final Map<String, Set<Subscription>> byKeyword = new ConcurrentHashMap<>();
+
+    /**
+     * Создать менеджер подписок.
+     * @param plugin экземпляр плагина
+     */
+    public SocialSpyManager(ExpiCore plugin) {
+        this.plugin = plugin;
+    }
+
+    // ==================== ПОДПИСКИ ====================
+
+    /**
+     * Переключить подписку на весь трафик.
+     * @param spy игрок-шпион
+     * @return true если подписка включена
+     */
+    public boolean toggleAll(Player spy) {
+        Subscription sub = subscription(spy);
+        sub.all = !sub.all;
+        if (sub.all) {
+            allTraffic.add(sub);
+        } else {
+            allTraffic.remove(sub);
+            dropIfEmpty(sub);
+        }
+        return sub.all;
+    }
+
+    /**
+     * Переключить наблюдение за игроком.
+     * @param spy игрок-шпион
+     * @param target UUID наблюдаемого игрока
+     * @return true если наблюдение включено
+     */
+    public boolean toggleWatch(Player spy, UUID target) {
+        Subscription sub = subscription(spy);
+        if (sub.players.remove(target)) {
+            removeFromIndex(byPlayer, target, sub);
+            dropIfEmpty(sub);
+            return false;
+        }
+        sub.players.add(target);
+        byPlayer.computeIfAbsent(target, k -> ConcurrentHashMap.newKeySet()).add(sub);
+        return true;
+    }
+
+    /**
+     * Переключить подписку на ключевое слово.
+     * @param spy игрок-шпион
+     * @param keyword ключевое слово (одно слово из букв и цифр)
+     * @return true если подписка включена
+     */
+    public boolean toggleKeyword(Player spy, String keyword) {
+        String key = keyword.toLowerCase(Locale.ROOT);
+        Subscription sub = subscription(spy);
+        if (sub.keywords.remove(key)) {
+            removeFromIndex(byKeyword, key, sub);
+            dropIfEmpty(sub);
+            return false;
+        }
+        sub.keywords.add(key);
+        byKeyword.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(sub);
+        return true;
+    }
+
+    /**
+     * Подходит ли слово для подписки: только буквы и цифры.
+     * @param keyword слово
+     * @return true если слово можно использовать
+     */
+    public static boolean isValidKeyword(String keyword) {
+        if (keyword.isEmpty() || keyword.length() > 32) return false;
+        for (int i = 0; i < keyword.length(); i++) {
+            if (!Character.isLetterOrDigit(keyword.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Снять все подписки игрока (команда или выход с сервера).
+     * @param spy UUID шпиона
+     * @return true если подписки были
+     */
+    public boolean unsubscribe(UUID spy) {
+        Subscription sub = subscriptions.remove(spy);
+        if (sub == null) return false;
+
+        allTraffic.remove(sub);
+        for (UUID target : sub.players) {
+            removeFromIndex(byPlayer, target, sub);
+        }
+        for (String keyword : sub.keywords) {
+            removeFromIndex(byKeyword, keyword, sub);
+        }
+        return true;
+    }
+
+    /**
+     * Получить подписку игрока (для /socialspy list).
+     * @param spy UUID шпиона
+     * @return подписка или null
+     */
+    public Subscription getSubscription(UUID spy) {
+        return subscriptions.get(spy);
+    }
+
+    // ==================== ПУБЛИКАЦИЯ ====================
+
+    /**
+     * Разослать личное сообщение подходящим подписчикам.
+     * Отправитель и получатель сообщения копию не получают.
+     * @param sender отправитель ЛС
+     * @param target получатель ЛС
+     * @param message текст сообщения
+     */
+    public void publish(Player sender, Player target, String message) {
+        if (subscriptions.isEmpty()) return;
+
+        Set<Subscription> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        matched.addAll(allTraffic);
+
+        Set<Subscription> watchers = byPlayer.get(sender.getUniqueId());
+        if (watchers != null) matched.addAll(watchers);
+        watchers = byPlayer.get(target.getUniqueId());
+        if (watchers != null) matched.addAll(watchers);
+
+        if (!byKeyword.isEmpty()) {
+            matchKeywords(message, matched);
+        }
+        if (matched.isEmpty()) return;
+
+        List<Player> recipients = new ArrayList<>(matched.size());
+        for (Subscription sub : matched) {
+            // Не дублируем сообщение отправителю и получателю
+            if (sub.uuid.equals(sender.getUniqueId()) || sub.uuid.equals(target.getUniqueId())) continue;
+            recipients.add(sub.spy);
+        }
+        if (recipients.isEmpty()) return;
+
+        plugin.getMessageManager().send(recipients, MessageKey.SOCIALSPY_FORMAT,
+                sender.getName(), target.getName(), message);
+    }
+
+    /**
+     * Разбить сообщение на слова и добавить подписчиков совпавших ключевых слов.
+     * @param message текст сообщения
+     * @param out множество подписчиков
+     */
+    private void matchKeywords(String message, Set<Subscription> out) {
+        String lower = message.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                Set<Subscription> subs = byKeyword.get(lower.substring(start, i));
+                if (subs != null) out.addAll(subs);
+                start = -1;
+            }
+        }
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ====================
+
+    /**
+     * Получить или создать подписку игрока.
+     * @param spy игрок-шпион
+     * @return подписка
+     */
+    private Subscription subscription(Player spy) {
+        return subscriptions.computeIfAbsent(spy.getUniqueId(), k -> new Subscription(spy));
+    }
+
+    /**
+     * Удалить подписку, если в ней ничего не осталось.
+     * @param sub подписка
+     */
+    private void dropIfEmpty(Subscription sub) {
+        if (!sub.all && sub.players.isEmpty() && sub.keywords.isEmpty()) {
+            subscriptions.remove(sub.uuid, sub);
+        }
+    }
+
+    /**
+     * Убрать подписчика из индекса; пустые ключи удаляются.
+     */
+    private static <K> void removeFromIndex(Map<K, Set<Subscription>> index, K key, Subscription sub) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(sub);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // ==================== ПОДПИСКА ====================
+
+    /**
+     * Подписка одного шпиона.
+     */
+    public static final class Subscription {
+
+        /** Игрок-шпион */
+        final Player spy;
+
+        /** UUID шпиона */
+        final UUID uuid;
+
+        /** Подписан ли на весь трафик */
+        volatile boolean all;
+
+        /** Наблюдаемые игроки */
+        final Set<UUID> players = ConcurrentHashMap.newKeySet();
+
+        /** Ключевые слова */
+        final Set<String> keywords = ConcurrentHashMap.newKeySet();
+
+        Subscription(Player spy) {
+            this.spy = spy;
+            this.uuid = spy.getUniqueId();
+        }
+
+        /**
+         * Подписан ли на весь трафик.
+         * @return true если да
+         */
+        public boolean isAll() {
+            return all;
+        }
+
+        /**
+         * Наблюдаемые игроки (только чтение).
+         * @return множество UUID
+         */
+        public Set<UUID> getPlayers() {
+            return Collections.unmodifiableSet(players);
+        }
+
+        /**
+         * Ключевые слова (только чтение).
+         * @return множество слов
+         */
+        public Set<String> getKeywords() {
+            return Collections.unmodifiableSet(keywords);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Менеджер запросов на телепортацию (/tpa, /tpahere).
+ * У каждого игрока может быть несколько входящих запросов — они стоят
+ * в очереди, /tpaccept без аргументов принимает самый свежий.
+ *
+ * Истечение запросов обслуживает одна общая задача: запросы лежат в очереди
+ * сроков, и раз в секунду с её вершины снимаются только истёкшие.
+ * Принятый, отклонённый или отменённый запрос помечается завершённым
+ * и отбрасывается, когда доходит до вершины.
+ * Все методы вызываются из основного потока.
+ */
+public class TeleportRequestManager {
+
+    /** Период проверки сроков (тики) */
+    private static final long SWEEP_PERIOD_TICKS = 20L;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Входящие запросы по UUID получателя (самый свежий — в конце) */
+    private final Map<UUID, Deque<Request>> incoming = new HashMap<>();
+
+    /** Исходящие запросы по UUID отправителя */
+    private final Map<UUID, List<Request>> outgoing = new HashMap<>();
+
+    /** Очередь сроков всех активных запросов */
+    private final PriorityQueue<Request> deadlines =
+            new PriorityQueue<>((a, b) -> Long.compare(a.expiresAt, b.expiresAt));
+
+    /** Задача снятия истёкших запросов */
+    private final BukkitTask sweepTask;
+
+    /** Время жизни запроса (мс) */
+    private long timeoutMs;
+
+    /** Максимум входящих запросов у одного игрока */
+    private int maxPending;
+
+    /**
+     * Создать менеджер и запустить общую задачу истечения.
+     * @param plugin экземпляр плагина
+     */
+    public TeleportRequestManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+        this.sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep,
+                SWEEP_PERIOD_TICKS, SWEEP_PERIOD_TICKS);
+    }
+
+    /**
+     * Перечитать настройки из секции tpa в config.yml.
+     * Новое время жизни действует для новых запросов.
+     */
+    public void reload() {
+        this.timeoutMs = Math.max(5, plugin.getConfig().getInt("tpa.timeout-seconds", 60)) * 1000L;
+        this.maxPending = Math.max(1, plugin.getConfig().getInt("tpa.max-pending", 5));
+    }
+
+    // ==================== ЗАПРОСЫ ====================
+
+    /**
+     * Результат создания запроса.
+     */
+    public enum Result {
+        /** Запрос создан */
+        CREATED,
+        /** Такой запрос этому игроку уже ждёт ответа */
+        DUPLICATE,
+        /** Очередь входящих запросов получателя заполнена */
+        QUEUE_FULL
+    }
+
+    /**
+     * Создать запрос на телепортацию.
+     * @param requester кто отправляет запрос
+     * @param target кому отправлен запрос
+     * @param here true для /tpahere (получатель телепортируется к отправителю)
+     * @return результат создания
+     */
+    public Result create(Player requester, Player target, boolean here) {
+        Deque<Request> queue = incoming.computeIfAbsent(target.getUniqueId(), k -> new ArrayDeque<>());
+        for (Request request : queue) {
+            if (request.requester.equals(requester.getUniqueId())) {
+                return Result.DUPLICATE;
+            }
+        }
+        if (queue.size() >= maxPending) {
+            return Result.QUEUE_FULL;
+        }
+
+        Request request = new Request(requester.getUniqueId(), target.getUniqueId(), here,
+                System.currentTimeMillis() + timeoutMs);
+        queue.addLast(request);
+        outgoing.computeIfAbsent(requester.getUniqueId(), k -> new ArrayList<>()).add(request);
+        deadlines.add(request);
+        return Result.CREATED;
+    }
+
+    /**
+     * Забрать входящий запрос для ответа (/tpaccept, /tpdeny).
+     * @param target получатель запроса
+     * @param requester UUID отправителя или null — самый свежий запрос
+     * @return запрос или null, если подходящего нет
+     */
+    public Request take(Player target, UUID requester) {
+        Deque<Request> queue = incoming.get(target.getUniqueId());
+        if (queue == null) return null;
+
+        Request found = null;
+        if (requester == null) {
+            found = queue.peekLast();
+        } else {
+            for (Request request : queue) {
+                if (request.requester.equals(requester)) {
+                    found = request;
+                    break;
+                }
+            }
+        }
+        if (found != null) {
+            complete(found);
+        }
+        return found;
+    }
+
+    /**
+     * Отменить исходящие запросы игрока (/tpacancel).
+     * @param requester отправитель
+     * @param target UUID получателя или null — все запросы
+     * @return отменённые запросы
+     */
+    public List<Request> cancel(Player requester, UUID target) {
+        List<Request> sent = outgoing.get(requester.getUniqueId());
+        List<Request> cancelled = new ArrayList<>();
+        if (sent == null) return cancelled;
+
+        for (Request request : new ArrayList<>(sent)) {
+            if (target == null || request.target.equals(target)) {
+                complete(request);
+                cancelled.add(request);
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Убрать все запросы игрока при выходе — и входящие, и исходящие.
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        Deque<Request> queue = incoming.get(uuid);
+        if (queue != null) {
+            for (Request request : new ArrayList<>(queue)) {
+                complete(request);
+            }
+        }
+        List<Request> sent = outgoing.get(uuid);
+        if (sent != null) {
+            for (Request request : new ArrayList<>(sent)) {
+                complete(request);
+            }
+        }
+    }
+
+    /**
+     * Остановить задачу истечения.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        sweepTask.cancel();
+    }
+
+    // ==================== ИСТЕЧЕНИЕ ====================
+
+    /**
+     * Снять с очереди сроков истёкшие запросы и уведомить игроков.
+     */
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        MessageManager msg = plugin.getMessageManager();
+
+        Request head;
+        while ((head = deadlines.peek()) != null && head.expiresAt <= now) {
+            deadlines.poll();
+            // Уже принят, отклонён или отменён
+            if (head.done) continue;
+
+            complete(head);
+            Player requester = Bukkit.getPlayer(head.requester);
+            if (requester != null) {
+                requester.sendMessage(msg.get(requester, MessageKey.TPA_EXPIRED));
+            }
+            Player target = Bukkit.getPlayer(head.target);
+            if (target != null) {
+                target.sendMessage(msg.get(target, MessageKey.TPA_EXPIRED));
+            }
+        }
+    }
+
+    /**
+     * Завершить запрос: убрать из очередей игроков.
+     * Из очереди сроков он уйдёт сам, когда дойдёт до вершины.
+     * @param request запрос
+     */
+    private void complete(Request request) {
+        if (request.done) return;
+        request.done = true;
+
+        Deque<Request> queue = incoming.get(request.target);
+        if (queue != null) {
+            queue.remove(request);
+            if (queue.isEmpty()) incoming.remove(request.target);
+        }
+        List<Request> sent = outgoing.get(request.requester);
+        if (sent != null) {
+            sent.remove(request);
+            if (sent.isEmpty()) outgoing.remove(request.requester);
+        }
+    }
+
+    // ==================== ЗАПРОС ====================
+
+    /**
+     * Один запрос на телепортацию.
+     */
+    public static final class Request {
+
+        /** Кто отправил запрос */
+        final UUID requester;
+
+        /** Кому отправлен запрос */
+        final UUID target;
+
+        /** /tpahere — получатель телепортируется к отправителю */
+        final boolean here;
+
+        /** Момент истечения (мс) */
+        final long expiresAt;
+
+        /** Запрос принят, отклонён, отменён или истёк */
+        boolean done;
+
+        Request(UUID requester, UUID target, boolean here, long expiresAt) {
+            this.requester = requester;
+            this.target = target;
+            this.here = here;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * UUID отправителя запроса.
+         * @return UUID
+         */
+        public UUID getRequester() {
+            return requester;
+        }
+
+        /**
+         * UUID получателя запроса.
+         * @return UUID
+         */
+        public UUID getTarget() {
+            return target;
+        }
+
+        /**
+         * Запрос /tpahere (получатель телепортируется к отправителю).
+         * @return true для /tpahere
+         */
+        public boolean isHere() {
+            return here;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Служба телепортации игроков (дома, варпы, спавн, /tpaccept).
+ * Если чанк назначения уже загружен — игрок телепортируется сразу.
+ * Иначе чанк загружается вне основного потока через Paper (teleportAsync),
+ * а на Spigot — поэтапно: в один тик чанк загружается и удерживается
+ * тикетом плагина, в следующий тик игрок телепортируется и тикет снимается.
+ * Загрузок за тик не больше teleport.max-chunk-loads-per-tick, поэтому
+ * массовые телепорты не складываются в один тяжёлый тик.
+ *
+ * Перед телепортом точка назначения проверяется SafeLocationResolver:
+ * опасная точка заменяется ближайшей безопасной, а если такой нет —
+ * телепорт не выполняется. Тем же способом загрузки чанков
+ * (loadChunk) пользуется и сам SafeLocationResolver.
+ *
+ * Результат приходит через CompletableFuture в основном потоке.
+ * Точка, откуда игрок ушёл, записывается в историю /back (BackManager).
+ * Для /gc ведётся статистика задержки телепортов.
+ */
+public class TeleportService {
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Entity#teleportAsync(Location) из Paper, null на Spigot */
+    private final Method teleportAsync;
+
+    /** World#getChunkAtAsync(int, int) из Paper, null на Spigot */
+    private final Method getChunkAtAsync;
+
+    /** Удержания чанков тикетом плагина (общие с пулами /rtp) */
+    private final ChunkTickets chunkTickets;
+
+    /** Телепорты и загрузки чанков, ждущие своей очереди (Spigot) */
+    private final Deque<Pending> waiting = new ArrayDeque<>();
+
+    /** Телепорты с загруженным чанком, ждущие следующего тика (Spigot) */
+    private final List<Pending> loaded = new ArrayList<>();
+
+    /** Задача поэтапной загрузки (работает, пока есть очередь) */
+    private BukkitTask stageTask;
+
+    /** Максимум загрузок чанков за тик (Spigot) */
+    private int maxLoadsPerTick;
+
+    // Статистика (только основной поток)
+
+    /** Телепорты в уже загруженный чанк */
+    private long immediateCount;
+
+    /** Телепорты через Paper teleportAsync */
+    private long asyncCount;
+
+    /** Поэтапные телепорты (Spigot) */
+    private long stagedCount;
+
+    /** Неудачные телепорты (игрок вышел, событие отменено) */
+    private long failedCount;
+
+    /** Суммарная задержка успешных телепортов (нс) */
+    private long totalLatencyNanos;
+
+    /** Максимальная задержка (нс) */
+    private long maxLatencyNanos;
+
+    /**
+     * Создать службу телепортации и найти teleportAsync.
+     * @param plugin экземпляр плагина
+     */
+    public TeleportService(ExpiCore plugin) {
+        this.plugin = plugin;
+        this.teleportAsync = findTeleportAsync();
+        this.getChunkAtAsync = findGetChunkAtAsync();
+        this.chunkTickets = new ChunkTickets(plugin);
+        reload();
+    }
+
+    /**
+     * Загружает ли сервер чанки вне основного потока (Paper getChunkAtAsync).
+     * @return false на Spigot — там {@link #loadChunk} грузит чанк в основном потоке
+     */
+    public boolean hasAsyncChunkLoading() {
+        return getChunkAtAsync != null;
+    }
+
+    /**
+     * Счётчик удержаний чанков тикетом плагина.
+     * @return общий для плагина счётчик
+     */
+    public ChunkTickets getChunkTickets() {
+        return chunkTickets;
+    }
+
+    /**
+     * Перечитать настройки из секции teleport в config.yml.
+     */
+    public void reload() {
+        this.maxLoadsPerTick = Math.max(1, plugin.getConfig().getInt("teleport.max-chunk-loads-per-tick", 2));
+    }
+
+    /**
+     * Телепортировать игрока в безопасную точку рядом с destination,
+     * загрузив чанк назначения без остановки основного потока.
+     * Если безопасной точки нет, игрок получает сообщение и остаётся на месте.
+     * @param player игрок
+     * @param destination точка назначения
+     * @return future с true, если игрок телепортирован (завершается в основном потоке)
+     */
+    public CompletableFuture<Boolean> teleport(Player player, Location destination) {
+        if (destination.getWorld() == null) {
+            failedCount++;
+            return CompletableFuture.completedFuture(false);
+        }
+
+        SafeLocationResolver resolver = plugin.getSafeLocationResolver();
+        if (resolver == null || !resolver.appliesTo(player)) {
+            return teleportNow(player, destination);
+        }
+        return resolver.resolve(destination).thenCompose(safe -> {
+            if (safe == null) {
+                failedCount++;
+                if (player.isOnline()) {
+                    player.sendMessage(plugin.getMessageManager().get(player, MessageKey.TELEPORT_UNSAFE));
+                }
+                return CompletableFuture.completedFuture(false);
+            }
+            return teleportNow(player, safe);
+        });
+    }
+
+    /**
+     * Телепортировать игрока без проверки безопасности точки.
+     * @param player игрок
+     * @param destination точка назначения
+     * @return future с true, если игрок телепортирован
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Boolean> teleportNow(Player player, Location destination) {
+        long start = System.nanoTime();
+        World world = destination.getWorld();
+
+        // Чанк уже загружен — телепортируем сразу
+        if (world.isChunkLoaded(destination.getBlockX() >> 4, destination.getBlockZ() >> 4)) {
+            Location from = player.getLocation();
+            boolean ok = player.teleport(destination);
+            record(start, ok);
+            if (ok) {
+                immediateCount++;
+                recordBack(player, from);
+            }
+            return CompletableFuture.completedFuture(ok);
+        }
+
+        // Paper: загрузка и телепорт асинхронно
+        if (teleportAsync != null) {
+            try {
+                Location from = player.getLocation();
+                CompletableFuture<Boolean> future =
+                        (CompletableFuture<Boolean>) teleportAsync.invoke(player, destination);
+                return future.handle((ok, error) -> {
+                    boolean success = error == null && Boolean.TRUE.equals(ok);
+                    record(start, success);
+                    if (success) {
+                        asyncCount++;
+                        recordBack(player, from);
+                    }
+                    return success;
+                });
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                plugin.getLogger().fine("teleportAsync недоступен: " + e.getMessage());
+            }
+        }
+
+        // Spigot: поэтапная загрузка с тикетом
+        Pending pending = new Pending(player, destination, start);
+        waiting.addLast(pending);
+        if (stageTask == null) {
+            stageTask = Bukkit.getScheduler().runTaskTimer(plugin, this::processStages, 1L, 1L);
+        }
+        return pending.future;
+    }
+
+    /**
+     * Загрузить чанк без остановки основного потока: сразу, если он уже загружен,
+     * через Paper getChunkAtAsync или в общей поэтапной очереди Spigot
+     * (в пределах того же лимита загрузок за тик, что и телепорты).
+     * @param world мир
+     * @param chunkX координата X чанка
+     * @param chunkZ координата Z чанка
+     * @return future с чанком (завершается в основном потоке)
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Chunk> loadChunk(World world, int chunkX, int chunkZ) {
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            return CompletableFuture.completedFuture(world.getChunkAt(chunkX, chunkZ));
+        }
+
+        if (getChunkAtAsync != null) {
+            try {
+                return (CompletableFuture<Chunk>) getChunkAtAsync.invoke(world, chunkX, chunkZ);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                plugin.getLogger().fine("getChunkAtAsync недоступен: " + e.getMessage());
+            }
+        }
+
+        Pending pending = new Pending(world, chunkX, chunkZ);
+        waiting.addLast(pending);
+        if (stageTask == null) {
+            stageTask = Bukkit.getScheduler().runTaskTimer(plugin, this::processStages, 1L, 1L);
+        }
+        return pending.chunk;
+    }
+
+    /**
+     * Один тик поэтапной загрузки: сначала телепортируем тех, чей чанк загружен
+     * в прошлом тике, затем загружаем следующую порцию чанков.
+     * Загрузки без телепорта завершаются сразу после загрузки чанка.
+     */
+    private void processStages() {
+        for (Pending pending : loaded) {
+            World world = pending.destination.getWorld();
+            Location from = pending.player.getLocation();
+            boolean ok = pending.player.isOnline() && pending.player.teleport(pending.destination);
+            chunkTickets.release(world, pending.chunkX, pending.chunkZ);
+            record(pending.start, ok);
+            if (ok) {
+                stagedCount++;
+                recordBack(pending.player, from);
+            }
+            pending.future.complete(ok);
+        }
+        loaded.clear();
+
+        for (int i = 0; i < maxLoadsPerTick && !waiting.isEmpty(); i++) {
+            Pending pending = waiting.pollFirst();
+            if (pending.player == null) {
+                pending.chunk.complete(pending.world.getChunkAt(pending.chunkX, pending.chunkZ));
+                continue;
+            }
+            if (!pending.player.isOnline()) {
+                record(pending.start, false);
+                pending.future.complete(false);
+                continue;
+            }
+            // Тикет загружает чанк и удерживает его до телепорта
+            chunkTickets.retain(pending.destination.getWorld(), pending.chunkX, pending.chunkZ);
+            loaded.add(pending);
+        }
+
+        if (waiting.isEmpty() && loaded.isEmpty()) {
+            stageTask.cancel();
+            stageTask = null;
+        }
+    }
+
+    /**
+     * Учесть телепорт в статистике.
+     * @param start время начала (нс)
+     * @param success успешен ли телепорт
+     */
+    private void record(long start, boolean success) {
+        if (!success) {
+            failedCount++;
+            return;
+        }
+        long latency = System.nanoTime() - start;
+        totalLatencyNanos += latency;
+        if (latency > maxLatencyNanos) maxLatencyNanos = latency;
+    }
+
+    /**
+     * Записать точку ухода в историю /back.
+     * @param player игрок
+     * @param from откуда игрок телепортировался
+     */
+    private void recordBack(Player player, Location from) {
+        BackManager back = plugin.getBackManager();
+        if (back != null) {
+            back.record(player, from);
+        }
+    }
+
+    /**
+     * Снять оставшиеся тикеты и завершить ожидающие телепорты.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        if (stageTask != null) {
+            stageTask.cancel();
+            stageTask = null;
+        }
+        for (Pending pending : loaded) {
+            chunkTickets.release(pending.destination.getWorld(), pending.chunkX, pending.chunkZ);
+            pending.future.complete(false);
+        }
+        loaded.clear();
+        for (Pending pending : waiting) {
+            if (pending.player == null) {
+                pending.chunk.completeExceptionally(new IllegalStateException("плагин выключен"));
+            } else {
+                pending.future.complete(false);
+            }
+        }
+        waiting.clear();
+    }
+
+    // ==================== СТАТИСТИКА ====================
+
+    /**
+     * Строка статистики для /gc.
+     * @return телепорты по способам, средняя и максимальная задержка
+     */
+    public String getStatsLine() {
+        long total = immediateCount + asyncCount + stagedCount;
+        long avgMs = total > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos / total) : 0;
+        return total + " (сразу " + immediateCount
+                + ", async " + asyncCount
+                + ", поэтапно " + stagedCount
+                + ", неудачно " + failedCount
+                + "), ср. " + avgMs + " мс, макс. " + TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos) + " мс"
+                + (teleportAsync == null ? ", очередь " + (waiting.size() + loaded.size()) : "");
+    }
+
+    /**
+     * Найти World#getChunkAtAsync(int, int) (есть только в Paper).
+     * @return метод или null
+     */
+    private static Method findGetChunkAtAsync() {
+        try {
+            return World.class.getMethod("getChunkAtAsync", int.class, int.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Найти Entity#teleportAsync(Location) (есть только в Paper).
+     * @return метод или null
+     */
+    private static Method findTeleportAsync() {
+        try {
+            return Player.class.getMethod("teleportAsync", Location.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // ==================== ОЖИДАЮЩИЙ ТЕЛЕПОРТ ====================
+
+    /**
+     * Телепорт или загрузка чанка, ожидающие своей очереди (Spigot).
+     */
+    private static final class Pending {
+
+        /** Игрок (null — только загрузка чанка) */
+        final Player player;
+
+        /** Точка назначения (null — только загрузка чанка) */
+        final Location destination;
+
+        /** Мир чанка */
+        final World world;
+
+        /** Координаты чанка назначения */
+        final int chunkX;
+        final int chunkZ;
+
+        /** Время запроса (нс) */
+        final long start;
+
+        /** Результат телепорта */
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        /** Загруженный чанк (только загрузка чанка) */
+        final CompletableFuture<Chunk> chunk = new CompletableFuture<>();
+
+        Pending(Player player, Location destination, long start) {
+            this.player = player;
+            this.destination = destination;
+            this.world = destination.getWorld();
+            this.chunkX = destination.getBlockX() >> 4;
+            this.chunkZ = destination.getBlockZ() >> 4;
+            this.start = start;
+        }
+
+        Pending(World world, int chunkX, int chunkZ) {
+            this.player = null;
+            this.destination = null;
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.start = System.nanoTime();
+        }
+    }
+}
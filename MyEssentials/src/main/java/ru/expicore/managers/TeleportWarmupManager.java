@@ -0,0 +1,372 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import ru.expicore.ExpiCore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Задержка (warmup) и перезарядка (cooldown) команд телепортации.
+ * Длительности задаются в секции teleport config.yml: общие, по командам
+ * и по группам прав expicore.teleport.group.<группа> (первая подходящая
+ * группа в порядке конфига). Право expicore.teleport.bypass снимает и то, и другое.
+ *
+ * Перезарядки хранятся в примитивной таблице: у каждого игрока свой слот
+ * ({@link PlayerSlots}), в строке слота — момент окончания перезарядки
+ * по каждому виду телепорта. Слот вышедшего игрока живёт, пока не истекут
+ * его перезарядки, поэтому перезаход их не сбрасывает. Перезарядка
+ * начинается, только если телепорт действительно выполнен: отказ
+ * TeleportService (нет безопасной точки, игрок вышел) её не тратит.
+ *
+ * Отмену при движении вызывает PlayerMoveListener из своего обработчика
+ * движения — отдельного слушателя на каждое движение нет.
+ * Все методы вызываются из основного потока.
+ */
+public class TeleportWarmupManager {
+
+    /** Право обхода задержки и перезарядки */
+    private static final String BYPASS_PERMISSION = "expicore.teleport.bypass";
+
+    /** Префикс прав групп */
+    private static final String GROUP_PERMISSION = "expicore.teleport.group.";
+
+    /** Период освобождения слотов вышедших игроков (тики) */
+    private static final long RELEASE_PERIOD_TICKS = 1200L;
+
+    /**
+     * Вид телепорта — у каждого свои длительности и своя перезарядка.
+     */
+    public enum Kind {
+        HOME("home"),
+        WARP("warp"),
+        SPAWN("spawn"),
+        TPA("tpa"),
+        BACK("back"),
+        RTP("rtp");
+
+        /** Ключ в секции teleport.commands */
+        private final String configKey;
+
+        Kind(String configKey) {
+            this.configKey = configKey;
+        }
+    }
+
+    /** Количество видов телепорта (ширина строки таблицы) */
+    private static final int KINDS = Kind.values().length;
+
+    /** Ссылка на главный плагин */
+    private final ExpiCore plugin;
+
+    /** Номера слотов игроков */
+    private final PlayerSlots slots = new PlayerSlots();
+
+    /** Момент окончания перезарядки (мс): [слот * KINDS + вид] */
+    private long[] cooldownUntil = new long[64 * KINDS];
+
+    /** Телепорты в ожидании по UUID игрока */
+    private final Map<UUID, Warmup> warmups = new HashMap<>();
+
+    /** Вышедшие игроки, чьи слоты ждут окончания перезарядок */
+    private final Set<UUID> offline = new HashSet<>();
+
+    /** Задача освобождения слотов вышедших игроков */
+    private final BukkitTask releaseTask;
+
+    /** Задержка по видам без групп (сек) */
+    private int[] baseWarmup = new int[KINDS];
+
+    /** Перезарядка по видам без групп (сек) */
+    private int[] baseCooldown = new int[KINDS];
+
+    /** Группы в порядке конфига */
+    private List<Group> groups = new ArrayList<>();
+
+    /** Отменять ли задержку при движении */
+    private boolean cancelOnMove = true;
+
+    /**
+     * Создать менеджер и запустить задачу освобождения слотов.
+     * @param plugin экземпляр плагина
+     */
+    public TeleportWarmupManager(ExpiCore plugin) {
+        this.plugin = plugin;
+        reload();
+        this.releaseTask = Bukkit.getScheduler().runTaskTimer(plugin, this::releaseExpired,
+                RELEASE_PERIOD_TICKS, RELEASE_PERIOD_TICKS);
+    }
+
+    /**
+     * Перечитать длительности из секции teleport в config.yml.
+     * Уже идущие задержки и перезарядки не меняются.
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfig();
+        int defaultWarmup = Math.max(0, config.getInt("teleport.warmup-seconds", 0));
+        int defaultCooldown = Math.max(0, config.getInt("teleport.cooldown-seconds", 0));
+        this.cancelOnMove = config.getBoolean("teleport.cancel-on-move", true);
+
+        int[] warmup = new int[KINDS];
+        int[] cooldown = new int[KINDS];
+        for (Kind kind : Kind.values()) {
+            String path = "teleport.commands." + kind.configKey;
+            warmup[kind.ordinal()] = Math.max(0, config.getInt(path + ".warmup-seconds", defaultWarmup));
+            cooldown[kind.ordinal()] = Math.max(0, config.getInt(path + ".cooldown-seconds", defaultCooldown));
+        }
+
+        List<Group> loaded = new ArrayList<>();
+        ConfigurationSection section = config.getConfigurationSection("teleport.groups");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                loaded.add(readGroup(section, name, warmup, cooldown));
+            }
+        }
+
+        this.baseWarmup = warmup;
+        this.baseCooldown = cooldown;
+        this.groups = loaded;
+    }
+
+    /**
+     * Прочитать группу: значения группы перекрывают общие,
+     * значения команды внутри группы — значения группы.
+     * @param section секция teleport.groups
+     * @param name название группы
+     * @param warmup задержки без групп
+     * @param cooldown перезарядки без групп
+     * @return группа
+     */
+    private static Group readGroup(ConfigurationSection section, String name, int[] warmup, int[] cooldown) {
+        Group group = new Group(GROUP_PERMISSION + name);
+        int groupWarmup = section.getInt(name + ".warmup-seconds", -1);
+        int groupCooldown = section.getInt(name + ".cooldown-seconds", -1);
+        for (Kind kind : Kind.values()) {
+            int i = kind.ordinal();
+            String path = name + ".commands." + kind.configKey;
+            group.warmup[i] = Math.max(0, section.getInt(path + ".warmup-seconds",
+                    groupWarmup >= 0 ? groupWarmup : warmup[i]));
+            group.cooldown[i] = Math.max(0, section.getInt(path + ".cooldown-seconds",
+                    groupCooldown >= 0 ? groupCooldown : cooldown[i]));
+        }
+        return group;
+    }
+
+    // ==================== ТЕЛЕПОРТ ====================
+
+    /**
+     * Запустить телепорт с задержкой и перезарядкой.
+     * Если перезарядка не истекла — игрок получает сообщение и телепорт не выполняется.
+     * Новая задержка заменяет уже идущую.
+     * @param player кто телепортируется
+     * @param kind вид телепорта
+     * @param action сам телепорт (выполняется в основном потоке);
+     *               возвращает future с true, если игрок телепортирован
+     * @return false, если телепорт отклонён из-за перезарядки
+     */
+    public boolean start(Player player, Kind kind, Supplier<CompletableFuture<Boolean>> action) {
+        if (player.hasPermission(BYPASS_PERMISSION)) {
+            action.get();
+            return true;
+        }
+
+        UUID uuid = player.getUniqueId();
+        MessageManager msg = plugin.getMessageManager();
+        int slot = slots.get(uuid);
+        if (slot >= 0) {
+            long remaining = cooldownUntil[slot * KINDS + kind.ordinal()] - System.currentTimeMillis();
+            if (remaining > 0) {
+                player.sendMessage(msg.format(player, MessageKey.TELEPORT_COOLDOWN,
+                        String.valueOf((remaining + 999) / 1000)));
+                return false;
+            }
+        }
+
+        Group group = groupOf(player);
+        int warmup = group != null ? group.warmup[kind.ordinal()] : baseWarmup[kind.ordinal()];
+        int cooldown = group != null ? group.cooldown[kind.ordinal()] : baseCooldown[kind.ordinal()];
+
+        Warmup previous = warmups.remove(uuid);
+        if (previous != null) {
+            previous.task.cancel();
+        }
+
+        if (warmup <= 0) {
+            fire(player, kind, cooldown, action);
+            return true;
+        }
+
+        player.sendMessage(msg.format(player, MessageKey.TELEPORT_WARMUP, String.valueOf(warmup)));
+        Warmup pending = new Warmup();
+        pending.task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (warmups.get(uuid) != pending) return;
+            warmups.remove(uuid);
+            if (player.isOnline()) {
+                fire(player, kind, cooldown, action);
+            }
+        }, warmup * 20L);
+        warmups.put(uuid, pending);
+        return true;
+    }
+
+    /**
+     * Выполнить телепорт и, если он удался, запустить перезарядку.
+     * @param player игрок
+     * @param kind вид телепорта
+     * @param cooldown перезарядка (сек)
+     * @param action телепорт
+     */
+    private void fire(Player player, Kind kind, int cooldown, Supplier<CompletableFuture<Boolean>> action) {
+        CompletableFuture<Boolean> result = action.get();
+        if (cooldown <= 0) return;
+
+        UUID uuid = player.getUniqueId();
+        // TeleportService завершает future в основном потоке
+        result.whenComplete((ok, error) -> {
+            if (!Boolean.TRUE.equals(ok)) return;
+            int slot = slots.acquire(uuid);
+            cooldownUntil = PlayerSlots.ensure(cooldownUntil, slot, KINDS);
+            cooldownUntil[slot * KINDS + kind.ordinal()] = System.currentTimeMillis() + cooldown * 1000L;
+            if (!player.isOnline()) {
+                // Вышел, пока шёл телепорт: слот освободится по истечении перезарядки
+                offline.add(uuid);
+            }
+        });
+    }
+
+    /**
+     * Первая группа, право которой есть у игрока.
+     * @param player игрок
+     * @return группа или null
+     */
+    private Group groupOf(Player player) {
+        for (Group group : groups) {
+            if (player.hasPermission(group.permission)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    // ==================== ДВИЖЕНИЕ И ВЫХОД ====================
+
+    /**
+     * Игрок сменил блок — отменить его ожидающий телепорт.
+     * Вызывается из PlayerMoveListener; без ожидающих телепортов ничего не делает.
+     * @param player игрок
+     */
+    public void handleMove(Player player) {
+        if (warmups.isEmpty() || !cancelOnMove) return;
+
+        Warmup pending = warmups.remove(player.getUniqueId());
+        if (pending == null) return;
+
+        pending.task.cancel();
+        player.sendMessage(plugin.getMessageManager().get(player, MessageKey.TELEPORT_CANCELLED));
+    }
+
+    /**
+     * Отменить ожидающий телепорт вышедшего игрока.
+     * Слот с перезарядками освобождается, когда они истекут.
+     * @param uuid UUID игрока
+     */
+    public void clearPlayer(UUID uuid) {
+        Warmup pending = warmups.remove(uuid);
+        if (pending != null) {
+            pending.task.cancel();
+        }
+        if (slots.get(uuid) >= 0) {
+            offline.add(uuid);
+        }
+    }
+
+    /**
+     * Игрок зашёл — его слот больше не нужно освобождать.
+     * @param uuid UUID игрока
+     */
+    public void trackJoin(UUID uuid) {
+        offline.remove(uuid);
+    }
+
+    /**
+     * Освободить слоты вышедших игроков, у которых истекли все перезарядки.
+     */
+    private void releaseExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<UUID> it = offline.iterator();
+        while (it.hasNext()) {
+            UUID uuid = it.next();
+            int slot = slots.get(uuid);
+            boolean active = false;
+            for (int i = 0; slot >= 0 && i < KINDS; i++) {
+                if (cooldownUntil[slot * KINDS + i] > now) {
+                    active = true;
+                    break;
+                }
+            }
+            if (active) continue;
+
+            if (slot >= 0) {
+                for (int i = 0; i < KINDS; i++) {
+                    cooldownUntil[slot * KINDS + i] = 0L;
+                }
+                slots.release(uuid);
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Отменить ожидающие телепорты и остановить задачу.
+     * Вызывается при выключении плагина.
+     */
+    public void shutdown() {
+        releaseTask.cancel();
+        for (Warmup pending : warmups.values()) {
+            pending.task.cancel();
+        }
+        warmups.clear();
+    }
+
+    // ==================== ВНУТРЕННИЕ КЛАССЫ ====================
+
+    /**
+     * Ожидающий телепорт.
+     */
+    private static final class Warmup {
+
+        /** Задача, выполняющая телепорт по окончании задержки */
+        BukkitTask task;
+    }
+
+    /**
+     * Группа прав со своими длительностями.
+     */
+    private static final class Group {
+
+        /** Право группы */
+        final String permission;
+
+        /** Задержка по видам (сек) */
+        final int[] warmup = new int[KINDS];
+
+        /** Перезарядка по видам (сек) */
+        final int[] cooldown = new int[KINDS];
+
+        Group(String permission) {
+            this.permission = permission;
+        }
+    }
+}
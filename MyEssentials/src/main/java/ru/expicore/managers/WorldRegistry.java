@@ -0,0 +1,109 @@
+package ru.expicore.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Реестр миров для сохранённых точек (дома, варпы, спавн, история /back).
+ * Имя мира один раз превращается в целочисленный номер, а по номеру
+ * хранится ссылка на загруженный мир — без Bukkit.getWorld(String)
+ * при каждом обращении к точке.
+ *
+ * Ссылки обновляются по WorldLoadEvent и WorldUnloadEvent (WorldListener),
+ * поэтому номер мира, выгруженного с сервера, остаётся, а ссылка — null:
+ * это позволяет отличить «мир не загружен» от «точка не найдена».
+ * Все методы вызываются из основного потока.
+ */
+public class WorldRegistry {
+
+    /** Номер мира по имени */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /** Имя мира по номеру */
+    private final List<String> names = new ArrayList<>();
+
+    /** Загруженный мир по номеру (null — мир не загружен) */
+    private World[] worlds = new World[16];
+
+    /**
+     * Создать реестр и занести в него уже загруженные миры.
+     */
+    public WorldRegistry() {
+        for (World world : Bukkit.getWorlds()) {
+            onLoad(world);
+        }
+    }
+
+    /**
+     * Номер мира по имени (новое имя получает новый номер).
+     * @param name имя мира
+     * @return номер мира
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+
+        int added = names.size();
+        names.add(name);
+        ids.put(name, added);
+        if (added >= worlds.length) {
+            World[] grown = new World[worlds.length * 2];
+            System.arraycopy(worlds, 0, grown, 0, worlds.length);
+            worlds = grown;
+        }
+        return added;
+    }
+
+    /**
+     * Номер загруженного мира.
+     * @param world мир
+     * @return номер мира
+     */
+    public int idOf(World world) {
+        int id = intern(world.getName());
+        worlds[id] = world;
+        return id;
+    }
+
+    /**
+     * Загруженный мир по номеру.
+     * @param id номер мира
+     * @return мир или null, если он не загружен
+     */
+    public World getWorld(int id) {
+        return worlds[id];
+    }
+
+    /**
+     * Имя мира по номеру.
+     * @param id номер мира
+     * @return имя мира
+     */
+    public String getName(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Мир загружен — запомнить ссылку.
+     * @param world мир
+     */
+    public void onLoad(World world) {
+        idOf(world);
+    }
+
+    /**
+     * Мир выгружен — забыть ссылку, номер остаётся.
+     * @param world мир
+     */
+    public void onUnload(World world) {
+        Integer id = ids.get(world.getName());
+        if (id != null) {
+            worlds[id] = null;
+        }
+    }
+}